@@ -1,16 +1,38 @@
 package com.university.finance;
 
+import com.university.finance.api.BankingHttpApi;
+import com.university.finance.audit.AuditFormat;
+import com.university.finance.audit.RollingAuditFileWriter;
+import com.university.finance.metrics.MetricsHttpServer;
+import com.university.finance.metrics.PrometheusWriter;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
+import com.university.finance.notification.ConsoleEmailTransport;
+import com.university.finance.notification.EmailDeliveryService;
+import com.university.finance.notification.EmailTransport;
+import com.university.finance.notification.NotificationInbox;
+import com.university.finance.notification.SmtpEmailTransport;
+import com.university.finance.limit.VelocityChecker;
 import com.university.finance.service.BankingService;
+import com.university.finance.service.IdempotencyCache;
 import com.university.finance.service.TransactionService;
 import com.university.finance.pattern.observer.AuditLogger;
 import com.university.finance.pattern.observer.NotificationService;
 import com.university.finance.pattern.singleton.ConfigurationManager;
+import com.university.finance.pattern.singleton.ConfigurationWatcher;
 import com.university.finance.exception.BusinessException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 /**
  * Application principale du système bancaire refactoré.
@@ -26,18 +48,30 @@ public class App {
     private BankingService bankingService;
     private TransactionService transactionService;
     private Scanner scanner;
+    private ConfigurationWatcher configurationWatcher;
+    private RollingAuditFileWriter auditWriter;
+    private EmailDeliveryService emailDelivery;
+    private MetricsHttpServer metricsServer;
+    private BankingHttpApi httpApi;
     
     /**
      * Constructeur par défaut.
      */
     public App() {
         this.bankingService = new BankingService();
-        this.transactionService = new TransactionService();
+        this.transactionService = createTransactionService();
         this.scanner = new Scanner(System.in);
         
+        // Chargement et surveillance du fichier de configuration (si fourni)
+        startConfigurationWatcher();
+        
         // Configuration des observateurs
         setupObservers();
         
+        // API HTTP puis métriques pour Prometheus (sur le même port par défaut)
+        startHttpApi();
+        startMetricsServer();
+        
         // Initialisation avec des données de démonstration
         initializeDemoData();
     }
@@ -47,15 +81,213 @@ public class App {
      */
     private void setupObservers() {
         ConfigurationManager config = ConfigurationManager.getInstance();
+        AuditLogger auditLogger = createAuditLogger();
         
         if (config.isAuditEnabled()) {
-            transactionService.addObserver(new AuditLogger());
+            transactionService.addObserver(auditLogger);
         }
         
+        emailDelivery = new EmailDeliveryService(createEmailTransport());
         NotificationService notificationService = new NotificationService(
-            config.isEmailNotificationsEnabled()
+            config.isEmailNotificationsEnabled(), NotificationInbox.DEFAULT_CAPACITY, emailDelivery
         );
         transactionService.addObserver(notificationService);
+        
+        // Prise en compte à chaud des changements de configuration
+        config.addChangeListener((previous, current) -> {
+            if (current.isAuditEnabled()) {
+                transactionService.addObserver(auditLogger);
+            } else {
+                transactionService.removeObserver(auditLogger);
+            }
+            notificationService.setEmailNotificationsEnabled(current.isEmailNotificationsEnabled());
+        });
+    }
+    
+    /**
+     * Crée le service des transactions. Si la propriété système finance.history.dir
+     * est définie, seules les finance.history.hot transactions les plus récentes
+     * (100 000 par défaut) restent en mémoire ; les plus anciennes sont compactées
+     * dans des segments de ce répertoire.
+     * 
+     * Les limites de vélocité de la configuration ne s'appliquent aux débits que si
+     * la propriété système finance.velocity.enabled vaut true.
+     * 
+     * @return Le service des transactions
+     */
+    private TransactionService createTransactionService() {
+        String historyDir = System.getProperty("finance.history.dir");
+        if (historyDir == null || historyDir.isEmpty()) {
+            return new TransactionService(new IdempotencyCache(), createVelocityChecker());
+        }
+        try {
+            int hotCapacity = Integer.parseInt(System.getProperty("finance.history.hot", "100000"));
+            Path segmentDir = Files.createTempDirectory(Files.createDirectories(Paths.get(historyDir)), "history-");
+            // Les segments ne servent qu'à cette exécution : le répertoire est supprimé à l'arrêt
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteDirectory(segmentDir), "history-cleanup"));
+            return new TransactionService(new IdempotencyCache(), createVelocityChecker(), segmentDir, hotCapacity);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Historique sur disque désactivé (" + historyDir + "): " + e.getMessage());
+            return new TransactionService(new IdempotencyCache(), createVelocityChecker());
+        }
+    }
+    
+    private static VelocityChecker createVelocityChecker() {
+        return Boolean.getBoolean("finance.velocity.enabled") ? new VelocityChecker() : VelocityChecker.disabled();
+    }
+    
+    /**
+     * Supprime un répertoire et son contenu.
+     * 
+     * @param directory Le répertoire
+     */
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("[HISTORY] Suppression de " + directory + " impossible : " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Démarre l'API HTTP sur le port finance.api.port
+     * (8080 par défaut, une valeur négative la désactive) et l'adresse
+     * finance.api.bind (interface locale par défaut ; 0.0.0.0 pour toutes les
+     * interfaces). Les requêtes sont authentifiées par les identifiants des
+     * utilisateurs. Avec
+     * finance.api.executor=virtual, chaque requête s'exécute sur un thread
+     * virtuel ; sur un JDK qui ne les fournit pas, le pool fixe est utilisé.
+     */
+    private void startHttpApi() {
+        String portProperty = System.getProperty("finance.api.port", String.valueOf(BankingHttpApi.DEFAULT_PORT));
+        try {
+            int port = Integer.parseInt(portProperty);
+            if (port < 0) {
+                return;
+            }
+            BankingHttpApi.ExecutionMode mode = BankingHttpApi.ExecutionMode.valueOf(
+                System.getProperty("finance.api.executor", "POOL").toUpperCase());
+            if (mode == BankingHttpApi.ExecutionMode.VIRTUAL && !BankingHttpApi.isVirtualThreadSupported()) {
+                System.err.println("Threads virtuels indisponibles sur Java " + System.getProperty("java.version")
+                    + " : pool fixe utilisé");
+                mode = BankingHttpApi.ExecutionMode.POOL;
+            }
+            httpApi = new BankingHttpApi(bankingService, transactionService,
+                new InetSocketAddress(bindAddress(), port), mode);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("API HTTP désactivée (" + portProperty + "): " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Adresse d'écoute des serveurs HTTP (API et métriques) : finance.api.bind,
+     * interface locale par défaut.
+     * 
+     * @return L'adresse d'écoute
+     * @throws UnknownHostException Si l'adresse ne peut pas être résolue
+     */
+    private static InetAddress bindAddress() throws UnknownHostException {
+        return InetAddress.getByName(
+            System.getProperty("finance.api.bind", InetAddress.getLoopbackAddress().getHostAddress()));
+    }
+    
+    /**
+     * Démarre le point d'accès /metrics sur le port finance.metrics.port
+     * (8080 par défaut, une valeur négative le désactive) et la même adresse
+     * que l'API (finance.api.bind). Si l'API écoute déjà sur ce port, /metrics
+     * est monté sur son serveur.
+     */
+    private void startMetricsServer() {
+        String portProperty = System.getProperty("finance.metrics.port", String.valueOf(MetricsHttpServer.DEFAULT_PORT));
+        try {
+            int port = Integer.parseInt(portProperty);
+            if (port < 0) {
+                return;
+            }
+            metricsServer = httpApi != null && httpApi.getPort() == port
+                ? new MetricsHttpServer(httpApi.getServer())
+                : new MetricsHttpServer(new InetSocketAddress(bindAddress(), port));
+            metricsServer.addCollector(this::collectMetrics);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Point d'accès des métriques désactivé (" + portProperty + "): " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Écrit les métriques de l'application : opérations, comptes, historique et files d'attente.
+     * 
+     * @param writer Le rédacteur au format Prometheus
+     */
+    private void collectMetrics(PrometheusWriter writer) {
+        writer.transactions(transactionService.getMetrics());
+        writer.family("finance_accounts", "gauge", "Nombre de comptes");
+        writer.sample("finance_accounts", bankingService.getAccountCount());
+        writer.family("finance_users", "gauge", "Nombre d'utilisateurs");
+        writer.sample("finance_users", bankingService.getUserCount());
+        writer.family("finance_history_transactions", "gauge", "Transactions dans l'historique");
+        writer.sample("finance_history_transactions", transactionService.getHistorySize());
+        writer.family("finance_observer_queue_depth", "gauge", "Éléments en attente de traitement en arrière-plan");
+        writer.sample("finance_observer_queue_depth", emailDelivery.getQueueSize(), "queue", "email");
+        if (auditWriter != null) {
+            writer.sample("finance_observer_queue_depth", auditWriter.getQueueSize(), "queue", "audit");
+        }
+    }
+    
+    /**
+     * Crée le journal d'audit. Si la propriété système finance.audit.dir est définie,
+     * les entrées sont écrites en arrière-plan dans des fichiers tournants de ce
+     * répertoire (format choisi par finance.audit.format : TEXT ou BINARY).
+     * 
+     * @return Le journal d'audit
+     */
+    private AuditLogger createAuditLogger() {
+        String auditDir = System.getProperty("finance.audit.dir");
+        if (auditDir == null || auditDir.isEmpty()) {
+            return new AuditLogger();
+        }
+        try {
+            AuditFormat format = AuditFormat.valueOf(System.getProperty("finance.audit.format", "TEXT").toUpperCase());
+            auditWriter = new RollingAuditFileWriter(Paths.get(auditDir), "audit", format);
+            return new AuditLogger(auditWriter);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Journal d'audit sur fichier désactivé (" + auditDir + "): " + e.getMessage());
+            return new AuditLogger();
+        }
+    }
+    
+    /**
+     * Crée le transport des emails : relais SMTP si la propriété système
+     * finance.smtp.host est définie (port finance.smtp.port, 25 par défaut),
+     * simulation sur la console sinon.
+     * 
+     * @return Le transport des emails
+     */
+    private EmailTransport createEmailTransport() {
+        String smtpHost = System.getProperty("finance.smtp.host");
+        if (smtpHost == null || smtpHost.isEmpty()) {
+            return new ConsoleEmailTransport();
+        }
+        int smtpPort = Integer.getInteger("finance.smtp.port", 25);
+        return new SmtpEmailTransport(smtpHost, smtpPort, "noreply@finance.local", 10_000);
+    }
+    
+    /**
+     * Charge le fichier de configuration désigné par la propriété système
+     * finance.config (ou la variable d'environnement FINANCE_CONFIG) et le
+     * recharge automatiquement à chaque modification.
+     */
+    private void startConfigurationWatcher() {
+        String configFile = System.getProperty("finance.config", System.getenv("FINANCE_CONFIG"));
+        if (configFile == null || configFile.isEmpty()) {
+            return;
+        }
+        try {
+            configurationWatcher = new ConfigurationWatcher(ConfigurationManager.getInstance(), Paths.get(configFile));
+            configurationWatcher.start();
+            System.out.println("Configuration chargée depuis " + configFile + " (rechargement automatique)");
+        } catch (IOException | BusinessException e) {
+            System.err.println("Configuration ignorée (" + configFile + "): " + e.getMessage());
+        }
     }
     
     /**
@@ -64,8 +296,8 @@ public class App {
     private void initializeDemoData() {
         try {
             // Créer des utilisateurs de démonstration
-            User user1 = bankingService.createUser("user1", "password1_hash", "user1@example.com");
-            User user2 = bankingService.createUser("user2", "password2_hash", "user2@example.com");
+            User user1 = bankingService.registerUser("user1", "password1", "user1@example.com");
+            User user2 = bankingService.registerUser("user2", "password2", "user2@example.com");
             
             // Créer des comptes avec soldes initiaux
             Account account1 = bankingService.createAccount(user1.getId(), Account.AccountType.CHECKING, 1000.0);
@@ -143,6 +375,25 @@ public class App {
         }
         
         scanner.close();
+        if (metricsServer != null) {
+            metricsServer.close();
+        }
+        if (httpApi != null) {
+            httpApi.close();
+        }
+        if (auditWriter != null) {
+            auditWriter.close();
+        }
+        if (emailDelivery != null) {
+            emailDelivery.close();
+        }
+        if (configurationWatcher != null) {
+            try {
+                configurationWatcher.close();
+            } catch (IOException e) {
+                System.err.println("Erreur à l'arrêt de la surveillance de configuration: " + e.getMessage());
+            }
+        }
     }
     
     /**
@@ -271,12 +522,11 @@ public class App {
         
         System.out.print("Mot de passe (sera hashé): ");
         String password = scanner.nextLine().trim();
-        String passwordHash = hashPassword(password); // Simulation de hashage
         
         System.out.print("Email: ");
         String email = scanner.nextLine().trim();
         
-        User user = bankingService.createUser(username, passwordHash, email);
+        User user = bankingService.registerUser(username, password, email);
         System.out.println("Utilisateur créé avec succès! ID: " + user.getId());
     }
     
@@ -317,16 +567,4 @@ public class App {
         System.out.println("Numéro de compte: " + account.getAccountNumber());
         System.out.println("Solde initial: " + account.getBalance());
     }
-    
-    /**
-     * Simule le hashage d'un mot de passe.
-     * Dans une vraie application, utiliseriez BCrypt ou similaire.
-     * 
-     * @param password Le mot de passe en clair
-     * @return Le mot de passe "hashé" (simulation)
-     */
-    private String hashPassword(String password) {
-        // Simulation simple - dans la vraie vie, utiliser BCrypt ou similaire
-        return "hashed_" + password.hashCode();
-    }
 }
@@ -0,0 +1,160 @@
+package com.university.finance.analytics;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrégats d'un compte, tenus à jour à chaque transaction postée.
+ * 
+ * Les montants sont cumulés en centimes dans des LongAdder (compteurs répartis
+ * entre threads), le minimum et le maximum par compare-and-set : la mise à jour
+ * ne prend aucun verrou et la lecture est immédiate, sans parcourir l'historique.
+ * Les totaux journaliers sont conservés pour un nombre limité de jours.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class AccountAggregates {
+    
+    /**
+     * Totaux d'une journée.
+     */
+    private static final class Daily {
+        private final LongAdder creditCents = new LongAdder();
+        private final LongAdder debitCents = new LongAdder();
+        private final LongAdder count = new LongAdder();
+    }
+    
+    private final String accountNumber;
+    private final int retainedDays;
+    private final LongAdder creditCents = new LongAdder();
+    private final LongAdder debitCents = new LongAdder();
+    private final LongAdder creditCount = new LongAdder();
+    private final LongAdder debitCount = new LongAdder();
+    private final AtomicLong minCents = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxCents = new AtomicLong(Long.MIN_VALUE);
+    private final ConcurrentNavigableMap<LocalDate, Daily> days = new ConcurrentSkipListMap<>();
+    
+    AccountAggregates(String accountNumber, int retainedDays) {
+        this.accountNumber = accountNumber;
+        this.retainedDays = retainedDays;
+    }
+    
+    /**
+     * Enregistre un mouvement sur le compte.
+     * 
+     * @param day Jour du mouvement
+     * @param cents Montant en centimes (positif)
+     * @param credit true pour un crédit, false pour un débit
+     */
+    void record(LocalDate day, long cents, boolean credit) {
+        if (credit) {
+            creditCents.add(cents);
+            creditCount.increment();
+        } else {
+            debitCents.add(cents);
+            debitCount.increment();
+        }
+        minCents.accumulateAndGet(cents, Math::min);
+        maxCents.accumulateAndGet(cents, Math::max);
+        
+        Daily daily = days.get(day);
+        if (daily == null) {
+            daily = days.computeIfAbsent(day, d -> new Daily());
+            // Nouveau jour : on oublie les journées sorties de la période conservée
+            days.headMap(days.lastKey().minusDays(retainedDays - 1L)).clear();
+        }
+        (credit ? daily.creditCents : daily.debitCents).add(cents);
+        daily.count.increment();
+    }
+    
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    
+    public double getTotalCredits() {
+        return creditCents.sum() / 100.0;
+    }
+    
+    public double getTotalDebits() {
+        return debitCents.sum() / 100.0;
+    }
+    
+    /**
+     * Retourne le flux net du compte (crédits - débits) depuis le début du suivi.
+     * 
+     * @return Le flux net
+     */
+    public double getNetFlow() {
+        return (creditCents.sum() - debitCents.sum()) / 100.0;
+    }
+    
+    public long getCreditCount() {
+        return creditCount.sum();
+    }
+    
+    public long getDebitCount() {
+        return debitCount.sum();
+    }
+    
+    public long getTransactionCount() {
+        return creditCount.sum() + debitCount.sum();
+    }
+    
+    /**
+     * Retourne le plus petit montant enregistré.
+     * 
+     * @return Le montant minimal, ou 0 si aucun mouvement
+     */
+    public double getMinAmount() {
+        long min = minCents.get();
+        return min == Long.MAX_VALUE ? 0.0 : min / 100.0;
+    }
+    
+    /**
+     * Retourne le plus grand montant enregistré.
+     * 
+     * @return Le montant maximal, ou 0 si aucun mouvement
+     */
+    public double getMaxAmount() {
+        long max = maxCents.get();
+        return max == Long.MIN_VALUE ? 0.0 : max / 100.0;
+    }
+    
+    /**
+     * Retourne le montant moyen des mouvements.
+     * 
+     * @return Le montant moyen, ou 0 si aucun mouvement
+     */
+    public double getAverageAmount() {
+        long count = getTransactionCount();
+        return count == 0 ? 0.0 : (creditCents.sum() + debitCents.sum()) / 100.0 / count;
+    }
+    
+    public double getDailyCredits(LocalDate day) {
+        Daily daily = days.get(day);
+        return daily == null ? 0.0 : daily.creditCents.sum() / 100.0;
+    }
+    
+    public double getDailyDebits(LocalDate day) {
+        Daily daily = days.get(day);
+        return daily == null ? 0.0 : daily.debitCents.sum() / 100.0;
+    }
+    
+    public long getDailyCount(LocalDate day) {
+        Daily daily = days.get(day);
+        return daily == null ? 0L : daily.count.sum();
+    }
+    
+    /**
+     * Retourne le nombre de journées actuellement conservées.
+     * 
+     * @return Le nombre de journées
+     */
+    int getRetainedDayCount() {
+        return days.size();
+    }
+}
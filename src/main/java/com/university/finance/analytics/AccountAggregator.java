@@ -0,0 +1,101 @@
+package com.university.finance.analytics;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tient à jour les agrégats de chaque compte au fil des transactions postées.
+ * 
+ * Une transaction crédite son compte destination et débite son compte source.
+ * Les agrégats sont indexés par numéro de compte dans une ConcurrentHashMap ;
+ * la mise à jour n'utilise que des compteurs sans verrou (voir {@link AccountAggregates}).
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class AccountAggregator {
+    
+    /** Nombre de journées conservées par défaut pour les totaux journaliers. */
+    public static final int DEFAULT_RETAINED_DAYS = 31;
+    
+    private final Map<String, AccountAggregates> aggregates = new ConcurrentHashMap<>();
+    private final int retainedDays;
+    
+    /**
+     * Constructeur par défaut.
+     */
+    public AccountAggregator() {
+        this(DEFAULT_RETAINED_DAYS);
+    }
+    
+    /**
+     * Constructeur.
+     * 
+     * @param retainedDays Nombre de journées conservées pour les totaux journaliers
+     */
+    public AccountAggregator(int retainedDays) {
+        if (retainedDays <= 0) {
+            throw new IllegalArgumentException("Le nombre de jours conservés doit être positif");
+        }
+        this.retainedDays = retainedDays;
+    }
+    
+    /**
+     * Enregistre une transaction postée.
+     * 
+     * @param transaction La transaction
+     */
+    public void record(Transaction transaction) {
+        long cents = Math.round(Math.abs(transaction.getAmount()) * 100);
+        LocalDate day = transaction.getTimestamp() != null
+            ? transaction.getTimestamp().toLocalDate() : LocalDate.now();
+        
+        if (transaction.getToAccount() != null) {
+            aggregatesFor(transaction.getToAccount().getAccountNumber()).record(day, cents, true);
+        }
+        if (transaction.getFromAccount() != null) {
+            aggregatesFor(transaction.getFromAccount().getAccountNumber()).record(day, cents, false);
+        }
+    }
+    
+    private AccountAggregates aggregatesFor(String accountNumber) {
+        AccountAggregates account = aggregates.get(accountNumber);
+        if (account == null) {
+            account = aggregates.computeIfAbsent(accountNumber, n -> new AccountAggregates(n, retainedDays));
+        }
+        return account;
+    }
+    
+    /**
+     * Retourne les agrégats d'un compte.
+     * 
+     * @param account Le compte
+     * @return Les agrégats (vides si le compte n'a aucun mouvement)
+     */
+    public AccountAggregates getAggregates(Account account) {
+        return getAggregates(account.getAccountNumber());
+    }
+    
+    /**
+     * Retourne les agrégats d'un compte.
+     * 
+     * @param accountNumber Numéro de compte
+     * @return Les agrégats (vides si le compte n'a aucun mouvement)
+     */
+    public AccountAggregates getAggregates(String accountNumber) {
+        AccountAggregates account = aggregates.get(accountNumber);
+        return account != null ? account : new AccountAggregates(accountNumber, retainedDays);
+    }
+    
+    /**
+     * Retourne le nombre de comptes suivis.
+     * 
+     * @return Le nombre de comptes
+     */
+    public int getAccountCount() {
+        return aggregates.size();
+    }
+}
@@ -0,0 +1,274 @@
+package com.university.finance.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Suivi en continu des clés les plus fréquentes (ou les plus lourdes) d'un flux,
+ * en mémoire fixe : algorithme Space-Saving.
+ * 
+ * Au plus capacity clés sont suivies, chacune avec un compteur. Une clé déjà suivie
+ * voit son compteur augmenter du poids reçu ; une nouvelle clé remplace la clé de
+ * plus petit compteur et hérite de ce compteur (qui devient son erreur maximale).
+ * Toute clé dont le poids réel dépasse total / capacity est donc forcément suivie,
+ * et son compteur surestime son poids d'au plus son erreur.
+ * 
+ * Les compteurs sont rangés dans un tas minimum indexé : une mise à jour coûte
+ * O(log capacity) et une consultation ne parcourt jamais l'historique.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class HeavyHitters {
+    
+    /** Nombre de clés suivies par défaut. */
+    public static final int DEFAULT_CAPACITY = 1024;
+    
+    /**
+     * Une clé suivie et son estimation.
+     */
+    public static final class Entry {
+        private final String key;
+        private final long count;
+        private final long error;
+        
+        private Entry(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        /**
+         * Retourne l'estimation du poids de la clé (majorant du poids réel).
+         * 
+         * @return Le compteur
+         */
+        public long getCount() {
+            return count;
+        }
+        
+        /**
+         * Retourne la surestimation maximale du compteur.
+         * 
+         * @return L'erreur
+         */
+        public long getError() {
+            return error;
+        }
+        
+        /**
+         * Retourne le poids minimal certain de la clé.
+         * 
+         * @return Le compteur moins l'erreur
+         */
+        public long getGuaranteedCount() {
+            return count - error;
+        }
+        
+        @Override
+        public String toString() {
+            return key + "=" + count + " (±" + error + ")";
+        }
+    }
+    
+    private final String[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<String, Integer> slots; // clé -> indice dans le tas
+    private final ReentrantLock lock = new ReentrantLock();
+    private int size;
+    private long total;
+    
+    /**
+     * Constructeur avec capacité par défaut.
+     */
+    public HeavyHitters() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Constructeur.
+     * 
+     * @param capacity Nombre maximal de clés suivies
+     */
+    public HeavyHitters(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité doit être positive");
+        }
+        this.keys = new String[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.slots = new HashMap<>(capacity * 2);
+    }
+    
+    /**
+     * Ajoute une occurrence d'une clé.
+     * 
+     * @param key La clé
+     */
+    public void offer(String key) {
+        offer(key, 1);
+    }
+    
+    /**
+     * Ajoute un poids à une clé.
+     * 
+     * @param key La clé
+     * @param weight Le poids (ignoré s'il n'est pas positif)
+     */
+    public void offer(String key, long weight) {
+        if (key == null || weight <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            total += weight;
+            Integer slot = slots.get(key);
+            if (slot != null) {
+                counts[slot] += weight;
+                siftDown(slot);
+            } else if (size < keys.length) {
+                keys[size] = key;
+                counts[size] = weight;
+                errors[size] = 0;
+                slots.put(key, size);
+                siftUp(size++);
+            } else {
+                // Remplacement de la clé de plus petit compteur (racine du tas)
+                slots.remove(keys[0]);
+                keys[0] = key;
+                errors[0] = counts[0];
+                counts[0] += weight;
+                slots.put(key, 0);
+                siftDown(0);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Retourne les k clés de plus fort compteur.
+     * 
+     * @param k Nombre de clés souhaitées
+     * @return Les clés, par compteur décroissant
+     */
+    public List<Entry> top(int k) {
+        List<Entry> entries;
+        lock.lock();
+        try {
+            entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(new Entry(keys[i], counts[i], errors[i]));
+            }
+        } finally {
+            lock.unlock();
+        }
+        entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return entries.size() > k ? new ArrayList<>(entries.subList(0, Math.max(0, k))) : entries;
+    }
+    
+    /**
+     * Retourne l'estimation d'une clé.
+     * 
+     * @param key La clé
+     * @return L'estimation, ou null si la clé n'est pas suivie
+     */
+    public Entry get(String key) {
+        lock.lock();
+        try {
+            Integer slot = slots.get(key);
+            return slot != null ? new Entry(key, counts[slot], errors[slot]) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Retourne le poids total reçu.
+     * 
+     * @return Le total
+     */
+    public long getTotal() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Vide le suivi.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(keys, null);
+            slots.clear();
+            size = 0;
+            total = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getCapacity() {
+        return keys.length;
+    }
+    
+    // Tas minimum sur counts, slots suit la position de chaque clé
+    
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[parent] <= counts[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+    
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+    
+    private void swap(int i, int j) {
+        String key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        long count = counts[i];
+        counts[i] = counts[j];
+        counts[j] = count;
+        long error = errors[i];
+        errors[i] = errors[j];
+        errors[j] = error;
+        slots.put(keys[i], i);
+        slots.put(keys[j], j);
+    }
+}
@@ -0,0 +1,179 @@
+package com.university.finance.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Estimation des quantiles d'une distribution de valeurs positives, à erreur
+ * relative garantie (sur le modèle de DDSketch).
+ * 
+ * Les valeurs sont rangées dans des casiers de taille géométrique : le casier i
+ * couvre ]gamma^(i-1), gamma^i], avec gamma = (1 + a) / (1 - a). Tout quantile
+ * est donc restitué à a près (1 % par défaut), et la mémoire ne dépend que de
+ * l'étendue des valeurs (environ 1 200 casiers de 1 centime à 1 milliard), pas de
+ * leur nombre. Deux estimateurs de même précision se fusionnent en additionnant
+ * leurs casiers.
+ * 
+ * Les valeurs nulles ou négatives sont comptées à part et restituées comme 0.
+ * Cette classe n'est pas synchronisée.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class QuantileSketch {
+    
+    /** Erreur relative par défaut. */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private long[] counts = new long[0];
+    private int offset; // indice du casier counts[0]
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    /**
+     * Constructeur avec erreur relative par défaut.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+    
+    /**
+     * Constructeur.
+     * 
+     * @param relativeAccuracy Erreur relative garantie (entre 0 et 1 exclus)
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("L'erreur relative doit être comprise entre 0 et 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+    
+    /**
+     * Ajoute une valeur.
+     * 
+     * @param value La valeur
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (value <= 0) {
+            zeroCount++;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) / logGamma);
+            ensureCapacity(index, index);
+            counts[index - offset]++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    /**
+     * Fusionne un autre estimateur dans celui-ci.
+     * 
+     * @param other L'estimateur à fusionner (même erreur relative)
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Erreurs relatives différentes");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        if (other.counts.length > 0) {
+            ensureCapacity(other.offset, other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+    
+    /**
+     * Retourne l'estimation d'un quantile.
+     * 
+     * @param quantile Le quantile (0.5 pour la médiane, 0.99 pour le 99e centile)
+     * @return La valeur estimée, ou NaN si aucune valeur n'a été ajoutée
+     */
+    public double getQuantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Le quantile doit être compris entre 0 et 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (count - 1));
+        if (rank < zeroCount) {
+            return Math.max(min, 0.0);
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // Milieu (relatif) du casier : erreur relative au plus a
+                double value = 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+                return Math.max(min, Math.min(max, value));
+            }
+        }
+        return max;
+    }
+    
+    private void ensureCapacity(int low, int high) {
+        if (counts.length == 0) {
+            counts = new long[high - low + 1];
+            offset = low;
+            return;
+        }
+        int newLow = Math.min(low, offset);
+        int newHigh = Math.max(high, offset + counts.length - 1);
+        if (newLow == offset && newHigh == offset + counts.length - 1) {
+            return;
+        }
+        long[] grown = new long[newHigh - newLow + 1];
+        System.arraycopy(counts, 0, grown, offset - newLow, counts.length);
+        counts = grown;
+        offset = newLow;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * Retourne la plus petite valeur ajoutée.
+     * 
+     * @return Le minimum, ou NaN si vide
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+    
+    /**
+     * Retourne la plus grande valeur ajoutée.
+     * 
+     * @return Le maximum, ou NaN si vide
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+    
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+    
+    @Override
+    public String toString() {
+        return "QuantileSketch{count=" + count + ", buckets=" + Arrays.stream(counts).filter(c -> c > 0).count() + "}";
+    }
+}
@@ -0,0 +1,352 @@
+package com.university.finance.analytics;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Requêtes analytiques (regroupement, somme, comptage, top-K) sur un historique de transactions.
+ * 
+ * Une requête découpe l'historique en tranches parcourues en parallèle par un
+ * ForkJoinPool. Chaque tâche agrège sa tranche dans sa propre table, sans
+ * partage ni verrou, et les tables partielles sont fusionnées en remontant
+ * l'arbre des tâches. Les montants sont cumulés en centimes : le résultat ne
+ * dépend donc pas de l'ordre de fusion.
+ * 
+ * L'historique est fourni sous forme de {@link Spliterator}, découpé récursivement
+ * par les tâches : celui de {@code TransactionService.historySpliterator()} parcourt
+ * directement la mémoire et les segments sur disque, sans copie préalable. Une
+ * collection peut aussi être passée telle quelle.
+ * 
+ * Exemples :
+ * - volume des virements externes par jour :
+ *   {@code sumBy(service.historySpliterator(), ofType(VIREST), byDay())}
+ * - 100 comptes qui débitent le plus :
+ *   {@code topK(service.historySpliterator(), t -> true, bySourceAccount(), 100)}
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class TransactionAnalytics {
+    
+    /** Taille minimale d'une tranche parcourue par une seule tâche. */
+    private static final int DEFAULT_MIN_SLICE = 4096;
+    
+    /**
+     * Agrégat d'un groupe : nombre de transactions et total de leurs montants.
+     */
+    public static final class Group {
+        private long count;
+        private long totalCents;
+        
+        private void add(long cents) {
+            count++;
+            totalCents += cents;
+        }
+        
+        private void merge(Group other) {
+            count += other.count;
+            totalCents += other.totalCents;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public double getTotal() {
+            return totalCents / 100.0;
+        }
+        
+        public double getAverage() {
+            return count == 0 ? 0.0 : totalCents / 100.0 / count;
+        }
+        
+        @Override
+        public String toString() {
+            return "Group{count=" + count + ", total=" + getTotal() + "}";
+        }
+    }
+    
+    private final ForkJoinPool pool;
+    private final int minSlice;
+    
+    /**
+     * Constructeur utilisant le pool commun.
+     */
+    public TransactionAnalytics() {
+        this(ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Constructeur.
+     * 
+     * @param pool Le pool qui exécute les parcours
+     */
+    public TransactionAnalytics(ForkJoinPool pool) {
+        this(pool, DEFAULT_MIN_SLICE);
+    }
+    
+    TransactionAnalytics(ForkJoinPool pool, int minSlice) {
+        if (minSlice <= 0) {
+            throw new IllegalArgumentException("La taille de tranche doit être positive");
+        }
+        this.pool = pool;
+        this.minSlice = minSlice;
+    }
+    
+    /**
+     * Regroupe les transactions retenues par clé.
+     * 
+     * Les transactions dont la clé est null sont ignorées.
+     * 
+     * @param transactions L'historique
+     * @param filter Les transactions retenues
+     * @param key La clé de regroupement
+     * @return Nombre et total de chaque groupe
+     */
+    public <K> Map<K, Group> groupBy(Collection<Transaction> transactions, Predicate<? super Transaction> filter,
+                                     Function<? super Transaction, ? extends K> key) {
+        return groupBy(transactions.spliterator(), filter, key);
+    }
+    
+    /**
+     * Regroupe les transactions retenues par clé, en découpant le parcours fourni.
+     * 
+     * @param transactions Le parcours de l'historique (consommé par l'appel)
+     * @param filter Les transactions retenues
+     * @param key La clé de regroupement
+     * @return Nombre et total de chaque groupe
+     */
+    public <K> Map<K, Group> groupBy(Spliterator<Transaction> transactions, Predicate<? super Transaction> filter,
+                                     Function<? super Transaction, ? extends K> key) {
+        long size = transactions.estimateSize();
+        long slice = size == Long.MAX_VALUE ? minSlice : Math.max(minSlice, size / (pool.getParallelism() * 8) + 1);
+        return pool.invoke(new GroupTask<K>(transactions, slice, filter, key));
+    }
+    
+    /**
+     * Total des montants par clé.
+     * 
+     * @param transactions L'historique
+     * @param filter Les transactions retenues
+     * @param key La clé de regroupement
+     * @return Le total de chaque groupe
+     */
+    public <K> Map<K, Double> sumBy(Collection<Transaction> transactions, Predicate<? super Transaction> filter,
+                                    Function<? super Transaction, ? extends K> key) {
+        return sumBy(transactions.spliterator(), filter, key);
+    }
+    
+    /**
+     * Total des montants par clé, sur un parcours découpable.
+     * 
+     * @param transactions Le parcours de l'historique (consommé par l'appel)
+     * @param filter Les transactions retenues
+     * @param key La clé de regroupement
+     * @return Le total de chaque groupe
+     */
+    public <K> Map<K, Double> sumBy(Spliterator<Transaction> transactions, Predicate<? super Transaction> filter,
+                                    Function<? super Transaction, ? extends K> key) {
+        Map<K, Double> sums = new HashMap<>();
+        groupBy(transactions, filter, key).forEach((k, group) -> sums.put(k, group.getTotal()));
+        return sums;
+    }
+    
+    /**
+     * Nombre de transactions par clé.
+     * 
+     * @param transactions L'historique
+     * @param filter Les transactions retenues
+     * @param key La clé de regroupement
+     * @return Le nombre de transactions de chaque groupe
+     */
+    public <K> Map<K, Long> countBy(Collection<Transaction> transactions, Predicate<? super Transaction> filter,
+                                    Function<? super Transaction, ? extends K> key) {
+        return countBy(transactions.spliterator(), filter, key);
+    }
+    
+    /**
+     * Nombre de transactions par clé, sur un parcours découpable.
+     * 
+     * @param transactions Le parcours de l'historique (consommé par l'appel)
+     * @param filter Les transactions retenues
+     * @param key La clé de regroupement
+     * @return Le nombre de transactions de chaque groupe
+     */
+    public <K> Map<K, Long> countBy(Spliterator<Transaction> transactions, Predicate<? super Transaction> filter,
+                                    Function<? super Transaction, ? extends K> key) {
+        Map<K, Long> counts = new HashMap<>();
+        groupBy(transactions, filter, key).forEach((k, group) -> counts.put(k, group.getCount()));
+        return counts;
+    }
+    
+    /**
+     * Les k groupes de plus fort total, du plus grand au plus petit.
+     * 
+     * @param transactions L'historique
+     * @param filter Les transactions retenues
+     * @param key La clé de regroupement
+     * @param k Nombre de groupes retournés
+     * @return Les groupes, ordonnés par total décroissant
+     */
+    public <K> Map<K, Group> topK(Collection<Transaction> transactions, Predicate<? super Transaction> filter,
+                                  Function<? super Transaction, ? extends K> key, int k) {
+        return topK(transactions.spliterator(), filter, key, k);
+    }
+    
+    /**
+     * Les k groupes de plus fort total, sur un parcours découpable.
+     * 
+     * @param transactions Le parcours de l'historique (consommé par l'appel)
+     * @param filter Les transactions retenues
+     * @param key La clé de regroupement
+     * @param k Nombre de groupes retournés
+     * @return Les groupes, ordonnés par total décroissant
+     */
+    public <K> Map<K, Group> topK(Spliterator<Transaction> transactions, Predicate<? super Transaction> filter,
+                                  Function<? super Transaction, ? extends K> key, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k doit être positif");
+        }
+        Comparator<Map.Entry<K, Group>> byTotal = Comparator.comparingLong(e -> e.getValue().totalCents);
+        PriorityQueue<Map.Entry<K, Group>> heap = new PriorityQueue<>(k + 1, byTotal);
+        for (Map.Entry<K, Group> entry : this.<K>groupBy(transactions, filter, key).entrySet()) {
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (entry.getValue().totalCents > heap.peek().getValue().totalCents) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<Map.Entry<K, Group>> sorted = new ArrayList<>(heap);
+        sorted.sort(byTotal.reversed());
+        Map<K, Group> top = new LinkedHashMap<>();
+        for (Map.Entry<K, Group> entry : sorted) {
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+    
+    /**
+     * Parcourt une tranche de l'historique, en la coupant en deux tant qu'elle est grande
+     * et que son parcours accepte d'être découpé.
+     */
+    private static final class GroupTask<K> extends RecursiveTask<Map<K, Group>> {
+        private final Spliterator<Transaction> transactions;
+        private final long slice;
+        private final Predicate<? super Transaction> filter;
+        private final Function<? super Transaction, ? extends K> key;
+        
+        private GroupTask(Spliterator<Transaction> transactions, long slice,
+                          Predicate<? super Transaction> filter, Function<? super Transaction, ? extends K> key) {
+            this.transactions = transactions;
+            this.slice = slice;
+            this.filter = filter;
+            this.key = key;
+        }
+        
+        @Override
+        protected Map<K, Group> compute() {
+            Spliterator<Transaction> prefix;
+            if (transactions.estimateSize() <= slice || (prefix = transactions.trySplit()) == null) {
+                return scan();
+            }
+            GroupTask<K> left = new GroupTask<K>(prefix, slice, filter, key);
+            left.fork();
+            Map<K, Group> right = new GroupTask<K>(transactions, slice, filter, key).compute();
+            Map<K, Group> merged = left.join();
+            // Fusion de la plus petite table dans la plus grande
+            if (merged.size() < right.size()) {
+                Map<K, Group> swap = merged;
+                merged = right;
+                right = swap;
+            }
+            for (Map.Entry<K, Group> entry : right.entrySet()) {
+                Group group = merged.putIfAbsent(entry.getKey(), entry.getValue());
+                if (group != null) {
+                    group.merge(entry.getValue());
+                }
+            }
+            return merged;
+        }
+        
+        private Map<K, Group> scan() {
+            Map<K, Group> groups = new HashMap<>();
+            transactions.forEachRemaining(transaction -> {
+                if (!filter.test(transaction)) {
+                    return;
+                }
+                K k = key.apply(transaction);
+                if (k != null) {
+                    groups.computeIfAbsent(k, x -> new Group()).add(Math.round(transaction.getAmount() * 100));
+                }
+            });
+            return groups;
+        }
+    }
+    
+    // Filtres et clés usuels
+    
+    /**
+     * Filtre sur le type de transaction.
+     * 
+     * @param type Le type retenu
+     * @return Le filtre
+     */
+    public static Predicate<Transaction> ofType(Transaction.TransactionType type) {
+        return transaction -> transaction.getType() == type;
+    }
+    
+    /**
+     * Regroupement par jour.
+     * 
+     * @return La clé (null pour une transaction sans horodatage)
+     */
+    public static Function<Transaction, LocalDate> byDay() {
+        return transaction -> transaction.getTimestamp() != null ? transaction.getTimestamp().toLocalDate() : null;
+    }
+    
+    /**
+     * Regroupement par type de transaction.
+     * 
+     * @return La clé
+     */
+    public static Function<Transaction, Transaction.TransactionType> byType() {
+        return Transaction::getType;
+    }
+    
+    /**
+     * Regroupement par numéro du compte débité (sorties).
+     * 
+     * @return La clé (null pour un dépôt)
+     */
+    public static Function<Transaction, String> bySourceAccount() {
+        return transaction -> accountNumber(transaction.getFromAccount());
+    }
+    
+    /**
+     * Regroupement par numéro du compte crédité (entrées).
+     * 
+     * @return La clé (null pour un retrait)
+     */
+    public static Function<Transaction, String> byDestinationAccount() {
+        return transaction -> accountNumber(transaction.getToAccount());
+    }
+    
+    private static String accountNumber(Account account) {
+        return account != null ? account.getAccountNumber() : null;
+    }
+}
@@ -0,0 +1,160 @@
+package com.university.finance.analytics;
+
+import com.university.finance.model.Transaction;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Statistiques approchées des transactions, tenues à jour au fil de l'eau :
+ * quantiles des montants par type de transaction et nombre de comptes actifs
+ * distincts par jour.
+ * 
+ * Pour que les threads qui postent des transactions ne se disputent pas les mêmes
+ * estimateurs, ceux-ci sont répartis en fragments (deux par processeur) : chaque
+ * thread écrit toujours dans le fragment désigné par son identifiant, sous un verrou
+ * qu'il partage rarement. Une lecture fusionne les estimateurs de tous les fragments
+ * (voir {@link QuantileSketch} et {@link HyperLogLog}), ce qui ne coûte que quelques
+ * milliers d'opérations, indépendamment du nombre de transactions.
+ * 
+ * Seuls les retainedDays derniers jours de comptes actifs sont conservés.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class TransactionSketches {
+    
+    /**
+     * Estimateurs tenus par un fragment.
+     */
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Transaction.TransactionType, QuantileSketch> amounts =
+            new EnumMap<>(Transaction.TransactionType.class);
+        private final NavigableMap<LocalDate, HyperLogLog> activeAccounts = new TreeMap<>();
+    }
+    
+    private final Shard[] shards;
+    private final int retainedDays;
+    
+    /**
+     * Constructeur avec deux fragments par processeur et 31 jours conservés.
+     */
+    public TransactionSketches() {
+        this(2 * Runtime.getRuntime().availableProcessors(), AccountAggregator.DEFAULT_RETAINED_DAYS);
+    }
+    
+    /**
+     * Constructeur.
+     * 
+     * @param shardCount Nombre de fragments
+     * @param retainedDays Nombre de jours de comptes actifs conservés
+     */
+    public TransactionSketches(int shardCount, int retainedDays) {
+        if (shardCount <= 0 || retainedDays <= 0) {
+            throw new IllegalArgumentException("Le nombre de fragments et de jours doit être positif");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        this.retainedDays = retainedDays;
+    }
+    
+    /**
+     * Enregistre une transaction complétée.
+     * 
+     * @param transaction La transaction
+     */
+    public void record(Transaction transaction) {
+        LocalDate day = transaction.getTimestamp() != null
+            ? transaction.getTimestamp().toLocalDate() : LocalDate.now();
+        Shard shard = shards[(int) (Thread.currentThread().getId() % shards.length)];
+        shard.lock.lock();
+        try {
+            if (transaction.getType() != null) {
+                shard.amounts.computeIfAbsent(transaction.getType(), t -> new QuantileSketch())
+                    .add(Math.abs(transaction.getAmount()));
+            }
+            if (transaction.getFromAccount() == null && transaction.getToAccount() == null) {
+                return;
+            }
+            HyperLogLog accounts = shard.activeAccounts.get(day);
+            if (accounts == null) {
+                accounts = new HyperLogLog();
+                shard.activeAccounts.put(day, accounts);
+                shard.activeAccounts.headMap(shard.activeAccounts.lastKey().minusDays(retainedDays - 1)).clear();
+            }
+            if (transaction.getFromAccount() != null) {
+                accounts.add(transaction.getFromAccount().getAccountNumber());
+            }
+            if (transaction.getToAccount() != null) {
+                accounts.add(transaction.getToAccount().getAccountNumber());
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    /**
+     * Retourne la distribution (fusionnée) des montants d'un type de transaction.
+     * 
+     * @param type Le type de transaction
+     * @return Une copie de l'estimateur, vide si aucune transaction de ce type
+     */
+    public QuantileSketch getAmountSketch(Transaction.TransactionType type) {
+        QuantileSketch merged = new QuantileSketch();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                QuantileSketch sketch = shard.amounts.get(type);
+                if (sketch != null) {
+                    merged.merge(sketch);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return merged;
+    }
+    
+    /**
+     * Retourne un quantile des montants d'un type de transaction (à 1 % près).
+     * 
+     * @param type Le type de transaction
+     * @param quantile Le quantile (0.5, 0.99...)
+     * @return Le montant estimé, ou NaN si aucune transaction de ce type
+     */
+    public double getAmountQuantile(Transaction.TransactionType type, double quantile) {
+        return getAmountSketch(type).getQuantile(quantile);
+    }
+    
+    /**
+     * Retourne le nombre estimé de comptes distincts ayant eu un mouvement un jour donné.
+     * 
+     * @param day Le jour
+     * @return L'estimation (0 si le jour est inconnu ou n'est plus conservé)
+     */
+    public long getDistinctActiveAccounts(LocalDate day) {
+        HyperLogLog merged = new HyperLogLog();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                HyperLogLog accounts = shard.activeAccounts.get(day);
+                if (accounts != null) {
+                    merged.merge(accounts);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return merged.estimate();
+    }
+    
+    public int getShardCount() {
+        return shards.length;
+    }
+}
@@ -0,0 +1,651 @@
+package com.university.finance.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.university.finance.exception.AccountNotFoundException;
+import com.university.finance.exception.BusinessException;
+import com.university.finance.exception.InsufficientFundsException;
+import com.university.finance.exception.TransactionNotFoundException;
+import com.university.finance.exception.UserNotFoundException;
+import com.university.finance.exception.ValidationException;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * API HTTP (JSON) du système bancaire, basée sur le serveur HTTP du JDK.
+ * 
+ * Routes :
+ * - GET  /api/accounts/{compte} : consultation d'un compte (ID ou numéro)
+ * - GET  /api/accounts/{compte}/transactions?after=&limit= : page de l'historique
+ * - POST /api/accounts/{compte}/deposit (amount) : dépôt
+ * - POST /api/accounts/{compte}/withdraw (amount) : retrait
+ * - POST /api/transfers (from, to, amount) : transfert
+ * 
+ * Chaque requête est authentifiée (HTTP Basic) avec les identifiants d'un
+ * utilisateur du BankingService : 401 sinon. Un utilisateur ne peut consulter,
+ * créditer ou débiter que ses propres comptes, et ne transférer que depuis l'un
+ * d'eux : 403 sinon. La vérification d'un mot de passe (PBKDF2) étant volontairement
+ * coûteuse, les identifiants déjà vérifiés sont mémorisés sous forme d'empreinte
+ * HMAC (clé aléatoire propre à l'instance) ; l'entrée est ignorée dès que le hash
+ * enregistré de l'utilisateur change. Par défaut, le serveur n'écoute que sur l'interface locale
+ * (loopback) ; une autre adresse doit être demandée explicitement.
+ * 
+ * Les paramètres sont lus dans la chaîne de requête ou dans un corps
+ * application/x-www-form-urlencoded. L'en-tête Idempotency-Key, s'il est présent,
+ * est transmis au TransactionService : un client peut rejouer une requête
+ * sans risquer un double débit.
+ * 
+ * Les connexions sont acceptées et lues par la boucle d'événements NIO du serveur
+ * (un seul sélecteur pour toutes les connexions, y compris celles en attente) ;
+ * seules les requêtes complètes occupent un thread de l'exécuteur, le temps de
+ * leur traitement. L'exécuteur dépend du mode d'exécution : un pool fixe
+ * proportionnel au nombre de processeurs, ou un thread virtuel par requête
+ * (JDK 21 et plus). Dans ce second mode, une requête bloquée sur le verrou
+ * d'écriture ou sur une clé d'idempotence libère son thread porteur : les verrous
+ * empruntés par une transaction sont donc des ReentrantLock, jamais des moniteurs
+ * synchronized, et la journalisation et les emails sont écrits par leurs propres
+ * threads, hors de tout verrou.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class BankingHttpApi implements AutoCloseable {
+    
+    /** Port d'écoute par défaut (celui exposé par l'image Docker). */
+    public static final int DEFAULT_PORT = 8080;
+    
+    /** Taille maximale d'une page d'historique. */
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    /** Taille de page par défaut. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    
+    private static final int MAX_BODY_BYTES = 8192;
+    private static final int BACKLOG = 1024;
+    private static final int MAX_VERIFIED_CREDENTIALS = 10_000;
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String REALM = "Basic realm=\"finance\", charset=\"UTF-8\"";
+    
+    /**
+     * Mode d'exécution des requêtes.
+     */
+    public enum ExecutionMode {
+        /** Pool fixe de threads de plate-forme. */
+        POOL,
+        /** Un thread virtuel par requête (JDK 21 et plus). */
+        VIRTUAL
+    }
+    
+    /**
+     * Identifiants déjà vérifiés d'un utilisateur.
+     */
+    private static final class VerifiedCredentials {
+        private final User user;
+        private final String passwordHash; // hash enregistré au moment de la vérification
+        private final byte[] fingerprint;  // HMAC du mot de passe présenté
+        
+        private VerifiedCredentials(User user, String passwordHash, byte[] fingerprint) {
+            this.user = user;
+            this.passwordHash = passwordHash;
+            this.fingerprint = fingerprint;
+        }
+    }
+    
+    private final BankingService bankingService;
+    private final TransactionService transactionService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, VerifiedCredentials> verified = new ConcurrentHashMap<>();
+    private final byte[] fingerprintKey = new byte[32];
+    
+    /**
+     * Crée l'API avec l'exécuteur par défaut et commence à écouter sur l'interface locale.
+     * 
+     * @param bankingService Le service des comptes
+     * @param transactionService Le service des transactions
+     * @param port Le port (0 pour un port libre quelconque)
+     * @throws IOException Si le port ne peut pas être ouvert
+     */
+    public BankingHttpApi(BankingService bankingService, TransactionService transactionService, int port)
+            throws IOException {
+        this(bankingService, transactionService, port, ExecutionMode.POOL);
+    }
+    
+    /**
+     * Crée l'API dans le mode d'exécution indiqué et commence à écouter sur l'interface locale.
+     * 
+     * @param bankingService Le service des comptes
+     * @param transactionService Le service des transactions
+     * @param port Le port (0 pour un port libre quelconque)
+     * @param mode Le mode d'exécution des requêtes
+     * @throws IOException Si le port ne peut pas être ouvert
+     * @throws UnsupportedOperationException Si le mode VIRTUAL n'est pas disponible sur ce JDK
+     */
+    public BankingHttpApi(BankingService bankingService, TransactionService transactionService, int port,
+                          ExecutionMode mode) throws IOException {
+        this(bankingService, transactionService, new InetSocketAddress(InetAddress.getLoopbackAddress(), port), mode);
+    }
+    
+    /**
+     * Crée l'API dans le mode d'exécution indiqué et commence à écouter sur l'adresse indiquée.
+     * 
+     * @param bankingService Le service des comptes
+     * @param transactionService Le service des transactions
+     * @param address L'adresse et le port d'écoute
+     * @param mode Le mode d'exécution des requêtes
+     * @throws IOException Si le port ne peut pas être ouvert
+     * @throws UnsupportedOperationException Si le mode VIRTUAL n'est pas disponible sur ce JDK
+     */
+    public BankingHttpApi(BankingService bankingService, TransactionService transactionService,
+                          InetSocketAddress address, ExecutionMode mode) throws IOException {
+        this(bankingService, transactionService, address,
+            mode == ExecutionMode.VIRTUAL ? virtualThreadExecutor() : defaultExecutor());
+    }
+    
+    /**
+     * Crée l'API et commence à écouter sur l'interface locale.
+     * 
+     * @param bankingService Le service des comptes
+     * @param transactionService Le service des transactions
+     * @param port Le port (0 pour un port libre quelconque)
+     * @param executor L'exécuteur des requêtes (arrêté par close())
+     * @throws IOException Si le port ne peut pas être ouvert
+     */
+    public BankingHttpApi(BankingService bankingService, TransactionService transactionService, int port,
+                          ExecutorService executor) throws IOException {
+        this(bankingService, transactionService, new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+            executor);
+    }
+    
+    /**
+     * Crée l'API et commence à écouter.
+     * 
+     * @param bankingService Le service des comptes
+     * @param transactionService Le service des transactions
+     * @param address L'adresse et le port d'écoute
+     * @param executor L'exécuteur des requêtes (arrêté par close())
+     * @throws IOException Si le port ne peut pas être ouvert
+     */
+    public BankingHttpApi(BankingService bankingService, TransactionService transactionService,
+                          InetSocketAddress address, ExecutorService executor) throws IOException {
+        this.bankingService = bankingService;
+        this.transactionService = transactionService;
+        this.executor = executor;
+        new SecureRandom().nextBytes(fingerprintKey);
+        this.server = HttpServer.create(address, BACKLOG);
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+    
+    /**
+     * Pool fixe de threads démons, quatre par processeur.
+     * 
+     * @return L'exécuteur
+     */
+    private static ExecutorService defaultExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(8, Runtime.getRuntime().availableProcessors() * 4), runnable -> {
+            Thread thread = new Thread(runnable, "api-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Indique si le JDK courant fournit les threads virtuels.
+     * 
+     * @return true à partir du JDK 21
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Exécuteur qui lance chaque tâche sur un nouveau thread virtuel.
+     * 
+     * La fabrique est résolue par réflexion : le code reste compilé pour Java 11
+     * et ce mode n'est proposé que sur un JDK qui le fournit.
+     * 
+     * @return L'exécuteur
+     * @throws UnsupportedOperationException Si le JDK ne fournit pas les threads virtuels
+     */
+    public static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException(
+                "Threads virtuels indisponibles sur Java " + System.getProperty("java.version"), e);
+        }
+    }
+    
+    /**
+     * Réponse d'une route : code HTTP, corps JSON et éventuel en-tête supplémentaire.
+     */
+    private static final class Response {
+        private final int status;
+        private final String body;
+        private final String header; // Allow pour une réponse 405, WWW-Authenticate pour une 401
+        private final String headerValue;
+        
+        private Response(int status, String body) {
+            this(status, body, null, null);
+        }
+        
+        private Response(int status, String body, String header, String headerValue) {
+            this.status = status;
+            this.body = body;
+            this.header = header;
+            this.headerValue = headerValue;
+        }
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        Response response;
+        try {
+            response = route(exchange);
+        } catch (BusinessException e) {
+            response = error(e);
+        } catch (RuntimeException e) {
+            System.err.println("[API] Erreur sur " + exchange.getRequestURI() + " : " + e);
+            response = new Response(500, "{\"error\":" + quote("Erreur interne") + "}");
+        }
+        try {
+            byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            if (response.header != null) {
+                exchange.getResponseHeaders().set(response.header, response.headerValue);
+            }
+            exchange.sendResponseHeaders(response.status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Aiguille une requête vers sa route.
+     * 
+     * @param exchange La requête
+     * @return La réponse
+     * @throws BusinessException Si le service refuse l'opération
+     * @throws IOException Si le corps ne peut pas être lu
+     */
+    private Response route(HttpExchange exchange) throws BusinessException, IOException {
+        User caller = authenticate(exchange);
+        if (caller == null) {
+            return new Response(401, "{\"error\":" + quote("Authentification requise") + "}", "WWW-Authenticate", REALM);
+        }
+        String method = exchange.getRequestMethod();
+        // "", "api", ressource, compte, action
+        String[] path = exchange.getRequestURI().getRawPath().split("/");
+        
+        if (path.length == 3 && "transfers".equals(path[2])) {
+            if (!"POST".equals(method)) {
+                return methodNotAllowed("POST");
+            }
+            Map<String, String> params = parameters(exchange);
+            Account from = findAccount(required(params, "from"));
+            Account to = findAccount(required(params, "to"));
+            if (!owns(caller, from)) {
+                return forbidden();
+            }
+            Transaction transaction = transactionService.transfer(from, to, amount(params), idempotencyKey(exchange));
+            return new Response(201, transactionJson(transaction));
+        }
+        if ((path.length == 4 || path.length == 5) && "accounts".equals(path[2])) {
+            Account account = findAccount(decode(path[3]));
+            if (!owns(caller, account)) {
+                return forbidden();
+            }
+            String action = path.length == 5 ? path[4] : "";
+            switch (action) {
+                case "":
+                    return "GET".equals(method) ? new Response(200, accountJson(account)) : methodNotAllowed("GET");
+                case "transactions":
+                    return "GET".equals(method) ? history(account, parameters(exchange)) : methodNotAllowed("GET");
+                case "deposit":
+                    if (!"POST".equals(method)) {
+                        return methodNotAllowed("POST");
+                    }
+                    return new Response(201, transactionJson(
+                        transactionService.deposit(account, amount(parameters(exchange)), idempotencyKey(exchange))));
+                case "withdraw":
+                    if (!"POST".equals(method)) {
+                        return methodNotAllowed("POST");
+                    }
+                    return new Response(201, transactionJson(
+                        transactionService.withdraw(account, amount(parameters(exchange)), idempotencyKey(exchange))));
+                default:
+                    break;
+            }
+        }
+        return new Response(404, "{\"error\":" + quote("Route inconnue") + "}");
+    }
+    
+    /**
+     * Page de l'historique d'un compte ; le champ next est le curseur de la page suivante.
+     */
+    private Response history(Account account, Map<String, String> params) throws BusinessException {
+        int limit = DEFAULT_PAGE_SIZE;
+        String limitParam = params.get("limit");
+        if (limitParam != null) {
+            try {
+                limit = Integer.parseInt(limitParam);
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Limite invalide : " + limitParam, "limit");
+            }
+        }
+        if (limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("La limite ne peut pas dépasser " + MAX_PAGE_SIZE, "limit");
+        }
+        List<Transaction> page = transactionService.getTransactionHistory(account, params.get("after"), limit);
+        StringBuilder json = new StringBuilder(64 + page.size() * 256);
+        json.append("{\"transactions\":[");
+        for (int i = 0; i < page.size(); i++) {
+            json.append(i > 0 ? "," : "").append(transactionJson(page.get(i)));
+        }
+        json.append("],\"next\":");
+        json.append(page.size() == limit ? quote(page.get(page.size() - 1).getId()) : "null");
+        return new Response(200, json.append('}').toString());
+    }
+    
+    /**
+     * Retrouve un compte par son ID, puis par son numéro.
+     */
+    private Account findAccount(String reference) throws AccountNotFoundException {
+        try {
+            return bankingService.getAccountById(reference);
+        } catch (AccountNotFoundException e) {
+            return bankingService.getAccountByNumber(reference);
+        }
+    }
+    
+    /**
+     * Identifie l'appelant par l'en-tête Authorization (schéma Basic).
+     * 
+     * @return L'utilisateur, ou null si l'en-tête est absent ou les identifiants invalides
+     */
+    private User authenticate(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.regionMatches(true, 0, "Basic ", 0, 6)) {
+            return null;
+        }
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(authorization.substring(6).trim()),
+                StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int colon = credentials.indexOf(':');
+        if (colon < 0) {
+            return null;
+        }
+        return authenticate(credentials.substring(0, colon), credentials.substring(colon + 1));
+    }
+    
+    /**
+     * Vérifie des identifiants, d'abord auprès des identifiants déjà vérifiés,
+     * puis auprès du BankingService.
+     */
+    private User authenticate(String username, String password) {
+        byte[] fingerprint = fingerprint(username, password);
+        VerifiedCredentials known = verified.get(username);
+        if (known != null && MessageDigest.isEqual(known.fingerprint, fingerprint)
+                && known.passwordHash.equals(known.user.getPasswordHash())) {
+            return known.user;
+        }
+        User user = bankingService.authenticate(username, password);
+        if (user != null) {
+            if (verified.size() >= MAX_VERIFIED_CREDENTIALS) {
+                verified.clear();
+            }
+            verified.put(username, new VerifiedCredentials(user, user.getPasswordHash(), fingerprint));
+        }
+        return user;
+    }
+    
+    private byte[] fingerprint(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(fingerprintKey, "HmacSHA256"));
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponible", e);
+        }
+    }
+    
+    /**
+     * Indique si le compte appartient à l'utilisateur.
+     */
+    private static boolean owns(User caller, Account account) {
+        return account.getOwner() != null && caller.getId().equals(account.getOwner().getId());
+    }
+    
+    private static Response forbidden() {
+        return new Response(403, "{\"error\":" + quote("Compte d'un autre utilisateur") + "}");
+    }
+    
+    private static Response methodNotAllowed(String allow) {
+        return new Response(405, "{\"error\":" + quote("Méthode non autorisée") + "}", "Allow", allow);
+    }
+    
+    /**
+     * Traduit une exception métier en réponse : 404 pour une entité introuvable,
+     * 409 pour un solde insuffisant, 400 pour une validation, 422 sinon.
+     */
+    private static Response error(BusinessException e) {
+        StringBuilder json = new StringBuilder("{\"error\":").append(quote(e.getMessage()));
+        int status = 422;
+        if (e instanceof AccountNotFoundException || e instanceof UserNotFoundException
+                || e instanceof TransactionNotFoundException) {
+            status = 404;
+        } else if (e instanceof InsufficientFundsException) {
+            status = 409;
+        } else if (e instanceof ValidationException) {
+            status = 400;
+            String field = ((ValidationException) e).getFieldName();
+            if (field != null) {
+                json.append(",\"field\":").append(quote(field));
+            }
+        }
+        if (e.getErrorCode() != null) {
+            json.append(",\"code\":").append(quote(e.getErrorCode()));
+        }
+        return new Response(status, json.append('}').toString());
+    }
+    
+    // ========== Lecture des paramètres ==========
+    
+    /**
+     * Paramètres de la chaîne de requête et du corps (formulaire encodé).
+     */
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException, ValidationException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        if ("POST".equals(exchange.getRequestMethod())) {
+            parseForm(readBody(exchange.getRequestBody()), params);
+        }
+        return params;
+    }
+    
+    private static String readBody(InputStream in) throws IOException, ValidationException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            body.write(buffer, 0, n);
+            if (body.size() > MAX_BODY_BYTES) {
+                throw new ValidationException("Corps de requête trop volumineux", "body");
+            }
+        }
+        return body.toString(StandardCharsets.UTF_8.name());
+    }
+    
+    private static void parseForm(String form, Map<String, String> params) throws ValidationException {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(decode(pair.substring(0, equals)), decode(pair.substring(equals + 1)));
+            }
+        }
+    }
+    
+    private static String decode(String value) throws ValidationException {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Encodage invalide : " + value, "query");
+        }
+    }
+    
+    private static String required(Map<String, String> params, String name) throws ValidationException {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new ValidationException("Paramètre manquant : " + name, name);
+        }
+        return value;
+    }
+    
+    private static double amount(Map<String, String> params) throws ValidationException {
+        String value = required(params, "amount");
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Montant invalide : " + value, "amount");
+        }
+    }
+    
+    private static String idempotencyKey(HttpExchange exchange) {
+        return exchange.getRequestHeaders().getFirst("Idempotency-Key");
+    }
+    
+    // ========== Écriture JSON ==========
+    
+    private static String accountJson(Account account) {
+        return "{\"id\":" + quote(account.getId())
+            + ",\"accountNumber\":" + quote(account.getAccountNumber())
+            + ",\"type\":" + quote(String.valueOf(account.getAccountType()))
+            + ",\"ownerId\":" + quote(account.getOwner() != null ? account.getOwner().getId() : null)
+            + ",\"balance\":" + account.getBalance() + "}";
+    }
+    
+    private static String transactionJson(Transaction transaction) {
+        return "{\"id\":" + quote(transaction.getId())
+            + ",\"type\":" + quote(String.valueOf(transaction.getType()))
+            + ",\"status\":" + quote(String.valueOf(transaction.getStatus()))
+            + ",\"amount\":" + transaction.getAmount()
+            + ",\"from\":" + quote(transaction.getFromAccount() != null ? transaction.getFromAccount().getId() : null)
+            + ",\"to\":" + quote(transaction.getToAccount() != null ? transaction.getToAccount().getId() : null)
+            + ",\"timestamp\":" + quote(transaction.getTimestamp() != null ? transaction.getTimestamp().toString() : null)
+            + ",\"description\":" + quote(transaction.getDescription())
+            + ",\"reversalOf\":" + quote(transaction.getReversalOf()) + "}";
+    }
+    
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+    
+    /**
+     * Retourne le serveur HTTP sous-jacent, pour y monter d'autres points d'accès (/metrics).
+     * 
+     * @return Le serveur
+     */
+    public HttpServer getServer() {
+        return server;
+    }
+    
+    /**
+     * Retourne le port d'écoute effectif.
+     * 
+     * @return Le port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    /**
+     * Arrête le serveur en laissant une seconde aux requêtes en cours.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
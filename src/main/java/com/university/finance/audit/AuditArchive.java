@@ -0,0 +1,34 @@
+package com.university.finance.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Archive d'audit consultable : l'historique complet des enregistrements écrits
+ * durablement, au-delà de ce que garde le journal en mémoire.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public interface AuditArchive {
+    
+    /**
+     * Indique si les enregistrements archivés peuvent être relus.
+     * 
+     * @return false si le format de l'archive n'est pas relisible (texte)
+     */
+    boolean isSearchable();
+    
+    /**
+     * Recherche les enregistrements archivés d'un compte sur une période, après avoir
+     * attendu l'écriture de ceux en attente.
+     * 
+     * @param accountNumber Numéro de compte exact (null pour tous les comptes)
+     * @param fromMillis Début de la période (inclus), en millisecondes depuis l'epoch
+     * @param toMillis Fin de la période (incluse), en millisecondes depuis l'epoch
+     * @return Les enregistrements correspondants, dans l'ordre d'écriture
+     * @throws IOException Si l'archive ne peut pas être lue
+     * @throws UnsupportedOperationException Si l'archive n'est pas consultable
+     */
+    List<AuditRecord> find(String accountNumber, long fromMillis, long toMillis) throws IOException;
+}
@@ -0,0 +1,240 @@
+package com.university.finance.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vérification de l'intégrité des fichiers d'audit chaînés (format CHAINED).
+ * 
+ * Le fichier est projeté en mémoire puis découpé en segments grâce aux points de
+ * contrôle, sans calculer d'empreinte. Chaque segment part de l'empreinte de son
+ * point de contrôle et doit aboutir à celle du suivant : les segments sont donc
+ * vérifiés en parallèle sur tous les cœurs, chacun avec son propre MessageDigest.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class AuditChainVerifier {
+    
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(AuditHashChain::newDigest);
+    
+    /**
+     * Résultat de la vérification d'un fichier.
+     */
+    public static final class Result {
+        private final boolean valid;
+        private final long recordCount;
+        private final int segmentCount;
+        private final int firstInvalidSegment;
+        private final byte[] previousHash;
+        private final byte[] headHash;
+        
+        private Result(boolean valid, long recordCount, int segmentCount, int firstInvalidSegment,
+                       byte[] previousHash, byte[] headHash) {
+            this.valid = valid;
+            this.recordCount = recordCount;
+            this.segmentCount = segmentCount;
+            this.firstInvalidSegment = firstInvalidSegment;
+            this.previousHash = previousHash;
+            this.headHash = headHash;
+        }
+        
+        public boolean isValid() {
+            return valid;
+        }
+        
+        public long getRecordCount() {
+            return recordCount;
+        }
+        
+        public int getSegmentCount() {
+            return segmentCount;
+        }
+        
+        /**
+         * @return L'indice du premier segment altéré, ou -1 si le fichier est intègre
+         */
+        public int getFirstInvalidSegment() {
+            return firstInvalidSegment;
+        }
+        
+        /**
+         * @return L'empreinte à laquelle le fichier est rattaché (fin du fichier précédent)
+         */
+        public byte[] getPreviousHash() {
+            return previousHash.clone();
+        }
+        
+        /**
+         * @return L'empreinte du dernier enregistrement du fichier
+         */
+        public byte[] getHeadHash() {
+            return headHash.clone();
+        }
+    }
+    
+    /**
+     * Segment de la chaîne entre deux points de contrôle.
+     */
+    private static final class Segment {
+        private final byte[] startHash;
+        private final int startOffset;
+        private int records;
+        private byte[] expectedEnd; // null pour un segment non scellé en fin de fichier
+        private byte[] computedEnd;
+        
+        private Segment(byte[] startHash, int startOffset) {
+            this.startHash = startHash;
+            this.startOffset = startOffset;
+        }
+    }
+    
+    private AuditChainVerifier() {
+    }
+    
+    /**
+     * Vérifie un fichier d'audit chaîné.
+     * 
+     * Un fichier tronqué (arrêt brutal pendant l'écriture) est signalé invalide ; l'empreinte
+     * finale est alors celle du dernier enregistrement complet.
+     * 
+     * @param file Le fichier à vérifier
+     * @return Le résultat de la vérification
+     * @throws IOException Si le fichier ne peut pas être lu ou n'est pas un fichier chaîné
+     */
+    public static Result verify(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Fichier d'audit trop volumineux : " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 8 + AuditHashChain.HASH_LENGTH || buffer.getInt() != AuditFormat.CHAINED_MAGIC) {
+            throw new IOException("Fichier d'audit chaîné invalide : " + file);
+        }
+        buffer.getInt(); // intervalle des points de contrôle, informatif
+        byte[] previousHash = readHash(buffer);
+        
+        List<Segment> segments = new ArrayList<>();
+        boolean corrupted = split(buffer, previousHash, segments);
+        
+        segments.parallelStream().forEach(segment -> segment.computedEnd = hash(buffer, segment));
+        
+        long records = 0;
+        int firstInvalid = -1;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            records += segment.records;
+            if (firstInvalid < 0 && segment.expectedEnd != null
+                    && !MessageDigest.isEqual(segment.expectedEnd, segment.computedEnd)) {
+                firstInvalid = i;
+            }
+        }
+        if (firstInvalid < 0 && corrupted) {
+            firstInvalid = segments.size() - 1;
+        }
+        byte[] head = segments.get(segments.size() - 1).computedEnd;
+        return new Result(firstInvalid < 0, records, segments.size(), firstInvalid, previousHash, head);
+    }
+    
+    /**
+     * Vérifie une suite de fichiers chaînés et leur rattachement les uns aux autres.
+     * 
+     * @param files Les fichiers, du plus ancien au plus récent
+     * @return true si tous les fichiers sont intègres et correctement rattachés
+     * @throws IOException Si un fichier ne peut pas être lu
+     */
+    public static boolean verifyAll(List<Path> files) throws IOException {
+        byte[] previousHead = null;
+        for (Path file : files) {
+            Result result = verify(file);
+            if (!result.isValid()) {
+                return false;
+            }
+            if (previousHead != null && !MessageDigest.isEqual(previousHead, result.previousHash)) {
+                return false;
+            }
+            previousHead = result.headHash;
+        }
+        return true;
+    }
+    
+    /**
+     * Découpe le fichier en segments en ne lisant que les longueurs et les points de contrôle.
+     * 
+     * @return true si une structure invalide ou un enregistrement tronqué a été rencontré
+     */
+    private static boolean split(ByteBuffer buffer, byte[] startHash, List<Segment> segments) {
+        Segment current = new Segment(startHash, buffer.position());
+        segments.add(current);
+        while (buffer.remaining() >= Integer.BYTES) {
+            int tag = buffer.getInt();
+            if (tag == AuditHashChain.CHECKPOINT_TAG) {
+                if (buffer.remaining() < AuditHashChain.HASH_LENGTH) {
+                    break;
+                }
+                byte[] checkpoint = readHash(buffer);
+                current.expectedEnd = checkpoint;
+                current = new Segment(checkpoint, buffer.position());
+                segments.add(current);
+            } else if (tag > 0) {
+                if (buffer.remaining() < tag) {
+                    break;
+                }
+                buffer.position(buffer.position() + tag);
+                current.records++;
+            } else {
+                return true;
+            }
+        }
+        return buffer.hasRemaining();
+    }
+    
+    /**
+     * Recalcule la chaîne d'un segment à partir de son empreinte de départ.
+     */
+    private static byte[] hash(ByteBuffer source, Segment segment) {
+        MessageDigest digest = DIGEST.get();
+        ByteBuffer view = source.duplicate();
+        byte[] head = segment.startHash;
+        int position = segment.startOffset;
+        for (int i = 0; i < segment.records; i++) {
+            int length = view.getInt(position);
+            view.limit(position + Integer.BYTES + length).position(position + Integer.BYTES);
+            digest.update(head);
+            digest.update(view);
+            head = digest.digest();
+            view.limit(view.capacity());
+            position += Integer.BYTES + length;
+        }
+        return head;
+    }
+    
+    private static byte[] readHash(ByteBuffer buffer) {
+        byte[] hash = new byte[AuditHashChain.HASH_LENGTH];
+        buffer.get(hash);
+        return hash;
+    }
+    
+    /**
+     * Formate une empreinte en hexadécimal.
+     * 
+     * @param hash L'empreinte
+     * @return La représentation hexadécimale
+     */
+    public static String toHex(byte[] hash) {
+        StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
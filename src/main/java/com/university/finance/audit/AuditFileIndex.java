@@ -0,0 +1,129 @@
+package com.university.finance.audit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Index d'un fichier d'audit : nombre d'enregistrements, plage des horodatages et
+ * numéros des comptes présents.
+ * 
+ * RollingAuditFileWriter le tient pour le fichier courant et l'écrit à côté du
+ * fichier quand celui-ci est fermé (même nom suivi de {@value #SUFFIX}). Une
+ * recherche dans les fichiers écarte ainsi, sans les lire, ceux qui ne peuvent
+ * contenir ni le compte ni la période demandés.
+ * 
+ * Format : identifiant (int), nombre d'enregistrements (long), horodatages minimal
+ * et maximal (long), nombre de comptes (int) puis chaque numéro de compte (UTF).
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+final class AuditFileIndex {
+    
+    /** Suffixe ajouté au nom du fichier d'audit. */
+    static final String SUFFIX = ".idx";
+    
+    /** Identifiant en tête des fichiers d'index ("AUIX"). */
+    private static final int MAGIC = 0x41554958;
+    
+    private long count;
+    private long minMillis = Long.MAX_VALUE;
+    private long maxMillis = Long.MIN_VALUE;
+    private final Set<String> accounts = new HashSet<>();
+    
+    /**
+     * Ajoute un enregistrement à l'index.
+     * 
+     * @param record L'enregistrement écrit dans le fichier
+     */
+    void add(AuditRecord record) {
+        count++;
+        minMillis = Math.min(minMillis, record.getTimestampMillis());
+        maxMillis = Math.max(maxMillis, record.getTimestampMillis());
+        if (record.getFromAccountNumber() != null) {
+            accounts.add(record.getFromAccountNumber());
+        }
+        if (record.getToAccountNumber() != null) {
+            accounts.add(record.getToAccountNumber());
+        }
+    }
+    
+    /**
+     * Indique si le fichier peut contenir des enregistrements d'un compte sur une période.
+     * 
+     * @param accountNumber Numéro de compte exact (null pour tous les comptes)
+     * @param fromMillis Début de la période (inclus)
+     * @param toMillis Fin de la période (incluse)
+     * @return false si le fichier ne contient certainement aucun de ces enregistrements
+     */
+    boolean mayContain(String accountNumber, long fromMillis, long toMillis) {
+        return count > 0 && minMillis <= toMillis && maxMillis >= fromMillis
+            && (accountNumber == null || accounts.contains(accountNumber));
+    }
+    
+    /**
+     * Écrit l'index à côté d'un fichier d'audit (via un fichier temporaire renommé).
+     * 
+     * @param auditFile Le fichier d'audit indexé
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    void write(Path auditFile) throws IOException {
+        Path target = pathOf(auditFile);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeLong(count);
+            out.writeLong(minMillis);
+            out.writeLong(maxMillis);
+            out.writeInt(accounts.size());
+            for (String account : accounts) {
+                out.writeUTF(account);
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+    
+    /**
+     * Lit l'index d'un fichier d'audit.
+     * 
+     * @param auditFile Le fichier d'audit
+     * @return L'index, ou null si le fichier n'a pas été indexé (fichier en cours d'écriture
+     *         ou arrêt brutal avant sa fermeture)
+     * @throws IOException Si l'index existe mais ne peut pas être lu
+     */
+    static AuditFileIndex read(Path auditFile) throws IOException {
+        Path path = pathOf(auditFile);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Index d'audit invalide : " + path);
+            }
+            AuditFileIndex index = new AuditFileIndex();
+            index.count = in.readLong();
+            index.minMillis = in.readLong();
+            index.maxMillis = in.readLong();
+            int accounts = in.readInt();
+            for (int i = 0; i < accounts; i++) {
+                index.accounts.add(in.readUTF());
+            }
+            return index;
+        }
+    }
+    
+    /**
+     * Chemin de l'index d'un fichier d'audit.
+     */
+    static Path pathOf(Path auditFile) {
+        return auditFile.resolveSibling(auditFile.getFileName() + SUFFIX);
+    }
+}
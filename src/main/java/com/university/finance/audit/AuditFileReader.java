@@ -0,0 +1,92 @@
+package com.university.finance.audit;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture des fichiers d'audit binaires et chaînés produits par RollingAuditFileWriter.
+ * 
+ * Les fichiers chaînés sont relus sans vérifier leurs empreintes (voir
+ * {@link AuditChainVerifier} pour cela).
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class AuditFileReader {
+    
+    private AuditFileReader() {
+    }
+    
+    /**
+     * Lit tous les enregistrements d'un fichier binaire ou chaîné.
+     * 
+     * Un enregistrement tronqué en fin de fichier (arrêt brutal pendant l'écriture) est ignoré.
+     * 
+     * @param file Le fichier d'audit binaire ou chaîné
+     * @return Les enregistrements, dans l'ordre d'écriture
+     * @throws IOException Si le fichier ne peut pas être lu ou n'est pas un fichier d'audit binaire
+     */
+    public static List<AuditRecord> read(Path file) throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int magic = in.readInt();
+            if (magic == AuditFormat.CHAINED_MAGIC) {
+                readChained(in, file, records);
+                return records;
+            }
+            if (magic != AuditFormat.BINARY_MAGIC) {
+                throw new IOException("Fichier d'audit binaire invalide : " + file);
+            }
+            while (true) {
+                try {
+                    records.add(AuditRecord.readFrom(in));
+                } catch (EOFException e) {
+                    return records;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Lit les enregistrements d'un fichier chaîné, en sautant l'en-tête et les points de contrôle.
+     */
+    private static void readChained(DataInputStream in, Path file, List<AuditRecord> records) throws IOException {
+        try {
+            in.readInt(); // intervalle des points de contrôle
+            in.readFully(new byte[AuditHashChain.HASH_LENGTH]);
+            while (true) {
+                int tag = in.readInt();
+                if (tag == AuditHashChain.CHECKPOINT_TAG) {
+                    in.readFully(new byte[AuditHashChain.HASH_LENGTH]);
+                } else if (tag > 0) {
+                    records.add(AuditRecord.readFrom(in));
+                } else {
+                    throw new IOException("Fichier d'audit chaîné invalide : " + file);
+                }
+            }
+        } catch (EOFException e) {
+            // Fin du fichier, éventuellement au milieu d'un enregistrement tronqué
+        }
+    }
+    
+    /**
+     * Lit les enregistrements de plusieurs fichiers binaires, dans l'ordre donné.
+     * 
+     * @param files Les fichiers d'audit binaires
+     * @return Les enregistrements de tous les fichiers
+     * @throws IOException Si un fichier ne peut pas être lu
+     */
+    public static List<AuditRecord> readAll(List<Path> files) throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        for (Path file : files) {
+            records.addAll(read(file));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,35 @@
+package com.university.finance.audit;
+
+/**
+ * Format des fichiers d'audit.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public enum AuditFormat {
+    
+    /** Une ligne de texte lisible par enregistrement. */
+    TEXT(".log"),
+    
+    /** Enregistrements binaires compacts (voir {@link AuditRecord#writeTo}). */
+    BINARY(".bin"),
+    
+    /** Enregistrements binaires chaînés par empreinte SHA-256 (voir {@link AuditChainVerifier}). */
+    CHAINED(".chain");
+    
+    /** Identifiant en tête des fichiers binaires ("AUD1"). */
+    static final int BINARY_MAGIC = 0x41554431;
+    
+    /** Identifiant en tête des fichiers chaînés ("AUC1"). */
+    static final int CHAINED_MAGIC = 0x41554331;
+    
+    private final String extension;
+    
+    AuditFormat(String extension) {
+        this.extension = extension;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,159 @@
+package com.university.finance.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * État d'une chaîne d'empreintes d'audit, tenu par le thread d'écriture.
+ * 
+ * Chaque enregistrement est lié au précédent : empreinte(n) = SHA-256(empreinte(n-1) || octets(n)).
+ * Modifier, supprimer ou réordonner un enregistrement change toutes les empreintes suivantes.
+ * 
+ * Format d'un fichier chaîné :
+ * - en-tête : identifiant (int), intervalle de points de contrôle (int), empreinte précédant le fichier (32 octets) ;
+ * - enregistrement : longueur (int, positive) puis octets de l'enregistrement binaire ;
+ * - point de contrôle : marqueur -1 (int) puis empreinte courante (32 octets).
+ * Un point de contrôle est écrit tous les N enregistrements et à la fermeture du fichier ;
+ * chaque segment entre deux points de contrôle peut ainsi être vérifié indépendamment.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+final class AuditHashChain {
+    
+    /** Algorithme d'empreinte. */
+    static final String ALGORITHM = "SHA-256";
+    
+    /** Taille d'une empreinte en octets. */
+    static final int HASH_LENGTH = 32;
+    
+    /** Marqueur d'un point de contrôle. */
+    static final int CHECKPOINT_TAG = -1;
+    
+    /** Nombre d'enregistrements par segment par défaut. */
+    static final int DEFAULT_CHECKPOINT_INTERVAL = 4096;
+    
+    /**
+     * Tampon d'octets réutilisable, dont le contenu est lu sans copie.
+     */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        private RecordBuffer() {
+            super(256);
+        }
+        
+        private byte[] array() {
+            return buf;
+        }
+    }
+    
+    private final MessageDigest digest;
+    private final int checkpointInterval;
+    private final RecordBuffer recordBytes;
+    private final DataOutputStream recordOut;
+    private volatile byte[] head;
+    private int sinceCheckpoint;
+    
+    /**
+     * Constructeur.
+     * 
+     * @param head Empreinte à laquelle rattacher le prochain enregistrement
+     * @param checkpointInterval Nombre d'enregistrements entre deux points de contrôle
+     */
+    AuditHashChain(byte[] head, int checkpointInterval) {
+        if (head.length != HASH_LENGTH || checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Empreinte ou intervalle de points de contrôle invalide");
+        }
+        this.digest = newDigest();
+        this.checkpointInterval = checkpointInterval;
+        this.recordBytes = new RecordBuffer();
+        this.recordOut = new DataOutputStream(recordBytes);
+        this.head = head.clone();
+    }
+    
+    /**
+     * Retourne l'empreinte initiale d'une chaîne vide.
+     * 
+     * @return 32 octets nuls
+     */
+    static byte[] genesis() {
+        return new byte[HASH_LENGTH];
+    }
+    
+    /**
+     * Crée une instance de l'algorithme d'empreinte.
+     * 
+     * @return Le MessageDigest SHA-256
+     */
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " indisponible", e);
+        }
+    }
+    
+    /**
+     * Écrit l'en-tête d'un nouveau fichier, rattaché à l'empreinte courante.
+     * 
+     * @param out Le flux du fichier
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(AuditFormat.CHAINED_MAGIC);
+        out.writeInt(checkpointInterval);
+        out.write(head);
+        sinceCheckpoint = 0;
+    }
+    
+    /**
+     * Écrit un enregistrement et avance la chaîne.
+     * 
+     * @param out Le flux du fichier
+     * @param record L'enregistrement
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    void writeRecord(DataOutputStream out, AuditRecord record) throws IOException {
+        if (sinceCheckpoint == checkpointInterval) {
+            writeCheckpoint(out);
+        }
+        recordBytes.reset();
+        record.writeTo(recordOut);
+        int length = recordBytes.size();
+        digest.update(head);
+        digest.update(recordBytes.array(), 0, length);
+        head = digest.digest();
+        out.writeInt(length);
+        out.write(recordBytes.array(), 0, length);
+        sinceCheckpoint++;
+    }
+    
+    /**
+     * Écrit un point de contrôle final avant la fermeture du fichier.
+     * 
+     * @param out Le flux du fichier
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    void seal(DataOutputStream out) throws IOException {
+        if (sinceCheckpoint > 0) {
+            writeCheckpoint(out);
+        }
+    }
+    
+    /**
+     * Retourne l'empreinte du dernier enregistrement écrit.
+     * 
+     * @return Une copie de l'empreinte courante
+     */
+    byte[] getHead() {
+        return head.clone();
+    }
+    
+    private void writeCheckpoint(DataOutputStream out) throws IOException {
+        out.writeInt(CHECKPOINT_TAG);
+        out.write(head);
+        sinceCheckpoint = 0;
+    }
+}
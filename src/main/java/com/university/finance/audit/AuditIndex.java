@@ -0,0 +1,369 @@
+package com.university.finance.audit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Journal d'audit borné et indexé par compte et par période.
+ * 
+ * Chaque enregistrement reçoit un numéro de séquence croissant et est rangé dans
+ * un tampon circulaire ; au-delà de la capacité, le plus ancien est évincé. Deux
+ * index référencent les numéros de séquence :
+ * - par numéro de compte (source et destination), en correspondance exacte ;
+ * - par tranche de temps (minute par défaut) de l'horodatage de la transaction.
+ * Les listes de séquences sont croissantes : l'éviction retire toujours leur tête, en O(1).
+ * 
+ * Une requête ne parcourt donc que les enregistrements du compte ou des tranches
+ * concernées, jamais l'ensemble du journal. Les lectures partagent un verrou en
+ * lecture ; seul l'ajout prend le verrou en écriture.
+ * 
+ * Les requêtes ne portent que sur les enregistrements conservés : dès que
+ * {@link #getEvictedCount()} est non nul, leurs résultats peuvent être incomplets.
+ * L'historique complet relève d'une archive durable (voir {@link AuditArchive}).
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class AuditIndex {
+    
+    /** Largeur par défaut d'une tranche de l'index temporel : une minute. */
+    public static final long DEFAULT_BUCKET_MILLIS = 60_000L;
+    
+    /** Ordre chronologique, puis ordre d'arrivée. */
+    private static final Comparator<Entry> CHRONOLOGICAL =
+        Comparator.comparingLong((Entry e) -> e.record.getTimestampMillis()).thenComparingLong(e -> e.sequence);
+    
+    /**
+     * Liste croissante de numéros de séquence, sans objet par élément.
+     */
+    private static final class SequenceList {
+        private long[] values = new long[4];
+        private int head;
+        private int size;
+        
+        private void add(long sequence) {
+            if (head + size == values.length) {
+                if (head > values.length / 2) {
+                    System.arraycopy(values, head, values, 0, size);
+                } else {
+                    values = Arrays.copyOfRange(values, head, head + values.length * 2);
+                }
+                head = 0;
+            }
+            values[head + size++] = sequence;
+        }
+        
+        private void removeFirst(long sequence) {
+            if (size > 0 && values[head] == sequence) {
+                head++;
+                size--;
+            }
+        }
+        
+        private long get(int i) {
+            return values[head + i];
+        }
+        
+        private boolean isEmpty() {
+            return size == 0;
+        }
+    }
+    
+    /**
+     * Enregistrement et numéro de séquence, pour le tri des résultats.
+     */
+    private static final class Entry {
+        private final long sequence;
+        private final AuditRecord record;
+        
+        private Entry(long sequence, AuditRecord record) {
+            this.sequence = sequence;
+            this.record = record;
+        }
+    }
+    
+    private final AuditRecord[] records;
+    private final long bucketMillis;
+    private final Map<String, SequenceList> byAccount;
+    private final NavigableMap<Long, SequenceList> byTime;
+    private final ReadWriteLock lock;
+    private long nextSequence;
+    private int count;
+    private long evicted;
+    
+    /**
+     * Constructeur avec tranches d'une minute.
+     * 
+     * @param capacity Nombre maximal d'enregistrements conservés
+     */
+    public AuditIndex(int capacity) {
+        this(capacity, DEFAULT_BUCKET_MILLIS);
+    }
+    
+    /**
+     * Constructeur.
+     * 
+     * @param capacity Nombre maximal d'enregistrements conservés
+     * @param bucketMillis Largeur d'une tranche de l'index temporel en millisecondes
+     */
+    public AuditIndex(int capacity, long bucketMillis) {
+        if (capacity <= 0 || bucketMillis <= 0) {
+            throw new IllegalArgumentException("La capacité et la largeur des tranches doivent être positives");
+        }
+        this.records = new AuditRecord[capacity];
+        this.bucketMillis = bucketMillis;
+        this.byAccount = new HashMap<>();
+        this.byTime = new TreeMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+    
+    /**
+     * Ajoute un enregistrement, en évinçant le plus ancien si le journal est plein.
+     * 
+     * @param record L'enregistrement d'audit
+     */
+    public void add(AuditRecord record) {
+        lock.writeLock().lock();
+        try {
+            if (count == records.length) {
+                evictOldest();
+            }
+            long sequence = nextSequence++;
+            records[slot(sequence)] = record;
+            count++;
+            index(byAccount, record.getFromAccountNumber(), sequence);
+            if (record.getToAccountNumber() != null && !record.getToAccountNumber().equals(record.getFromAccountNumber())) {
+                index(byAccount, record.getToAccountNumber(), sequence);
+            }
+            byTime.computeIfAbsent(bucketOf(record.getTimestampMillis()), b -> new SequenceList()).add(sequence);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Retourne tous les enregistrements conservés, dans l'ordre d'arrivée.
+     * 
+     * @return Les enregistrements
+     */
+    public List<AuditRecord> getAll() {
+        lock.readLock().lock();
+        try {
+            List<AuditRecord> result = new ArrayList<>(count);
+            for (long sequence = nextSequence - count; sequence < nextSequence; sequence++) {
+                result.add(records[slot(sequence)]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retourne les enregistrements d'un compte (source ou destination), dans l'ordre d'arrivée.
+     * 
+     * @param accountNumber Numéro de compte exact
+     * @return Les enregistrements du compte
+     */
+    public List<AuditRecord> findByAccount(String accountNumber) {
+        lock.readLock().lock();
+        try {
+            SequenceList sequences = byAccount.get(accountNumber);
+            if (sequences == null) {
+                return Collections.emptyList();
+            }
+            List<AuditRecord> result = new ArrayList<>(sequences.size);
+            for (int i = 0; i < sequences.size; i++) {
+                result.add(records[slot(sequences.get(i))]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retourne les enregistrements dont l'horodatage est dans l'intervalle [from, to], par ordre chronologique.
+     * 
+     * @param fromMillis Début de l'intervalle (inclus), en millisecondes depuis l'epoch
+     * @param toMillis Fin de l'intervalle (incluse), en millisecondes depuis l'epoch
+     * @return Les enregistrements de la période
+     */
+    public List<AuditRecord> findByTimeRange(long fromMillis, long toMillis) {
+        return findByAccountAndTimeRange(null, fromMillis, toMillis);
+    }
+    
+    /**
+     * Retourne les enregistrements d'un compte dans l'intervalle [from, to], par ordre chronologique.
+     * 
+     * Le plus petit des deux index (compte ou période) est parcouru, puis filtré sur l'autre critère.
+     * 
+     * @param accountNumber Numéro de compte exact (null pour tous les comptes)
+     * @param fromMillis Début de l'intervalle (inclus), en millisecondes depuis l'epoch
+     * @param toMillis Fin de l'intervalle (incluse), en millisecondes depuis l'epoch
+     * @return Les enregistrements correspondants
+     */
+    public List<AuditRecord> findByAccountAndTimeRange(String accountNumber, long fromMillis, long toMillis) {
+        if (fromMillis > toMillis) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            SequenceList accountSequences = null;
+            if (accountNumber != null) {
+                accountSequences = byAccount.get(accountNumber);
+                if (accountSequences == null) {
+                    return Collections.emptyList();
+                }
+            }
+            Map<Long, SequenceList> buckets = byTime.subMap(bucketOf(fromMillis), true, bucketOf(toMillis), true);
+            
+            List<Entry> matches = new ArrayList<>();
+            if (accountSequences != null && accountSequences.size <= sizeOf(buckets, accountSequences.size)) {
+                for (int i = 0; i < accountSequences.size; i++) {
+                    collect(matches, accountSequences.get(i), null, fromMillis, toMillis);
+                }
+            } else {
+                for (SequenceList sequences : buckets.values()) {
+                    for (int i = 0; i < sequences.size; i++) {
+                        collect(matches, sequences.get(i), accountNumber, fromMillis, toMillis);
+                    }
+                }
+            }
+            matches.sort(CHRONOLOGICAL);
+            
+            List<AuditRecord> result = new ArrayList<>(matches.size());
+            for (Entry entry : matches) {
+                result.add(entry.record);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retourne le nombre d'enregistrements conservés.
+     * 
+     * @return Le nombre d'enregistrements
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retourne le nombre d'enregistrements évincés depuis la création (ou le dernier
+     * vidage) du journal : non nul, il signale que les requêtes peuvent être incomplètes.
+     * 
+     * @return Le nombre d'enregistrements évincés
+     */
+    public long getEvictedCount() {
+        lock.readLock().lock();
+        try {
+            return evicted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retourne la capacité du journal.
+     * 
+     * @return Le nombre maximal d'enregistrements conservés
+     */
+    public int getCapacity() {
+        return records.length;
+    }
+    
+    /**
+     * Vide le journal et ses index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(records, null);
+            byAccount.clear();
+            byTime.clear();
+            count = 0;
+            evicted = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void collect(List<Entry> matches, long sequence, String accountNumber, long fromMillis, long toMillis) {
+        AuditRecord record = records[slot(sequence)];
+        long timestamp = record.getTimestampMillis();
+        if (timestamp >= fromMillis && timestamp <= toMillis
+                && (accountNumber == null || record.involves(accountNumber))) {
+            matches.add(new Entry(sequence, record));
+        }
+    }
+    
+    /**
+     * Compte les séquences des tranches, en s'arrêtant dès que la limite est dépassée.
+     */
+    private static int sizeOf(Map<Long, SequenceList> buckets, int limit) {
+        int total = 0;
+        for (SequenceList sequences : buckets.values()) {
+            total += sequences.size;
+            if (total > limit) {
+                break;
+            }
+        }
+        return total;
+    }
+    
+    private void evictOldest() {
+        long sequence = nextSequence - count;
+        int slot = slot(sequence);
+        AuditRecord oldest = records[slot];
+        records[slot] = null;
+        count--;
+        evicted++;
+        unindex(byAccount, oldest.getFromAccountNumber(), sequence);
+        unindex(byAccount, oldest.getToAccountNumber(), sequence);
+        unindex(byTime, bucketOf(oldest.getTimestampMillis()), sequence);
+    }
+    
+    private static <K> void index(Map<K, SequenceList> index, K key, long sequence) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new SequenceList()).add(sequence);
+        }
+    }
+    
+    private static <K> void unindex(Map<K, SequenceList> index, K key, long sequence) {
+        if (key == null) {
+            return;
+        }
+        SequenceList sequences = index.get(key);
+        if (sequences != null) {
+            sequences.removeFirst(sequence);
+            if (sequences.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+    
+    private int slot(long sequence) {
+        return (int) (sequence % records.length);
+    }
+    
+    private long bucketOf(long timestampMillis) {
+        return Math.floorDiv(timestampMillis, bucketMillis);
+    }
+}
@@ -0,0 +1,271 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Transaction;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+
+/**
+ * Enregistrement structuré du journal d'audit.
+ * 
+ * Un enregistrement est une copie immuable des informations d'une transaction au
+ * moment de la notification. Il est formaté en texte uniquement à la lecture, et
+ * peut être sérialisé dans un format binaire compact (voir {@link #writeTo}).
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class AuditRecord {
+    
+    /**
+     * Statut de la transaction au moment de l'audit.
+     */
+    public enum Status {
+        COMPLETED,
+        FAILED
+    }
+    
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private static final int HAS_FROM = 1;
+    private static final int HAS_TO = 1 << 1;
+    private static final int HAS_DESCRIPTION = 1 << 2;
+    private static final int HAS_ERROR = 1 << 3;
+    
+    private final long timestampMillis;
+    private final String transactionId;
+    private final Transaction.TransactionType type;
+    private final double amount;
+    private final String fromAccountNumber;
+    private final String toAccountNumber;
+    private final Status status;
+    private final String description;
+    private final String error;
+    
+    /**
+     * Constructeur.
+     * 
+     * @param timestampMillis Horodatage en millisecondes depuis l'epoch
+     * @param transactionId ID de la transaction
+     * @param type Type de la transaction
+     * @param amount Montant
+     * @param fromAccountNumber Numéro du compte source (peut être null)
+     * @param toAccountNumber Numéro du compte destination (peut être null)
+     * @param status Statut de la transaction
+     * @param description Description (peut être null)
+     * @param error Message d'erreur pour une transaction échouée (peut être null)
+     */
+    public AuditRecord(long timestampMillis, String transactionId, Transaction.TransactionType type,
+                       double amount, String fromAccountNumber, String toAccountNumber,
+                       Status status, String description, String error) {
+        this.timestampMillis = timestampMillis;
+        this.transactionId = Objects.requireNonNull(transactionId, "transactionId");
+        this.type = Objects.requireNonNull(type, "type");
+        this.amount = amount;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.status = Objects.requireNonNull(status, "status");
+        this.description = description;
+        this.error = error;
+    }
+    
+    /**
+     * Crée un enregistrement à partir d'une transaction.
+     * 
+     * @param transaction La transaction auditée
+     * @param status Le statut de la transaction
+     * @param error L'erreur ayant causé l'échec (peut être null)
+     * @return L'enregistrement d'audit
+     */
+    public static AuditRecord of(Transaction transaction, Status status, Exception error) {
+        LocalDateTime timestamp = transaction.getTimestamp() != null ? transaction.getTimestamp() : LocalDateTime.now();
+        return new AuditRecord(
+            timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+            transaction.getId(),
+            transaction.getType(),
+            transaction.getAmount(),
+            transaction.getFromAccount() != null ? transaction.getFromAccount().getAccountNumber() : null,
+            transaction.getToAccount() != null ? transaction.getToAccount().getAccountNumber() : null,
+            status,
+            transaction.getDescription(),
+            error != null ? String.valueOf(error.getMessage()) : null
+        );
+    }
+    
+    // Getters
+    
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    public String getTransactionId() {
+        return transactionId;
+    }
+    
+    public Transaction.TransactionType getType() {
+        return type;
+    }
+    
+    public double getAmount() {
+        return amount;
+    }
+    
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+    
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    /**
+     * Vérifie si l'enregistrement concerne un compte (source ou destination).
+     * 
+     * @param accountNumber Numéro de compte
+     * @return true si le compte est la source ou la destination
+     */
+    public boolean involves(String accountNumber) {
+        return accountNumber != null
+            && (accountNumber.equals(fromAccountNumber) || accountNumber.equals(toAccountNumber));
+    }
+    
+    /**
+     * Formate l'enregistrement en une ligne de journal lisible.
+     * 
+     * @return La ligne de journal
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder(128);
+        LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault());
+        sb.append("[").append(timestamp.format(FORMATTER)).append("] ");
+        sb.append("Transaction ").append(transactionId).append(" - ");
+        sb.append("Type: ").append(type).append(", ");
+        sb.append("Amount: ").append(amount).append(", ");
+        
+        if (fromAccountNumber != null) {
+            sb.append("From: ").append(fromAccountNumber).append(", ");
+        }
+        
+        if (toAccountNumber != null) {
+            sb.append("To: ").append(toAccountNumber).append(", ");
+        }
+        
+        sb.append("Status: ").append(status);
+        
+        if (description != null && !description.isEmpty()) {
+            sb.append(", Description: ").append(description);
+        }
+        
+        if (error != null) {
+            sb.append(" - Error: ").append(error);
+        }
+        
+        return sb.toString();
+    }
+    
+    /**
+     * Écrit l'enregistrement au format binaire.
+     * 
+     * Format : horodatage (long), type et statut (octets), montant (double),
+     * ID de transaction (UTF), puis un octet de présence suivi des champs optionnels.
+     * 
+     * @param out La sortie binaire
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(timestampMillis);
+        out.writeByte(type.ordinal());
+        out.writeByte(status.ordinal());
+        out.writeDouble(amount);
+        out.writeUTF(transactionId);
+        
+        int flags = (fromAccountNumber != null ? HAS_FROM : 0)
+            | (toAccountNumber != null ? HAS_TO : 0)
+            | (description != null ? HAS_DESCRIPTION : 0)
+            | (error != null ? HAS_ERROR : 0);
+        out.writeByte(flags);
+        if (fromAccountNumber != null) {
+            out.writeUTF(fromAccountNumber);
+        }
+        if (toAccountNumber != null) {
+            out.writeUTF(toAccountNumber);
+        }
+        if (description != null) {
+            out.writeUTF(description);
+        }
+        if (error != null) {
+            out.writeUTF(error);
+        }
+    }
+    
+    /**
+     * Lit un enregistrement écrit par {@link #writeTo}.
+     * 
+     * @param in L'entrée binaire
+     * @return L'enregistrement lu
+     * @throws IOException En cas d'erreur de lecture ou de données invalides
+     */
+    public static AuditRecord readFrom(DataInput in) throws IOException {
+        long timestampMillis = in.readLong();
+        int typeOrdinal = in.readUnsignedByte();
+        int statusOrdinal = in.readUnsignedByte();
+        Transaction.TransactionType[] types = Transaction.TransactionType.values();
+        Status[] statuses = Status.values();
+        if (typeOrdinal >= types.length || statusOrdinal >= statuses.length) {
+            throw new IOException("Enregistrement d'audit corrompu");
+        }
+        double amount = in.readDouble();
+        String transactionId = in.readUTF();
+        
+        int flags = in.readUnsignedByte();
+        String from = (flags & HAS_FROM) != 0 ? in.readUTF() : null;
+        String to = (flags & HAS_TO) != 0 ? in.readUTF() : null;
+        String description = (flags & HAS_DESCRIPTION) != 0 ? in.readUTF() : null;
+        String error = (flags & HAS_ERROR) != 0 ? in.readUTF() : null;
+        return new AuditRecord(timestampMillis, transactionId, types[typeOrdinal], amount,
+            from, to, statuses[statusOrdinal], description, error);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AuditRecord that = (AuditRecord) o;
+        return timestampMillis == that.timestampMillis &&
+               Double.compare(amount, that.amount) == 0 &&
+               transactionId.equals(that.transactionId) &&
+               type == that.type &&
+               status == that.status &&
+               Objects.equals(fromAccountNumber, that.fromAccountNumber) &&
+               Objects.equals(toAccountNumber, that.toAccountNumber) &&
+               Objects.equals(description, that.description) &&
+               Objects.equals(error, that.error);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(timestampMillis, transactionId, type, amount, status);
+    }
+    
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -0,0 +1,27 @@
+package com.university.finance.audit;
+
+import java.io.Closeable;
+
+/**
+ * Destination des enregistrements d'audit (fichier, base de données...).
+ * 
+ * L'ajout doit être rapide : une implémentation qui fait des entrées/sorties
+ * les délègue à un thread d'écriture plutôt qu'au thread de la transaction.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public interface AuditSink extends Closeable {
+    
+    /**
+     * Ajoute un enregistrement à la destination.
+     * 
+     * @param record L'enregistrement d'audit
+     */
+    void append(AuditRecord record);
+    
+    /**
+     * Attend que tous les enregistrements ajoutés jusqu'ici soient écrits.
+     */
+    void flush();
+}
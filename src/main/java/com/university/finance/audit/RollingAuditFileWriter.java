@@ -0,0 +1,428 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Transaction;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Destination d'audit écrivant dans des fichiers tournants.
+ * 
+ * Les threads des transactions se contentent de déposer l'enregistrement dans une
+ * file bornée ; un thread démon unique la vide par lots, écrit chaque lot dans un
+ * flux bufferisé et ne vide le buffer qu'une fois par lot. Le fichier courant est
+ * remplacé par un nouveau dès qu'il dépasse une taille ou un âge maximal.
+ * 
+ * Les fichiers sont nommés base-000001.log (texte) ou base-000001.bin (binaire) ;
+ * la numérotation reprend après le dernier fichier existant du répertoire.
+ * 
+ * Au format CHAINED, le chaînage des empreintes est calculé par le thread d'écriture :
+ * l'ajout reste un simple dépôt dans la file. La chaîne se poursuit d'un fichier à
+ * l'autre, y compris après un redémarrage (reprise depuis le dernier fichier existant).
+ * 
+ * Si la file est pleine, l'ajout attend que le thread d'écriture libère de la
+ * place : l'audit ralentit les transactions plutôt que de perdre des enregistrements.
+ * 
+ * Aux formats BINARY et CHAINED, les fichiers forment une archive consultable :
+ * chaque fichier fermé est accompagné de son index ({@link AuditFileIndex} : comptes
+ * présents et plage des horodatages), et une recherche par compte ou par période
+ * ne relit que les fichiers que leur index n'écarte pas (plus le fichier courant).
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class RollingAuditFileWriter implements AuditSink, AuditArchive {
+    
+    /** Taille maximale par défaut d'un fichier : 64 Mo. */
+    public static final long DEFAULT_MAX_FILE_BYTES = 64L * 1024 * 1024;
+    
+    /** Âge maximal par défaut d'un fichier : 1 heure. */
+    public static final long DEFAULT_MAX_FILE_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+    
+    /** Capacité par défaut de la file d'attente. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 65_536;
+    
+    /** Nombre maximal d'enregistrements écrits par lot. */
+    public static final int DEFAULT_BATCH_SIZE = 1_024;
+    
+    /** Marqueur d'arrêt déposé dans la file par close(). */
+    private static final AuditRecord POISON = new AuditRecord(0L, "", Transaction.TransactionType.DEPOSIT,
+        0.0, null, null, AuditRecord.Status.COMPLETED, null, null);
+    
+    private final Path directory;
+    private final String baseName;
+    private final AuditFormat format;
+    private final long maxFileBytes;
+    private final long maxFileAgeMillis;
+    private final int batchSize;
+    private final BlockingQueue<AuditRecord> queue;
+    private final LongSupplier clockMillis;
+    private final Thread writerThread;
+    private final AuditHashChain chain; // null sauf au format CHAINED
+    
+    private final AtomicLong submitted = new AtomicLong();
+    private final ReentrantLock progressLock = new ReentrantLock();
+    private final Condition progress = progressLock.newCondition();
+    private long written; // protégé par progressLock
+    private volatile boolean closed;
+    
+    // État du fichier courant, accédé uniquement par le thread d'écriture
+    private DataOutputStream out;
+    private Path currentFile;
+    private AuditFileIndex currentIndex;
+    private long openedAtMillis;
+    private int nextIndex;
+    
+    /**
+     * Constructeur avec rotation par défaut.
+     * 
+     * @param directory Répertoire des fichiers d'audit (créé si besoin)
+     * @param baseName Préfixe des noms de fichiers
+     * @param format Format des enregistrements
+     * @throws IOException Si le répertoire ne peut pas être créé ou lu
+     */
+    public RollingAuditFileWriter(Path directory, String baseName, AuditFormat format) throws IOException {
+        this(directory, baseName, format, DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_FILE_AGE_MILLIS);
+    }
+    
+    /**
+     * Constructeur avec seuils de rotation.
+     * 
+     * @param directory Répertoire des fichiers d'audit (créé si besoin)
+     * @param baseName Préfixe des noms de fichiers
+     * @param format Format des enregistrements
+     * @param maxFileBytes Taille au-delà de laquelle un nouveau fichier est ouvert
+     * @param maxFileAgeMillis Âge au-delà duquel un nouveau fichier est ouvert
+     * @throws IOException Si le répertoire ne peut pas être créé ou lu
+     */
+    public RollingAuditFileWriter(Path directory, String baseName, AuditFormat format,
+                                  long maxFileBytes, long maxFileAgeMillis) throws IOException {
+        this(directory, baseName, format, maxFileBytes, maxFileAgeMillis,
+            DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE, AuditHashChain.DEFAULT_CHECKPOINT_INTERVAL,
+            System::currentTimeMillis);
+    }
+    
+    /**
+     * Constructeur complet avec horloge injectable (pour les tests).
+     * 
+     * @param directory Répertoire des fichiers d'audit (créé si besoin)
+     * @param baseName Préfixe des noms de fichiers
+     * @param format Format des enregistrements
+     * @param maxFileBytes Taille au-delà de laquelle un nouveau fichier est ouvert
+     * @param maxFileAgeMillis Âge au-delà duquel un nouveau fichier est ouvert
+     * @param queueCapacity Capacité de la file d'attente
+     * @param batchSize Nombre maximal d'enregistrements par lot
+     * @param checkpointInterval Nombre d'enregistrements entre deux points de contrôle (format CHAINED)
+     * @param clockMillis Horloge en millisecondes
+     * @throws IOException Si le répertoire ne peut pas être créé ou lu
+     */
+    RollingAuditFileWriter(Path directory, String baseName, AuditFormat format,
+                           long maxFileBytes, long maxFileAgeMillis, int queueCapacity,
+                           int batchSize, int checkpointInterval, LongSupplier clockMillis) throws IOException {
+        if (maxFileBytes <= 0 || maxFileAgeMillis <= 0 || queueCapacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Les seuils de rotation et tailles de file doivent être positifs");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.baseName = baseName;
+        this.format = format;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFileAgeMillis = maxFileAgeMillis;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.clockMillis = clockMillis;
+        this.nextIndex = lastIndex() + 1;
+        this.chain = format == AuditFormat.CHAINED ? new AuditHashChain(lastHead(), checkpointInterval) : null;
+        
+        this.writerThread = new Thread(this::writeLoop, "audit-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+    
+    @Override
+    public void append(AuditRecord record) {
+        if (closed) {
+            throw new IllegalStateException("Le journal d'audit est fermé");
+        }
+        try {
+            queue.put(record);
+            submitted.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("[AUDIT] Enregistrement perdu (interruption) : " + record.getTransactionId());
+        }
+    }
+    
+    @Override
+    public void flush() {
+        long target = submitted.get();
+        progressLock.lock();
+        try {
+            while (written < target && writerThread.isAlive()) {
+                progress.await(100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            progressLock.unlock();
+        }
+    }
+    
+    /**
+     * Écrit les enregistrements en attente puis arrête le thread d'écriture.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(POISON);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Retourne le nombre d'enregistrements en attente d'écriture.
+     * 
+     * @return La profondeur de la file
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+    
+    /**
+     * Retourne l'empreinte du dernier enregistrement écrit (format CHAINED).
+     * 
+     * Publiée à l'extérieur (signature, dépôt tiers), elle permet de détecter
+     * une réécriture complète de la chaîne. Appeler flush() au préalable.
+     * 
+     * @return L'empreinte courante
+     * @throws IllegalStateException Si le format n'est pas CHAINED
+     */
+    public byte[] getHeadHash() {
+        if (chain == null) {
+            throw new IllegalStateException("Le journal n'est pas au format CHAINED");
+        }
+        return chain.getHead();
+    }
+    
+    /**
+     * Liste les fichiers d'audit de ce journal, du plus ancien au plus récent.
+     * 
+     * @return Les chemins des fichiers
+     * @throws IOException Si le répertoire ne peut pas être lu
+     */
+    public List<Path> getFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                baseName + "-*" + format.getExtension())) {
+            for (Path file : stream) {
+                if (indexOf(file) >= 0) {
+                    files.add(file);
+                }
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+    
+    @Override
+    public boolean isSearchable() {
+        return format != AuditFormat.TEXT;
+    }
+    
+    /**
+     * Recherche les enregistrements d'un compte sur une période dans tous les fichiers
+     * de ce journal, y compris ceux des exécutions précédentes.
+     * 
+     * @param accountNumber Numéro de compte exact (null pour tous les comptes)
+     * @param fromMillis Début de la période (inclus), en millisecondes depuis l'epoch
+     * @param toMillis Fin de la période (incluse), en millisecondes depuis l'epoch
+     * @return Les enregistrements correspondants, dans l'ordre d'écriture
+     * @throws IOException Si un fichier ne peut pas être lu
+     * @throws UnsupportedOperationException Au format TEXT
+     */
+    @Override
+    public List<AuditRecord> find(String accountNumber, long fromMillis, long toMillis) throws IOException {
+        if (!isSearchable()) {
+            throw new UnsupportedOperationException("Les fichiers d'audit texte ne sont pas relisibles");
+        }
+        flush();
+        List<AuditRecord> result = new ArrayList<>();
+        for (Path file : getFiles()) {
+            AuditFileIndex index = AuditFileIndex.read(file);
+            if (index != null && !index.mayContain(accountNumber, fromMillis, toMillis)) {
+                continue;
+            }
+            for (AuditRecord record : AuditFileReader.read(file)) {
+                long timestamp = record.getTimestampMillis();
+                if (timestamp >= fromMillis && timestamp <= toMillis
+                        && (accountNumber == null || record.involves(accountNumber))) {
+                    result.add(record);
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Boucle du thread d'écriture : un lot par réveil, un vidage du buffer par lot.
+     */
+    private void writeLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                stop = true;
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.removeIf(record -> record == POISON)) {
+                stop = true;
+                // Enregistrements arrivés pendant la fermeture
+                queue.drainTo(batch);
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+        closeCurrentFile();
+    }
+    
+    private void writeBatch(List<AuditRecord> batch) {
+        try {
+            for (AuditRecord record : batch) {
+                rollIfNeeded();
+                if (currentIndex != null) {
+                    currentIndex.add(record);
+                }
+                if (chain != null) {
+                    chain.writeRecord(out, record);
+                } else if (format == AuditFormat.BINARY) {
+                    record.writeTo(out);
+                } else {
+                    out.write((record.format() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            if (out != null) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("[AUDIT] Erreur d'écriture : " + e.getMessage());
+            closeCurrentFile();
+        } finally {
+            markWritten(batch.size());
+        }
+    }
+    
+    private void rollIfNeeded() throws IOException {
+        long now = clockMillis.getAsLong();
+        if (out != null && out.size() < maxFileBytes && now - openedAtMillis < maxFileAgeMillis) {
+            return;
+        }
+        closeCurrentFile();
+        Path file = directory.resolve(String.format("%s-%06d%s", baseName, nextIndex++, format.getExtension()));
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), 64 * 1024));
+        currentFile = file;
+        currentIndex = isSearchable() ? new AuditFileIndex() : null;
+        if (chain != null) {
+            chain.writeHeader(out);
+        } else if (format == AuditFormat.BINARY) {
+            out.writeInt(AuditFormat.BINARY_MAGIC);
+        }
+        openedAtMillis = now;
+    }
+    
+    private void closeCurrentFile() {
+        if (out == null) {
+            return;
+        }
+        try {
+            if (chain != null) {
+                chain.seal(out);
+            }
+            out.close();
+            if (currentIndex != null) {
+                currentIndex.write(currentFile);
+            }
+        } catch (IOException e) {
+            System.err.println("[AUDIT] Erreur de fermeture : " + e.getMessage());
+        }
+        out = null;
+        currentIndex = null;
+    }
+    
+    private void markWritten(int count) {
+        progressLock.lock();
+        try {
+            written += count;
+            progress.signalAll();
+        } finally {
+            progressLock.unlock();
+        }
+    }
+    
+    private int lastIndex() throws IOException {
+        int last = 0;
+        for (Path file : getFiles()) {
+            last = Math.max(last, indexOf(file));
+        }
+        return last;
+    }
+    
+    /**
+     * Empreinte finale du dernier fichier chaîné existant, à laquelle rattacher le suivant.
+     */
+    private byte[] lastHead() {
+        try {
+            List<Path> files = getFiles();
+            if (files.isEmpty()) {
+                return AuditHashChain.genesis();
+            }
+            AuditChainVerifier.Result result = AuditChainVerifier.verify(files.get(files.size() - 1));
+            if (!result.isValid()) {
+                System.err.println("[AUDIT] Chaîne d'audit altérée dans " + files.get(files.size() - 1));
+            }
+            return result.getHeadHash();
+        } catch (IOException e) {
+            System.err.println("[AUDIT] Reprise de la chaîne impossible, nouvelle chaîne : " + e.getMessage());
+            return AuditHashChain.genesis();
+        }
+    }
+    
+    /**
+     * Extrait le numéro d'un fichier de ce journal, ou -1 s'il ne suit pas la convention de nommage.
+     */
+    private int indexOf(Path file) {
+        String name = file.getFileName().toString();
+        String prefix = baseName + "-";
+        if (!name.startsWith(prefix) || !name.endsWith(format.getExtension())) {
+            return -1;
+        }
+        String digits = name.substring(prefix.length(), name.length() - format.getExtension().length());
+        try {
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.university.finance.event;
+
+import java.util.List;
+
+/**
+ * Consommateur du journal des transactions.
+ * 
+ * Un consommateur garde sa propre position : il lit les événements à son rythme,
+ * peut revenir en arrière pour les relire ({@link #seek(long)}) et valide sa
+ * progression auprès du journal pour que son groupe reprenne au bon endroit.
+ * Une instance est destinée à un seul thread.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class EventConsumer {
+    
+    private final TransactionEventLog log;
+    private final String group;
+    private long position;
+    private long skipped;
+    
+    EventConsumer(TransactionEventLog log, String group, long position) {
+        this.log = log;
+        this.group = group;
+        this.position = position;
+    }
+    
+    /**
+     * Lit les prochains événements disponibles, sans attendre.
+     * 
+     * @param maxEvents Nombre maximal d'événements
+     * @return Les événements (liste vide si aucun)
+     */
+    public List<TransactionEvent> poll(int maxEvents) {
+        return advance(log.read(position, maxEvents));
+    }
+    
+    /**
+     * Lit les prochains événements, en attendant au plus le délai indiqué.
+     * 
+     * @param maxEvents Nombre maximal d'événements
+     * @param timeoutMillis Délai d'attente maximal
+     * @return Les événements (liste vide si le délai est écoulé)
+     * @throws InterruptedException Si le thread est interrompu pendant l'attente
+     */
+    public List<TransactionEvent> poll(int maxEvents, long timeoutMillis) throws InterruptedException {
+        return advance(log.read(position, maxEvents, timeoutMillis));
+    }
+    
+    private List<TransactionEvent> advance(List<TransactionEvent> events) {
+        if (!events.isEmpty()) {
+            long first = events.get(0).getOffset();
+            // Événements écrasés avant d'avoir été lus
+            skipped += first - position;
+            position = events.get(events.size() - 1).getOffset() + 1;
+        }
+        return events;
+    }
+    
+    /**
+     * Repositionne le consommateur (relecture ou saut).
+     * 
+     * @param offset Offset du prochain événement à lire
+     */
+    public void seek(long offset) {
+        this.position = offset;
+    }
+    
+    /**
+     * Valide la position courante pour le groupe du consommateur.
+     */
+    public void commit() {
+        log.commit(group, position);
+    }
+    
+    /**
+     * Retourne l'offset du prochain événement à lire.
+     * 
+     * @return La position
+     */
+    public long getPosition() {
+        return position;
+    }
+    
+    /**
+     * Retourne le nombre d'événements publiés mais pas encore lus.
+     * 
+     * @return Le retard du consommateur
+     */
+    public long getLag() {
+        return Math.max(0, log.getEndOffset() - Math.max(position, log.getStartOffset()));
+    }
+    
+    /**
+     * Retourne le nombre d'événements écrasés avant d'avoir pu être lus.
+     * 
+     * @return Le nombre d'événements perdus
+     */
+    public long getSkippedCount() {
+        return skipped;
+    }
+    
+    public String getGroup() {
+        return group;
+    }
+}
@@ -0,0 +1,116 @@
+package com.university.finance.event;
+
+import com.university.finance.model.Transaction;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Événement du journal des transactions.
+ * 
+ * Copie immuable d'une transaction au moment où elle a été postée (ou a échoué),
+ * identifiée par sa position (offset) dans le journal. Les offsets sont attribués
+ * dans l'ordre de publication et ne sont jamais réutilisés.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class TransactionEvent {
+    
+    /**
+     * Nature de l'événement.
+     */
+    public enum Status {
+        COMPLETED,
+        FAILED
+    }
+    
+    private final long offset;
+    private final Status status;
+    private final long timestampMillis;
+    private final String transactionId;
+    private final Transaction.TransactionType type;
+    private final double amount;
+    private final String fromAccountNumber;
+    private final String toAccountNumber;
+    private final String reversalOf;
+    private final String error;
+    
+    TransactionEvent(long offset, Status status, Transaction transaction, Exception error) {
+        LocalDateTime timestamp = transaction.getTimestamp() != null ? transaction.getTimestamp() : LocalDateTime.now();
+        this.offset = offset;
+        this.status = Objects.requireNonNull(status, "status");
+        this.timestampMillis = timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        this.transactionId = transaction.getId();
+        this.type = transaction.getType();
+        this.amount = transaction.getAmount();
+        this.fromAccountNumber = transaction.getFromAccount() != null ? transaction.getFromAccount().getAccountNumber() : null;
+        this.toAccountNumber = transaction.getToAccount() != null ? transaction.getToAccount().getAccountNumber() : null;
+        this.reversalOf = transaction.getReversalOf();
+        this.error = error != null ? String.valueOf(error.getMessage()) : null;
+    }
+    
+    // Getters
+    
+    public long getOffset() {
+        return offset;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    public String getTransactionId() {
+        return transactionId;
+    }
+    
+    public Transaction.TransactionType getType() {
+        return type;
+    }
+    
+    public double getAmount() {
+        return amount;
+    }
+    
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+    
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+    
+    public String getReversalOf() {
+        return reversalOf;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    /**
+     * Vérifie si l'événement concerne un compte (source ou destination).
+     * 
+     * @param accountNumber Numéro de compte
+     * @return true si le compte est la source ou la destination
+     */
+    public boolean involves(String accountNumber) {
+        return accountNumber != null
+            && (accountNumber.equals(fromAccountNumber) || accountNumber.equals(toAccountNumber));
+    }
+    
+    @Override
+    public String toString() {
+        return "TransactionEvent{" +
+                "offset=" + offset +
+                ", status=" + status +
+                ", transactionId='" + transactionId + '\'' +
+                ", type=" + type +
+                ", amount=" + amount +
+                '}';
+    }
+}
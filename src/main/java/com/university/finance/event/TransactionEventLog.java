@@ -0,0 +1,252 @@
+package com.university.finance.event;
+
+import com.university.finance.model.Transaction;
+import com.university.finance.pattern.observer.TransactionObserver;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Journal ordonné des événements de transaction (courtier local).
+ * 
+ * Branché sur le TransactionService ({@code TransactionService.setEventLog}), le
+ * journal attribue à chaque transaction un offset croissant sous le verrou d'écriture
+ * du service : l'ordre des offsets est celui de validation des transactions. Abonné
+ * comme un simple observateur, notifié hors de ce verrou, il les numérote dans l'ordre
+ * des notifications, qui peut différer de l'ordre de validation entre threads.
+ * Les événements sont conservés dans un tampon circulaire borné.
+ * Les consommateurs (analyses, notifications...) lisent ensuite à leur rythme à
+ * partir de l'offset de leur choix : la publication se limite à une écriture dans
+ * le tableau et ne dépend jamais de leur vitesse.
+ * 
+ * Quand le tampon est plein, les événements les plus anciens sont écrasés ; un
+ * consommateur trop en retard reprend alors au plus ancien événement disponible
+ * (voir {@link EventConsumer#getSkippedCount()}). Les offsets validés par groupe
+ * de consommateurs permettent à un consommateur de reprendre là où il s'était arrêté.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class TransactionEventLog implements TransactionObserver {
+    
+    /** Nombre d'événements conservés par défaut. */
+    public static final int DEFAULT_CAPACITY = 100_000;
+    
+    private final TransactionEvent[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Map<String, Long> committedOffsets = new ConcurrentHashMap<>();
+    private long startOffset; // plus ancien offset disponible, protégé par lock
+    private long endOffset;   // prochain offset attribué, protégé par lock
+    private int waiters;      // consommateurs en attente, protégé par lock
+    
+    /**
+     * Constructeur avec capacité par défaut.
+     */
+    public TransactionEventLog() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Constructeur.
+     * 
+     * @param capacity Nombre d'événements conservés
+     */
+    public TransactionEventLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité doit être positive");
+        }
+        this.ring = new TransactionEvent[capacity];
+    }
+    
+    @Override
+    public void onTransactionCompleted(Transaction transaction) {
+        append(transaction, TransactionEvent.Status.COMPLETED, null);
+    }
+    
+    @Override
+    public void onTransactionFailed(Transaction transaction, Exception error) {
+        append(transaction, TransactionEvent.Status.FAILED, error);
+    }
+    
+    /**
+     * Publie un événement à la fin du journal.
+     * 
+     * @param transaction La transaction
+     * @param status Le statut de l'événement
+     * @param error L'erreur pour un échec (peut être null)
+     * @return L'événement publié
+     */
+    public TransactionEvent append(Transaction transaction, TransactionEvent.Status status, Exception error) {
+        lock.lock();
+        try {
+            TransactionEvent event = new TransactionEvent(endOffset, status, transaction, error);
+            ring[(int) (endOffset % ring.length)] = event;
+            endOffset++;
+            if (endOffset - startOffset > ring.length) {
+                startOffset = endOffset - ring.length;
+            }
+            if (waiters > 0) {
+                appended.signalAll();
+            }
+            return event;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Lit les événements à partir d'un offset, sans attendre.
+     * 
+     * Si l'offset a déjà été écrasé, la lecture commence au plus ancien événement disponible.
+     * 
+     * @param fromOffset Offset du premier événement souhaité
+     * @param maxEvents Nombre maximal d'événements
+     * @return Les événements, dans l'ordre des offsets (liste vide si aucun)
+     */
+    public List<TransactionEvent> read(long fromOffset, int maxEvents) {
+        lock.lock();
+        try {
+            return copy(fromOffset, maxEvents);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Lit les événements à partir d'un offset, en attendant au plus le délai indiqué
+     * si aucun n'est encore disponible.
+     * 
+     * @param fromOffset Offset du premier événement souhaité
+     * @param maxEvents Nombre maximal d'événements
+     * @param timeoutMillis Délai d'attente maximal
+     * @return Les événements (liste vide si le délai est écoulé)
+     * @throws InterruptedException Si le thread est interrompu pendant l'attente
+     */
+    public List<TransactionEvent> read(long fromOffset, int maxEvents, long timeoutMillis)
+            throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            waiters++;
+            try {
+                while (fromOffset >= endOffset && remaining > 0) {
+                    remaining = appended.awaitNanos(remaining);
+                }
+            } finally {
+                waiters--;
+            }
+            return copy(fromOffset, maxEvents);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private List<TransactionEvent> copy(long fromOffset, int maxEvents) {
+        long from = Math.max(fromOffset, startOffset);
+        int count = (int) Math.min(maxEvents, endOffset - from);
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        List<TransactionEvent> events = new ArrayList<>(count);
+        for (long offset = from; offset < from + count; offset++) {
+            events.add(ring[(int) (offset % ring.length)]);
+        }
+        return events;
+    }
+    
+    /**
+     * Crée un consommateur qui reprend à l'offset validé de son groupe,
+     * ou au plus ancien événement disponible si le groupe est nouveau.
+     * 
+     * @param group Nom du groupe de consommateurs
+     * @return Le consommateur
+     */
+    public EventConsumer subscribe(String group) {
+        Long committed = committedOffsets.get(group);
+        return new EventConsumer(this, group, committed != null ? committed : getStartOffset());
+    }
+    
+    /**
+     * Crée un consommateur positionné sur un offset donné (relecture).
+     * 
+     * @param group Nom du groupe de consommateurs
+     * @param offset Offset de départ
+     * @return Le consommateur
+     */
+    public EventConsumer subscribe(String group, long offset) {
+        return new EventConsumer(this, group, offset);
+    }
+    
+    /**
+     * Valide l'offset d'un groupe : le prochain événement qu'il devra lire.
+     * 
+     * @param group Nom du groupe de consommateurs
+     * @param offset Offset du prochain événement à lire
+     */
+    public void commit(String group, long offset) {
+        committedOffsets.put(group, offset);
+    }
+    
+    /**
+     * Retourne l'offset validé d'un groupe.
+     * 
+     * @param group Nom du groupe de consommateurs
+     * @return L'offset validé, ou -1 si le groupe n'a rien validé
+     */
+    public long getCommittedOffset(String group) {
+        Long committed = committedOffsets.get(group);
+        return committed != null ? committed : -1L;
+    }
+    
+    /**
+     * Retourne le plus ancien offset encore disponible.
+     * 
+     * @return L'offset de début
+     */
+    public long getStartOffset() {
+        lock.lock();
+        try {
+            return startOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Retourne l'offset qui sera attribué au prochain événement.
+     * 
+     * @return L'offset de fin
+     */
+    public long getEndOffset() {
+        lock.lock();
+        try {
+            return endOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Retourne le nombre d'événements disponibles.
+     * 
+     * @return Le nombre d'événements
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return (int) (endOffset - startOffset);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getCapacity() {
+        return ring.length;
+    }
+}
@@ -0,0 +1,35 @@
+package com.university.finance.exception;
+
+/**
+ * Exception levée lorsqu'une transaction n'est pas trouvée dans l'historique.
+ * 
+ * Cette exception est utilisée lorsqu'une opération (par exemple une annulation)
+ * référence une transaction qui n'existe pas.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class TransactionNotFoundException extends BusinessException {
+    
+    private String transactionId;
+    
+    /**
+     * Constructeur avec identifiant de la transaction.
+     * 
+     * @param transactionId Identifiant de la transaction non trouvée
+     */
+    public TransactionNotFoundException(String transactionId) {
+        super(String.format("Transaction non trouvée avec l'ID: %s", transactionId), "TRANSACTION_NOT_FOUND");
+        this.transactionId = transactionId;
+    }
+    
+    /**
+     * Récupère l'identifiant de la transaction.
+     * 
+     * @return L'identifiant de la transaction
+     */
+    public String getTransactionId() {
+        return transactionId;
+    }
+}
+
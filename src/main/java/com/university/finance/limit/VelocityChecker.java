@@ -0,0 +1,225 @@
+package com.university.finance.limit;
+
+import com.university.finance.exception.ValidationException;
+import com.university.finance.model.Account;
+import com.university.finance.pattern.singleton.ConfigurationManager;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Contrôle de vélocité par compte : limitation de débit et plafond journalier.
+ * 
+ * Chaque compte dispose de compteurs primitifs : un seau à jetons (nombre de
+ * transactions par minute) et le cumul des montants du jour en centimes.
+ * Les limites dépendent du type de compte et sont lues à chaque contrôle,
+ * ce qui permet de les modifier sans redémarrer.
+ * 
+ * Le contrôle ({@link #isAllowed}) ne consomme rien ; l'enregistrement
+ * ({@link #record}) est fait une fois la transaction exécutée.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class VelocityChecker {
+    
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    
+    /** Un jeton vaut une minute en millisecondes : le seau se remplit de maxTransactionsPerMinute unités par ms. */
+    private static final long TOKEN = MILLIS_PER_MINUTE;
+    
+    private static final VelocityChecker DISABLED = new VelocityChecker(type -> VelocityLimits.UNLIMITED,
+        System::currentTimeMillis, false);
+    
+    /**
+     * Compteurs d'un compte. Accès protégé par le verrou de l'instance (un ReentrantLock
+     * plutôt qu'un moniteur, qui bloquerait le thread porteur d'un thread virtuel).
+     */
+    private static final class Counters {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long tokens;
+        private long lastRefillMillis;
+        private long day;
+        private long dailyCents;
+        
+        private Counters(long capacity, long nowMillis) {
+            this.tokens = capacity;
+            this.lastRefillMillis = nowMillis;
+            this.day = nowMillis / MILLIS_PER_DAY;
+        }
+        
+        private void refill(long capacity, long refillPerMilli, long nowMillis) {
+            long elapsed = nowMillis - lastRefillMillis;
+            if (elapsed > 0) {
+                // Plafonné à une minute pour éviter tout débordement
+                tokens = Math.min(capacity, tokens + Math.min(elapsed, MILLIS_PER_MINUTE) * refillPerMilli);
+                lastRefillMillis = nowMillis;
+            } else if (tokens > capacity) {
+                tokens = capacity;
+            }
+            long today = nowMillis / MILLIS_PER_DAY;
+            if (today != day) {
+                day = today;
+                dailyCents = 0;
+            }
+        }
+    }
+    
+    private final ConcurrentHashMap<String, Counters> counters;
+    private final Function<Account.AccountType, VelocityLimits> limitsProvider;
+    private final LongSupplier clockMillis;
+    private final boolean enabled;
+    
+    /**
+     * Constructeur par défaut : limites lues dans le ConfigurationManager.
+     */
+    public VelocityChecker() {
+        this(type -> ConfigurationManager.getInstance().getVelocityLimits(type));
+    }
+    
+    /**
+     * Constructeur avec fournisseur de limites.
+     * 
+     * @param limitsProvider Fournit les limites pour un type de compte
+     */
+    public VelocityChecker(Function<Account.AccountType, VelocityLimits> limitsProvider) {
+        this(limitsProvider, System::currentTimeMillis, true);
+    }
+    
+    /**
+     * Constructeur avec horloge injectable (pour les tests).
+     * 
+     * @param limitsProvider Fournit les limites pour un type de compte
+     * @param clockMillis Horloge en millisecondes depuis l'epoch
+     */
+    VelocityChecker(Function<Account.AccountType, VelocityLimits> limitsProvider, LongSupplier clockMillis) {
+        this(limitsProvider, clockMillis, true);
+    }
+    
+    private VelocityChecker(Function<Account.AccountType, VelocityLimits> limitsProvider,
+                            LongSupplier clockMillis, boolean enabled) {
+        this.counters = new ConcurrentHashMap<>();
+        this.limitsProvider = limitsProvider;
+        this.clockMillis = clockMillis;
+        this.enabled = enabled;
+    }
+    
+    /**
+     * Retourne un contrôleur qui autorise toutes les transactions.
+     * 
+     * @return Le contrôleur désactivé
+     */
+    public static VelocityChecker disabled() {
+        return DISABLED;
+    }
+    
+    /**
+     * Vérifie, sans rien consommer, qu'une transaction respecte les limites du compte.
+     * 
+     * @param account Le compte débité (ou crédité pour un dépôt)
+     * @param amount Le montant de la transaction
+     * @return true si la transaction est autorisée, false sinon
+     */
+    public boolean isAllowed(Account account, double amount) {
+        if (!enabled) {
+            return true;
+        }
+        VelocityLimits limits = limitsFor(account);
+        long amountCents = toCents(amount);
+        long maxDailyCents = toCents(limits.getMaxDailyAmount());
+        Counters state = counters.get(account.getId());
+        if (state == null) {
+            return amountCents <= maxDailyCents;
+        }
+        long capacity = capacity(limits);
+        long nowMillis = clockMillis.getAsLong();
+        state.lock.lock();
+        try {
+            state.refill(capacity, limits.getMaxTransactionsPerMinute(), nowMillis);
+            return state.tokens >= TOKEN && amountCents <= maxDailyCents - state.dailyCents;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+    
+    /**
+     * Vérifie qu'une transaction respecte les limites du compte.
+     * 
+     * @param account Le compte concerné
+     * @param amount Le montant de la transaction
+     * @throws ValidationException Si une limite est dépassée
+     */
+    public void check(Account account, double amount) throws ValidationException {
+        if (!isAllowed(account, amount)) {
+            throw new ValidationException(
+                "Limite de vélocité dépassée pour le compte " + account.getAccountNumber(),
+                "velocity"
+            );
+        }
+    }
+    
+    /**
+     * Enregistre une transaction exécutée dans les compteurs du compte.
+     * 
+     * @param account Le compte concerné
+     * @param amount Le montant de la transaction
+     */
+    public void record(Account account, double amount) {
+        if (!enabled) {
+            return;
+        }
+        VelocityLimits limits = limitsFor(account);
+        long capacity = capacity(limits);
+        long nowMillis = clockMillis.getAsLong();
+        Counters state = counters.computeIfAbsent(account.getId(), id -> new Counters(capacity, nowMillis));
+        state.lock.lock();
+        try {
+            state.refill(capacity, limits.getMaxTransactionsPerMinute(), nowMillis);
+            state.tokens = Math.max(0, state.tokens - TOKEN);
+            state.dailyCents += toCents(amount);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+    
+    /**
+     * Retourne le montant cumulé du jour pour un compte.
+     * 
+     * @param account Le compte
+     * @return Le montant cumulé des transactions du jour
+     */
+    public double getDailyAmount(Account account) {
+        Counters state = counters.get(account.getId());
+        if (state == null) {
+            return 0.0;
+        }
+        state.lock.lock();
+        try {
+            return state.day == clockMillis.getAsLong() / MILLIS_PER_DAY ? state.dailyCents / 100.0 : 0.0;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+    
+    /**
+     * Réinitialise les compteurs de tous les comptes.
+     */
+    public void reset() {
+        counters.clear();
+    }
+    
+    private VelocityLimits limitsFor(Account account) {
+        VelocityLimits limits = limitsProvider.apply(account.getAccountType());
+        return limits != null ? limits : VelocityLimits.UNLIMITED;
+    }
+    
+    private static long capacity(VelocityLimits limits) {
+        return limits.getMaxTransactionsPerMinute() * TOKEN;
+    }
+    
+    private static long toCents(double amount) {
+        return Math.round(amount * 100.0);
+    }
+}
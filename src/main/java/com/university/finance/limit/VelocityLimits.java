@@ -0,0 +1,66 @@
+package com.university.finance.limit;
+
+import java.util.Objects;
+
+/**
+ * Limites de vélocité applicables à un type de compte.
+ * 
+ * Une limite porte sur le nombre de transactions sortantes par minute
+ * (seau à jetons) et sur le montant cumulé des transactions d'une journée.
+ * Les instances sont immuables.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class VelocityLimits {
+    
+    /** Limites désactivées. */
+    public static final VelocityLimits UNLIMITED = new VelocityLimits(Integer.MAX_VALUE, Double.MAX_VALUE);
+    
+    private final int maxTransactionsPerMinute;
+    private final double maxDailyAmount;
+    
+    /**
+     * Constructeur.
+     * 
+     * @param maxTransactionsPerMinute Nombre maximal de transactions par minute
+     * @param maxDailyAmount Montant cumulé maximal par jour
+     */
+    public VelocityLimits(int maxTransactionsPerMinute, double maxDailyAmount) {
+        if (maxTransactionsPerMinute <= 0 || maxDailyAmount <= 0) {
+            throw new IllegalArgumentException("Les limites de vélocité doivent être positives");
+        }
+        this.maxTransactionsPerMinute = maxTransactionsPerMinute;
+        this.maxDailyAmount = maxDailyAmount;
+    }
+    
+    public int getMaxTransactionsPerMinute() {
+        return maxTransactionsPerMinute;
+    }
+    
+    public double getMaxDailyAmount() {
+        return maxDailyAmount;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        VelocityLimits that = (VelocityLimits) o;
+        return maxTransactionsPerMinute == that.maxTransactionsPerMinute &&
+               Double.compare(maxDailyAmount, that.maxDailyAmount) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxTransactionsPerMinute, maxDailyAmount);
+    }
+    
+    @Override
+    public String toString() {
+        return "VelocityLimits{" +
+                "maxTransactionsPerMinute=" + maxTransactionsPerMinute +
+                ", maxDailyAmount=" + maxDailyAmount +
+                '}';
+    }
+}
@@ -0,0 +1,191 @@
+package com.university.finance.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramme de latences à précision relative constante (sur le modèle de HdrHistogram).
+ * 
+ * Les durées, en nanosecondes, sont rangées dans des casiers log-linéaires : chaque
+ * puissance de deux est découpée en 64 sous-casiers, ce qui garantit une précision
+ * relative de 1/64 (environ 1,6 %) de 1 ns jusqu'à {@link #MAX_VALUE}. Les durées
+ * plus longues sont comptées dans le dernier casier.
+ * 
+ * L'enregistrement n'alloue rien et ne prend aucun verrou (incréments atomiques
+ * dans un tableau préalloué) : il peut être appelé sur le chemin critique par
+ * plusieurs threads. La lecture passe par un instantané ({@link #snapshot()}).
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class LatencyHistogram {
+    
+    /** Plus grande durée distinguée : environ 1 h 13 min (2^42 ns). */
+    public static final long MAX_VALUE = (1L << 42) - 1;
+    
+    private static final int SUB_BUCKET_BITS = 7;                       // 128 sous-casiers
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1; // 64 par puissance de deux
+    private static final int SUB_BUCKET_HALF = 1 << SUB_BUCKET_HALF_BITS;
+    private static final long SUB_BUCKET_MASK = (1L << SUB_BUCKET_BITS) - 1;
+    private static final int LENGTH = indexOf(MAX_VALUE) + 1;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(LENGTH);
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    
+    /**
+     * Enregistre une durée.
+     * 
+     * @param nanos La durée en nanosecondes (une valeur négative compte comme 0)
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        totalNanos.addAndGet(value);
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+    
+    /**
+     * Retourne un instantané de l'histogramme.
+     * 
+     * Les compteurs sont copiés un par un : un enregistrement concurrent peut
+     * apparaître dans les casiers sans apparaître encore dans le total, ou l'inverse.
+     * 
+     * @return L'instantané
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[LENGTH];
+        long count = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.get(), maxNanos.get());
+    }
+    
+    /**
+     * Indice du casier d'une valeur.
+     */
+    private static int indexOf(long value) {
+        int bucket = 64 - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> bucket);
+        return ((bucket + 1) << SUB_BUCKET_HALF_BITS) + subBucket - SUB_BUCKET_HALF;
+    }
+    
+    /**
+     * Plus petite valeur rangée dans un casier.
+     */
+    private static long lowestValueAt(int index) {
+        int bucket = (index >> SUB_BUCKET_HALF_BITS) - 1;
+        int subBucket = (index & (SUB_BUCKET_HALF - 1)) + SUB_BUCKET_HALF;
+        if (bucket < 0) {
+            subBucket -= SUB_BUCKET_HALF;
+            bucket = 0;
+        }
+        return (long) subBucket << bucket;
+    }
+    
+    /**
+     * Plus grande valeur rangée dans un casier.
+     */
+    private static long highestValueAt(int index) {
+        int bucket = Math.max(0, (index >> SUB_BUCKET_HALF_BITS) - 1);
+        return lowestValueAt(index) + (1L << bucket) - 1;
+    }
+    
+    /**
+     * Instantané immuable d'un histogramme.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+        
+        /**
+         * Retourne le nombre de durées enregistrées.
+         * 
+         * @return Le nombre de mesures
+         */
+        public long getCount() {
+            return count;
+        }
+        
+        /**
+         * Retourne la somme des durées enregistrées.
+         * 
+         * @return La somme en nanosecondes
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+        
+        /**
+         * Retourne la plus longue durée enregistrée.
+         * 
+         * @return Le maximum en nanosecondes
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+        
+        /**
+         * Retourne la durée moyenne.
+         * 
+         * @return La moyenne en nanosecondes, 0 si aucune mesure
+         */
+        public double getMeanNanos() {
+            return count == 0 ? 0.0 : (double) totalNanos / count;
+        }
+        
+        /**
+         * Retourne la durée d'un centile (à la précision des casiers).
+         * 
+         * @param percentile Le centile, de 0 à 100 (99.9 par exemple)
+         * @return La durée en nanosecondes, 0 si aucune mesure
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueAt(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+        
+        /**
+         * Retourne le nombre de durées inférieures ou égales à une borne
+         * (à la précision des casiers), par exemple pour exporter des seuils fixes.
+         * 
+         * @param nanos La borne en nanosecondes
+         * @return Le nombre de mesures sous la borne
+         */
+        public long getCountAtOrBelow(long nanos) {
+            if (nanos < 0) {
+                return 0;
+            }
+            int last = indexOf(Math.min(nanos, MAX_VALUE));
+            long seen = 0;
+            for (int i = 0; i <= last; i++) {
+                seen += counts[i];
+            }
+            return seen;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.university.finance.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Point d'accès HTTP /metrics au format Prometheus, basé sur le serveur HTTP du JDK.
+ * 
+ * Chaque collecteur enregistré écrit ses métriques à chaque lecture ; les métriques
+ * de la JVM (mémoire, ramasse-miettes, threads) sont toujours ajoutées. Les requêtes
+ * sont traitées par un seul thread démon : une lecture ne coûte que le temps de
+ * formater les valeurs courantes. Le point d'accès peut aussi être monté sur un
+ * serveur existant (celui de l'API), pour partager son port.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class MetricsHttpServer implements AutoCloseable {
+    
+    /** Port d'écoute par défaut (celui exposé par l'image Docker). */
+    public static final int DEFAULT_PORT = 8080;
+    
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<Consumer<PrometheusWriter>> collectors = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Crée le serveur sur l'interface locale (loopback) et commence à écouter.
+     * 
+     * @param port Le port (0 pour un port libre quelconque)
+     * @throws IOException Si le port ne peut pas être ouvert
+     */
+    public MetricsHttpServer(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+    
+    /**
+     * Crée le serveur sur une adresse donnée et commence à écouter.
+     * 
+     * @param address L'adresse d'écoute (port 0 pour un port libre quelconque)
+     * @throws IOException Si le port ne peut pas être ouvert
+     */
+    public MetricsHttpServer(InetSocketAddress address) throws IOException {
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+    
+    /**
+     * Monte /metrics sur un serveur existant, qui reste la propriété de l'appelant.
+     * 
+     * @param server Le serveur (déjà configuré avec son exécuteur)
+     */
+    public MetricsHttpServer(HttpServer server) {
+        this.server = server;
+        this.executor = null;
+        server.createContext("/metrics", this::handle);
+    }
+    
+    /**
+     * Ajoute un collecteur de métriques.
+     * 
+     * @param collector Écrit ses métriques à chaque lecture
+     */
+    public void addCollector(Consumer<PrometheusWriter> collector) {
+        collectors.add(collector);
+    }
+    
+    /**
+     * Produit le texte exposé par /metrics.
+     * 
+     * @return Les métriques au format Prometheus
+     */
+    public String scrape() {
+        StringBuilder text = new StringBuilder(8192);
+        PrometheusWriter writer = new PrometheusWriter(text);
+        for (Consumer<PrometheusWriter> collector : collectors) {
+            collector.accept(writer);
+        }
+        writer.jvm();
+        return text.toString();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            int status = 200;
+            try {
+                body = scrape().getBytes(StandardCharsets.UTF_8);
+            } catch (RuntimeException e) {
+                System.err.println("[METRICS] Erreur de collecte : " + e.getMessage());
+                body = ("Erreur de collecte : " + e.getMessage() + "\n").getBytes(StandardCharsets.UTF_8);
+                status = 500;
+            }
+            exchange.getResponseHeaders().set("Content-Type", PrometheusWriter.CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Retourne le port d'écoute effectif.
+     * 
+     * @return Le port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    /**
+     * Retourne l'adresse d'écoute effective.
+     * 
+     * @return L'adresse et le port
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+    
+    /**
+     * Arrête le serveur, ou retire seulement /metrics d'un serveur partagé.
+     */
+    @Override
+    public void close() {
+        if (executor == null) {
+            server.removeContext("/metrics");
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
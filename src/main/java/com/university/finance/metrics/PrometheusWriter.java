@@ -0,0 +1,192 @@
+package com.university.finance.metrics;
+
+import com.university.finance.model.Transaction;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+
+/**
+ * Écrit des métriques au format texte de Prometheus (version 0.0.4).
+ * 
+ * Chaque famille de métriques commence par {@link #family}, qui écrit ses lignes
+ * HELP et TYPE, suivie de ses échantillons. Les étiquettes sont passées par paires
+ * nom, valeur.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class PrometheusWriter {
+    
+    /** Type MIME du format texte. */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    
+    /** Bornes (en secondes) des histogrammes de latence exportés. */
+    private static final double[] LATENCY_BUCKETS = {
+        0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+    
+    private final StringBuilder out;
+    
+    /**
+     * Constructeur.
+     * 
+     * @param out Le tampon de sortie
+     */
+    public PrometheusWriter(StringBuilder out) {
+        this.out = out;
+    }
+    
+    /**
+     * Commence une famille de métriques.
+     * 
+     * @param name Nom de la métrique
+     * @param type Type Prometheus (counter, gauge, histogram)
+     * @param help Description
+     */
+    public void family(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ')
+            .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+    
+    /**
+     * Écrit un échantillon.
+     * 
+     * @param name Nom de la métrique
+     * @param value La valeur
+     * @param labels Étiquettes, par paires nom, valeur
+     */
+    public void sample(String name, double value, String... labels) {
+        out.append(name);
+        appendLabels(labels, null, null);
+        out.append(' ').append(format(value)).append('\n');
+    }
+    
+    /**
+     * Écrit un histogramme de latences (en secondes) : casiers cumulés, somme et nombre.
+     * 
+     * @param name Nom de la métrique (sans suffixe)
+     * @param histogram L'instantané de l'histogramme
+     * @param labels Étiquettes, par paires nom, valeur
+     */
+    public void histogram(String name, LatencyHistogram.Snapshot histogram, String... labels) {
+        for (double bound : LATENCY_BUCKETS) {
+            out.append(name).append("_bucket");
+            appendLabels(labels, "le", format(bound));
+            out.append(' ').append(histogram.getCountAtOrBelow((long) (bound * 1e9))).append('\n');
+        }
+        out.append(name).append("_bucket");
+        appendLabels(labels, "le", "+Inf");
+        out.append(' ').append(histogram.getCount()).append('\n');
+        sample(name + "_sum", histogram.getTotalNanos() / 1e9, labels);
+        sample(name + "_count", histogram.getCount(), labels);
+    }
+    
+    /**
+     * Écrit les mesures des opérations du TransactionService : nombre d'opérations
+     * et latences par type et par issue, débit, durée des notifications.
+     * 
+     * @param metrics L'instantané des mesures
+     */
+    public void transactions(TransactionMetrics.Snapshot metrics) {
+        family("finance_transactions_total", "counter", "Opérations par type et par issue");
+        for (Transaction.TransactionType type : Transaction.TransactionType.values()) {
+            for (TransactionMetrics.Outcome outcome : TransactionMetrics.Outcome.values()) {
+                long count = metrics.getCount(type, outcome);
+                if (count > 0) {
+                    sample("finance_transactions_total", count, "type", type.name(), "outcome", outcome.name());
+                }
+            }
+        }
+        family("finance_transaction_duration_seconds", "histogram", "Durée des opérations par type et par issue");
+        for (Transaction.TransactionType type : Transaction.TransactionType.values()) {
+            for (TransactionMetrics.Outcome outcome : TransactionMetrics.Outcome.values()) {
+                LatencyHistogram.Snapshot latency = metrics.getLatency(type, outcome);
+                if (latency.getCount() > 0) {
+                    histogram("finance_transaction_duration_seconds", latency,
+                        "type", type.name(), "outcome", outcome.name());
+                }
+            }
+        }
+        family("finance_transaction_throughput", "gauge", "Opérations réussies par seconde depuis le démarrage");
+        sample("finance_transaction_throughput", metrics.getThroughputPerSecond());
+        family("finance_observer_dispatch_seconds", "histogram", "Durée de notification des observateurs");
+        histogram("finance_observer_dispatch_seconds", metrics.getDispatch());
+    }
+    
+    /**
+     * Écrit les métriques de la JVM : mémoire, ramasse-miettes et threads.
+     */
+    public void jvm() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+        family("jvm_memory_bytes_used", "gauge", "Mémoire utilisée");
+        sample("jvm_memory_bytes_used", heap.getUsed(), "area", "heap");
+        sample("jvm_memory_bytes_used", nonHeap.getUsed(), "area", "nonheap");
+        family("jvm_memory_bytes_committed", "gauge", "Mémoire réservée");
+        sample("jvm_memory_bytes_committed", heap.getCommitted(), "area", "heap");
+        sample("jvm_memory_bytes_committed", nonHeap.getCommitted(), "area", "nonheap");
+        family("jvm_memory_bytes_max", "gauge", "Mémoire maximale (-1 si non bornée)");
+        sample("jvm_memory_bytes_max", heap.getMax(), "area", "heap");
+        sample("jvm_memory_bytes_max", nonHeap.getMax(), "area", "nonheap");
+        
+        family("jvm_gc_collection_seconds", "summary", "Temps passé par chaque ramasse-miettes");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample("jvm_gc_collection_seconds_count", Math.max(0, gc.getCollectionCount()), "gc", gc.getName());
+            sample("jvm_gc_collection_seconds_sum", Math.max(0, gc.getCollectionTime()) / 1000.0, "gc", gc.getName());
+        }
+        
+        family("jvm_threads_current", "gauge", "Nombre de threads actifs");
+        sample("jvm_threads_current", ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+    
+    private void appendLabels(String[] labels, String extraName, String extraValue) {
+        if (labels.length == 0 && extraName == null) {
+            return;
+        }
+        out.append('{');
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (i > 0) {
+                out.append(',');
+            }
+            appendLabel(labels[i], labels[i + 1]);
+        }
+        if (extraName != null) {
+            if (labels.length > 0) {
+                out.append(',');
+            }
+            appendLabel(extraName, extraValue);
+        }
+        out.append('}');
+    }
+    
+    private void appendLabel(String name, String value) {
+        out.append(name).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+    
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,173 @@
+package com.university.finance.metrics;
+
+import com.university.finance.exception.InsufficientFundsException;
+import com.university.finance.exception.ValidationException;
+import com.university.finance.model.Transaction;
+
+/**
+ * Mesures des opérations du TransactionService : latence de chaque opération selon
+ * son type et son issue, nombre d'opérations (débit), et temps passé à notifier les
+ * observateurs.
+ * 
+ * Un histogramme est préalloué pour chaque couple (type, issue) : enregistrer une
+ * mesure n'alloue rien. Les données sont exportées par {@link #snapshot()}, par
+ * exemple pour un collecteur de métriques.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class TransactionMetrics {
+    
+    /**
+     * Issue d'une opération.
+     */
+    public enum Outcome {
+        SUCCESS,             // Réussie
+        VALIDATION_FAILURE,  // Refusée par une règle (montant, limite...)
+        INSUFFICIENT_FUNDS,  // Refusée faute de provision
+        ERROR;               // Autre échec
+        
+        /**
+         * Retourne l'issue correspondant à une exception.
+         * 
+         * @param error L'exception levée (null pour une réussite)
+         * @return L'issue
+         */
+        public static Outcome of(Throwable error) {
+            if (error == null) {
+                return SUCCESS;
+            }
+            if (error instanceof InsufficientFundsException) {
+                return INSUFFICIENT_FUNDS;
+            }
+            return error instanceof ValidationException ? VALIDATION_FAILURE : ERROR;
+        }
+    }
+    
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    
+    private final LatencyHistogram[][] latencies = new LatencyHistogram[TYPES.length][OUTCOMES.length];
+    private final LatencyHistogram dispatch = new LatencyHistogram();
+    private final long startNanos = System.nanoTime();
+    
+    /**
+     * Constructeur.
+     */
+    public TransactionMetrics() {
+        for (LatencyHistogram[] byOutcome : latencies) {
+            for (int i = 0; i < byOutcome.length; i++) {
+                byOutcome[i] = new LatencyHistogram();
+            }
+        }
+    }
+    
+    /**
+     * Enregistre la durée d'une opération.
+     * 
+     * @param type Le type de transaction
+     * @param outcome L'issue
+     * @param nanos La durée en nanosecondes
+     */
+    public void record(Transaction.TransactionType type, Outcome outcome, long nanos) {
+        latencies[type.ordinal()][outcome.ordinal()].record(nanos);
+    }
+    
+    /**
+     * Enregistre la durée d'une notification des observateurs.
+     * 
+     * @param nanos La durée en nanosecondes
+     */
+    public void recordDispatch(long nanos) {
+        dispatch.record(nanos);
+    }
+    
+    /**
+     * Retourne un instantané de toutes les mesures.
+     * 
+     * @return L'instantané
+     */
+    public Snapshot snapshot() {
+        LatencyHistogram.Snapshot[][] copies = new LatencyHistogram.Snapshot[TYPES.length][OUTCOMES.length];
+        for (int t = 0; t < TYPES.length; t++) {
+            for (int o = 0; o < OUTCOMES.length; o++) {
+                copies[t][o] = latencies[t][o].snapshot();
+            }
+        }
+        return new Snapshot(copies, dispatch.snapshot(), System.nanoTime() - startNanos);
+    }
+    
+    /**
+     * Instantané des mesures.
+     */
+    public static final class Snapshot {
+        private final LatencyHistogram.Snapshot[][] latencies;
+        private final LatencyHistogram.Snapshot dispatch;
+        private final long uptimeNanos;
+        
+        private Snapshot(LatencyHistogram.Snapshot[][] latencies, LatencyHistogram.Snapshot dispatch,
+                         long uptimeNanos) {
+            this.latencies = latencies;
+            this.dispatch = dispatch;
+            this.uptimeNanos = uptimeNanos;
+        }
+        
+        /**
+         * Retourne les latences d'un type d'opération pour une issue.
+         * 
+         * @param type Le type de transaction
+         * @param outcome L'issue
+         * @return L'histogramme des latences
+         */
+        public LatencyHistogram.Snapshot getLatency(Transaction.TransactionType type, Outcome outcome) {
+            return latencies[type.ordinal()][outcome.ordinal()];
+        }
+        
+        /**
+         * Retourne le nombre d'opérations d'un type pour une issue.
+         * 
+         * @param type Le type de transaction
+         * @param outcome L'issue
+         * @return Le nombre d'opérations
+         */
+        public long getCount(Transaction.TransactionType type, Outcome outcome) {
+            return getLatency(type, outcome).getCount();
+        }
+        
+        /**
+         * Retourne le nombre total d'opérations pour une issue.
+         * 
+         * @param outcome L'issue
+         * @return Le nombre d'opérations, tous types confondus
+         */
+        public long getCount(Outcome outcome) {
+            long count = 0;
+            for (LatencyHistogram.Snapshot[] byOutcome : latencies) {
+                count += byOutcome[outcome.ordinal()].getCount();
+            }
+            return count;
+        }
+        
+        /**
+         * Retourne le débit moyen d'opérations réussies depuis la création des mesures.
+         * 
+         * @return Le nombre d'opérations réussies par seconde
+         */
+        public double getThroughputPerSecond() {
+            return uptimeNanos <= 0 ? 0.0 : getCount(Outcome.SUCCESS) * 1e9 / uptimeNanos;
+        }
+        
+        /**
+         * Retourne les durées de notification des observateurs.
+         * 
+         * @return L'histogramme des notifications
+         */
+        public LatencyHistogram.Snapshot getDispatch() {
+            return dispatch;
+        }
+        
+        public long getUptimeNanos() {
+            return uptimeNanos;
+        }
+    }
+}
@@ -15,7 +15,7 @@ import java.util.Objects;
 public class Account {
     private String id;
     private String accountNumber;
-    private double balance;
+    private volatile double balance; // lu hors du verrou d'écriture des transactions
     private User owner;
     private AccountType accountType;
     private LocalDateTime createdAt;
@@ -21,6 +21,7 @@ public class Transaction {
     private LocalDateTime timestamp;
     private String description;
     private TransactionStatus status;
+    private String reversalOf; // ID de la transaction annulée par cette écriture compensatoire
     
     /**
      * Enum représentant les types de transactions.
@@ -163,6 +164,23 @@ public class Transaction {
         this.status = status;
     }
     
+    public String getReversalOf() {
+        return reversalOf;
+    }
+    
+    public void setReversalOf(String reversalOf) {
+        this.reversalOf = reversalOf;
+    }
+    
+    /**
+     * Indique si cette transaction est une écriture compensatoire.
+     * 
+     * @return true si la transaction annule une autre transaction, false sinon
+     */
+    public boolean isReversal() {
+        return reversalOf != null;
+    }
+    
     /**
      * Valide les données de la transaction.
      * 
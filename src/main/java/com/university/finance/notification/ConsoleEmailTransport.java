@@ -0,0 +1,22 @@
+package com.university.finance.notification;
+
+import java.util.List;
+
+/**
+ * Transport de simulation : affiche les emails sur la console.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class ConsoleEmailTransport implements EmailTransport {
+    
+    @Override
+    public void send(List<EmailMessage> messages) {
+        StringBuilder sb = new StringBuilder();
+        for (EmailMessage message : messages) {
+            sb.append("[EMAIL] Envoi à ").append(message.getRecipient())
+              .append(": ").append(message.getBody()).append(System.lineSeparator());
+        }
+        System.out.print(sb);
+    }
+}
@@ -0,0 +1,429 @@
+package com.university.finance.notification;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acheminement asynchrone des notifications par email.
+ * 
+ * Les threads des transactions déposent la notification dans une file bornée,
+ * sans jamais attendre : si la file est pleine, la notification est abandonnée
+ * et comptée. Un thread démon unique :
+ * - regroupe les notifications d'un même destinataire reçues pendant une fenêtre
+ *   de temps en un seul email récapitulatif ;
+ * - envoie les emails par lots via le transport configuré ;
+ * - réessaie les seuls messages en échec temporaire (réponse 4xx, erreur réseau)
+ *   avec un délai croissant (exponentiel, avec aléa), puis les abandonne après un
+ *   nombre maximal de tentatives ; un message refusé définitivement (5xx) n'est
+ *   pas réessayé, et les messages acceptés ne sont jamais renvoyés.
+ * Les nouvelles tentatives sont planifiées, pas attendues : pendant le délai, le
+ * thread continue de regrouper et d'envoyer les autres notifications. Un serveur
+ * de messagerie lent ne ralentit donc que ce thread.
+ * 
+ * Une adresse de destinataire invalide (retour à la ligne, chevron...) est refusée
+ * au dépôt, ce qui empêche toute injection de commandes ou d'en-têtes SMTP.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class EmailDeliveryService implements AutoCloseable {
+    
+    /** Fenêtre de regroupement par défaut : 2 secondes. */
+    public static final long DEFAULT_COALESCE_WINDOW_MILLIS = 2_000L;
+    
+    /** Nombre maximal d'emails par lot par défaut. */
+    public static final int DEFAULT_BATCH_SIZE = 50;
+    
+    /** Capacité par défaut de la file d'attente. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    
+    /** Nombre maximal de tentatives par message par défaut. */
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+    
+    /** Délai avant la première nouvelle tentative par défaut. */
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 200L;
+    
+    private static final long MAX_BACKOFF_MILLIS = 30_000L;
+    
+    /**
+     * Élément de la file : notification, ou demande de vidage / d'arrêt.
+     */
+    private static final class Item {
+        private final String recipient;
+        private final Renderable content;
+        private final CountDownLatch done;
+        private final boolean stop;
+        
+        private Item(String recipient, Renderable content, CountDownLatch done, boolean stop) {
+            this.recipient = recipient;
+            this.content = content;
+            this.done = done;
+            this.stop = stop;
+        }
+    }
+    
+    /**
+     * Messages à réessayer après un échec temporaire.
+     */
+    private static final class Retry {
+        private final List<EmailMessage> messages;
+        private final int attempt;
+        private final long backoffMillis;
+        private final long dueAtMillis;
+        
+        private Retry(List<EmailMessage> messages, int attempt, long backoffMillis, long dueAtMillis) {
+            this.messages = messages;
+            this.attempt = attempt;
+            this.backoffMillis = backoffMillis;
+            this.dueAtMillis = dueAtMillis;
+        }
+    }
+    
+    /**
+     * Notifications en attente pour un destinataire.
+     */
+    private static final class Digest {
+        private final String recipient;
+        private final long firstAtMillis;
+        private final List<Renderable> lines = new ArrayList<>(2);
+        
+        private Digest(String recipient, long firstAtMillis) {
+            this.recipient = recipient;
+            this.firstAtMillis = firstAtMillis;
+        }
+        
+        /**
+         * Produit l'email : les notifications ne sont rendues qu'ici, dans le tampon fourni.
+         */
+        private EmailMessage toMessage(StringBuilder buffer) {
+            String subject = lines.size() == 1
+                ? "Notification de votre banque"
+                : lines.size() + " notifications de votre banque";
+            buffer.setLength(0);
+            for (int i = 0; i < lines.size(); i++) {
+                if (i > 0) {
+                    buffer.append('\n');
+                }
+                lines.get(i).renderTo(buffer);
+            }
+            return new EmailMessage(recipient, subject, buffer.toString());
+        }
+    }
+    
+    private final EmailTransport transport;
+    private final long coalesceWindowMillis;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final BlockingQueue<Item> queue;
+    private final Map<String, Digest> pending; // accédé uniquement par le thread d'envoi
+    private final PriorityQueue<Retry> retries; // idem
+    private final StringBuilder bodyBuffer = new StringBuilder(512); // idem
+    private final Thread dispatcher;
+    private volatile boolean closed;
+    
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    
+    /**
+     * Constructeur avec paramètres par défaut.
+     * 
+     * @param transport Le transport des emails
+     */
+    public EmailDeliveryService(EmailTransport transport) {
+        this(transport, DEFAULT_COALESCE_WINDOW_MILLIS, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY,
+            DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_MILLIS);
+    }
+    
+    /**
+     * Constructeur complet.
+     * 
+     * @param transport Le transport des emails
+     * @param coalesceWindowMillis Fenêtre de regroupement par destinataire
+     * @param batchSize Nombre maximal d'emails par lot
+     * @param queueCapacity Capacité de la file d'attente
+     * @param maxAttempts Nombre maximal de tentatives par message
+     * @param initialBackoffMillis Délai avant la première nouvelle tentative
+     */
+    public EmailDeliveryService(EmailTransport transport, long coalesceWindowMillis, int batchSize,
+                                int queueCapacity, int maxAttempts, long initialBackoffMillis) {
+        if (coalesceWindowMillis < 0 || batchSize <= 0 || queueCapacity <= 0
+                || maxAttempts <= 0 || initialBackoffMillis < 0) {
+            throw new IllegalArgumentException("Paramètres d'envoi des emails invalides");
+        }
+        this.transport = transport;
+        this.coalesceWindowMillis = coalesceWindowMillis;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.pending = new LinkedHashMap<>();
+        this.retries = new PriorityQueue<>(Comparator.comparingLong((Retry retry) -> retry.dueAtMillis));
+        
+        this.dispatcher = new Thread(this::dispatchLoop, "email-delivery");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+    
+    /**
+     * Dépose une notification à envoyer, sans jamais bloquer.
+     * 
+     * @param recipient Adresse du destinataire
+     * @param text Texte de la notification
+     * @return true si la notification a été acceptée, false si elle a été abandonnée
+     */
+    public boolean submit(String recipient, String text) {
+        return submit(recipient, buffer -> buffer.append(text));
+    }
+    
+    /**
+     * Dépose une notification à envoyer, sans jamais bloquer. Son texte n'est
+     * produit qu'au moment de l'envoi, par le thread d'envoi.
+     * 
+     * @param recipient Adresse du destinataire
+     * @param content Contenu de la notification
+     * @return true si la notification a été acceptée, false si elle a été abandonnée
+     *         ou si l'adresse est invalide
+     */
+    public boolean submit(String recipient, Renderable content) {
+        if (!EmailMessage.isValidAddress(recipient)) {
+            rejected.incrementAndGet();
+            return false;
+        }
+        if (closed || !queue.offer(new Item(recipient, content, null, false))) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        submitted.incrementAndGet();
+        return true;
+    }
+    
+    /**
+     * Envoie immédiatement toutes les notifications en attente, sans attendre la fin
+     * de leur fenêtre de regroupement, et attend la fin de l'envoi (nouvelles
+     * tentatives comprises).
+     */
+    public void flush() {
+        if (!closed) {
+            awaitControl(false);
+        }
+    }
+    
+    /**
+     * Envoie les notifications en attente puis arrête le thread d'envoi.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        awaitControl(true);
+    }
+    
+    private void awaitControl(boolean stop) {
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            queue.put(new Item(null, null, done, stop));
+            while (!done.await(100, TimeUnit.MILLISECONDS)) {
+                if (!dispatcher.isAlive()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // Statistiques
+    
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+    
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    /**
+     * Nombre de notifications refusées au dépôt pour adresse invalide.
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+    
+    public long getSentCount() {
+        return sent.get();
+    }
+    
+    public long getFailedCount() {
+        return failed.get();
+    }
+    
+    public int getQueueSize() {
+        return queue.size();
+    }
+    
+    /**
+     * Boucle du thread d'envoi.
+     */
+    private void dispatchLoop() {
+        List<Item> items = new ArrayList<>();
+        List<CountDownLatch> waiting = new ArrayList<>(0);
+        boolean stopping = false;
+        while (true) {
+            try {
+                Item first = queue.poll(waitMillis(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    items.add(first);
+                    queue.drainTo(items);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            
+            long now = nowMillis();
+            boolean force = stopping;
+            for (Item item : items) {
+                if (item.done != null) {
+                    waiting.add(item.done);
+                    force = true;
+                    stopping |= item.stop;
+                } else {
+                    pending.computeIfAbsent(item.recipient, r -> new Digest(r, now)).lines.add(item.content);
+                }
+            }
+            items.clear();
+            
+            deliverReady(force, now);
+            retryDue(nowMillis());
+            // Un vidage ou un arrêt se termine quand plus aucune tentative n'est planifiée
+            if (retries.isEmpty()) {
+                for (CountDownLatch done : waiting) {
+                    done.countDown();
+                }
+                waiting.clear();
+                if (stopping) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Temps d'attente jusqu'à la fin de la plus ancienne fenêtre de regroupement
+     * ou jusqu'à la prochaine tentative planifiée.
+     */
+    private long waitMillis() {
+        long due = Long.MAX_VALUE;
+        if (!pending.isEmpty()) {
+            due = pending.values().iterator().next().firstAtMillis + coalesceWindowMillis;
+        }
+        if (!retries.isEmpty()) {
+            due = Math.min(due, retries.peek().dueAtMillis);
+        }
+        return due == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(0, due - nowMillis());
+    }
+    
+    /**
+     * Envoie, par lots, les récapitulatifs dont la fenêtre est écoulée (ou tous si force).
+     */
+    private void deliverReady(boolean force, long now) {
+        List<EmailMessage> batch = new ArrayList<>(batchSize);
+        Iterator<Digest> it = pending.values().iterator();
+        while (it.hasNext()) {
+            Digest digest = it.next();
+            if (!force && now - digest.firstAtMillis < coalesceWindowMillis) {
+                break; // ordre d'insertion : les suivants sont plus récents
+            }
+            it.remove();
+            batch.add(digest.toMessage(bodyBuffer));
+            if (batch.size() == batchSize) {
+                attempt(batch, 1, initialBackoffMillis);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            attempt(batch, 1, initialBackoffMillis);
+        }
+    }
+    
+    /**
+     * Effectue les nouvelles tentatives arrivées à échéance.
+     */
+    private void retryDue(long now) {
+        while (!retries.isEmpty() && retries.peek().dueAtMillis <= now) {
+            Retry retry = retries.poll();
+            attempt(retry.messages, retry.attempt, retry.backoffMillis);
+        }
+    }
+    
+    /**
+     * Présente des messages au transport, puis planifie une nouvelle tentative pour
+     * ceux en échec temporaire.
+     * 
+     * @param messages Les messages à envoyer
+     * @param attempt Numéro de la tentative (1 pour le premier envoi)
+     * @param backoff Délai avant la tentative suivante, hors aléa
+     */
+    private void attempt(List<EmailMessage> messages, int attempt, long backoff) {
+        List<EmailTransport.Outcome> outcomes;
+        String error = null;
+        try {
+            outcomes = transport.deliver(messages);
+        } catch (IOException | RuntimeException e) {
+            outcomes = Collections.nCopies(messages.size(), EmailTransport.Outcome.TRANSIENT_FAILURE);
+            error = e.getMessage();
+        }
+        
+        List<EmailMessage> again = new ArrayList<>(0);
+        int refused = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            EmailTransport.Outcome outcome = i < outcomes.size()
+                ? outcomes.get(i) : EmailTransport.Outcome.TRANSIENT_FAILURE;
+            if (outcome == EmailTransport.Outcome.ACCEPTED) {
+                sent.incrementAndGet();
+            } else if (outcome == EmailTransport.Outcome.PERMANENT_FAILURE) {
+                refused++;
+            } else {
+                again.add(messages.get(i));
+            }
+        }
+        if (refused > 0) {
+            failed.addAndGet(refused);
+            System.err.println("[EMAIL] " + refused + " email(s) refusé(s) définitivement par le serveur");
+        }
+        if (again.isEmpty()) {
+            return;
+        }
+        if (attempt >= maxAttempts) {
+            failed.addAndGet(again.size());
+            System.err.println("[EMAIL] " + again.size() + " email(s) abandonné(s) après "
+                + attempt + " tentative(s)" + (error != null ? " : " + error : ""));
+            return;
+        }
+        long jitter = backoff > 1 ? ThreadLocalRandom.current().nextLong(backoff / 2) : 0;
+        long next = Math.min(MAX_BACKOFF_MILLIS, Math.max(1, backoff * 2));
+        retries.add(new Retry(again, attempt + 1, next, nowMillis() + backoff + jitter));
+    }
+    
+    private static long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+}
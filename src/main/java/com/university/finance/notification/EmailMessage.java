@@ -0,0 +1,78 @@
+package com.university.finance.notification;
+
+import java.util.Objects;
+
+/**
+ * Message email prêt à être envoyé.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class EmailMessage {
+    
+    private final String recipient;
+    private final String subject;
+    private final String body;
+    
+    /**
+     * Constructeur.
+     * 
+     * @param recipient Adresse du destinataire
+     * @param subject Sujet
+     * @param body Corps du message
+     * @throws IllegalArgumentException Si l'adresse est invalide ou si le sujet contient
+     *         un retour à la ligne (injection de commandes ou d'en-têtes SMTP)
+     */
+    public EmailMessage(String recipient, String subject, String body) {
+        this.recipient = Objects.requireNonNull(recipient, "recipient");
+        this.subject = Objects.requireNonNull(subject, "subject");
+        this.body = Objects.requireNonNull(body, "body");
+        if (!isValidAddress(recipient)) {
+            throw new IllegalArgumentException("Adresse email invalide : " + recipient);
+        }
+        if (subject.indexOf('\r') >= 0 || subject.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Le sujet ne doit pas contenir de retour à la ligne");
+        }
+    }
+    
+    /**
+     * Vérifie qu'une adresse peut être placée telle quelle dans une commande SMTP
+     * (RCPT TO, MAIL FROM) et dans un en-tête : non vide, sans caractère de contrôle
+     * (CR, LF...), espace ni chevron.
+     * 
+     * @param address L'adresse à vérifier
+     * @return true si l'adresse est utilisable
+     */
+    public static boolean isValidAddress(String address) {
+        if (address == null || address.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c <= ' ' || c == 0x7F || c == '<' || c == '>') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public String getRecipient() {
+        return recipient;
+    }
+    
+    public String getSubject() {
+        return subject;
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    @Override
+    public String toString() {
+        return "EmailMessage{" +
+                "recipient='" + recipient + '\'' +
+                ", subject='" + subject + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.university.finance.notification;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moyen d'acheminement des emails (SMTP, API d'un fournisseur, console...).
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public interface EmailTransport {
+    
+    /**
+     * Résultat de l'envoi d'un message.
+     */
+    enum Outcome {
+        /** Message accepté par le serveur. */
+        ACCEPTED,
+        /** Échec temporaire (réponse 4xx, erreur réseau) : le message peut être réessayé. */
+        TRANSIENT_FAILURE,
+        /** Échec définitif (réponse 5xx, adresse refusée) : le message ne doit pas être réessayé. */
+        PERMANENT_FAILURE
+    }
+    
+    /**
+     * Envoie un lot de messages.
+     * 
+     * @param messages Les messages du lot
+     * @throws IOException Si l'envoi échoue
+     */
+    void send(List<EmailMessage> messages) throws IOException;
+    
+    /**
+     * Envoie un lot de messages et indique le résultat de chacun.
+     * 
+     * Par défaut, le lot réussit ou échoue en bloc via {@link #send(List)} : un message
+     * déjà accepté avant l'erreur peut alors être envoyé deux fois. Un transport capable
+     * de distinguer les messages redéfinit cette méthode pour que seuls les messages en
+     * échec temporaire soient réessayés.
+     * 
+     * @param messages Les messages du lot
+     * @return Le résultat de chaque message, dans l'ordre du lot
+     * @throws IOException Si aucun message n'a pu être présenté (échec temporaire de tout le lot)
+     */
+    default List<Outcome> deliver(List<EmailMessage> messages) throws IOException {
+        send(messages);
+        return Collections.nCopies(messages.size(), Outcome.ACCEPTED);
+    }
+}
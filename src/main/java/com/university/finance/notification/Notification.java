@@ -0,0 +1,134 @@
+package com.university.finance.notification;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import java.time.LocalDateTime;
+
+/**
+ * Notification d'une transaction, conservée sous forme de données.
+ * 
+ * Les valeurs utiles de la transaction sont copiées à la création ; le texte
+ * n'est produit, dans la langue du catalogue associé, qu'à la lecture ou à
+ * l'envoi de la notification.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class Notification implements Renderable {
+    
+    /**
+     * Nature de la notification.
+     */
+    public enum Kind {
+        COMPLETED,
+        FAILED,
+        DEPOSIT_RECEIVED
+    }
+    
+    private final Kind kind;
+    private final Transaction.TransactionType type;
+    private final double amount;
+    private final String fromAccountNumber;
+    private final String toAccountNumber;
+    private final LocalDateTime timestamp;
+    private final String error;
+    private final NotificationTemplates templates;
+    
+    private Notification(Kind kind, Transaction transaction, String error, NotificationTemplates templates) {
+        this.kind = kind;
+        this.type = transaction.getType();
+        this.amount = transaction.getAmount();
+        this.fromAccountNumber = accountNumber(transaction.getFromAccount());
+        this.toAccountNumber = accountNumber(transaction.getToAccount());
+        this.timestamp = transaction.getTimestamp();
+        this.error = error;
+        this.templates = templates;
+    }
+    
+    /**
+     * Notification d'une transaction réussie.
+     * 
+     * @param transaction La transaction
+     * @param templates Le catalogue de la langue
+     * @return La notification
+     */
+    public static Notification completed(Transaction transaction, NotificationTemplates templates) {
+        return new Notification(Kind.COMPLETED, transaction, null, templates);
+    }
+    
+    /**
+     * Notification d'une transaction échouée.
+     * 
+     * @param transaction La transaction
+     * @param error L'erreur survenue
+     * @param templates Le catalogue de la langue
+     * @return La notification
+     */
+    public static Notification failed(Transaction transaction, Exception error, NotificationTemplates templates) {
+        return new Notification(Kind.FAILED, transaction, error.getMessage(), templates);
+    }
+    
+    /**
+     * Notification de réception de fonds pour le compte destination.
+     * 
+     * @param transaction La transaction
+     * @param templates Le catalogue de la langue
+     * @return La notification
+     */
+    public static Notification depositReceived(Transaction transaction, NotificationTemplates templates) {
+        return new Notification(Kind.DEPOSIT_RECEIVED, transaction, null, templates);
+    }
+    
+    private static String accountNumber(Account account) {
+        return account != null ? account.getAccountNumber() : null;
+    }
+    
+    @Override
+    public void renderTo(StringBuilder buffer) {
+        templates.templateFor(kind).renderTo(buffer, this, templates);
+    }
+    
+    /**
+     * Produit le texte de la notification.
+     * 
+     * @return Le texte
+     */
+    public String render() {
+        return NotificationTemplates.render(this);
+    }
+    
+    // Getters
+    
+    public Kind getKind() {
+        return kind;
+    }
+    
+    public Transaction.TransactionType getType() {
+        return type;
+    }
+    
+    public double getAmount() {
+        return amount;
+    }
+    
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+    
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    @Override
+    public String toString() {
+        return render();
+    }
+}
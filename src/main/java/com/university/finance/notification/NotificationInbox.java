@@ -0,0 +1,217 @@
+package com.university.finance.notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Boîtes de réception des notifications, une par compte.
+ * 
+ * Chaque boîte est un tampon circulaire de capacité fixe : au-delà, la plus
+ * ancienne notification est évincée. La mémoire occupée par un compte ne dépend
+ * donc pas du nombre de transactions qu'il a reçues.
+ * 
+ * Les boîtes sont rangées dans un ConcurrentHashMap ; chaque boîte est protégée
+ * par son propre verrou, si bien que deux comptes ne se bloquent jamais.
+ * La lecture d'un compte sans notification ne crée aucun objet.
+ * 
+ * @param <T> Type des notifications
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class NotificationInbox<T> {
+    
+    /** Nombre de notifications conservées par compte par défaut. */
+    public static final int DEFAULT_CAPACITY = 100;
+    
+    /**
+     * Tampon circulaire des notifications d'un compte.
+     */
+    private static final class Mailbox {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Object[] items;
+        private int head;
+        private int count;
+        private long received;
+        
+        private Mailbox(int capacity) {
+            this.items = new Object[capacity];
+        }
+        
+        private void add(Object item) {
+            lock.lock();
+            try {
+                items[(head + count) % items.length] = item;
+                if (count < items.length) {
+                    count++;
+                } else {
+                    head = (head + 1) % items.length;
+                }
+                received++;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        @SuppressWarnings("unchecked")
+        private <T> List<T> page(int offset, int limit) {
+            lock.lock();
+            try {
+                int from = Math.min(offset, count);
+                int to = (int) Math.min((long) from + limit, count);
+                if (from == to) {
+                    return Collections.emptyList();
+                }
+                List<T> page = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    page.add((T) items[(head + i) % items.length]);
+                }
+                return page;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        private int size() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        private long received() {
+            lock.lock();
+            try {
+                return received;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    private final ConcurrentHashMap<String, Mailbox> mailboxes;
+    private final int capacity;
+    
+    /**
+     * Constructeur par défaut.
+     */
+    public NotificationInbox() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Constructeur avec capacité par compte.
+     * 
+     * @param capacity Nombre de notifications conservées par compte
+     */
+    public NotificationInbox(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité d'une boîte de réception doit être positive");
+        }
+        this.mailboxes = new ConcurrentHashMap<>();
+        this.capacity = capacity;
+    }
+    
+    /**
+     * Ajoute une notification à la boîte d'un compte, en évinçant la plus ancienne si elle est pleine.
+     * 
+     * @param accountNumber Numéro de compte
+     * @param notification La notification
+     */
+    public void add(String accountNumber, T notification) {
+        Mailbox mailbox = mailboxes.get(accountNumber);
+        if (mailbox == null) {
+            mailbox = mailboxes.computeIfAbsent(accountNumber, k -> new Mailbox(capacity));
+        }
+        mailbox.add(notification);
+    }
+    
+    /**
+     * Récupère toutes les notifications conservées d'un compte, de la plus ancienne à la plus récente.
+     * 
+     * @param accountNumber Numéro de compte
+     * @return Les notifications (liste vide partagée si aucune)
+     */
+    public List<T> getAll(String accountNumber) {
+        return getPage(accountNumber, 0, capacity);
+    }
+    
+    /**
+     * Récupère une page de notifications d'un compte, de la plus ancienne à la plus récente.
+     * 
+     * @param accountNumber Numéro de compte
+     * @param offset Position de la première notification (0 = la plus ancienne conservée)
+     * @param limit Nombre maximal de notifications
+     * @return Les notifications de la page (liste vide partagée si aucune)
+     */
+    public List<T> getPage(String accountNumber, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset et limit doivent être positifs");
+        }
+        Mailbox mailbox = mailboxes.get(accountNumber);
+        if (mailbox == null || limit == 0) {
+            return Collections.emptyList();
+        }
+        return mailbox.page(offset, limit);
+    }
+    
+    /**
+     * Retourne le nombre de notifications conservées pour un compte.
+     * 
+     * @param accountNumber Numéro de compte
+     * @return Le nombre de notifications
+     */
+    public int size(String accountNumber) {
+        Mailbox mailbox = mailboxes.get(accountNumber);
+        return mailbox == null ? 0 : mailbox.size();
+    }
+    
+    /**
+     * Retourne le nombre total de notifications reçues par un compte, évincées comprises.
+     * 
+     * @param accountNumber Numéro de compte
+     * @return Le nombre de notifications reçues
+     */
+    public long getReceivedCount(String accountNumber) {
+        Mailbox mailbox = mailboxes.get(accountNumber);
+        return mailbox == null ? 0 : mailbox.received();
+    }
+    
+    /**
+     * Retourne le nombre de comptes ayant une boîte de réception.
+     * 
+     * @return Le nombre de boîtes
+     */
+    public int getAccountCount() {
+        return mailboxes.size();
+    }
+    
+    /**
+     * Retourne la capacité d'une boîte.
+     * 
+     * @return Le nombre de notifications conservées par compte
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * Supprime la boîte d'un compte.
+     * 
+     * @param accountNumber Numéro de compte
+     */
+    public void clear(String accountNumber) {
+        mailboxes.remove(accountNumber);
+    }
+    
+    /**
+     * Supprime toutes les boîtes.
+     */
+    public void clearAll() {
+        mailboxes.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package com.university.finance.notification;
+
+import java.util.ListResourceBundle;
+
+/**
+ * Modèles des notifications en français (langue par défaut).
+ * 
+ * Les champs disponibles sont décrits dans {@link NotificationTemplate}.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class NotificationMessages extends ListResourceBundle {
+    
+    @Override
+    protected Object[][] getContents() {
+        return new Object[][] {
+            {"notification.success", "✓ Transaction réussie: {type} de {amount}{route} - {timestamp}"},
+            {"notification.failure", "✗ Transaction échouée: {type} de {amount}{route} - {timestamp} - Erreur: {error}"},
+            {"notification.deposit", "✓ Dépôt reçu: {amountDecimal} sur le compte {to} - {timestamp}"},
+            {"route.transfer", " de {from} vers {to}"},
+            {"route.from", " depuis {from}"},
+            {"route.to", " vers {to}"}
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.university.finance.notification;
+
+import java.util.ListResourceBundle;
+
+/**
+ * Modèles des notifications en anglais.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class NotificationMessages_en extends ListResourceBundle {
+    
+    @Override
+    protected Object[][] getContents() {
+        return new Object[][] {
+            {"notification.success", "✓ Transaction succeeded: {type} of {amount}{route} - {timestamp}"},
+            {"notification.failure", "✗ Transaction failed: {type} of {amount}{route} - {timestamp} - Error: {error}"},
+            {"notification.deposit", "✓ Deposit received: {amountDecimal} on account {to} - {timestamp}"},
+            {"route.transfer", " from {from} to {to}"},
+            {"route.from", " from {from}"},
+            {"route.to", " to {to}"}
+        };
+    }
+}
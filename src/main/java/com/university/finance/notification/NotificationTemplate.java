@@ -0,0 +1,139 @@
+package com.university.finance.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modèle de notification précompilé.
+ * 
+ * Le texte du modèle est analysé une seule fois en une suite de segments
+ * (texte fixe ou champ) ; le rendu se contente ensuite d'ajouter ces segments
+ * à un tampon, sans analyse ni String.format.
+ * 
+ * Champs disponibles :
+ * {type}, {amount}, {amountDecimal} (deux décimales, séparateur de la langue),
+ * {from}, {to}, {route} (trajet selon les comptes renseignés), {timestamp}, {error}.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class NotificationTemplate {
+    
+    /**
+     * Champ substituable d'un modèle.
+     */
+    enum Field {
+        TYPE("type"),
+        AMOUNT("amount"),
+        AMOUNT_DECIMAL("amountDecimal"),
+        FROM("from"),
+        TO("to"),
+        ROUTE("route"),
+        TIMESTAMP("timestamp"),
+        ERROR("error");
+        
+        private final String placeholder;
+        
+        Field(String placeholder) {
+            this.placeholder = placeholder;
+        }
+        
+        private static Field of(String placeholder) {
+            for (Field field : values()) {
+                if (field.placeholder.equals(placeholder)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Champ de modèle inconnu : {" + placeholder + "}");
+        }
+    }
+    
+    /** Modèle vide. */
+    static final NotificationTemplate EMPTY = new NotificationTemplate("", new Object[0]);
+    
+    private final String source;
+    private final Object[] segments; // String (texte fixe) ou Field
+    
+    private NotificationTemplate(String source, Object[] segments) {
+        this.source = source;
+        this.segments = segments;
+    }
+    
+    /**
+     * Analyse un modèle.
+     * 
+     * @param pattern Le texte du modèle, avec des champs entre accolades
+     * @return Le modèle compilé
+     * @throws IllegalArgumentException Si un champ est inconnu ou une accolade non fermée
+     */
+    public static NotificationTemplate compile(String pattern) {
+        List<Object> segments = new ArrayList<>();
+        int position = 0;
+        while (position < pattern.length()) {
+            int open = pattern.indexOf('{', position);
+            if (open < 0) {
+                segments.add(pattern.substring(position));
+                break;
+            }
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Accolade non fermée dans le modèle : " + pattern);
+            }
+            if (open > position) {
+                segments.add(pattern.substring(position, open));
+            }
+            segments.add(Field.of(pattern.substring(open + 1, close)));
+            position = close + 1;
+        }
+        return new NotificationTemplate(pattern, segments.toArray());
+    }
+    
+    /**
+     * Écrit la notification selon ce modèle à la suite du tampon.
+     * 
+     * @param buffer Le tampon de destination
+     * @param notification La notification
+     * @param templates Le catalogue de la langue (pour les champs composés)
+     */
+    void renderTo(StringBuilder buffer, Notification notification, NotificationTemplates templates) {
+        for (Object segment : segments) {
+            if (segment instanceof String) {
+                buffer.append((String) segment);
+                continue;
+            }
+            switch ((Field) segment) {
+                case TYPE:
+                    buffer.append(notification.getType());
+                    break;
+                case AMOUNT:
+                    buffer.append(notification.getAmount());
+                    break;
+                case AMOUNT_DECIMAL:
+                    templates.appendDecimal(buffer, notification.getAmount());
+                    break;
+                case FROM:
+                    buffer.append(notification.getFromAccountNumber());
+                    break;
+                case TO:
+                    buffer.append(notification.getToAccountNumber());
+                    break;
+                case ROUTE:
+                    templates.routeFor(notification).renderTo(buffer, notification, templates);
+                    break;
+                case TIMESTAMP:
+                    buffer.append(notification.getTimestamp());
+                    break;
+                case ERROR:
+                    buffer.append(notification.getError());
+                    break;
+                default:
+                    throw new IllegalStateException("Champ non géré : " + segment);
+            }
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,145 @@
+package com.university.finance.notification;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalogue des modèles de notification précompilés pour une langue.
+ * 
+ * Les textes proviennent du ResourceBundle NotificationMessages (français par
+ * défaut, NotificationMessages_en pour l'anglais) ; ils sont compilés une seule
+ * fois par langue puis partagés. Le rendu utilise un tampon réutilisé par thread,
+ * si bien que seule la chaîne finale est allouée.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class NotificationTemplates {
+    
+    /** Langue par défaut des notifications. */
+    public static final Locale DEFAULT_LOCALE = Locale.FRENCH;
+    
+    private static final String BUNDLE_NAME = "com.university.finance.notification.NotificationMessages";
+    
+    // Un tampon plus grand que cette taille n'est pas conservé après usage
+    private static final int MAX_RETAINED_BUFFER = 4096;
+    
+    private static final Map<Locale, NotificationTemplates> CACHE = new ConcurrentHashMap<>();
+    
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(256));
+    
+    private final Locale locale;
+    private final char decimalSeparator;
+    private final NotificationTemplate success;
+    private final NotificationTemplate failure;
+    private final NotificationTemplate deposit;
+    private final NotificationTemplate routeTransfer;
+    private final NotificationTemplate routeFrom;
+    private final NotificationTemplate routeTo;
+    
+    private NotificationTemplates(Locale locale) {
+        // Sans repli sur la langue de la JVM : une langue inconnue donne le français
+        ResourceBundle bundle = ResourceBundle.getBundle(BUNDLE_NAME, locale,
+            ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_CLASS));
+        this.locale = locale;
+        this.decimalSeparator = DecimalFormatSymbols.getInstance(locale).getDecimalSeparator();
+        this.success = NotificationTemplate.compile(bundle.getString("notification.success"));
+        this.failure = NotificationTemplate.compile(bundle.getString("notification.failure"));
+        this.deposit = NotificationTemplate.compile(bundle.getString("notification.deposit"));
+        this.routeTransfer = NotificationTemplate.compile(bundle.getString("route.transfer"));
+        this.routeFrom = NotificationTemplate.compile(bundle.getString("route.from"));
+        this.routeTo = NotificationTemplate.compile(bundle.getString("route.to"));
+    }
+    
+    /**
+     * Retourne le catalogue de la langue par défaut.
+     * 
+     * @return Le catalogue français
+     */
+    public static NotificationTemplates getDefault() {
+        return forLocale(DEFAULT_LOCALE);
+    }
+    
+    /**
+     * Retourne le catalogue d'une langue (compilé au premier appel).
+     * 
+     * @param locale La langue
+     * @return Le catalogue
+     */
+    public static NotificationTemplates forLocale(Locale locale) {
+        return CACHE.computeIfAbsent(locale, NotificationTemplates::new);
+    }
+    
+    public Locale getLocale() {
+        return locale;
+    }
+    
+    /**
+     * Produit le texte d'un contenu dans le tampon du thread courant.
+     * 
+     * @param content Le contenu à rendre
+     * @return Le texte
+     */
+    public static String render(Renderable content) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        content.renderTo(buffer);
+        String text = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return text;
+    }
+    
+    /**
+     * Retourne le modèle principal d'une notification.
+     */
+    NotificationTemplate templateFor(Notification.Kind kind) {
+        switch (kind) {
+            case COMPLETED:
+                return success;
+            case FAILED:
+                return failure;
+            case DEPOSIT_RECEIVED:
+                return deposit;
+            default:
+                throw new IllegalStateException("Type de notification non géré : " + kind);
+        }
+    }
+    
+    /**
+     * Retourne le modèle du trajet selon les comptes renseignés.
+     */
+    NotificationTemplate routeFor(Notification notification) {
+        boolean hasFrom = notification.getFromAccountNumber() != null;
+        boolean hasTo = notification.getToAccountNumber() != null;
+        if (hasFrom && hasTo) {
+            return routeTransfer;
+        }
+        if (hasFrom) {
+            return routeFrom;
+        }
+        return hasTo ? routeTo : NotificationTemplate.EMPTY;
+    }
+    
+    /**
+     * Écrit un montant avec deux décimales et le séparateur de la langue.
+     */
+    void appendDecimal(StringBuilder buffer, double amount) {
+        long cents = Math.round(amount * 100);
+        if (cents < 0) {
+            buffer.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        buffer.append(cents / 100).append(decimalSeparator);
+        if (fraction < 10) {
+            buffer.append('0');
+        }
+        buffer.append(fraction);
+    }
+}
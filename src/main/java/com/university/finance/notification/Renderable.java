@@ -0,0 +1,18 @@
+package com.university.finance.notification;
+
+/**
+ * Contenu dont le texte n'est produit qu'au moment de la lecture ou de l'envoi.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface Renderable {
+    
+    /**
+     * Écrit le texte du contenu à la suite du tampon fourni.
+     * 
+     * @param buffer Le tampon de destination
+     */
+    void renderTo(StringBuilder buffer);
+}
@@ -0,0 +1,190 @@
+package com.university.finance.notification;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Transport SMTP minimal (sans authentification ni TLS), destiné à un relais local.
+ * 
+ * Un lot est envoyé sur une seule connexion : une transaction MAIL/RCPT/DATA par
+ * message, puis QUIT. Chaque message a son propre résultat : un refus 4xx est un
+ * échec temporaire, un refus 5xx un échec définitif ; la transaction est alors
+ * annulée (RSET) et le message suivant est présenté. Si la connexion est perdue
+ * en cours de lot, les messages déjà acceptés le restent et les autres sont en
+ * échec temporaire.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class SmtpEmailTransport implements EmailTransport {
+    
+    private static final String CRLF = "\r\n";
+    
+    private final String host;
+    private final int port;
+    private final String sender;
+    private final int timeoutMillis;
+    
+    /**
+     * Constructeur.
+     * 
+     * @param host Hôte du relais SMTP
+     * @param port Port du relais SMTP
+     * @param sender Adresse de l'expéditeur
+     * @param timeoutMillis Délai maximal de connexion et de lecture
+     * @throws IllegalArgumentException Si l'adresse de l'expéditeur est invalide
+     */
+    public SmtpEmailTransport(String host, int port, String sender, int timeoutMillis) {
+        if (!EmailMessage.isValidAddress(sender)) {
+            throw new IllegalArgumentException("Adresse de l'expéditeur invalide : " + sender);
+        }
+        this.host = host;
+        this.port = port;
+        this.sender = sender;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    /**
+     * Envoie un lot de messages.
+     * 
+     * @throws IOException Si l'envoi échoue ou si un message n'a pas été accepté
+     */
+    @Override
+    public void send(List<EmailMessage> messages) throws IOException {
+        List<Outcome> outcomes = deliver(messages);
+        int refused = messages.size() - Collections.frequency(outcomes, Outcome.ACCEPTED);
+        if (refused > 0) {
+            throw new IOException(refused + " message(s) refusé(s) par le serveur SMTP");
+        }
+    }
+    
+    @Override
+    public List<Outcome> deliver(List<EmailMessage> messages) throws IOException {
+        List<Outcome> outcomes = new ArrayList<>(messages.size());
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            BufferedReader in = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(
+                new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            
+            expect(in, 220);
+            command(out, in, "HELO localhost", 250);
+            try {
+                for (EmailMessage message : messages) {
+                    outcomes.add(sendMessage(out, in, message));
+                }
+                command(out, in, "QUIT", 221);
+            } catch (IOException e) {
+                // Connexion perdue : les messages non encore acceptés pourront être réessayés
+                while (outcomes.size() < messages.size()) {
+                    outcomes.add(Outcome.TRANSIENT_FAILURE);
+                }
+            }
+        }
+        return outcomes;
+    }
+    
+    /**
+     * Présente un message dans sa propre transaction SMTP.
+     */
+    private Outcome sendMessage(Writer out, BufferedReader in, EmailMessage message) throws IOException {
+        int code = command(out, in, "MAIL FROM:<" + sender + ">");
+        if (isOk(code)) {
+            code = command(out, in, "RCPT TO:<" + message.getRecipient() + ">");
+            if (isOk(code)) {
+                code = command(out, in, "DATA");
+                if (code == 354) {
+                    writeData(out, message);
+                    code = command(out, in, ".");
+                    if (isOk(code)) {
+                        return Outcome.ACCEPTED;
+                    }
+                }
+            }
+        }
+        // Transaction refusée : remise à zéro avant le message suivant
+        command(out, in, "RSET", 250);
+        return code >= 500 && code < 600 ? Outcome.PERMANENT_FAILURE : Outcome.TRANSIENT_FAILURE;
+    }
+    
+    /**
+     * Écrit l'en-tête et le corps d'un message (sans le point final). Toute fin de
+     * ligne du corps (CRLF, CR ou LF seul) devient CRLF avant le doublement des
+     * points : un CR ou un LF isolé ne peut pas former une fin de DATA que le
+     * serveur interpréterait autrement (SMTP smuggling).
+     * 
+     * @param out Le flux de la connexion
+     * @param message Le message
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    void writeData(Writer out, EmailMessage message) throws IOException {
+        out.write("From: " + sender + CRLF);
+        out.write("To: " + message.getRecipient() + CRLF);
+        out.write("Subject: " + message.getSubject() + CRLF);
+        out.write("MIME-Version: 1.0" + CRLF);
+        out.write("Content-Type: text/plain; charset=UTF-8" + CRLF);
+        out.write("Content-Transfer-Encoding: 8bit" + CRLF);
+        out.write(CRLF);
+        for (String line : message.getBody().split("\r\n|\r|\n", -1)) {
+            // Transparence SMTP : une ligne commençant par un point est doublée
+            out.write(line.startsWith(".") ? "." + line : line);
+            out.write(CRLF);
+        }
+    }
+    
+    private static void command(Writer out, BufferedReader in, String command, int expected) throws IOException {
+        int code = command(out, in, command);
+        if (code != expected && !(expected == 250 && isOk(code))) {
+            throw new IOException("Réponse SMTP inattendue à " + command + " : " + code);
+        }
+    }
+    
+    private static int command(Writer out, BufferedReader in, String command) throws IOException {
+        out.write(command);
+        out.write(CRLF);
+        out.flush();
+        return reply(in);
+    }
+    
+    private static boolean isOk(int code) {
+        return code == 250 || code == 251;
+    }
+    
+    private static void expect(BufferedReader in, int expected) throws IOException {
+        int code = reply(in);
+        if (code != expected) {
+            throw new IOException("Réponse SMTP inattendue : " + code);
+        }
+    }
+    
+    /**
+     * Lit une réponse (éventuellement sur plusieurs lignes) et retourne son code.
+     */
+    private static int reply(BufferedReader in) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                throw new IOException("Connexion SMTP fermée par le serveur");
+            }
+        } while (line.length() > 3 && line.charAt(3) == '-');
+        
+        try {
+            return Integer.parseInt(line.substring(0, Math.min(3, line.length())));
+        } catch (NumberFormatException e) {
+            throw new IOException("Réponse SMTP invalide : " + line);
+        }
+    }
+}
@@ -2,7 +2,13 @@ package com.university.finance.pattern.factory;
 
 import com.university.finance.model.User;
 import com.university.finance.exception.ValidationException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.UUID;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
 
 /**
  * Factory pour la création d'objets User.
@@ -14,11 +20,43 @@ import java.util.UUID;
  * Ce pattern respecte le principe Single Responsibility (SRP) en séparant
  * la logique de création de la logique métier.
  * 
+ * Les mots de passe en clair sont hashés ici ({@link #hashPassword}) par PBKDF2
+ * (HMAC-SHA256) avec un sel aléatoire par utilisateur. Le hash enregistré a la
+ * forme {@code pbkdf2-sha256$<itérations>$<sel base64>$<clé base64>} : il porte
+ * ses propres paramètres, ce qui permet d'augmenter le nombre d'itérations sans
+ * invalider les hashs existants.
+ * 
  * @author Membre 2 - Refactoring Java + Tests
  * @version 1.0
  */
 public class UserFactory {
     
+    /** Nombre d'itérations PBKDF2 des nouveaux hashs. */
+    public static final int PASSWORD_ITERATIONS = 600_000;
+    
+    private static final String PASSWORD_SCHEME = "pbkdf2-sha256";
+    private static final String PASSWORD_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    /**
+     * Crée un nouvel utilisateur à partir de son mot de passe en clair, qui est hashé.
+     * 
+     * @param username Nom d'utilisateur
+     * @param password Mot de passe en clair
+     * @param email Adresse email
+     * @return Un nouvel utilisateur valide
+     * @throws ValidationException Si les données fournies sont invalides
+     */
+    public static User createUserWithPassword(String username, String password, String email)
+            throws ValidationException {
+        if (password == null || password.isEmpty()) {
+            throw new ValidationException("Le mot de passe ne peut pas être vide", "password");
+        }
+        return createUser(username, hashPassword(password), email);
+    }
+    
     /**
      * Crée un nouvel utilisateur avec les paramètres fournis.
      * 
@@ -95,4 +133,60 @@ public class UserFactory {
         
         return user;
     }
+    
+    /**
+     * Hashe un mot de passe avec un sel aléatoire.
+     * 
+     * @param password Mot de passe en clair
+     * @return Le hash à enregistrer
+     */
+    public static String hashPassword(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PASSWORD_SCHEME + "$" + PASSWORD_ITERATIONS + "$" + base64.encodeToString(salt)
+            + "$" + base64.encodeToString(derive(password, salt, PASSWORD_ITERATIONS));
+    }
+    
+    /**
+     * Vérifie un mot de passe en clair contre un hash enregistré, en comparant les
+     * clés dérivées en temps constant. Un hash qui n'est pas au format PBKDF2 n'est
+     * jamais accepté : la valeur enregistrée ne peut pas servir de mot de passe.
+     * 
+     * @param password Mot de passe présenté
+     * @param storedHash Hash enregistré
+     * @return true si le mot de passe correspond
+     */
+    public static boolean verifyPassword(String password, String storedHash) {
+        if (password == null || storedHash == null) {
+            return false;
+        }
+        String[] parts = storedHash.split("\\$");
+        if (parts.length != 4 || !PASSWORD_SCHEME.equals(parts[0])) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            if (iterations <= 0 || salt.length == 0 || expected.length == 0) {
+                return false;
+            }
+            return MessageDigest.isEqual(expected, derive(password, salt, iterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(PASSWORD_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            // PBKDF2WithHmacSHA256 est fourni par le JDK
+            throw new IllegalStateException("PBKDF2 indisponible", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
 }
@@ -1,8 +1,15 @@
 package com.university.finance.pattern.observer;
 
+import com.university.finance.audit.AuditArchive;
+import com.university.finance.audit.AuditIndex;
+import com.university.finance.audit.AuditRecord;
+import com.university.finance.audit.AuditSink;
 import com.university.finance.model.Transaction;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -11,64 +18,165 @@ import java.util.List;
  * Cette classe implémente le pattern Observer pour logger toutes les transactions
  * effectuées dans le système, permettant un audit complet des opérations.
  * 
+ * Chaque transaction produit un enregistrement structuré (AuditRecord) :
+ * - conservé en mémoire dans un journal borné (les plus anciens sont évincés),
+ *   indexé par numéro de compte et par période (AuditIndex) ;
+ * - transmis, si configurée, à une destination durable (AuditSink) qui écrit en arrière-plan ;
+ * - affiché sur la console uniquement si l'écho est activé.
+ * Le formatage texte n'est fait qu'à la lecture du journal.
+ * 
+ * Le journal en mémoire ne garde que les {@code capacity} derniers enregistrements.
+ * Une fois des enregistrements évincés ({@link #isTruncated()}), les recherches par
+ * compte ou par période sont servies par la destination durable si elle est une
+ * archive consultable (fichiers binaires ou chaînés) ; sinon elles ne couvrent que
+ * le journal en mémoire et {@link #isTruncated()} signale qu'elles sont incomplètes.
+ * {@link #getRecords()} et {@link #getAuditLog()} restent limités à la mémoire.
+ * 
  * @author Membre 2 - Refactoring Java + Tests
  * @version 1.0
  */
 public class AuditLogger implements TransactionObserver {
     
-    private List<String> auditLog;
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    /** Nombre d'entrées conservées en mémoire par défaut. */
+    public static final int DEFAULT_CAPACITY = 10_000;
+    
+    private final AuditIndex index;
+    private final AuditSink sink;
+    private final boolean consoleEcho;
     
     /**
-     * Constructeur par défaut.
+     * Constructeur par défaut : journal en mémoire, sans écho sur la console
+     * (l'écho est écrit par le thread de la transaction ; il s'active par le
+     * constructeur complet).
      */
     public AuditLogger() {
-        this.auditLog = new ArrayList<>();
+        this(null, DEFAULT_CAPACITY, false);
+    }
+    
+    /**
+     * Constructeur avec destination durable, sans écho sur la console.
+     * 
+     * @param sink La destination des enregistrements
+     */
+    public AuditLogger(AuditSink sink) {
+        this(sink, DEFAULT_CAPACITY, false);
+    }
+    
+    /**
+     * Constructeur complet.
+     * 
+     * @param sink La destination des enregistrements (peut être null)
+     * @param capacity Nombre d'entrées conservées en mémoire
+     * @param consoleEcho true pour afficher chaque entrée sur la console, de façon synchrone
+     */
+    public AuditLogger(AuditSink sink, int capacity, boolean consoleEcho) {
+        this.index = new AuditIndex(capacity);
+        this.sink = sink;
+        this.consoleEcho = consoleEcho;
     }
     
     @Override
     public void onTransactionCompleted(Transaction transaction) {
-        String logEntry = formatLogEntry(transaction, "COMPLETED");
-        auditLog.add(logEntry);
-        System.out.println("[AUDIT] " + logEntry);
+        log(AuditRecord.of(transaction, AuditRecord.Status.COMPLETED, null));
     }
     
     @Override
     public void onTransactionFailed(Transaction transaction, Exception error) {
-        String logEntry = formatLogEntry(transaction, "FAILED") + " - Error: " + error.getMessage();
-        auditLog.add(logEntry);
-        System.out.println("[AUDIT] " + logEntry);
+        log(AuditRecord.of(transaction, AuditRecord.Status.FAILED, error));
+    }
+    
+    /**
+     * Enregistre une entrée dans le journal, la destination et éventuellement la console.
+     * 
+     * @param record L'enregistrement d'audit
+     */
+    private void log(AuditRecord record) {
+        index.add(record);
+        if (sink != null) {
+            sink.append(record);
+        }
+        if (consoleEcho) {
+            System.out.println("[AUDIT] " + record.format());
+        }
+    }
+    
+    /**
+     * Récupère les enregistrements structurés conservés en mémoire, du plus ancien au plus récent.
+     * 
+     * @return Une copie des enregistrements
+     */
+    public List<AuditRecord> getRecords() {
+        return index.getAll();
+    }
+    
+    /**
+     * Récupère les enregistrements d'un compte (correspondance exacte du numéro).
+     * 
+     * @param accountNumber Numéro de compte
+     * @return Les enregistrements où le compte est source ou destination, dans l'ordre d'arrivée
+     */
+    public List<AuditRecord> getRecordsForAccount(String accountNumber) {
+        List<AuditRecord> archived = findArchived(accountNumber, Long.MIN_VALUE, Long.MAX_VALUE);
+        return archived != null ? archived : index.findByAccount(accountNumber);
+    }
+    
+    /**
+     * Récupère les enregistrements d'une période, par ordre chronologique.
+     * 
+     * @param from Début de la période (inclus)
+     * @param to Fin de la période (incluse)
+     * @return Les enregistrements de la période
+     */
+    public List<AuditRecord> getRecordsBetween(LocalDateTime from, LocalDateTime to) {
+        return getRecordsForAccount(null, from, to);
     }
     
     /**
-     * Formate une entrée de log pour une transaction.
+     * Récupère les enregistrements d'un compte sur une période, par ordre chronologique.
      * 
-     * @param transaction La transaction à logger
-     * @param status Le statut de la transaction
-     * @return Une chaîne formatée représentant l'entrée de log
-     */
-    private String formatLogEntry(Transaction transaction, String status) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[").append(transaction.getTimestamp().format(FORMATTER)).append("] ");
-        sb.append("Transaction ").append(transaction.getId()).append(" - ");
-        sb.append("Type: ").append(transaction.getType()).append(", ");
-        sb.append("Amount: ").append(transaction.getAmount()).append(", ");
-        
-        if (transaction.getFromAccount() != null) {
-            sb.append("From: ").append(transaction.getFromAccount().getAccountNumber()).append(", ");
+     * @param accountNumber Numéro de compte (null pour tous les comptes)
+     * @param from Début de la période (inclus)
+     * @param to Fin de la période (incluse)
+     * @return Les enregistrements correspondants
+     */
+    public List<AuditRecord> getRecordsForAccount(String accountNumber, LocalDateTime from, LocalDateTime to) {
+        long fromMillis = toMillis(from);
+        long toMillis = toMillis(to);
+        List<AuditRecord> archived = fromMillis <= toMillis ? findArchived(accountNumber, fromMillis, toMillis) : null;
+        if (archived == null) {
+            return index.findByAccountAndTimeRange(accountNumber, fromMillis, toMillis);
         }
-        
-        if (transaction.getToAccount() != null) {
-            sb.append("To: ").append(transaction.getToAccount().getAccountNumber()).append(", ");
+        archived.sort(Comparator.comparingLong(AuditRecord::getTimestampMillis)); // tri stable
+        return archived;
+    }
+    
+    /**
+     * Interroge l'archive durable quand le journal en mémoire est incomplet.
+     * 
+     * @return Les enregistrements archivés, ou null si le journal en mémoire suffit
+     *         ou qu'aucune archive consultable n'est disponible
+     */
+    private List<AuditRecord> findArchived(String accountNumber, long fromMillis, long toMillis) {
+        if (!isTruncated() || !(sink instanceof AuditArchive) || !((AuditArchive) sink).isSearchable()) {
+            return null;
         }
-        
-        sb.append("Status: ").append(status);
-        
-        if (transaction.getDescription() != null && !transaction.getDescription().isEmpty()) {
-            sb.append(", Description: ").append(transaction.getDescription());
+        try {
+            return ((AuditArchive) sink).find(accountNumber, fromMillis, toMillis);
+        } catch (IOException e) {
+            System.err.println("[AUDIT] Archive illisible, résultat limité au journal en mémoire : "
+                + e.getMessage());
+            return null;
         }
-        
-        return sb.toString();
+    }
+    
+    /**
+     * Indique si des enregistrements ont été évincés du journal en mémoire. Sans archive
+     * consultable, les recherches ne portent alors que sur les plus récents.
+     * 
+     * @return true si le journal en mémoire est incomplet
+     */
+    public boolean isTruncated() {
+        return index.getEvictedCount() > 0;
     }
     
     /**
@@ -77,7 +185,11 @@ public class AuditLogger implements TransactionObserver {
      * @return Une liste de toutes les entrées de log
      */
     public List<String> getAuditLog() {
-        return new ArrayList<>(auditLog);
+        List<String> entries = new ArrayList<>();
+        for (AuditRecord record : getRecords()) {
+            entries.add(record.format());
+        }
+        return entries;
     }
     
     /**
@@ -88,19 +200,17 @@ public class AuditLogger implements TransactionObserver {
      */
     public List<String> getAuditLogForAccount(String accountNumber) {
         List<String> accountLogs = new ArrayList<>();
-        for (String log : auditLog) {
-            if (log.contains(accountNumber)) {
-                accountLogs.add(log);
-            }
+        for (AuditRecord record : getRecordsForAccount(accountNumber)) {
+            accountLogs.add(record.format());
         }
         return accountLogs;
     }
     
     /**
-     * Efface le journal d'audit.
+     * Efface le journal d'audit en mémoire.
      */
     public void clearAuditLog() {
-        auditLog.clear();
+        index.clear();
     }
     
     /**
@@ -109,6 +219,28 @@ public class AuditLogger implements TransactionObserver {
      * @return Le nombre d'entrées
      */
     public int getLogCount() {
-        return auditLog.size();
+        return index.size();
+    }
+    
+    /**
+     * Retourne la capacité du journal en mémoire.
+     * 
+     * @return Le nombre maximal d'entrées conservées
+     */
+    public int getCapacity() {
+        return index.getCapacity();
+    }
+    
+    /**
+     * Attend que la destination durable ait écrit toutes les entrées.
+     */
+    public void flush() {
+        if (sink != null) {
+            sink.flush();
+        }
+    }
+    
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 }
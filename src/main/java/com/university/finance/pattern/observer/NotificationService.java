@@ -2,10 +2,15 @@ package com.university.finance.pattern.observer;
 
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
+import com.university.finance.notification.ConsoleEmailTransport;
+import com.university.finance.notification.EmailDeliveryService;
+import com.university.finance.notification.Notification;
+import com.university.finance.notification.NotificationInbox;
+import com.university.finance.notification.NotificationTemplates;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service de notification qui envoie des notifications aux utilisateurs
@@ -14,20 +19,31 @@ import java.util.Map;
  * Cette classe implémente le pattern Observer pour notifier automatiquement
  * les utilisateurs des transactions effectuées sur leurs comptes.
  * 
+ * Les notifications sont conservées dans une boîte de réception bornée par
+ * compte (NotificationInbox) : seules les plus récentes sont gardées.
+ * Les emails sont confiés à un EmailDeliveryService qui les regroupe et les
+ * envoie en arrière-plan, sans retarder la transaction.
+ * 
+ * Une notification est conservée sous forme de données (Notification) ; son
+ * texte, tiré des modèles précompilés de la langue choisie, n'est produit
+ * qu'à la lecture ou à l'envoi.
+ * 
  * @author Membre 2 - Refactoring Java + Tests
  * @version 1.0
  */
 public class NotificationService implements TransactionObserver {
     
-    private Map<String, List<String>> notifications; // accountNumber -> liste de notifications
-    private boolean emailNotificationsEnabled;
+    private final NotificationInbox<Notification> notifications; // accountNumber -> notifications récentes
+    private final NotificationTemplates templates;
+    private volatile boolean emailNotificationsEnabled;
+    private volatile EmailDeliveryService emailDelivery;
+    private final ReentrantLock emailDeliveryLock = new ReentrantLock();
     
     /**
      * Constructeur par défaut.
      */
     public NotificationService() {
-        this.notifications = new HashMap<>();
-        this.emailNotificationsEnabled = false; // Par défaut, seulement en mémoire
+        this(false); // Par défaut, seulement en mémoire
     }
     
     /**
@@ -36,23 +52,61 @@ public class NotificationService implements TransactionObserver {
      * @param emailNotificationsEnabled true pour activer les notifications email
      */
     public NotificationService(boolean emailNotificationsEnabled) {
-        this();
+        this(emailNotificationsEnabled, NotificationInbox.DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Constructeur avec capacité des boîtes de réception.
+     * 
+     * @param emailNotificationsEnabled true pour activer les notifications email
+     * @param capacityPerAccount Nombre de notifications conservées par compte
+     */
+    public NotificationService(boolean emailNotificationsEnabled, int capacityPerAccount) {
+        this(emailNotificationsEnabled, capacityPerAccount, null);
+    }
+    
+    /**
+     * Constructeur complet.
+     * 
+     * @param emailNotificationsEnabled true pour activer les notifications email
+     * @param capacityPerAccount Nombre de notifications conservées par compte
+     * @param emailDelivery Service d'envoi des emails (null : envoi simulé sur la console,
+     *                      créé au premier email)
+     */
+    public NotificationService(boolean emailNotificationsEnabled, int capacityPerAccount,
+                               EmailDeliveryService emailDelivery) {
+        this(emailNotificationsEnabled, capacityPerAccount, emailDelivery, NotificationTemplates.DEFAULT_LOCALE);
+    }
+    
+    /**
+     * Constructeur complet avec langue des notifications.
+     * 
+     * @param emailNotificationsEnabled true pour activer les notifications email
+     * @param capacityPerAccount Nombre de notifications conservées par compte
+     * @param emailDelivery Service d'envoi des emails (null : envoi simulé sur la console,
+     *                      créé au premier email)
+     * @param locale Langue des notifications (français si non traduite)
+     */
+    public NotificationService(boolean emailNotificationsEnabled, int capacityPerAccount,
+                               EmailDeliveryService emailDelivery, Locale locale) {
+        this.notifications = new NotificationInbox<>(capacityPerAccount);
+        this.templates = NotificationTemplates.forLocale(locale);
         this.emailNotificationsEnabled = emailNotificationsEnabled;
+        this.emailDelivery = emailDelivery;
     }
     
     @Override
     public void onTransactionCompleted(Transaction transaction) {
-        String notification = createNotification(transaction, true);
-        
         // Notification pour le compte source (si retrait/transfert)
         if (transaction.getFromAccount() != null) {
+            Notification notification = Notification.completed(transaction, templates);
             addNotification(transaction.getFromAccount(), notification);
             sendEmailNotification(transaction.getFromAccount(), notification);
         }
         
         // Notification pour le compte destination (si dépôt/transfert)
         if (transaction.getToAccount() != null) {
-            String depositNotification = createDepositNotification(transaction);
+            Notification depositNotification = Notification.depositReceived(transaction, templates);
             addNotification(transaction.getToAccount(), depositNotification);
             sendEmailNotification(transaction.getToAccount(), depositNotification);
         }
@@ -60,8 +114,7 @@ public class NotificationService implements TransactionObserver {
     
     @Override
     public void onTransactionFailed(Transaction transaction, Exception error) {
-        String notification = createNotification(transaction, false) + 
-                             " - Erreur: " + error.getMessage();
+        Notification notification = Notification.failed(transaction, error, templates);
         
         // Notification pour le compte concerné
         Account account = transaction.getFromAccount() != null ? 
@@ -74,86 +127,90 @@ public class NotificationService implements TransactionObserver {
     }
     
     /**
-     * Crée un message de notification pour une transaction.
+     * Ajoute une notification pour un compte.
      * 
-     * @param transaction La transaction
-     * @param success true si la transaction a réussi, false sinon
-     * @return Le message de notification
+     * @param account Le compte
+     * @param notification La notification
      */
-    private String createNotification(Transaction transaction, boolean success) {
-        StringBuilder sb = new StringBuilder();
-        
-        if (success) {
-            sb.append("✓ Transaction réussie: ");
-        } else {
-            sb.append("✗ Transaction échouée: ");
-        }
-        
-        sb.append(transaction.getType()).append(" de ");
-        sb.append(transaction.getAmount());
-        
-        if (transaction.getFromAccount() != null && transaction.getToAccount() != null) {
-            sb.append(" de ").append(transaction.getFromAccount().getAccountNumber());
-            sb.append(" vers ").append(transaction.getToAccount().getAccountNumber());
-        } else if (transaction.getFromAccount() != null) {
-            sb.append(" depuis ").append(transaction.getFromAccount().getAccountNumber());
-        } else if (transaction.getToAccount() != null) {
-            sb.append(" vers ").append(transaction.getToAccount().getAccountNumber());
+    private void addNotification(Account account, Notification notification) {
+        notifications.add(account.getAccountNumber(), notification);
+    }
+    
+    /**
+     * Dépose une notification email si activé ; l'envoi est asynchrone.
+     * 
+     * @param account Le compte concerné
+     * @param notification La notification
+     */
+    private void sendEmailNotification(Account account, Notification notification) {
+        if (emailNotificationsEnabled && account.getOwner() != null && account.getOwner().getEmail() != null) {
+            getEmailDelivery().submit(account.getOwner().getEmail(), notification);
         }
-        
-        sb.append(" - ").append(transaction.getTimestamp());
-        
-        return sb.toString();
     }
     
     /**
-     * Crée un message de notification spécifique pour un dépôt.
+     * Retourne le service d'envoi des emails, créé au premier besoin.
      * 
-     * @param transaction La transaction de dépôt
-     * @return Le message de notification
+     * @return Le service d'envoi
      */
-    private String createDepositNotification(Transaction transaction) {
-        return String.format(
-            "✓ Dépôt reçu: %.2f sur le compte %s - %s",
-            transaction.getAmount(),
-            transaction.getToAccount().getAccountNumber(),
-            transaction.getTimestamp()
-        );
+    public EmailDeliveryService getEmailDelivery() {
+        EmailDeliveryService delivery = emailDelivery;
+        if (delivery == null) {
+            emailDeliveryLock.lock();
+            try {
+                delivery = emailDelivery;
+                if (delivery == null) {
+                    delivery = new EmailDeliveryService(new ConsoleEmailTransport());
+                    emailDelivery = delivery;
+                }
+            } finally {
+                emailDeliveryLock.unlock();
+            }
+        }
+        return delivery;
     }
     
     /**
-     * Ajoute une notification pour un compte.
+     * Récupère toutes les notifications conservées pour un compte.
      * 
-     * @param account Le compte
-     * @param notification Le message de notification
+     * @param accountNumber Numéro de compte
+     * @return Liste des notifications pour ce compte
      */
-    private void addNotification(Account account, String notification) {
-        String accountNumber = account.getAccountNumber();
-        notifications.computeIfAbsent(accountNumber, k -> new ArrayList<>()).add(notification);
+    public List<String> getNotifications(String accountNumber) {
+        return render(notifications.getAll(accountNumber));
     }
     
     /**
-     * Envoie une notification par email si activé.
+     * Récupère une page des notifications d'un compte, de la plus ancienne à la plus récente.
      * 
-     * @param account Le compte concerné
-     * @param notification Le message de notification
+     * @param accountNumber Numéro de compte
+     * @param offset Position de la première notification
+     * @param limit Nombre maximal de notifications
+     * @return Les notifications de la page
      */
-    private void sendEmailNotification(Account account, String notification) {
-        if (emailNotificationsEnabled && account.getOwner() != null && account.getOwner().getEmail() != null) {
-            // Simulation d'envoi d'email
-            System.out.println("[EMAIL] Envoi à " + account.getOwner().getEmail() + ": " + notification);
-            // Dans une vraie application, on utiliserait un service d'email ici
+    public List<String> getNotifications(String accountNumber, int offset, int limit) {
+        return render(notifications.getPage(accountNumber, offset, limit));
+    }
+    
+    /**
+     * Produit le texte des notifications lues.
+     */
+    private static List<String> render(List<Notification> page) {
+        List<String> texts = new ArrayList<>(page.size());
+        for (Notification notification : page) {
+            texts.add(notification.render());
         }
+        return texts;
     }
     
     /**
-     * Récupère toutes les notifications pour un compte.
+     * Retourne le nombre de notifications conservées pour un compte.
      * 
      * @param accountNumber Numéro de compte
-     * @return Liste des notifications pour ce compte
+     * @return Le nombre de notifications
      */
-    public List<String> getNotifications(String accountNumber) {
-        return new ArrayList<>(notifications.getOrDefault(accountNumber, new ArrayList<>()));
+    public int getNotificationCount(String accountNumber) {
+        return notifications.size(accountNumber);
     }
     
     /**
@@ -162,14 +219,23 @@ public class NotificationService implements TransactionObserver {
      * @param accountNumber Numéro de compte
      */
     public void clearNotifications(String accountNumber) {
-        notifications.remove(accountNumber);
+        notifications.clear(accountNumber);
     }
     
     /**
      * Efface toutes les notifications.
      */
     public void clearAllNotifications() {
-        notifications.clear();
+        notifications.clearAll();
+    }
+    
+    /**
+     * Retourne la langue des notifications.
+     * 
+     * @return La langue
+     */
+    public Locale getLocale() {
+        return templates.getLocale();
     }
     
     /**
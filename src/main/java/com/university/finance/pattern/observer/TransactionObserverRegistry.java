@@ -0,0 +1,174 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.model.Transaction;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registre des observateurs de transactions, sûr en présence de notifications concurrentes.
+ * 
+ * Les abonnements sont conservés dans un tableau immuable : un ajout ou un retrait
+ * publie une nouvelle copie (copie sur écriture, par compare-and-set). Une
+ * notification parcourt simplement l'instantané courant, sans verrou ni allocation,
+ * et ne peut donc pas être perturbée par un abonnement modifié depuis un autre thread
+ * (par exemple lors d'un rechargement de la configuration).
+ * 
+ * Un observateur peut ne s'abonner qu'à certains types de transactions ; le filtre
+ * est un masque de bits testé avant l'appel.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class TransactionObserverRegistry {
+    
+    private static final Registration[] EMPTY = new Registration[0];
+    
+    /** Masque acceptant tous les types, y compris une transaction sans type. */
+    private static final long ALL_TYPES = -1L;
+    
+    /**
+     * Abonnement d'un observateur.
+     */
+    private static final class Registration {
+        private final TransactionObserver observer;
+        private final long typeMask;
+        
+        private Registration(TransactionObserver observer, long typeMask) {
+            this.observer = observer;
+            this.typeMask = typeMask;
+        }
+        
+        private boolean accepts(Transaction.TransactionType type) {
+            return typeMask == ALL_TYPES || (type != null && (typeMask & bit(type)) != 0);
+        }
+    }
+    
+    private final AtomicReference<Registration[]> registrations = new AtomicReference<>(EMPTY);
+    
+    /**
+     * Abonne un observateur à toutes les transactions.
+     * 
+     * @param observer L'observateur (ignoré s'il est null ou déjà abonné)
+     * @return true si l'observateur a été ajouté
+     */
+    public boolean add(TransactionObserver observer) {
+        return add(observer, ALL_TYPES);
+    }
+    
+    /**
+     * Abonne un observateur aux seules transactions des types indiqués.
+     * 
+     * @param observer L'observateur (ignoré s'il est null ou déjà abonné)
+     * @param types Les types de transactions observés
+     * @return true si l'observateur a été ajouté
+     */
+    public boolean add(TransactionObserver observer, Set<Transaction.TransactionType> types) {
+        long mask = 0;
+        for (Transaction.TransactionType type : types) {
+            mask |= bit(type);
+        }
+        return add(observer, mask);
+    }
+    
+    private boolean add(TransactionObserver observer, long typeMask) {
+        if (observer == null) {
+            return false;
+        }
+        Registration registration = new Registration(observer, typeMask);
+        while (true) {
+            Registration[] current = registrations.get();
+            if (indexOf(current, observer) >= 0) {
+                return false;
+            }
+            Registration[] next = new Registration[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = registration;
+            if (registrations.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Désabonne un observateur.
+     * 
+     * @param observer L'observateur
+     * @return true si l'observateur était abonné
+     */
+    public boolean remove(TransactionObserver observer) {
+        while (true) {
+            Registration[] current = registrations.get();
+            int index = indexOf(current, observer);
+            if (index < 0) {
+                return false;
+            }
+            Registration[] next = current.length == 1 ? EMPTY : new Registration[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            if (registrations.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Notifie les observateurs intéressés qu'une transaction a réussi.
+     * 
+     * @param transaction La transaction complétée
+     */
+    public void notifyCompleted(Transaction transaction) {
+        Transaction.TransactionType type = transaction.getType();
+        for (Registration registration : registrations.get()) {
+            if (registration.accepts(type)) {
+                registration.observer.onTransactionCompleted(transaction);
+            }
+        }
+    }
+    
+    /**
+     * Notifie les observateurs intéressés qu'une transaction a échoué.
+     * 
+     * @param transaction La transaction échouée
+     * @param error L'erreur survenue
+     */
+    public void notifyFailed(Transaction transaction, Exception error) {
+        Transaction.TransactionType type = transaction.getType();
+        for (Registration registration : registrations.get()) {
+            if (registration.accepts(type)) {
+                registration.observer.onTransactionFailed(transaction, error);
+            }
+        }
+    }
+    
+    /**
+     * Vérifie si un observateur est abonné.
+     * 
+     * @param observer L'observateur
+     * @return true si abonné
+     */
+    public boolean contains(TransactionObserver observer) {
+        return indexOf(registrations.get(), observer) >= 0;
+    }
+    
+    /**
+     * Retourne le nombre d'observateurs abonnés.
+     * 
+     * @return Le nombre d'observateurs
+     */
+    public int size() {
+        return registrations.get().length;
+    }
+    
+    private static int indexOf(Registration[] array, TransactionObserver observer) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].observer.equals(observer)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static long bit(Transaction.TransactionType type) {
+        return 1L << type.ordinal();
+    }
+}
@@ -0,0 +1,22 @@
+package com.university.finance.pattern.singleton;
+
+/**
+ * Interface des composants notifiés lorsqu'un nouvel instantané de configuration est publié.
+ * 
+ * Les écouteurs sont appelés après le remplacement de l'instantané, sur le thread
+ * qui a fait la modification (par exemple le thread de surveillance du fichier).
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ConfigurationChangeListener {
+    
+    /**
+     * Méthode appelée lorsque la configuration change.
+     * 
+     * @param previous L'instantané précédent
+     * @param current Le nouvel instantané
+     */
+    void onConfigurationChanged(ConfigurationSnapshot previous, ConfigurationSnapshot current);
+}
@@ -0,0 +1,273 @@
+package com.university.finance.pattern.singleton;
+
+import com.university.finance.exception.ValidationException;
+import com.university.finance.limit.VelocityLimits;
+import com.university.finance.model.Account;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Chargement de la configuration depuis un fichier .properties ou .yaml.
+ * 
+ * Clés reconnues (toutes optionnelles, les valeurs absentes sont reprises
+ * de l'instantané de base) :
+ * <pre>
+ * audit.enabled=true
+ * notifications.email.enabled=false
+ * limits.maxTransactionAmount=10000
+ * limits.minAccountBalance=0
+ * limits.maxAccountBalance=1000000
+ * dateFormat=yyyy-MM-dd HH:mm:ss
+ * velocity.CHECKING.maxTransactionsPerMinute=30
+ * velocity.CHECKING.maxDailyAmount=20000
+ * </pre>
+ * En YAML, les mêmes clés peuvent être écrites sous forme imbriquée
+ * (un niveau d'indentation par segment de clé).
+ * 
+ * Un fichier vide ou qui semble tronqué (clé inconnue, ligne ou section YAML
+ * inachevée) est rejeté : il s'agit le plus souvent d'un fichier en cours
+ * d'écriture, qui ramènerait sinon toute la configuration aux valeurs de base.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class ConfigurationLoader {
+    
+    private static final Set<String> KEYS = new HashSet<>(Arrays.asList(
+        "audit.enabled",
+        "notifications.email.enabled",
+        "limits.maxTransactionAmount",
+        "limits.minAccountBalance",
+        "limits.maxAccountBalance",
+        "dateFormat"
+    ));
+    
+    static {
+        for (Account.AccountType type : Account.AccountType.values()) {
+            KEYS.add("velocity." + type + ".maxTransactionsPerMinute");
+            KEYS.add("velocity." + type + ".maxDailyAmount");
+        }
+    }
+    
+    private ConfigurationLoader() {
+        // Classe utilitaire
+    }
+    
+    /**
+     * Charge un fichier de configuration.
+     * 
+     * @param file Le fichier (.properties, .yml ou .yaml)
+     * @param base L'instantané dont sont reprises les valeurs absentes du fichier
+     * @return Le nouvel instantané
+     * @throws IOException Si le fichier ne peut pas être lu
+     * @throws ValidationException Si le fichier est vide, incomplet ou contient une valeur invalide
+     */
+    public static ConfigurationSnapshot load(Path file, ConfigurationSnapshot base)
+            throws IOException, ValidationException {
+        String name = file.getFileName().toString().toLowerCase();
+        Properties properties;
+        if (name.endsWith(".yml") || name.endsWith(".yaml")) {
+            properties = parseYaml(Files.readAllLines(file, StandardCharsets.UTF_8));
+        } else {
+            properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        checkComplete(file, properties);
+        return fromProperties(properties, base);
+    }
+    
+    /**
+     * Rejette un fichier sans aucune clé ou contenant une clé inconnue (par exemple
+     * tronquée par une écriture en cours).
+     */
+    private static void checkComplete(Path file, Properties properties) throws ValidationException {
+        if (properties.isEmpty()) {
+            throw new ValidationException("Fichier de configuration vide : " + file, "file");
+        }
+        for (String key : properties.stringPropertyNames()) {
+            if (!KEYS.contains(key)) {
+                throw new ValidationException("Clé de configuration inconnue (fichier incomplet ?) : " + key, key);
+            }
+        }
+    }
+    
+    /**
+     * Construit un instantané à partir de propriétés.
+     * 
+     * @param properties Les propriétés
+     * @param base L'instantané dont sont reprises les valeurs absentes
+     * @return Le nouvel instantané
+     * @throws ValidationException Si une valeur est invalide
+     */
+    public static ConfigurationSnapshot fromProperties(Properties properties, ConfigurationSnapshot base)
+            throws ValidationException {
+        ConfigurationSnapshot snapshot = base;
+        
+        String value = properties.getProperty("audit.enabled");
+        if (value != null) {
+            snapshot = snapshot.withAuditEnabled(parseBoolean("audit.enabled", value));
+        }
+        value = properties.getProperty("notifications.email.enabled");
+        if (value != null) {
+            snapshot = snapshot.withEmailNotificationsEnabled(parseBoolean("notifications.email.enabled", value));
+        }
+        value = properties.getProperty("limits.maxTransactionAmount");
+        if (value != null) {
+            snapshot = snapshot.withMaxTransactionAmount(parseAmount("limits.maxTransactionAmount", value));
+        }
+        value = properties.getProperty("limits.minAccountBalance");
+        if (value != null) {
+            snapshot = snapshot.withMinAccountBalance(parseAmount("limits.minAccountBalance", value));
+        }
+        value = properties.getProperty("limits.maxAccountBalance");
+        if (value != null) {
+            snapshot = snapshot.withMaxAccountBalance(parseAmount("limits.maxAccountBalance", value));
+        }
+        value = properties.getProperty("dateFormat");
+        if (value != null) {
+            snapshot = snapshot.withDateFormat(value.trim());
+        }
+        
+        for (Account.AccountType type : Account.AccountType.values()) {
+            String rateKey = "velocity." + type + ".maxTransactionsPerMinute";
+            String dailyKey = "velocity." + type + ".maxDailyAmount";
+            String rate = properties.getProperty(rateKey);
+            String daily = properties.getProperty(dailyKey);
+            if (rate == null && daily == null) {
+                continue;
+            }
+            VelocityLimits current = snapshot.getVelocityLimits(type);
+            try {
+                VelocityLimits limits = new VelocityLimits(
+                    rate != null ? parseInt(rateKey, rate) : current.getMaxTransactionsPerMinute(),
+                    daily != null ? parseAmount(dailyKey, daily) : current.getMaxDailyAmount()
+                );
+                snapshot = snapshot.withVelocityLimits(type, limits);
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException(e.getMessage(), rate != null ? rateKey : dailyKey, e);
+            }
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Aplatit un YAML simple (mappings imbriqués, valeurs scalaires) en propriétés
+     * dont les clés sont jointes par des points.
+     * 
+     * @param lines Les lignes du fichier
+     * @return Les propriétés équivalentes
+     * @throws ValidationException Si une ligne n'a pas de clé ou si une section n'a aucune valeur
+     */
+    static Properties parseYaml(List<String> lines) throws ValidationException {
+        Properties properties = new Properties();
+        Deque<int[]> indents = new ArrayDeque<>(); // indentation et nombre de valeurs de chaque section
+        Deque<String> path = new ArrayDeque<>();
+        
+        for (String raw : lines) {
+            String line = stripComment(raw);
+            if (line.trim().isEmpty() || line.trim().equals("---")) {
+                continue;
+            }
+            int indent = 0;
+            while (indent < line.length() && line.charAt(indent) == ' ') {
+                indent++;
+            }
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                throw new ValidationException("Ligne YAML incomplète : " + line.trim(), line.trim());
+            }
+            while (!indents.isEmpty() && indents.peek()[0] >= indent) {
+                closeSection(indents, path);
+            }
+            String key = line.substring(indent, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if (value.isEmpty()) {
+                indents.push(new int[] {indent, 0});
+                path.push(key);
+                continue;
+            }
+            StringBuilder fullKey = new StringBuilder();
+            for (Iterator<String> it = path.descendingIterator(); it.hasNext();) {
+                fullKey.append(it.next()).append('.');
+            }
+            fullKey.append(key);
+            properties.setProperty(fullKey.toString(), unquote(value));
+            for (int[] section : indents) {
+                section[1]++;
+            }
+        }
+        while (!indents.isEmpty()) {
+            closeSection(indents, path);
+        }
+        return properties;
+    }
+    
+    private static void closeSection(Deque<int[]> indents, Deque<String> path) throws ValidationException {
+        int values = indents.pop()[1];
+        String key = path.pop();
+        if (values == 0) {
+            throw new ValidationException("Section YAML sans valeur : " + key, key);
+        }
+    }
+    
+    private static String stripComment(String line) {
+        int hash = line.indexOf(" #");
+        if (line.trim().startsWith("#")) {
+            return "";
+        }
+        return hash >= 0 ? line.substring(0, hash) : line;
+    }
+    
+    private static String unquote(String value) {
+        if (value.length() >= 2
+                && ((value.startsWith("\"") && value.endsWith("\""))
+                || (value.startsWith("'") && value.endsWith("'")))) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+    
+    private static boolean parseBoolean(String key, String value) throws ValidationException {
+        String trimmed = value.trim();
+        if ("true".equalsIgnoreCase(trimmed)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(trimmed)) {
+            return false;
+        }
+        throw new ValidationException("Valeur booléenne invalide pour " + key + ": " + value, key);
+    }
+    
+    private static double parseAmount(String key, String value) throws ValidationException {
+        try {
+            double amount = Double.parseDouble(value.trim());
+            if (amount < 0 || Double.isNaN(amount)) {
+                throw new ValidationException("Montant négatif pour " + key + ": " + value, key);
+            }
+            return amount;
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Montant invalide pour " + key + ": " + value, key, e);
+        }
+    }
+    
+    private static int parseInt(String key, String value) throws ValidationException {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Entier invalide pour " + key + ": " + value, key, e);
+        }
+    }
+}
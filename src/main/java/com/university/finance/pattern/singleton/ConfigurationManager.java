@@ -1,113 +1,229 @@
-package com.university.finance.pattern.singleton;
-
-/**
- * Gestionnaire de configuration utilisant le pattern Singleton.
- * 
- * Ce pattern garantit qu'il n'existe qu'une seule instance de ConfigurationManager
- * dans toute l'application, permettant un accès centralisé à la configuration.
- * 
- * @author Membre 2 - Refactoring Java + Tests
- * @version 1.0
- */
-public class ConfigurationManager {
-    
-    private static ConfigurationManager instance;
-    
-    // Configuration des observateurs
-    private boolean auditEnabled = true;
-    private boolean emailNotificationsEnabled = false;
-    
-    // Configuration métier
-    private double maxTransactionAmount = 10000.0;
-    private double minAccountBalance = 0.0;
-    private double maxAccountBalance = 1000000.0;
-    
-    // Configuration système
-    private String dateFormat = "yyyy-MM-dd HH:mm:ss";
-    
-    /**
-     * Constructeur privé pour empêcher l'instanciation directe.
-     */
-    private ConfigurationManager() {
-        // Initialisation privée
-    }
-    
-    /**
-     * Récupère l'instance unique du ConfigurationManager.
-     * 
-     * @return L'instance unique
-     */
-    public static synchronized ConfigurationManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigurationManager();
-        }
-        return instance;
-    }
-    
-    // Getters et Setters pour la configuration des observateurs
-    
-    public boolean isAuditEnabled() {
-        return auditEnabled;
-    }
-    
-    public void setAuditEnabled(boolean auditEnabled) {
-        this.auditEnabled = auditEnabled;
-    }
-    
-    public boolean isEmailNotificationsEnabled() {
-        return emailNotificationsEnabled;
-    }
-    
-    public void setEmailNotificationsEnabled(boolean emailNotificationsEnabled) {
-        this.emailNotificationsEnabled = emailNotificationsEnabled;
-    }
-    
-    // Getters et Setters pour la configuration métier
-    
-    public double getMaxTransactionAmount() {
-        return maxTransactionAmount;
-    }
-    
-    public void setMaxTransactionAmount(double maxTransactionAmount) {
-        this.maxTransactionAmount = maxTransactionAmount;
-    }
-    
-    public double getMinAccountBalance() {
-        return minAccountBalance;
-    }
-    
-    public void setMinAccountBalance(double minAccountBalance) {
-        this.minAccountBalance = minAccountBalance;
-    }
-    
-    public double getMaxAccountBalance() {
-        return maxAccountBalance;
-    }
-    
-    public void setMaxAccountBalance(double maxAccountBalance) {
-        this.maxAccountBalance = maxAccountBalance;
-    }
-    
-    // Getters et Setters pour la configuration système
-    
-    public String getDateFormat() {
-        return dateFormat;
-    }
-    
-    public void setDateFormat(String dateFormat) {
-        this.dateFormat = dateFormat;
-    }
-    
-    /**
-     * Réinitialise la configuration aux valeurs par défaut.
-     */
-    public void resetToDefaults() {
-        this.auditEnabled = true;
-        this.emailNotificationsEnabled = false;
-        this.maxTransactionAmount = 10000.0;
-        this.minAccountBalance = 0.0;
-        this.maxAccountBalance = 1000000.0;
-        this.dateFormat = "yyyy-MM-dd HH:mm:ss";
-    }
-}
-
+package com.university.finance.pattern.singleton;
+
+import com.university.finance.exception.ValidationException;
+import com.university.finance.limit.VelocityLimits;
+import com.university.finance.model.Account;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Gestionnaire de configuration utilisant le pattern Singleton.
+ * 
+ * Ce pattern garantit qu'il n'existe qu'une seule instance de ConfigurationManager
+ * dans toute l'application, permettant un accès centralisé à la configuration.
+ * 
+ * La configuration est un instantané immuable (ConfigurationSnapshot) publié par
+ * une référence volatile : les lectures ne prennent jamais de verrou, et chaque
+ * modification remplace atomiquement l'instantané, visible aussitôt par tous les threads.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class ConfigurationManager {
+    
+    /**
+     * Initialisation paresseuse et thread-safe de l'instance unique (idiome du holder).
+     */
+    private static final class Holder {
+        private static final ConfigurationManager INSTANCE = new ConfigurationManager();
+    }
+    
+    private final AtomicReference<ConfigurationSnapshot> snapshot;
+    private final List<ConfigurationChangeListener> listeners;
+    
+    /**
+     * Constructeur privé pour empêcher l'instanciation directe.
+     */
+    private ConfigurationManager() {
+        this.snapshot = new AtomicReference<>(ConfigurationSnapshot.defaults());
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+    
+    /**
+     * Récupère l'instance unique du ConfigurationManager.
+     * 
+     * @return L'instance unique
+     */
+    public static ConfigurationManager getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Récupère l'instantané courant de la configuration.
+     * 
+     * Un traitement qui lit plusieurs valeurs doit utiliser un seul instantané
+     * afin de voir une configuration cohérente.
+     * 
+     * @return L'instantané courant
+     */
+    public ConfigurationSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+    
+    /**
+     * Remplace l'instantané courant.
+     * 
+     * @param newSnapshot Le nouvel instantané
+     */
+    public void setSnapshot(ConfigurationSnapshot newSnapshot) {
+        if (newSnapshot == null) {
+            throw new IllegalArgumentException("L'instantané de configuration ne peut pas être null");
+        }
+        ConfigurationSnapshot previous = snapshot.getAndSet(newSnapshot);
+        fireChanged(previous, newSnapshot);
+    }
+    
+    /**
+     * Applique atomiquement une modification à l'instantané courant.
+     * 
+     * @param update La fonction produisant le nouvel instantané à partir du courant
+     * @return Le nouvel instantané
+     */
+    public ConfigurationSnapshot update(UnaryOperator<ConfigurationSnapshot> update) {
+        ConfigurationSnapshot previous;
+        ConfigurationSnapshot next;
+        do {
+            previous = snapshot.get();
+            next = update.apply(previous);
+        } while (!snapshot.compareAndSet(previous, next));
+        fireChanged(previous, next);
+        return next;
+    }
+    
+    /**
+     * Charge la configuration depuis un fichier et publie le nouvel instantané.
+     * 
+     * Les valeurs absentes du fichier sont reprises des valeurs par défaut. Un fichier
+     * vide ou incomplet est rejeté et l'instantané courant conservé.
+     * 
+     * @param file Le fichier de configuration (.properties, .yml ou .yaml)
+     * @return Le nouvel instantané
+     * @throws IOException Si le fichier ne peut pas être lu
+     * @throws ValidationException Si le fichier est vide, incomplet ou contient une valeur invalide
+     */
+    public ConfigurationSnapshot loadFromFile(Path file) throws IOException, ValidationException {
+        ConfigurationSnapshot loaded = ConfigurationLoader.load(file, ConfigurationSnapshot.defaults());
+        setSnapshot(loaded);
+        return loaded;
+    }
+    
+    /**
+     * Ajoute un écouteur des changements de configuration.
+     * 
+     * @param listener L'écouteur à ajouter
+     */
+    public void addChangeListener(ConfigurationChangeListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+    
+    /**
+     * Retire un écouteur des changements de configuration.
+     * 
+     * @param listener L'écouteur à retirer
+     */
+    public void removeChangeListener(ConfigurationChangeListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Notifie les écouteurs si la configuration a effectivement changé.
+     * 
+     * @param previous L'instantané précédent
+     * @param current Le nouvel instantané
+     */
+    private void fireChanged(ConfigurationSnapshot previous, ConfigurationSnapshot current) {
+        if (previous.equals(current)) {
+            return;
+        }
+        for (ConfigurationChangeListener listener : listeners) {
+            listener.onConfigurationChanged(previous, current);
+        }
+    }
+    
+    // Getters et Setters pour la configuration des observateurs
+    
+    public boolean isAuditEnabled() {
+        return snapshot.get().isAuditEnabled();
+    }
+    
+    public void setAuditEnabled(boolean auditEnabled) {
+        update(s -> s.withAuditEnabled(auditEnabled));
+    }
+    
+    public boolean isEmailNotificationsEnabled() {
+        return snapshot.get().isEmailNotificationsEnabled();
+    }
+    
+    public void setEmailNotificationsEnabled(boolean emailNotificationsEnabled) {
+        update(s -> s.withEmailNotificationsEnabled(emailNotificationsEnabled));
+    }
+    
+    // Getters et Setters pour la configuration métier
+    
+    public double getMaxTransactionAmount() {
+        return snapshot.get().getMaxTransactionAmount();
+    }
+    
+    public void setMaxTransactionAmount(double maxTransactionAmount) {
+        update(s -> s.withMaxTransactionAmount(maxTransactionAmount));
+    }
+    
+    public double getMinAccountBalance() {
+        return snapshot.get().getMinAccountBalance();
+    }
+    
+    public void setMinAccountBalance(double minAccountBalance) {
+        update(s -> s.withMinAccountBalance(minAccountBalance));
+    }
+    
+    public double getMaxAccountBalance() {
+        return snapshot.get().getMaxAccountBalance();
+    }
+    
+    public void setMaxAccountBalance(double maxAccountBalance) {
+        update(s -> s.withMaxAccountBalance(maxAccountBalance));
+    }
+    
+    /**
+     * Récupère les limites de vélocité d'un type de compte.
+     * 
+     * @param accountType Le type de compte
+     * @return Les limites applicables
+     */
+    public VelocityLimits getVelocityLimits(Account.AccountType accountType) {
+        return snapshot.get().getVelocityLimits(accountType);
+    }
+    
+    /**
+     * Définit les limites de vélocité d'un type de compte.
+     * 
+     * @param accountType Le type de compte
+     * @param limits Les nouvelles limites
+     */
+    public void setVelocityLimits(Account.AccountType accountType, VelocityLimits limits) {
+        update(s -> s.withVelocityLimits(accountType, limits));
+    }
+    
+    // Getters et Setters pour la configuration système
+    
+    public String getDateFormat() {
+        return snapshot.get().getDateFormat();
+    }
+    
+    public void setDateFormat(String dateFormat) {
+        update(s -> s.withDateFormat(dateFormat));
+    }
+    
+    /**
+     * Réinitialise la configuration aux valeurs par défaut.
+     */
+    public void resetToDefaults() {
+        setSnapshot(ConfigurationSnapshot.defaults());
+    }
+}
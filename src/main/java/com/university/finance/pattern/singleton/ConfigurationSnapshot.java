@@ -0,0 +1,200 @@
+package com.university.finance.pattern.singleton;
+
+import com.university.finance.limit.VelocityLimits;
+import com.university.finance.model.Account;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Instantané immuable de la configuration de l'application.
+ * 
+ * Le ConfigurationManager publie l'instantané courant par une référence volatile :
+ * un lecteur obtient toujours une configuration complète et cohérente sans prendre
+ * de verrou. Toute modification crée un nouvel instantané (méthodes with...).
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public final class ConfigurationSnapshot {
+    
+    private final boolean auditEnabled;
+    private final boolean emailNotificationsEnabled;
+    private final double maxTransactionAmount;
+    private final double minAccountBalance;
+    private final double maxAccountBalance;
+    private final String dateFormat;
+    private final Map<Account.AccountType, VelocityLimits> velocityLimits;
+    
+    private ConfigurationSnapshot(boolean auditEnabled, boolean emailNotificationsEnabled,
+                                  double maxTransactionAmount, double minAccountBalance,
+                                  double maxAccountBalance, String dateFormat,
+                                  Map<Account.AccountType, VelocityLimits> velocityLimits) {
+        this.auditEnabled = auditEnabled;
+        this.emailNotificationsEnabled = emailNotificationsEnabled;
+        this.maxTransactionAmount = maxTransactionAmount;
+        this.minAccountBalance = minAccountBalance;
+        this.maxAccountBalance = maxAccountBalance;
+        this.dateFormat = dateFormat;
+        this.velocityLimits = velocityLimits;
+    }
+    
+    /**
+     * Retourne la configuration par défaut.
+     * 
+     * @return L'instantané par défaut
+     */
+    public static ConfigurationSnapshot defaults() {
+        Map<Account.AccountType, VelocityLimits> limits = new EnumMap<>(Account.AccountType.class);
+        limits.put(Account.AccountType.CHECKING, new VelocityLimits(30, 20000.0));
+        limits.put(Account.AccountType.SAVINGS, new VelocityLimits(10, 10000.0));
+        limits.put(Account.AccountType.BUSINESS, new VelocityLimits(300, 250000.0));
+        return new ConfigurationSnapshot(true, false, 10000.0, 0.0, 1000000.0,
+            "yyyy-MM-dd HH:mm:ss", Collections.unmodifiableMap(limits));
+    }
+    
+    // Getters
+    
+    public boolean isAuditEnabled() {
+        return auditEnabled;
+    }
+    
+    public boolean isEmailNotificationsEnabled() {
+        return emailNotificationsEnabled;
+    }
+    
+    public double getMaxTransactionAmount() {
+        return maxTransactionAmount;
+    }
+    
+    public double getMinAccountBalance() {
+        return minAccountBalance;
+    }
+    
+    public double getMaxAccountBalance() {
+        return maxAccountBalance;
+    }
+    
+    public String getDateFormat() {
+        return dateFormat;
+    }
+    
+    /**
+     * Récupère les limites de vélocité d'un type de compte.
+     * 
+     * @param accountType Le type de compte
+     * @return Les limites applicables (illimitées si non configurées)
+     */
+    public VelocityLimits getVelocityLimits(Account.AccountType accountType) {
+        VelocityLimits limits = velocityLimits.get(accountType);
+        return limits != null ? limits : VelocityLimits.UNLIMITED;
+    }
+    
+    // Copies modifiées
+    
+    public ConfigurationSnapshot withAuditEnabled(boolean auditEnabled) {
+        return new ConfigurationSnapshot(auditEnabled, emailNotificationsEnabled, maxTransactionAmount,
+            minAccountBalance, maxAccountBalance, dateFormat, velocityLimits);
+    }
+    
+    public ConfigurationSnapshot withEmailNotificationsEnabled(boolean emailNotificationsEnabled) {
+        return new ConfigurationSnapshot(auditEnabled, emailNotificationsEnabled, maxTransactionAmount,
+            minAccountBalance, maxAccountBalance, dateFormat, velocityLimits);
+    }
+    
+    public ConfigurationSnapshot withMaxTransactionAmount(double maxTransactionAmount) {
+        return new ConfigurationSnapshot(auditEnabled, emailNotificationsEnabled, maxTransactionAmount,
+            minAccountBalance, maxAccountBalance, dateFormat, velocityLimits);
+    }
+    
+    public ConfigurationSnapshot withMinAccountBalance(double minAccountBalance) {
+        return new ConfigurationSnapshot(auditEnabled, emailNotificationsEnabled, maxTransactionAmount,
+            minAccountBalance, maxAccountBalance, dateFormat, velocityLimits);
+    }
+    
+    public ConfigurationSnapshot withMaxAccountBalance(double maxAccountBalance) {
+        return new ConfigurationSnapshot(auditEnabled, emailNotificationsEnabled, maxTransactionAmount,
+            minAccountBalance, maxAccountBalance, dateFormat, velocityLimits);
+    }
+    
+    public ConfigurationSnapshot withDateFormat(String dateFormat) {
+        return new ConfigurationSnapshot(auditEnabled, emailNotificationsEnabled, maxTransactionAmount,
+            minAccountBalance, maxAccountBalance, dateFormat, velocityLimits);
+    }
+    
+    public ConfigurationSnapshot withVelocityLimits(Account.AccountType accountType, VelocityLimits limits) {
+        Map<Account.AccountType, VelocityLimits> updated = new EnumMap<>(Account.AccountType.class);
+        updated.putAll(velocityLimits);
+        updated.put(accountType, limits);
+        return new ConfigurationSnapshot(auditEnabled, emailNotificationsEnabled, maxTransactionAmount,
+            minAccountBalance, maxAccountBalance, dateFormat, Collections.unmodifiableMap(updated));
+    }
+    
+    // Règles métier dérivées de la configuration
+    
+    /**
+     * Vérifie qu'un montant ne dépasse pas le maximum autorisé par transaction.
+     * 
+     * @param amount Le montant
+     * @return true si le montant est autorisé
+     */
+    public boolean isAmountAllowed(double amount) {
+        return amount <= maxTransactionAmount;
+    }
+    
+    /**
+     * Vérifie qu'un débit laisse le compte au-dessus du solde minimal.
+     * 
+     * @param balance Le solde actuel
+     * @param amount Le montant débité
+     * @return true si le débit est autorisé
+     */
+    public boolean allowsDebit(double balance, double amount) {
+        return balance - amount >= minAccountBalance;
+    }
+    
+    /**
+     * Vérifie qu'un crédit ne porte pas le compte au-delà du solde maximal.
+     * 
+     * @param balance Le solde actuel
+     * @param amount Le montant crédité
+     * @return true si le crédit est autorisé
+     */
+    public boolean allowsCredit(double balance, double amount) {
+        return balance + amount <= maxAccountBalance;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ConfigurationSnapshot that = (ConfigurationSnapshot) o;
+        return auditEnabled == that.auditEnabled &&
+               emailNotificationsEnabled == that.emailNotificationsEnabled &&
+               Double.compare(maxTransactionAmount, that.maxTransactionAmount) == 0 &&
+               Double.compare(minAccountBalance, that.minAccountBalance) == 0 &&
+               Double.compare(maxAccountBalance, that.maxAccountBalance) == 0 &&
+               Objects.equals(dateFormat, that.dateFormat) &&
+               Objects.equals(velocityLimits, that.velocityLimits);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(auditEnabled, emailNotificationsEnabled, maxTransactionAmount,
+            minAccountBalance, maxAccountBalance, dateFormat, velocityLimits);
+    }
+    
+    @Override
+    public String toString() {
+        return "ConfigurationSnapshot{" +
+                "auditEnabled=" + auditEnabled +
+                ", emailNotificationsEnabled=" + emailNotificationsEnabled +
+                ", maxTransactionAmount=" + maxTransactionAmount +
+                ", minAccountBalance=" + minAccountBalance +
+                ", maxAccountBalance=" + maxAccountBalance +
+                ", dateFormat='" + dateFormat + '\'' +
+                ", velocityLimits=" + velocityLimits +
+                '}';
+    }
+}
@@ -0,0 +1,150 @@
+package com.university.finance.pattern.singleton;
+
+import com.university.finance.exception.ValidationException;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Surveille un fichier de configuration et recharge le ConfigurationManager à chaque modification.
+ * 
+ * Un thread démon attend les événements du WatchService (NIO) sur le répertoire
+ * du fichier. Après une création ou une modification du fichier, le watcher attend
+ * qu'il ne change plus pendant {@link #DEBOUNCE_MILLIS} ms (un éditeur le tronque
+ * souvent avant de le réécrire), puis le relit et publie atomiquement le nouvel
+ * instantané ; les écouteurs du ConfigurationManager sont alors notifiés. Un fichier
+ * invalide, vide ou incomplet est ignoré et l'instantané courant conservé.
+ * 
+ * Pour qu'un rechargement ne voie jamais un fichier à moitié écrit, le fichier doit
+ * être remplacé par renommage atomique : écrire un fichier temporaire dans le même
+ * répertoire puis le déplacer sur le fichier surveillé (mv, ou Files.move avec
+ * ATOMIC_MOVE).
+ * 
+ * Les lecteurs de la configuration ne sont jamais bloqués par un rechargement.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class ConfigurationWatcher implements AutoCloseable {
+    
+    /** Durée sans modification du fichier attendue avant de le relire. */
+    static final long DEBOUNCE_MILLIS = 250;
+    
+    private final ConfigurationManager configurationManager;
+    private final Path file;
+    private WatchService watchService;
+    private Thread thread;
+    
+    /**
+     * Constructeur.
+     * 
+     * @param configurationManager Le gestionnaire de configuration à mettre à jour
+     * @param file Le fichier de configuration surveillé
+     */
+    public ConfigurationWatcher(ConfigurationManager configurationManager, Path file) {
+        this.configurationManager = configurationManager;
+        this.file = file.toAbsolutePath();
+    }
+    
+    /**
+     * Charge le fichier une première fois puis démarre la surveillance.
+     * 
+     * @throws IOException Si le fichier ou le répertoire ne peut pas être lu
+     * @throws ValidationException Si le fichier contient une valeur invalide
+     */
+    public synchronized void start() throws IOException, ValidationException {
+        if (thread != null) {
+            return;
+        }
+        configurationManager.loadFromFile(file);
+        
+        watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        
+        thread = new Thread(this::watchLoop, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Boucle de surveillance : un rechargement par rafale d'événements concernant le
+     * fichier, une fois qu'il n'a plus changé pendant {@link #DEBOUNCE_MILLIS} ms.
+     */
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                while (key != null) {
+                    changed |= concernsFile(key);
+                    if (!key.reset()) {
+                        return;
+                    }
+                    key = changed ? watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS) : null;
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Arrêt demandé par close()
+        }
+    }
+    
+    /**
+     * Indique si un lot d'événements concerne le fichier surveillé.
+     */
+    private boolean concernsFile(WatchKey key) {
+        boolean concerned = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (context instanceof Path && file.getFileName().equals(context)) {
+                concerned = true;
+            }
+        }
+        return concerned;
+    }
+    
+    /**
+     * Relit le fichier ; en cas d'erreur, la configuration courante est conservée.
+     */
+    private void reload() {
+        try {
+            configurationManager.loadFromFile(file);
+        } catch (IOException | ValidationException e) {
+            System.err.println("[CONFIG] Rechargement ignoré (" + file + "): " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Indique si la surveillance est active.
+     * 
+     * @return true si le thread de surveillance tourne
+     */
+    public synchronized boolean isRunning() {
+        return thread != null && thread.isAlive();
+    }
+    
+    /**
+     * Arrête la surveillance.
+     * 
+     * @throws IOException Si le WatchService ne peut pas être fermé
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        thread = null;
+    }
+}
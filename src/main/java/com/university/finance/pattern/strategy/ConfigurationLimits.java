@@ -0,0 +1,80 @@
+package com.university.finance.pattern.strategy;
+
+import com.university.finance.exception.InsufficientFundsException;
+import com.university.finance.exception.ValidationException;
+import com.university.finance.model.Account;
+import com.university.finance.pattern.singleton.ConfigurationSnapshot;
+
+/**
+ * Contrôles des limites du ConfigurationManager partagés par les stratégies.
+ * 
+ * Chaque stratégie lit un seul instantané de configuration par exécution
+ * et le passe à ces méthodes, ce qui garantit des limites cohérentes
+ * sans prise de verrou.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+final class ConfigurationLimits {
+    
+    private ConfigurationLimits() {
+        // Classe utilitaire
+    }
+    
+    /**
+     * Vérifie que le montant ne dépasse pas le maximum autorisé par transaction.
+     * 
+     * @param config L'instantané de configuration
+     * @param amount Le montant
+     * @throws ValidationException Si le montant dépasse le maximum
+     */
+    static void checkAmount(ConfigurationSnapshot config, double amount) throws ValidationException {
+        if (!config.isAmountAllowed(amount)) {
+            throw new ValidationException(
+                String.format("Le montant %.2f dépasse le maximum autorisé par transaction (%.2f)",
+                    amount, config.getMaxTransactionAmount()),
+                "amount"
+            );
+        }
+    }
+    
+    /**
+     * Vérifie qu'un débit laisse le compte au-dessus du solde minimal.
+     * 
+     * @param config L'instantané de configuration
+     * @param account Le compte débité
+     * @param amount Le montant débité
+     * @throws InsufficientFundsException Si le solde minimal n'est pas respecté
+     */
+    static void checkDebit(ConfigurationSnapshot config, Account account, double amount)
+            throws InsufficientFundsException {
+        if (!config.allowsDebit(account.getBalance(), amount)) {
+            throw new InsufficientFundsException(
+                String.format("Le compte %s doit conserver un solde minimal de %.2f",
+                    account.getId(), config.getMinAccountBalance()),
+                account.getId(),
+                account.getBalance(),
+                amount
+            );
+        }
+    }
+    
+    /**
+     * Vérifie qu'un crédit ne porte pas le compte au-delà du solde maximal.
+     * 
+     * @param config L'instantané de configuration
+     * @param account Le compte crédité
+     * @param amount Le montant crédité
+     * @throws ValidationException Si le solde maximal serait dépassé
+     */
+    static void checkCredit(ConfigurationSnapshot config, Account account, double amount)
+            throws ValidationException {
+        if (!config.allowsCredit(account.getBalance(), amount)) {
+            throw new ValidationException(
+                String.format("Le compte %s dépasserait le solde maximal autorisé (%.2f)",
+                    account.getAccountNumber(), config.getMaxAccountBalance()),
+                "maxAccountBalance"
+            );
+        }
+    }
+}
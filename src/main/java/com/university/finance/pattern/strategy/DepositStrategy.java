@@ -4,6 +4,8 @@ import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.exception.BusinessException;
 import com.university.finance.exception.ValidationException;
+import com.university.finance.pattern.singleton.ConfigurationManager;
+import com.university.finance.pattern.singleton.ConfigurationSnapshot;
 import java.util.UUID;
 
 /**
@@ -12,6 +14,11 @@ import java.util.UUID;
  * Cette classe implémente le pattern Strategy pour gérer spécifiquement
  * les opérations de dépôt d'argent sur un compte.
  * 
+ * Le montant maximal par transaction et le solde maximal du compte sont lus
+ * dans l'instantané du ConfigurationManager. Un dépôt n'est pas soumis aux
+ * limites de vélocité (VelocityChecker), qui ne portent que sur les débits
+ * (retraits et transferts sortants).
+ * 
  * @author Membre 2 - Refactoring Java + Tests
  * @version 1.0
  */
@@ -19,14 +26,20 @@ public class DepositStrategy implements TransactionStrategy {
     
     @Override
     public Transaction execute(Account account, double amount, Account targetAccount) throws BusinessException {
+        ConfigurationSnapshot config = ConfigurationManager.getInstance().getSnapshot();
+        
         // Validation
-        if (!validate(account, amount, targetAccount)) {
+        if (!isWellFormed(account, amount)) {
             throw new ValidationException(
                 "Le dépôt ne peut pas être exécuté. Vérifiez le compte et le montant.",
                 "deposit"
             );
         }
         
+        // Vérification des limites de configuration
+        ConfigurationLimits.checkAmount(config, amount);
+        ConfigurationLimits.checkCredit(config, account, amount);
+        
         // Création de la transaction
         String transactionId = UUID.randomUUID().toString();
         Transaction transaction = new Transaction(
@@ -49,6 +62,23 @@ public class DepositStrategy implements TransactionStrategy {
     
     @Override
     public boolean validate(Account account, double amount, Account targetAccount) {
+        // Pour un dépôt, on n'a pas besoin de targetAccount
+        if (!isWellFormed(account, amount)) {
+            return false;
+        }
+        ConfigurationSnapshot config = ConfigurationManager.getInstance().getSnapshot();
+        return config.isAmountAllowed(amount)
+            && config.allowsCredit(account.getBalance(), amount);
+    }
+    
+    /**
+     * Vérifie le compte et le montant, hors limites de configuration.
+     * 
+     * @param account Compte concerné
+     * @param amount Montant de la transaction
+     * @return true si le compte et le montant sont valides
+     */
+    private boolean isWellFormed(Account account, double amount) {
         // Le compte doit exister
         if (account == null) {
             return false;
@@ -60,12 +90,7 @@ public class DepositStrategy implements TransactionStrategy {
         }
         
         // Le montant doit être positif
-        if (amount <= 0) {
-            return false;
-        }
-        
-        // Pour un dépôt, on n'a pas besoin de targetAccount
-        return true;
+        return amount > 0;
     }
     
     @Override
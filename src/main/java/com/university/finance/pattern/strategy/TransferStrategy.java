@@ -5,6 +5,9 @@ import com.university.finance.model.Transaction;
 import com.university.finance.exception.BusinessException;
 import com.university.finance.exception.ValidationException;
 import com.university.finance.exception.InsufficientFundsException;
+import com.university.finance.limit.VelocityChecker;
+import com.university.finance.pattern.singleton.ConfigurationManager;
+import com.university.finance.pattern.singleton.ConfigurationSnapshot;
 import java.util.UUID;
 
 /**
@@ -13,18 +16,25 @@ import java.util.UUID;
  * Cette classe implémente le pattern Strategy pour gérer spécifiquement
  * les opérations de transfert d'argent entre deux comptes.
  * 
+ * Le montant maximal par transaction et les soldes minimal (source) et maximal
+ * (destination) sont lus dans l'instantané du ConfigurationManager. Les limites de
+ * vélocité du compte source (VelocityChecker) sont vérifiées dans la validation
+ * et mises à jour après exécution.
+ * 
  * @author Membre 2 - Refactoring Java + Tests
  * @version 1.0
  */
 public class TransferStrategy implements TransactionStrategy {
     
     private Transaction.TransactionType transferType;
+    private VelocityChecker velocityChecker;
     
     /**
      * Constructeur par défaut pour un transfert standard.
      */
     public TransferStrategy() {
         this.transferType = Transaction.TransactionType.TRANSFER;
+        this.velocityChecker = VelocityChecker.disabled();
     }
     
     /**
@@ -33,6 +43,17 @@ public class TransferStrategy implements TransactionStrategy {
      * @param transferType Type de virement (VIRIN, VIREST, VIRMULTA)
      */
     public TransferStrategy(Transaction.TransactionType transferType) {
+        this(transferType, VelocityChecker.disabled());
+    }
+    
+    /**
+     * Constructeur avec type de virement et contrôle de vélocité.
+     * 
+     * @param transferType Type de virement (VIRIN, VIREST, VIRMULTA)
+     * @param velocityChecker Le contrôleur de vélocité partagé
+     */
+    public TransferStrategy(Transaction.TransactionType transferType, VelocityChecker velocityChecker) {
+        this.velocityChecker = velocityChecker;
         if (transferType == Transaction.TransactionType.VIRIN ||
             transferType == Transaction.TransactionType.VIREST ||
             transferType == Transaction.TransactionType.VIRMULTA ||
@@ -45,13 +66,16 @@ public class TransferStrategy implements TransactionStrategy {
     
     @Override
     public Transaction execute(Account account, double amount, Account targetAccount) throws BusinessException {
+        ConfigurationSnapshot config = ConfigurationManager.getInstance().getSnapshot();
+        
         // Validation
-        if (!validate(account, amount, targetAccount)) {
+        if (!isWellFormed(account, amount, targetAccount)) {
             throw new ValidationException(
                 "Le transfert ne peut pas être exécuté. Vérifiez les comptes et le montant.",
                 "transfer"
             );
         }
+        ConfigurationLimits.checkAmount(config, amount);
         
         // Vérification du solde suffisant sur le compte source
         if (!account.hasSufficientBalance(amount)) {
@@ -61,6 +85,11 @@ public class TransferStrategy implements TransactionStrategy {
                 amount
             );
         }
+        ConfigurationLimits.checkDebit(config, account, amount);
+        ConfigurationLimits.checkCredit(config, targetAccount, amount);
+        
+        // Vérification des limites de vélocité du compte source
+        velocityChecker.check(account, amount);
         
         // Création de la transaction
         String transactionId = UUID.randomUUID().toString();
@@ -85,6 +114,7 @@ public class TransferStrategy implements TransactionStrategy {
         
         account.setBalance(sourceNewBalance);
         targetAccount.setBalance(targetNewBalance);
+        velocityChecker.record(account, amount);
         
         // Mise à jour du statut de la transaction
         transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
@@ -94,6 +124,24 @@ public class TransferStrategy implements TransactionStrategy {
     
     @Override
     public boolean validate(Account account, double amount, Account targetAccount) {
+        if (!isWellFormed(account, amount, targetAccount)) {
+            return false;
+        }
+        ConfigurationSnapshot config = ConfigurationManager.getInstance().getSnapshot();
+        return config.isAmountAllowed(amount)
+            && config.allowsCredit(targetAccount.getBalance(), amount)
+            && velocityChecker.isAllowed(account, amount);
+    }
+    
+    /**
+     * Vérifie les comptes et le montant, hors limites de vélocité.
+     * 
+     * @param account Compte source
+     * @param amount Montant de la transaction
+     * @param targetAccount Compte destination
+     * @return true si les comptes et le montant sont valides
+     */
+    private boolean isWellFormed(Account account, double amount, Account targetAccount) {
         // Les deux comptes doivent exister
         if (account == null || targetAccount == null) {
             return false;
@@ -110,11 +158,7 @@ public class TransferStrategy implements TransactionStrategy {
         }
         
         // Les comptes source et destination doivent être différents
-        if (account.getId().equals(targetAccount.getId())) {
-            return false;
-        }
-        
-        return true;
+        return !account.getId().equals(targetAccount.getId());
     }
     
     @Override
@@ -5,6 +5,9 @@ import com.university.finance.model.Transaction;
 import com.university.finance.exception.BusinessException;
 import com.university.finance.exception.ValidationException;
 import com.university.finance.exception.InsufficientFundsException;
+import com.university.finance.limit.VelocityChecker;
+import com.university.finance.pattern.singleton.ConfigurationManager;
+import com.university.finance.pattern.singleton.ConfigurationSnapshot;
 import java.util.UUID;
 
 /**
@@ -13,20 +16,45 @@ import java.util.UUID;
  * Cette classe implémente le pattern Strategy pour gérer spécifiquement
  * les opérations de retrait d'argent depuis un compte.
  * 
+ * Le montant maximal par transaction et le solde minimal du compte sont lus
+ * dans l'instantané du ConfigurationManager. Les limites de vélocité du compte
+ * (VelocityChecker) sont vérifiées dans la validation et mises à jour après exécution.
+ * 
  * @author Membre 2 - Refactoring Java + Tests
  * @version 1.0
  */
 public class WithdrawStrategy implements TransactionStrategy {
     
+    private VelocityChecker velocityChecker;
+    
+    /**
+     * Constructeur par défaut, sans limite de vélocité.
+     */
+    public WithdrawStrategy() {
+        this(VelocityChecker.disabled());
+    }
+    
+    /**
+     * Constructeur avec contrôle de vélocité.
+     * 
+     * @param velocityChecker Le contrôleur de vélocité partagé
+     */
+    public WithdrawStrategy(VelocityChecker velocityChecker) {
+        this.velocityChecker = velocityChecker;
+    }
+    
     @Override
     public Transaction execute(Account account, double amount, Account targetAccount) throws BusinessException {
+        ConfigurationSnapshot config = ConfigurationManager.getInstance().getSnapshot();
+        
         // Validation
-        if (!validate(account, amount, targetAccount)) {
+        if (!isWellFormed(account, amount)) {
             throw new ValidationException(
                 "Le retrait ne peut pas être exécuté. Vérifiez le compte et le montant.",
                 "withdraw"
             );
         }
+        ConfigurationLimits.checkAmount(config, amount);
         
         // Vérification du solde suffisant
         if (!account.hasSufficientBalance(amount)) {
@@ -36,6 +64,10 @@ public class WithdrawStrategy implements TransactionStrategy {
                 amount
             );
         }
+        ConfigurationLimits.checkDebit(config, account, amount);
+        
+        // Vérification des limites de vélocité
+        velocityChecker.check(account, amount);
         
         // Création de la transaction
         String transactionId = UUID.randomUUID().toString();
@@ -50,6 +82,7 @@ public class WithdrawStrategy implements TransactionStrategy {
         // Exécution : mise à jour du solde
         double newBalance = account.getBalance() - amount;
         account.setBalance(newBalance);
+        velocityChecker.record(account, amount);
         
         // Mise à jour du statut de la transaction
         transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
@@ -59,6 +92,20 @@ public class WithdrawStrategy implements TransactionStrategy {
     
     @Override
     public boolean validate(Account account, double amount, Account targetAccount) {
+        // Pour un retrait, on n'a pas besoin de targetAccount
+        return isWellFormed(account, amount)
+            && ConfigurationManager.getInstance().getSnapshot().isAmountAllowed(amount)
+            && velocityChecker.isAllowed(account, amount);
+    }
+    
+    /**
+     * Vérifie le compte et le montant, hors limites de vélocité.
+     * 
+     * @param account Compte concerné
+     * @param amount Montant de la transaction
+     * @return true si le compte et le montant sont valides
+     */
+    private boolean isWellFormed(Account account, double amount) {
         // Le compte doit exister
         if (account == null) {
             return false;
@@ -70,12 +117,7 @@ public class WithdrawStrategy implements TransactionStrategy {
         }
         
         // Le montant doit être positif
-        if (amount <= 0) {
-            return false;
-        }
-        
-        // Pour un retrait, on n'a pas besoin de targetAccount
-        return true;
+        return amount > 0;
     }
     
     @Override
@@ -8,9 +8,10 @@ import com.university.finance.exception.BusinessException;
 import com.university.finance.exception.AccountNotFoundException;
 import com.university.finance.exception.UserNotFoundException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service pour gérer les utilisateurs et les comptes bancaires.
@@ -20,6 +21,10 @@ import java.util.Map;
  * 
  * Pour les transactions, utilisez TransactionService séparément.
  * 
+ * Les tables sont concurrentes : le service peut être appelé depuis plusieurs
+ * threads (API HTTP) sans synchronisation externe. Les comptes sont aussi indexés
+ * par numéro, pour une recherche en temps constant.
+ * 
  * @author Membre 2 - Refactoring Java + Tests
  * @version 1.0
  */
@@ -27,13 +32,23 @@ public class BankingService {
     
     private Map<String, User> users;
     private Map<String, Account> accounts;
+    private Map<String, Account> accountsByNumber;
+    
+    /**
+     * Hash vérifié pour un utilisateur inconnu (même coût qu'une vraie vérification),
+     * calculé au premier besoin.
+     */
+    private static final class UnknownUser {
+        private static final String HASH = UserFactory.hashPassword(UUID.randomUUID().toString());
+    }
     
     /**
      * Constructeur par défaut.
      */
     public BankingService() {
-        this.users = new HashMap<>();
-        this.accounts = new HashMap<>();
+        this.users = new ConcurrentHashMap<>();
+        this.accounts = new ConcurrentHashMap<>();
+        this.accountsByNumber = new ConcurrentHashMap<>();
     }
     
     // ========== Gestion des Utilisateurs ==========
@@ -53,6 +68,22 @@ public class BankingService {
         return user;
     }
     
+    /**
+     * Crée un nouvel utilisateur à partir de son mot de passe en clair, hashé par
+     * PBKDF2 avant d'être enregistré.
+     * 
+     * @param username Nom d'utilisateur
+     * @param password Mot de passe en clair
+     * @param email Adresse email
+     * @return L'utilisateur créé
+     * @throws BusinessException Si la création échoue
+     */
+    public User registerUser(String username, String password, String email) throws BusinessException {
+        User user = UserFactory.createUserWithPassword(username, password, email);
+        users.put(user.getId(), user);
+        return user;
+    }
+    
     /**
      * Récupère un utilisateur par son ID.
      * 
@@ -61,7 +92,7 @@ public class BankingService {
      * @throws UserNotFoundException Si l'utilisateur n'existe pas
      */
     public User getUserById(String userId) throws UserNotFoundException {
-        User user = users.get(userId);
+        User user = userId != null ? users.get(userId) : null;
         if (user == null) {
             throw new UserNotFoundException(userId);
         }
@@ -84,6 +115,31 @@ public class BankingService {
         throw new UserNotFoundException(username, true);
     }
     
+    /**
+     * Vérifie les identifiants d'un utilisateur.
+     * 
+     * Le mot de passe présenté est hashé avec le sel et le nombre d'itérations du
+     * hash enregistré, puis les clés sont comparées en temps constant. Un nom
+     * d'utilisateur inconnu coûte le même calcul, pour ne pas révéler son absence.
+     * 
+     * @param username Le nom d'utilisateur
+     * @param password Le mot de passe présenté
+     * @return L'utilisateur, ou null si les identifiants sont invalides
+     */
+    public User authenticate(String username, String password) {
+        if (username == null || password == null) {
+            return null;
+        }
+        User user;
+        try {
+            user = getUserByUsername(username);
+        } catch (UserNotFoundException e) {
+            UserFactory.verifyPassword(password, UnknownUser.HASH);
+            return null;
+        }
+        return UserFactory.verifyPassword(password, user.getPasswordHash()) ? user : null;
+    }
+    
     /**
      * Récupère tous les utilisateurs.
      * 
@@ -93,6 +149,15 @@ public class BankingService {
         return new ArrayList<>(users.values());
     }
     
+    /**
+     * Retourne le nombre d'utilisateurs.
+     * 
+     * @return Le nombre d'utilisateurs
+     */
+    public int getUserCount() {
+        return users.size();
+    }
+    
     // ========== Gestion des Comptes ==========
     
     /**
@@ -109,6 +174,7 @@ public class BankingService {
         User owner = getUserById(userId);
         Account account = AccountFactory.createAccount(owner, accountType, initialBalance);
         accounts.put(account.getId(), account);
+        accountsByNumber.put(account.getAccountNumber(), account);
         return account;
     }
     
@@ -132,7 +198,7 @@ public class BankingService {
      * @throws AccountNotFoundException Si le compte n'existe pas
      */
     public Account getAccountById(String accountId) throws AccountNotFoundException {
-        Account account = accounts.get(accountId);
+        Account account = accountId != null ? accounts.get(accountId) : null;
         if (account == null) {
             throw new AccountNotFoundException(accountId);
         }
@@ -147,12 +213,11 @@ public class BankingService {
      * @throws AccountNotFoundException Si le compte n'existe pas
      */
     public Account getAccountByNumber(String accountNumber) throws AccountNotFoundException {
-        for (Account account : accounts.values()) {
-            if (account.getAccountNumber().equals(accountNumber)) {
-                return account;
-            }
+        Account account = accountNumber != null ? accountsByNumber.get(accountNumber) : null;
+        if (account == null) {
+            throw new AccountNotFoundException(accountNumber, true);
         }
-        throw new AccountNotFoundException(accountNumber, true);
+        return account;
     }
     
     /**
@@ -182,6 +247,15 @@ public class BankingService {
         return new ArrayList<>(accounts.values());
     }
     
+    /**
+     * Retourne le nombre de comptes.
+     * 
+     * @return Le nombre de comptes
+     */
+    public int getAccountCount() {
+        return accounts.size();
+    }
+    
     /**
      * Récupère le solde d'un compte.
      * 
@@ -0,0 +1,330 @@
+package com.university.finance.service;
+
+import com.university.finance.exception.BusinessException;
+import com.university.finance.exception.ValidationException;
+import com.university.finance.model.Transaction;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache des clés d'idempotence pour les opérations de TransactionService.
+ * 
+ * Un client qui réessaie une opération après un timeout renvoie la même clé :
+ * le cache retourne alors la transaction d'origine au lieu d'en créer une nouvelle.
+ * Si deux appels avec la même clé arrivent en même temps, un seul exécute
+ * l'opération et l'autre attend son résultat.
+ * 
+ * Une clé reste attribuée dès que l'opération a validé sa transaction
+ * ({@link Commit}) : une erreur survenue ensuite (notification d'un observateur,
+ * par exemple) ne la libère pas, et une nouvelle tentative retourne la transaction
+ * validée au lieu d'en poster une seconde. Seul un échec avant la validation
+ * libère la clé.
+ * 
+ * Le cache est borné (nombre d'entrées maximal, clés libérées non comprises) et
+ * les entrées expirent après une durée de vie fixe. Les lectures passent par un
+ * ConcurrentHashMap et ne prennent aucun verrou global.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+public class IdempotencyCache {
+    
+    /** Nombre d'entrées maximal par défaut. */
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+    
+    /** Durée de vie par défaut d'une clé : 24 heures. */
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.HOURS.toMillis(24);
+    
+    /**
+     * Opération protégée par une clé d'idempotence.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        
+        /**
+         * Exécute l'opération.
+         * 
+         * @return La transaction créée
+         * @throws BusinessException Si l'opération échoue
+         */
+        Transaction execute() throws BusinessException;
+    }
+    
+    /**
+     * Signal de validation d'une opération, à appeler dès que sa transaction est enregistrée.
+     */
+    @FunctionalInterface
+    public interface Commit {
+        
+        /**
+         * Attribue définitivement la clé à la transaction validée.
+         * 
+         * @param transaction La transaction enregistrée
+         */
+        void committed(Transaction transaction);
+    }
+    
+    /**
+     * Opération protégée qui signale elle-même la validation de sa transaction,
+     * avant ses traitements ultérieurs susceptibles d'échouer.
+     */
+    @FunctionalInterface
+    public interface CommittingOperation {
+        
+        /**
+         * Exécute l'opération.
+         * 
+         * @param commit Signal à appeler dès que la transaction est enregistrée
+         * @return La transaction créée
+         * @throws BusinessException Si l'opération échoue avant la validation
+         */
+        Transaction execute(Commit commit) throws BusinessException;
+    }
+    
+    /**
+     * Entrée du cache : résultat (éventuellement en cours de calcul) d'une clé.
+     */
+    private static final class Entry {
+        private final String fingerprint;
+        private final long expiresAtNanos;
+        private final CompletableFuture<Transaction> result = new CompletableFuture<>();
+        private final AtomicBoolean counted = new AtomicBoolean(true); // compte dans insertionCount
+        private volatile boolean released; // clé libérée après un échec
+        
+        private Entry(String fingerprint, long expiresAtNanos) {
+            this.fingerprint = fingerprint;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+        
+        private boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+    
+    /**
+     * Référence d'insertion, utilisée pour évincer les entrées les plus anciennes.
+     */
+    private static final class Insertion {
+        private final String key;
+        private final Entry entry;
+        
+        private Insertion(String key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+    
+    private final ConcurrentHashMap<String, Entry> entries;
+    private final Queue<Insertion> insertionOrder;
+    private final AtomicInteger insertionCount;  // insertions de clés non libérées
+    private final AtomicInteger releasedCount;   // estimation des insertions libérées encore dans la file
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    
+    /**
+     * Constructeur par défaut.
+     */
+    public IdempotencyCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS);
+    }
+    
+    /**
+     * Constructeur avec taille maximale et durée de vie.
+     * 
+     * @param maxEntries Nombre d'entrées maximal
+     * @param ttlMillis Durée de vie d'une clé en millisecondes
+     */
+    public IdempotencyCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, System::nanoTime);
+    }
+    
+    /**
+     * Constructeur avec horloge injectable (pour les tests).
+     * 
+     * @param maxEntries Nombre d'entrées maximal
+     * @param ttlMillis Durée de vie d'une clé en millisecondes
+     * @param nanoClock Source de temps en nanosecondes
+     */
+    IdempotencyCache(int maxEntries, long ttlMillis, LongSupplier nanoClock) {
+        if (maxEntries <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("maxEntries et ttlMillis doivent être positifs");
+        }
+        this.entries = new ConcurrentHashMap<>();
+        this.insertionOrder = new ConcurrentLinkedQueue<>();
+        this.insertionCount = new AtomicInteger();
+        this.releasedCount = new AtomicInteger();
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * Exécute une opération au plus une fois pour une clé donnée.
+     * 
+     * Sans clé (null), l'opération est simplement exécutée. Si l'opération échoue,
+     * la clé est libérée afin qu'une nouvelle tentative puisse l'exécuter. La
+     * validation n'est connue qu'au retour de l'opération : une opération qui peut
+     * échouer après avoir enregistré sa transaction doit utiliser
+     * {@link #execute(String, String, CommittingOperation)}.
+     * 
+     * @param key La clé d'idempotence fournie par le client (peut être null)
+     * @param fingerprint Empreinte des paramètres de l'opération
+     * @param operation L'opération à exécuter
+     * @return La transaction créée, ou la transaction d'origine pour une clé déjà utilisée
+     * @throws ValidationException Si la clé a déjà servi pour une opération différente
+     * @throws BusinessException Si l'opération échoue
+     */
+    public Transaction execute(String key, String fingerprint, Operation operation) throws BusinessException {
+        return execute(key, fingerprint, commit -> operation.execute());
+    }
+    
+    /**
+     * Exécute une opération au plus une fois pour une clé donnée. La clé est
+     * attribuée dès que l'opération signale la validation de sa transaction ;
+     * seul un échec antérieur la libère.
+     * 
+     * @param key La clé d'idempotence fournie par le client (peut être null)
+     * @param fingerprint Empreinte des paramètres de l'opération
+     * @param operation L'opération à exécuter
+     * @return La transaction créée, ou la transaction d'origine pour une clé déjà utilisée
+     * @throws ValidationException Si la clé a déjà servi pour une opération différente
+     * @throws BusinessException Si l'opération échoue
+     */
+    public Transaction execute(String key, String fingerprint, CommittingOperation operation)
+            throws BusinessException {
+        if (key == null) {
+            return operation.execute(transaction -> { });
+        }
+        
+        long now = nanoClock.getAsLong();
+        Entry created = new Entry(fingerprint, now + ttlNanos);
+        Entry entry;
+        while (true) {
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                entry = created;
+                break;
+            }
+            if (!entry.isExpired(now)) {
+                break;
+            }
+            entries.remove(key, entry);
+        }
+        
+        if (entry != created) {
+            if (!entry.fingerprint.equals(fingerprint)) {
+                throw new ValidationException(
+                    "La clé d'idempotence " + key + " a déjà été utilisée pour une autre opération",
+                    "idempotencyKey"
+                );
+            }
+            return await(entry);
+        }
+        
+        insertionOrder.add(new Insertion(key, created));
+        insertionCount.incrementAndGet();
+        evict(now);
+        
+        try {
+            Transaction transaction = operation.execute(created.result::complete);
+            created.result.complete(transaction);
+            return transaction;
+        } catch (BusinessException | RuntimeException e) {
+            // Transaction déjà validée : la clé lui reste attribuée
+            if (!created.result.completeExceptionally(e)) {
+                throw e;
+            }
+            release(key, created);
+            throw e;
+        }
+    }
+    
+    /**
+     * Libère la clé d'une opération échouée. Son insertion, qui ne compte plus dans
+     * la taille maximale, est retirée de la file quand les insertions libérées
+     * deviennent trop nombreuses.
+     */
+    private void release(String key, Entry entry) {
+        entries.remove(key, entry);
+        entry.released = true;
+        if (entry.counted.compareAndSet(true, false)) {
+            insertionCount.decrementAndGet();
+        }
+        if (releasedCount.incrementAndGet() > maxEntries) {
+            releasedCount.set(0);
+            insertionOrder.removeIf(insertion -> insertion.entry.released);
+        }
+    }
+    
+    /**
+     * Attend le résultat d'une opération lancée par un autre appel avec la même clé.
+     * 
+     * @param entry L'entrée du cache
+     * @return La transaction d'origine
+     * @throws BusinessException Si l'opération d'origine a échoué
+     */
+    private Transaction await(Entry entry) throws BusinessException {
+        try {
+            return entry.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Attente interrompue sur une clé d'idempotence", "IDEMPOTENCY_ERROR", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BusinessException) {
+                throw (BusinessException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new BusinessException(cause.getMessage(), "IDEMPOTENCY_ERROR", cause);
+        }
+    }
+    
+    /**
+     * Retire les entrées expirées et, au-delà de la taille maximale, les plus anciennes.
+     * Les insertions de clés libérées rencontrées en tête de file sont simplement retirées.
+     * 
+     * @param now Instant courant en nanosecondes
+     */
+    private void evict(long now) {
+        Insertion oldest;
+        while ((oldest = insertionOrder.peek()) != null
+                && (oldest.entry.released || insertionCount.get() > maxEntries || oldest.entry.isExpired(now))) {
+            if (!insertionOrder.remove(oldest)) {
+                continue; // retirée par un autre thread
+            }
+            if (oldest.entry.counted.compareAndSet(true, false)) {
+                insertionCount.decrementAndGet();
+            }
+            entries.remove(oldest.key, oldest.entry);
+        }
+    }
+    
+    /**
+     * Retourne le nombre de clés actuellement en cache.
+     * 
+     * @return Le nombre de clés
+     */
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Vide le cache.
+     */
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+        insertionCount.set(0);
+        releasedCount.set(0);
+    }
+}
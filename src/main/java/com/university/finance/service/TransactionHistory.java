@@ -0,0 +1,923 @@
+package com.university.finance.service;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Historique des transactions, indexé par ID, par compte et par tranche de temps.
+ * 
+ * Les transactions sont conservées dans leur ordre d'enregistrement ; leur rang
+ * dans cet ordre sert de position. Chaque compte garde la liste (croissante) des
+ * positions de ses transactions, et un index par tranche (une heure par défaut)
+ * associe à chaque tranche sa première position, pour l'historique global comme
+ * pour chaque compte. Ainsi :
+ * - une requête sur une période ne parcourt que les tranches qui la recouvrent ;
+ * - une page « après telle transaction » est retrouvée sans parcourir ce qui précède.
+ * 
+ * Si un répertoire de segments est fourni, l'historique est réparti en deux niveaux :
+ * seules les transactions récentes (niveau chaud) restent en mémoire ; quand elles
+ * dépassent la capacité fixée, la moitié la plus ancienne est écrite dans un segment
+ * compressé sur disque (niveau froid, voir {@link TransactionSegment}). Les lectures
+ * fusionnent les deux niveaux de façon transparente. Une transaction relue depuis le
+ * disque est une copie : ses comptes sont ceux connus de l'historique, et un
+ * changement de statut ultérieur doit être signalé par {@link #updateStatus}, qui
+ * l'enregistre à côté du segment.
+ * 
+ * La mémoire occupée ne dépend que du niveau chaud et de l'index clairsemé des
+ * segments : les comptes sont référencés faiblement par leur numéro (un compte
+ * disparu est relu comme un compte détaché ne portant que son numéro), et les
+ * statuts modifiés restent sur disque.
+ * 
+ * L'historique est en ajout seul et ses tranches se suivent : une transaction
+ * horodatée avant la précédente est rangée dans la tranche courante.
+ * 
+ * Les écritures ne sont pas synchronisées : le TransactionService les fait sous son
+ * verrou d'écriture. Une lecture prend sous ce verrou un {@link Snapshot} (quelques
+ * références et bornes, en temps constant) puis lit les disques et copie les
+ * transactions hors du verrou : le tableau chaud, la liste des segments et les
+ * positions par compte ne sont jamais modifiés en place en deçà de la taille
+ * capturée, ils sont recopiés quand ils grandissent ou rétrécissent. Un instantané
+ * se parcourt aussi en parallèle via {@link Snapshot#spliterator()}.
+ * 
+ * Les accès disque ne se font pas non plus sous ce verrou : l'écrivain récupère
+ * avec {@link #takePendingWrites()} les écritures préparées (tranche immuable des
+ * transactions à déplacer, statuts modifiés de transactions froides) et les effectue
+ * après l'avoir relâché. Le segment est compressé et écrit sans verrou ; le verrou
+ * n'est repris que brièvement pour le publier et retirer ses transactions du niveau
+ * chaud. Un seul déplacement est en cours à la fois : pendant l'écriture, le niveau
+ * chaud peut dépasser temporairement sa capacité.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+class TransactionHistory {
+    
+    /**
+     * Positions des transactions chaudes d'un compte et début de chaque tranche.
+     */
+    private static final class AccountIndex {
+        private int[] positions = new int[8];
+        private int size;
+        private final NavigableMap<LocalDateTime, Integer> bucketStarts = new TreeMap<>();
+        
+        private void add(LocalDateTime bucket, int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            bucketStarts.putIfAbsent(bucket, position);
+            positions[size++] = position;
+        }
+        
+        private void dropBefore(int position) {
+            // Nouveau tableau : un instantané peut encore lire l'ancien
+            int kept = lowerBound(positions, size, position);
+            positions = Arrays.copyOfRange(positions, kept, kept + Math.max(8, positions.length - kept));
+            size -= kept;
+            pruneBuckets(bucketStarts, position);
+        }
+    }
+    
+    /**
+     * Instantané de l'historique, éventuellement restreint à un compte et à une période.
+     * 
+     * Pris sous le verrou d'écriture, il est ensuite lu sans verrou : il voit les
+     * transactions enregistrées avant sa création, les suivantes sont ignorées.
+     */
+    final class Snapshot {
+        private final Transaction[] hot;
+        private final int hotStart;
+        private final int size;
+        private final TransactionSegment[] segments;
+        private final String accountNumber;  // null : historique global
+        private final int[] accountPositions; // positions chaudes du compte (null si aucune)
+        private final int accountSize;
+        private final LocalDateTime from;     // null : toute la période
+        private final LocalDateTime to;
+        private final int hotStartBound;      // début de la première tranche chaude utile
+        private final int hotEndBound;        // fin de la dernière tranche chaude utile
+        
+        private Snapshot(Account account, LocalDateTime from, LocalDateTime to) {
+            this.hot = TransactionHistory.this.hot;
+            this.hotStart = TransactionHistory.this.hotStart;
+            this.size = TransactionHistory.this.size();
+            this.segments = TransactionHistory.this.segments;
+            this.from = from;
+            this.to = to;
+            NavigableMap<LocalDateTime, Integer> starts = bucketStarts;
+            if (account != null) {
+                AccountIndex index = accounts.get(account);
+                this.accountNumber = account.getAccountNumber();
+                this.accountPositions = index != null ? index.positions : null;
+                this.accountSize = index != null ? index.size : 0;
+                starts = index != null ? index.bucketStarts : null;
+            } else {
+                this.accountNumber = null;
+                this.accountPositions = null;
+                this.accountSize = 0;
+            }
+            this.hotStartBound = from != null && starts != null ? startOf(starts, from) : 0;
+            this.hotEndBound = to != null && starts != null ? endOf(starts, to, size) : size;
+        }
+        
+        /**
+         * Retourne le nombre de transactions visibles dans l'instantané.
+         * 
+         * @return La taille de l'historique à la création de l'instantané
+         */
+        int size() {
+            return size;
+        }
+        
+        /**
+         * Retrouve une transaction par son ID.
+         * 
+         * @param transactionId L'ID de la transaction
+         * @return La transaction, ou null si inconnue
+         */
+        Transaction get(String transactionId) {
+            Transaction[] found = new Transaction[1];
+            return find(transactionId, found) >= 0 ? found[0] : null;
+        }
+        
+        /**
+         * Retourne la position d'une transaction dans l'historique.
+         * 
+         * @param transactionId L'ID de la transaction
+         * @return La position, ou -1 si la transaction est inconnue
+         */
+        int positionOf(String transactionId) {
+            return find(transactionId, new Transaction[1]);
+        }
+        
+        /**
+         * Retrouve une transaction et sa position.
+         * 
+         * @param transactionId L'ID de la transaction
+         * @param found Reçoit la transaction trouvée
+         * @return Sa position, ou -1 si elle est inconnue
+         */
+        int find(String transactionId, Transaction[] found) {
+            Integer position = positionById.get(transactionId);
+            if (position != null && position >= hotStart) {
+                if (position >= size) {
+                    return -1; // enregistrée après l'instantané
+                }
+                found[0] = hot[position - hotStart];
+                return position;
+            }
+            // Absente du niveau chaud actuel : les segments les plus récents peuvent
+            // contenir des transactions encore chaudes dans l'instantané
+            int cold = findCold(TransactionHistory.this.segments, transactionId, found);
+            return cold < size ? cold : -1;
+        }
+        
+        /**
+         * Rassemble les transactions de l'instantané à partir d'une position.
+         * 
+         * @param fromPosition Première position à considérer
+         * @param limit Nombre maximal de transactions
+         * @param result Reçoit les transactions, dans l'ordre d'enregistrement
+         * @return La position où reprendre la lecture (après la dernière transaction
+         *         retenue si la limite est atteinte, la taille de l'instantané sinon)
+         */
+        int collect(int fromPosition, int limit, List<Transaction> result) {
+            if (fromPosition < hotStart) {
+                int resume = collectCold(fromPosition, limit, result);
+                if (result.size() >= limit) {
+                    return resume;
+                }
+            }
+            return collectHot(fromPosition, limit, result);
+        }
+        
+        /**
+         * Rassemble toutes les transactions de l'instantané à partir d'une position.
+         */
+        List<Transaction> collect(int fromPosition, int limit) {
+            List<Transaction> result = new ArrayList<>(Math.min(limit, 256));
+            collect(fromPosition, limit, result);
+            return result;
+        }
+        
+        /**
+         * Parcours de tout l'instantané, découpable pour un traitement parallèle.
+         * 
+         * @return Le parcours, dans l'ordre d'enregistrement
+         */
+        Spliterator<Transaction> spliterator() {
+            return new Slice(0, size);
+        }
+        
+        /**
+         * Parcours d'une plage de positions de l'instantané. Dans le niveau froid, il se
+         * coupe aux frontières de blocs, et chaque bloc n'est décompressé qu'une fois,
+         * au moment où le parcours l'atteint.
+         */
+        private final class Slice implements Spliterator<Transaction> {
+            private int position;
+            private final int fence;
+            private List<Transaction> block = Collections.emptyList(); // bloc froid en cours
+            private int blockStart;
+            
+            private Slice(int position, int fence) {
+                this.position = position;
+                this.fence = fence;
+            }
+            
+            @Override
+            public boolean tryAdvance(Consumer<? super Transaction> action) {
+                if (position >= fence) {
+                    return false;
+                }
+                action.accept(at(position++));
+                return true;
+            }
+            
+            private Transaction at(int p) {
+                if (p >= hotStart) {
+                    return hot[p - hotStart];
+                }
+                if (p < blockStart || p >= blockStart + block.size()) {
+                    TransactionSegment segment = segments[segmentIndexOf(segments, p)];
+                    int b = segment.blockOf(p);
+                    block = readBlock(segment, b);
+                    blockStart = segment.blockStart(b);
+                }
+                return block.get(p - blockStart);
+            }
+            
+            @Override
+            public Spliterator<Transaction> trySplit() {
+                int middle = splitPoint((position + fence) >>> 1);
+                if (middle <= position || middle >= fence) {
+                    return null;
+                }
+                Slice prefix = new Slice(position, middle);
+                position = middle;
+                return prefix;
+            }
+            
+            /**
+             * Frontière de bloc la plus proche d'une position, dans le niveau froid.
+             */
+            private int splitPoint(int middle) {
+                if (middle >= hotStart) {
+                    return middle;
+                }
+                TransactionSegment segment = segments[segmentIndexOf(segments, middle)];
+                int b = segment.blockOf(middle);
+                int start = segment.blockStart(b);
+                if (start > position) {
+                    return start;
+                }
+                return b + 1 < segment.getBlockCount() ? segment.blockStart(b + 1) : segment.getEndPosition();
+            }
+            
+            @Override
+            public long estimateSize() {
+                return fence - position;
+            }
+            
+            @Override
+            public int characteristics() {
+                return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+            }
+        }
+        
+        private int collectCold(int fromPosition, int limit, List<Transaction> result) {
+            for (int s = segmentIndexOf(segments, fromPosition); s < segments.length; s++) {
+                TransactionSegment segment = segments[s];
+                int firstBlock = fromPosition > segment.getFirstPosition() ? segment.blockOf(fromPosition) : 0;
+                for (int block = firstBlock; block < segment.getBlockCount(); block++) {
+                    if ((accountNumber != null && !segment.blockInvolves(block, accountNumber))
+                            || (from != null && !segment.blockOverlaps(block, from, to))) {
+                        continue;
+                    }
+                    List<Transaction> transactions = readBlock(segment, block);
+                    int position = segment.blockStart(block);
+                    for (Transaction transaction : transactions) {
+                        if (position++ < fromPosition
+                                || (accountNumber != null && !involves(transaction, accountNumber))
+                                || (from != null && !isWithin(transaction, from, to))) {
+                            continue;
+                        }
+                        result.add(transaction);
+                        if (result.size() == limit) {
+                            return position;
+                        }
+                    }
+                }
+            }
+            return hotStart;
+        }
+        
+        private int collectHot(int fromPosition, int limit, List<Transaction> result) {
+            if (accountNumber == null) {
+                int start = Math.max(Math.max(fromPosition, hotStart), hotStartBound);
+                for (int position = start; position < hotEndBound; position++) {
+                    Transaction transaction = hot[position - hotStart];
+                    if (from == null || isWithin(transaction, from, to)) {
+                        result.add(transaction);
+                        if (result.size() == limit) {
+                            return position + 1;
+                        }
+                    }
+                }
+                return size;
+            }
+            
+            if (accountPositions == null) {
+                return size;
+            }
+            int end = lowerBound(accountPositions, accountSize, hotEndBound);
+            int first = lowerBound(accountPositions, accountSize, Math.max(fromPosition, hotStartBound));
+            for (int i = first; i < end; i++) {
+                Transaction transaction = hot[accountPositions[i] - hotStart];
+                if (from == null || isWithin(transaction, from, to)) {
+                    result.add(transaction);
+                    if (result.size() == limit) {
+                        return accountPositions[i] + 1;
+                    }
+                }
+            }
+            return size;
+        }
+    }
+    
+    /**
+     * Écritures sur disque préparées sous le verrou d'écriture, à effectuer hors du verrou.
+     */
+    final class PendingWrites {
+        private final Eviction eviction; // null si le niveau chaud n'est pas plein
+        private final List<StatusWrite> statuses;
+        
+        private PendingWrites(Eviction eviction, List<StatusWrite> statuses) {
+            this.eviction = eviction;
+            this.statuses = statuses;
+        }
+        
+        /**
+         * Effectue les écritures. Le segment est écrit sans verrou, puis le verrou est
+         * repris le temps de le publier et de retirer ses transactions du niveau chaud.
+         * 
+         * @param writeLock Le verrou d'écriture de l'historique, non détenu par l'appelant
+         * @throws UncheckedIOException Si un statut ne peut pas être écrit sur disque
+         */
+        void run(Lock writeLock) {
+            List<StatusWrite> all = statuses;
+            if (eviction != null) {
+                eviction.write();
+                writeLock.lock();
+                try {
+                    all = new ArrayList<>(statuses);
+                    all.addAll(publish(eviction));
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+            for (StatusWrite status : all) {
+                status.run();
+            }
+        }
+    }
+    
+    /**
+     * Déplacement des plus anciennes transactions chaudes vers un nouveau segment.
+     */
+    private final class Eviction {
+        private final Path path;
+        private final int firstPosition;
+        private final List<Transaction> transactions; // tranche du tableau chaud, jamais modifiée
+        // Statuts modifiés pendant l'écriture, que le segment a pu manquer (sous le verrou)
+        private final Map<Integer, Transaction.TransactionStatus> lateStatuses = new LinkedHashMap<>();
+        private TransactionSegment segment;
+        private IOException failure;
+        
+        private Eviction(Path path, int firstPosition, List<Transaction> transactions) {
+            this.path = path;
+            this.firstPosition = firstPosition;
+            this.transactions = transactions;
+        }
+        
+        private boolean covers(int position) {
+            return position >= firstPosition && position < firstPosition + transactions.size();
+        }
+        
+        private void write() {
+            try {
+                Files.createDirectories(path.getParent());
+                segment = TransactionSegment.write(path, firstPosition, transactions, blockSize);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+    
+    /**
+     * Statut modifié d'une transaction froide, à enregistrer à côté de son segment.
+     */
+    private static final class StatusWrite {
+        private final TransactionSegment segment;
+        private final int position;
+        private final Transaction.TransactionStatus status;
+        
+        private StatusWrite(TransactionSegment segment, int position, Transaction.TransactionStatus status) {
+            this.segment = segment;
+            this.position = position;
+            this.status = status;
+        }
+        
+        private void run() {
+            try {
+                segment.updateStatus(position, status);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Écriture du statut sur disque impossible", e);
+            }
+        }
+    }
+    
+    private final ChronoUnit bucketUnit;
+    private final int hotCapacity;
+    private final int blockSize;
+    private Path segmentDir; // null : tout l'historique reste en mémoire
+    
+    // Niveau chaud : tableau en ajout seul, recopié quand il grandit ou est vidé
+    private Transaction[] hot = new Transaction[16];
+    private int hotSize;
+    private final Map<String, Integer> positionById = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDateTime, Integer> bucketStarts = new TreeMap<>();
+    private final Map<Account, AccountIndex> accounts = new HashMap<>();
+    private LocalDateTime currentBucket;
+    private int hotStart; // position de la plus ancienne transaction chaude
+    
+    // Niveau froid : tableau recopié à chaque nouveau segment
+    private volatile TransactionSegment[] segments = new TransactionSegment[0];
+    private Eviction inFlight; // déplacement en cours d'écriture (null si aucun)
+    private List<StatusWrite> pendingStatuses = new ArrayList<>();
+    private final Map<String, WeakReference<Account>> accountsByNumber = new ConcurrentHashMap<>();
+    
+    /**
+     * Constructeur avec des tranches d'une heure, tout en mémoire.
+     */
+    TransactionHistory() {
+        this(ChronoUnit.HOURS);
+    }
+    
+    /**
+     * Constructeur, tout en mémoire.
+     * 
+     * @param bucketUnit Durée d'une tranche (HOURS ou DAYS par exemple)
+     */
+    TransactionHistory(ChronoUnit bucketUnit) {
+        this(bucketUnit, null, Integer.MAX_VALUE, TransactionSegment.DEFAULT_BLOCK_SIZE);
+    }
+    
+    /**
+     * Constructeur avec niveau froid sur disque.
+     * 
+     * @param bucketUnit Durée d'une tranche
+     * @param segmentDir Répertoire des segments (créé au besoin), null pour tout garder en mémoire
+     * @param hotCapacity Nombre maximal de transactions gardées en mémoire
+     * @param blockSize Nombre de transactions par bloc compressé
+     */
+    TransactionHistory(ChronoUnit bucketUnit, Path segmentDir, int hotCapacity, int blockSize) {
+        if (hotCapacity < 2 || blockSize <= 0) {
+            throw new IllegalArgumentException("Capacité chaude ou taille de bloc invalide");
+        }
+        this.bucketUnit = bucketUnit;
+        this.segmentDir = segmentDir;
+        this.hotCapacity = hotCapacity;
+        this.blockSize = blockSize;
+    }
+    
+    /**
+     * Enregistre une transaction. Si le niveau chaud est plein, le déplacement des
+     * plus anciennes vers le disque est préparé par {@link #takePendingWrites()}.
+     * 
+     * @param transaction La transaction
+     */
+    void add(Transaction transaction) {
+        LocalDateTime timestamp = transaction.getTimestamp() != null ? transaction.getTimestamp() : LocalDateTime.now();
+        LocalDateTime bucket = timestamp.truncatedTo(bucketUnit);
+        if (currentBucket != null && bucket.isBefore(currentBucket)) {
+            bucket = currentBucket;
+        }
+        currentBucket = bucket;
+        
+        int position = size();
+        if (hotSize == hot.length) {
+            hot = Arrays.copyOf(hot, hotSize * 2);
+        }
+        hot[hotSize++] = transaction;
+        positionById.put(transaction.getId(), position);
+        bucketStarts.putIfAbsent(bucket, position);
+        if (transaction.getFromAccount() != null) {
+            indexAccount(transaction.getFromAccount(), bucket, position);
+        }
+        if (transaction.getToAccount() != null && !transaction.getToAccount().equals(transaction.getFromAccount())) {
+            indexAccount(transaction.getToAccount(), bucket, position);
+        }
+    }
+    
+    /**
+     * Prépare les écritures sur disque en attente (sous le verrou d'écriture) : le
+     * déplacement des plus anciennes transactions si le niveau chaud est plein et
+     * qu'aucun autre n'est en cours, et les statuts modifiés de transactions froides.
+     * L'appelant doit les effectuer avec {@link PendingWrites#run(Lock)}.
+     * 
+     * @return Les écritures à effectuer hors du verrou, ou null s'il n'y en a aucune
+     */
+    PendingWrites takePendingWrites() {
+        Eviction eviction = null;
+        if (segmentDir != null && inFlight == null && hotSize > hotCapacity) {
+            Path path = segmentDir.resolve(String.format("history-%06d.seg", segments.length + 1));
+            eviction = new Eviction(path, hotStart, Arrays.asList(hot).subList(0, hotSize - hotCapacity / 2));
+            inFlight = eviction;
+        }
+        if (eviction == null && pendingStatuses.isEmpty()) {
+            return null;
+        }
+        List<StatusWrite> statuses = pendingStatuses;
+        pendingStatuses = new ArrayList<>();
+        return new PendingWrites(eviction, statuses);
+    }
+    
+    /**
+     * Effectue aussitôt les écritures en attente, pour un historique utilisé par un
+     * seul thread sans verrou d'écriture.
+     */
+    void flush() {
+        PendingWrites writes = takePendingWrites();
+        if (writes != null) {
+            writes.run(new ReentrantLock());
+        }
+    }
+    
+    private void indexAccount(Account account, LocalDateTime bucket, int position) {
+        accounts.computeIfAbsent(account, a -> new AccountIndex()).add(bucket, position);
+        WeakReference<Account> known = accountsByNumber.get(account.getAccountNumber());
+        if (known == null || known.get() != account) {
+            accountsByNumber.put(account.getAccountNumber(), new WeakReference<>(account));
+        }
+    }
+    
+    /**
+     * Résout le compte d'une transaction relue depuis le disque.
+     */
+    private Account resolveAccount(String accountNumber) {
+        WeakReference<Account> known = accountsByNumber.get(accountNumber);
+        Account account = known != null ? known.get() : null;
+        return account != null ? account : new Account(null, accountNumber, null, null);
+    }
+    
+    /**
+     * Publie un segment écrit (sous le verrou d'écriture) et retire ses transactions
+     * de la mémoire. En cas d'erreur d'écriture, le niveau froid est désactivé.
+     * 
+     * @return Les statuts modifiés pendant l'écriture, à enregistrer hors du verrou
+     */
+    private List<StatusWrite> publish(Eviction eviction) {
+        inFlight = null;
+        if (eviction.segment == null) {
+            System.err.println("[HISTORY] Écriture du segment impossible, historique gardé en mémoire : "
+                + eviction.failure.getMessage());
+            segmentDir = null;
+            return Collections.emptyList();
+        }
+        
+        // Le segment est publié avant que les transactions quittent le niveau chaud
+        int count = eviction.transactions.size();
+        TransactionSegment[] grown = Arrays.copyOf(segments, segments.length + 1);
+        grown[segments.length] = eviction.segment;
+        segments = grown;
+        Transaction[] kept = new Transaction[hot.length];
+        System.arraycopy(hot, count, kept, 0, hotSize - count);
+        for (Transaction transaction : eviction.transactions) {
+            positionById.remove(transaction.getId());
+        }
+        hot = kept;
+        hotSize -= count;
+        hotStart += count;
+        pruneBuckets(bucketStarts, hotStart);
+        Iterator<AccountIndex> it = accounts.values().iterator();
+        while (it.hasNext()) {
+            AccountIndex index = it.next();
+            index.dropBefore(hotStart);
+            if (index.size == 0) {
+                it.remove();
+            }
+        }
+        accountsByNumber.values().removeIf(reference -> reference.get() == null);
+        
+        List<StatusWrite> late = new ArrayList<>(eviction.lateStatuses.size());
+        for (Map.Entry<Integer, Transaction.TransactionStatus> entry : eviction.lateStatuses.entrySet()) {
+            late.add(new StatusWrite(eviction.segment, entry.getKey(), entry.getValue()));
+        }
+        return late;
+    }
+    
+    /**
+     * Prend un instantané de tout l'historique.
+     * 
+     * @return L'instantané
+     */
+    Snapshot snapshot() {
+        return new Snapshot(null, null, null);
+    }
+    
+    /**
+     * Prend un instantané de l'historique d'un compte (ou global) sur une période.
+     * 
+     * @param account Le compte, null pour l'historique global
+     * @param from Début de la période (inclus), null pour toute la période
+     * @param to Fin de la période (exclue), null pour toute la période
+     * @return L'instantané
+     */
+    Snapshot snapshot(Account account, LocalDateTime from, LocalDateTime to) {
+        return new Snapshot(account, from, to);
+    }
+    
+    /**
+     * Signale le changement de statut d'une transaction (par exemple son annulation)
+     * et l'écrit aussitôt, pour un historique utilisé par un seul thread.
+     * 
+     * @param transaction La transaction modifiée
+     */
+    void updateStatus(Transaction transaction) {
+        updateStatus(positionOf(transaction.getId()), transaction.getStatus());
+        flush();
+    }
+    
+    /**
+     * Signale le changement de statut de la transaction à une position connue, afin
+     * qu'il soit appliqué aussi quand elle est relue depuis le disque. Une transaction
+     * chaude est modifiée directement ; pour une transaction froide, l'écriture est
+     * préparée et effectuée hors du verrou (voir {@link #takePendingWrites()}).
+     * 
+     * @param position La position de la transaction (ignorée si négative)
+     * @param status Le nouveau statut
+     */
+    void updateStatus(int position, Transaction.TransactionStatus status) {
+        if (position < 0) {
+            return;
+        }
+        if (position < hotStart) {
+            pendingStatuses.add(new StatusWrite(segments[segmentIndexOf(segments, position)], position, status));
+        } else if (inFlight != null && inFlight.covers(position)) {
+            // Le segment en cours d'écriture a pu relire l'ancien statut
+            inFlight.lateStatuses.put(position, status);
+        }
+    }
+    
+    /**
+     * Retrouve une transaction par son ID.
+     * 
+     * @param transactionId L'ID de la transaction
+     * @return La transaction, ou null si inconnue
+     */
+    Transaction get(String transactionId) {
+        return snapshot().get(transactionId);
+    }
+    
+    /**
+     * Retourne la position d'une transaction dans l'historique.
+     * 
+     * @param transactionId L'ID de la transaction
+     * @return La position, ou -1 si la transaction est inconnue
+     */
+    int positionOf(String transactionId) {
+        return snapshot().positionOf(transactionId);
+    }
+    
+    /**
+     * Retrouve une transaction froide grâce à la table des IDs de chaque segment :
+     * une page de la table puis un seul bloc sont lus.
+     * 
+     * @param segments Les segments à consulter
+     * @param transactionId L'ID de la transaction
+     * @param found Reçoit la transaction trouvée
+     * @return Sa position, ou -1 si elle est inconnue
+     */
+    private int findCold(TransactionSegment[] segments, String transactionId, Transaction[] found) {
+        try {
+            for (int s = segments.length - 1; s >= 0; s--) {
+                TransactionSegment segment = segments[s];
+                for (int block : segment.candidateBlocks(transactionId)) {
+                    List<Transaction> transactions = readBlock(segment, block);
+                    for (int i = 0; i < transactions.size(); i++) {
+                        if (transactions.get(i).getId().equals(transactionId)) {
+                            found[0] = transactions.get(i);
+                            return segment.blockStart(block) + i;
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture de l'historique sur disque impossible", e);
+        }
+        return -1;
+    }
+    
+    /**
+     * Retourne toutes les transactions (les deux niveaux).
+     * 
+     * @return Une copie de l'historique
+     */
+    List<Transaction> getAll() {
+        return snapshot().collect(0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Retourne les transactions d'un compte (source ou destination).
+     * 
+     * @param account Le compte
+     * @return Les transactions du compte
+     */
+    List<Transaction> getForAccount(Account account) {
+        return snapshot(account, null, null).collect(0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Retourne les transactions d'une période.
+     * 
+     * @param from Début de la période (inclus)
+     * @param to Fin de la période (exclue)
+     * @return Les transactions de la période
+     */
+    List<Transaction> getBetween(LocalDateTime from, LocalDateTime to) {
+        return getForAccountBetween(null, from, to);
+    }
+    
+    /**
+     * Retourne les transactions d'un compte sur une période.
+     * 
+     * @param account Le compte
+     * @param from Début de la période (inclus)
+     * @param to Fin de la période (exclue)
+     * @return Les transactions du compte sur la période
+     */
+    List<Transaction> getForAccountBetween(Account account, LocalDateTime from, LocalDateTime to) {
+        return from.isBefore(to) ? snapshot(account, from, to).collect(0, Integer.MAX_VALUE) : new ArrayList<>();
+    }
+    
+    /**
+     * Retourne une page de l'historique global.
+     * 
+     * @param afterPosition Position de la dernière transaction déjà lue (-1 pour commencer au début)
+     * @param limit Nombre maximal de transactions
+     * @return Les transactions suivantes, dans l'ordre d'enregistrement
+     */
+    List<Transaction> getPage(int afterPosition, int limit) {
+        return snapshot().collect(afterPosition + 1, limit);
+    }
+    
+    /**
+     * Retourne une page de l'historique d'un compte.
+     * 
+     * @param account Le compte
+     * @param afterPosition Position (globale) de la dernière transaction déjà lue, -1 pour commencer au début
+     * @param limit Nombre maximal de transactions
+     * @return Les transactions suivantes du compte, dans l'ordre d'enregistrement
+     */
+    List<Transaction> getPage(Account account, int afterPosition, int limit) {
+        return snapshot(account, null, null).collect(afterPosition + 1, limit);
+    }
+    
+    /**
+     * Relit un bloc froid (statuts modifiés compris).
+     */
+    private List<Transaction> readBlock(TransactionSegment segment, int block) {
+        try {
+            return segment.readBlock(block, this::resolveAccount);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture de l'historique sur disque impossible", e);
+        }
+    }
+    
+    /**
+     * Indice du segment contenant une position (ou du premier segment suivant).
+     */
+    private static int segmentIndexOf(TransactionSegment[] segments, int position) {
+        int low = 0;
+        int high = segments.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            TransactionSegment segment = segments[mid];
+            if (position >= segment.getEndPosition()) {
+                low = mid + 1;
+            } else if (position < segment.getFirstPosition()) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Position de début de la tranche contenant le début de la période.
+     */
+    private static int startOf(NavigableMap<LocalDateTime, Integer> starts, LocalDateTime from) {
+        Map.Entry<LocalDateTime, Integer> entry = starts.floorEntry(from);
+        return entry != null ? entry.getValue() : 0;
+    }
+    
+    /**
+     * Position de début de la première tranche commençant à la fin de la période ou après.
+     */
+    private static int endOf(NavigableMap<LocalDateTime, Integer> starts, LocalDateTime to, int size) {
+        Map.Entry<LocalDateTime, Integer> entry = starts.ceilingEntry(to);
+        return entry != null ? entry.getValue() : size;
+    }
+    
+    /**
+     * Oublie les tranches entièrement antérieures à une position.
+     */
+    private static void pruneBuckets(NavigableMap<LocalDateTime, Integer> starts, int position) {
+        while (starts.size() > 1) {
+            Map.Entry<LocalDateTime, Integer> next = starts.higherEntry(starts.firstKey());
+            if (next.getValue() > position) {
+                return;
+            }
+            starts.pollFirstEntry();
+        }
+    }
+    
+    /**
+     * Indice de la première valeur supérieure ou égale à key dans un tableau trié.
+     */
+    private static int lowerBound(int[] values, int size, int key) {
+        int found = Arrays.binarySearch(values, 0, size, key);
+        return found >= 0 ? found : -found - 1;
+    }
+    
+    private static boolean isWithin(Transaction transaction, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime timestamp = transaction.getTimestamp();
+        return timestamp != null && !timestamp.isBefore(from) && timestamp.isBefore(to);
+    }
+    
+    private static boolean involves(Transaction transaction, String accountNumber) {
+        return (transaction.getFromAccount() != null
+                && accountNumber.equals(transaction.getFromAccount().getAccountNumber()))
+            || (transaction.getToAccount() != null
+                && accountNumber.equals(transaction.getToAccount().getAccountNumber()));
+    }
+    
+    /**
+     * Retourne le nombre de transactions enregistrées (les deux niveaux).
+     * 
+     * @return Le nombre de transactions
+     */
+    int size() {
+        return hotStart + hotSize;
+    }
+    
+    /**
+     * Retourne le nombre de transactions gardées en mémoire.
+     * 
+     * @return La taille du niveau chaud
+     */
+    int getHotSize() {
+        return hotSize;
+    }
+    
+    /**
+     * Retourne le nombre de segments écrits sur disque.
+     * 
+     * @return Le nombre de segments
+     */
+    int getSegmentCount() {
+        return segments.length;
+    }
+    
+    /**
+     * Retourne le nombre de tranches du niveau chaud.
+     * 
+     * @return Le nombre de tranches
+     */
+    int getBucketCount() {
+        return bucketStarts.size();
+    }
+}
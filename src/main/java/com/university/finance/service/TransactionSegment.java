@@ -0,0 +1,726 @@
+package com.university.finance.service;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Segment froid de l'historique : une suite de transactions consécutives
+ * écrite sur disque, compressée par blocs.
+ * 
+ * Le fichier est une suite de blocs de quelques dizaines de transactions,
+ * chacun compressé séparément (Deflate) pour pouvoir être relu seul, suivie d'une
+ * table des IDs : pour chaque transaction, une empreinte de son ID et le numéro de
+ * son bloc, triés par empreinte et encodés en écarts de longueur variable (environ
+ * trois octets par transaction). Seul un index clairsemé reste en mémoire : position
+ * et plage horaire de chaque bloc, blocs où apparaît chaque compte, un filtre de
+ * Bloom des IDs, et la première empreinte et l'emplacement de chaque page de
+ * {@value #ID_PAGE} entrées de la table. Retrouver une transaction par son ID lit
+ * donc une page de la table puis un seul bloc, et une lecture par compte ou par
+ * période ne décompresse que les blocs susceptibles de contenir ce qu'elle cherche.
+ * 
+ * Avant compression, chaque transaction est encodée de façon compacte :
+ * - les numéros de compte sont remplacés par leur indice dans le dictionnaire
+ *   du segment, écrit une seule fois dans l'en-tête ;
+ * - les montants sont écrits en centimes sur un entier de longueur variable ;
+ * - chaque horodatage est écrit comme l'écart (en nanosecondes) avec le précédent
+ *   du bloc, ce qui tient en quelques octets pour un historique chronologique ;
+ * - les IDs au format UUID occupent 16 octets au lieu de 36 caractères.
+ * Chaque bloc est accompagné d'une somme de contrôle (CRC32C) vérifiée à la lecture.
+ * 
+ * Le segment est immuable ; les changements de statut ultérieurs (annulation)
+ * sont ajoutés à un fichier voisin « .status » et appliqués à la relecture des
+ * blocs concernés. Les lectures peuvent être concurrentes.
+ * 
+ * @author Membre 2 - Refactoring Java + Tests
+ * @version 1.0
+ */
+final class TransactionSegment {
+    
+    /** Nombre de transactions par bloc par défaut. */
+    static final int DEFAULT_BLOCK_SIZE = 64;
+    
+    private static final int MAGIC = 0x54534732; // "TSG2"
+    private static final int BLOOM_BITS_PER_ENTRY = 10;
+    private static final int BLOOM_HASHES = 4;
+    
+    /** Nombre d'entrées de la table des IDs par page (une empreinte gardée en mémoire par page). */
+    static final int ID_PAGE = 128;
+    
+    /** Bits d'empreinte au-delà du nombre de transactions : une fausse piste sur 4096. */
+    private static final int ID_HASH_EXTRA_BITS = 12;
+    private static final int STATUS_ENTRY_BYTES = 5;
+    
+    private static final int HAS_FROM = 1;
+    private static final int HAS_TO = 1 << 1;
+    private static final int HAS_DESCRIPTION = 1 << 2;
+    private static final int HAS_REVERSAL = 1 << 3;
+    private static final int HAS_TIMESTAMP = 1 << 4;
+    private static final int TIMESTAMP_DELTA = 1 << 5;
+    private static final int UUID_ID = 1 << 6;
+    private static final int AMOUNT_CENTS = 1 << 7;
+    
+    /** Écart maximal (en secondes) encodé en delta sans dépasser un long de nanosecondes. */
+    private static final long MAX_DELTA_SECONDS = 1L << 33;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    
+    private final Path path;
+    private final int firstPosition;
+    private final int count;
+    private final int blockSize;
+    private final String[] accountNumbers;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private final int[] blockRawLengths;
+    private final int[] blockChecksums;
+    private final LocalDateTime[] blockMinTimes;
+    private final LocalDateTime[] blockMaxTimes;
+    private final Map<String, BitSet> accountBlocks;
+    private final long[] bloom;
+    private final int idHashBits;
+    private final long[] idFences;       // empreinte de la première entrée de chaque page de la table des IDs
+    private final long[] idPageOffsets;  // début de chaque page, suivi de la fin de la table
+    private final Path statusPath;
+    private final ReentrantLock statusLock = new ReentrantLock();
+    private final BitSet statusBlocks = new BitSet(); // blocs ayant des statuts modifiés, protégé par statusLock
+    
+    private TransactionSegment(Path path, int firstPosition, int count, int blockSize, String[] accountNumbers,
+                               long[] blockOffsets, int[] blockLengths, int[] blockRawLengths,
+                               int[] blockChecksums, LocalDateTime[] blockMinTimes, LocalDateTime[] blockMaxTimes,
+                               Map<String, BitSet> accountBlocks, long[] bloom, int idHashBits,
+                               long[] idFences, long[] idPageOffsets) {
+        this.path = path;
+        this.firstPosition = firstPosition;
+        this.count = count;
+        this.blockSize = blockSize;
+        this.accountNumbers = accountNumbers;
+        this.blockOffsets = blockOffsets;
+        this.blockLengths = blockLengths;
+        this.blockRawLengths = blockRawLengths;
+        this.blockChecksums = blockChecksums;
+        this.blockMinTimes = blockMinTimes;
+        this.blockMaxTimes = blockMaxTimes;
+        this.accountBlocks = accountBlocks;
+        this.bloom = bloom;
+        this.idHashBits = idHashBits;
+        this.idFences = idFences;
+        this.idPageOffsets = idPageOffsets;
+        this.statusPath = path.resolveSibling(path.getFileName() + ".status");
+    }
+    
+    /**
+     * Écrit un segment et construit son index.
+     * 
+     * @param path Fichier du segment
+     * @param firstPosition Position (dans l'historique) de la première transaction
+     * @param transactions Les transactions, dans l'ordre de l'historique
+     * @param blockSize Nombre de transactions par bloc
+     * @return Le segment écrit
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    static TransactionSegment write(Path path, int firstPosition, List<Transaction> transactions, int blockSize)
+            throws IOException {
+        int count = transactions.size();
+        int blocks = (count + blockSize - 1) / blockSize;
+        long[] offsets = new long[blocks];
+        int[] lengths = new int[blocks];
+        int[] rawLengths = new int[blocks];
+        int[] checksums = new int[blocks];
+        LocalDateTime[] minTimes = new LocalDateTime[blocks];
+        LocalDateTime[] maxTimes = new LocalDateTime[blocks];
+        Map<String, BitSet> accountBlocks = new HashMap<>();
+        long[] bloom = new long[Math.max(1, (count * BLOOM_BITS_PER_ENTRY + 63) / 64)];
+        
+        // Dictionnaire des comptes du segment, dans l'ordre d'apparition
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            addToDictionary(dictionary, transaction.getFromAccount());
+            addToDictionary(dictionary, transaction.getToAccount());
+        }
+        
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        CRC32C crc = new CRC32C();
+        int idHashBits = idHashBits(count);
+        long[] idFences = new long[(count + ID_PAGE - 1) / ID_PAGE];
+        long[] idPageOffsets = new long[idFences.length + 1];
+        try (OutputStream file = Files.newOutputStream(path)) {
+            DataOutputStream out = new DataOutputStream(file);
+            out.writeInt(MAGIC);
+            out.writeInt(firstPosition);
+            out.writeInt(count);
+            out.writeInt(blockSize);
+            out.writeInt(dictionary.size());
+            for (String accountNumber : dictionary.keySet()) {
+                out.writeUTF(accountNumber);
+            }
+            
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(blockSize * 32);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(blockSize * 32);
+            byte[] buffer = new byte[8192];
+            for (int block = 0; block < blocks; block++) {
+                raw.reset();
+                DataOutputStream data = new DataOutputStream(raw);
+                LocalDateTime previous = null;
+                int end = Math.min(count, (block + 1) * blockSize);
+                for (int i = block * blockSize; i < end; i++) {
+                    Transaction transaction = transactions.get(i);
+                    writeTransaction(data, transaction, previous, dictionary);
+                    addToBloom(bloom, transaction.getId());
+                    indexAccount(accountBlocks, transaction.getFromAccount(), block);
+                    indexAccount(accountBlocks, transaction.getToAccount(), block);
+                    LocalDateTime timestamp = transaction.getTimestamp();
+                    if (timestamp != null) {
+                        previous = timestamp;
+                        if (minTimes[block] == null || timestamp.isBefore(minTimes[block])) {
+                            minTimes[block] = timestamp;
+                        }
+                        if (maxTimes[block] == null || timestamp.isAfter(maxTimes[block])) {
+                            maxTimes[block] = timestamp;
+                        }
+                    }
+                }
+                data.flush();
+                
+                deflater.reset();
+                deflater.setInput(raw.toByteArray());
+                deflater.finish();
+                compressed.reset();
+                while (!deflater.finished()) {
+                    int n = deflater.deflate(buffer);
+                    compressed.write(buffer, 0, n);
+                }
+                byte[] payload = compressed.toByteArray();
+                crc.reset();
+                crc.update(payload);
+                
+                // En-tête du bloc : longueurs compressée et brute, somme de contrôle
+                out.writeInt(payload.length);
+                out.writeInt(raw.size());
+                out.writeInt((int) crc.getValue());
+                offsets[block] = out.size();
+                out.write(payload);
+                lengths[block] = payload.length;
+                rawLengths[block] = raw.size();
+                checksums[block] = (int) crc.getValue();
+            }
+            
+            // Table des IDs : (empreinte, bloc) triés par empreinte ; l'empreinte occupe
+            // les bits de poids fort et le bloc les bits restants
+            long[] entries = new long[count];
+            for (int i = 0; i < count; i++) {
+                entries[i] = idHash(transactions.get(i).getId(), idHashBits) << 32 | (i / blockSize);
+            }
+            Arrays.sort(entries);
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                long hash = entries[i] >>> 32;
+                if (i % ID_PAGE == 0) {
+                    idFences[i / ID_PAGE] = hash;
+                    idPageOffsets[i / ID_PAGE] = out.size();
+                    previous = hash;
+                }
+                writeVarLong(out, hash - previous);
+                writeVarLong(out, entries[i] & 0xFFFFFFFFL);
+                previous = hash;
+            }
+            idPageOffsets[idFences.length] = out.size();
+            out.flush();
+        } finally {
+            deflater.end();
+        }
+        return new TransactionSegment(path, firstPosition, count, blockSize,
+            dictionary.keySet().toArray(new String[0]), offsets, lengths, rawLengths, checksums,
+            minTimes, maxTimes, accountBlocks, bloom, idHashBits, idFences, idPageOffsets);
+    }
+    
+    /**
+     * Relit les transactions d'un bloc.
+     * 
+     * @param block Numéro du bloc
+     * @param accounts Résolution des comptes à partir de leur numéro
+     * @return Les transactions du bloc, dans l'ordre de l'historique
+     * @throws IOException En cas d'erreur de lecture ou de bloc corrompu
+     */
+    List<Transaction> readBlock(int block, Function<String, Account> accounts) throws IOException {
+        ByteBuffer compressed = read(path, blockOffsets[block], blockLengths[block]);
+        CRC32C crc = new CRC32C();
+        crc.update(compressed.array());
+        if ((int) crc.getValue() != blockChecksums[block]) {
+            throw new IOException("Somme de contrôle invalide pour le bloc " + block + " de " + path);
+        }
+        
+        byte[] raw = new byte[blockRawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array());
+            int filled = 0;
+            while (filled < raw.length) {
+                int n = inflater.inflate(raw, filled, raw.length - filled);
+                if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Bloc " + block + " incomplet dans " + path);
+                }
+                filled += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Bloc " + block + " corrompu dans " + path, e);
+        } finally {
+            inflater.end();
+        }
+        
+        int size = Math.min(blockSize, count - block * blockSize);
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(raw));
+        List<Transaction> transactions = new ArrayList<>(size);
+        LocalDateTime previous = null;
+        for (int i = 0; i < size; i++) {
+            Transaction transaction = readTransaction(data, previous, accounts);
+            if (transaction.getTimestamp() != null) {
+                previous = transaction.getTimestamp();
+            }
+            transactions.add(transaction);
+        }
+        applyStatuses(block, transactions);
+        return transactions;
+    }
+    
+    private static ByteBuffer read(Path file, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Fichier tronqué : " + file);
+                }
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     * Retourne les blocs pouvant contenir une transaction : ceux des entrées de la
+     * table dont l'empreinte est celle de l'ID cherché (en pratique zéro ou un bloc).
+     * Seule la page concernée de la table des IDs est lue.
+     * 
+     * @param id L'ID de la transaction
+     * @return Les numéros de bloc candidats, à confirmer en relisant le bloc
+     * @throws IOException En cas d'erreur de lecture
+     */
+    int[] candidateBlocks(String id) throws IOException {
+        if (count == 0 || !mightContain(id)) {
+            return new int[0];
+        }
+        long hash = idHash(id, idHashBits);
+        // Pages dont l'intervalle d'empreintes peut contenir hash
+        int first = lastFenceBelow(hash);
+        int last = first;
+        while (last + 1 < idFences.length && idFences[last + 1] <= hash) {
+            last++;
+        }
+        long offset = idPageOffsets[first];
+        DataInputStream pages = new DataInputStream(new ByteArrayInputStream(
+            read(path, offset, (int) (idPageOffsets[last + 1] - offset)).array()));
+        int[] found = new int[0];
+        int entries = Math.min(count, (last + 1) * ID_PAGE) - first * ID_PAGE;
+        long current = 0;
+        for (int i = 0; i < entries; i++) {
+            if (i % ID_PAGE == 0) {
+                current = idFences[first + i / ID_PAGE];
+            }
+            current += readVarLong(pages);
+            int block = (int) readVarLong(pages);
+            if (current > hash) {
+                break;
+            }
+            if (current == hash && (found.length == 0 || found[found.length - 1] != block)) {
+                found = Arrays.copyOf(found, found.length + 1);
+                found[found.length - 1] = block;
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Indice de la dernière page dont la première empreinte est strictement inférieure
+     * à hash (les entrées égales peuvent commencer à la fin de cette page).
+     */
+    private int lastFenceBelow(long hash) {
+        int low = 0;
+        int high = idFences.length - 1;
+        int result = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (idFences[mid] < hash) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Nombre de bits d'empreinte pour un segment : assez pour qu'une empreinte ne
+     * désigne à tort une autre transaction qu'une fois sur 4096, et au plus 31 bits.
+     */
+    private static int idHashBits(int count) {
+        return Math.min(31, 32 - Integer.numberOfLeadingZeros(Math.max(1, count)) + ID_HASH_EXTRA_BITS);
+    }
+    
+    /**
+     * Empreinte d'un ID sur le nombre de bits indiqué (FNV-1a puis brassage).
+     */
+    private static long idHash(String id, int bits) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash >>> (64 - bits);
+    }
+    
+    /**
+     * Enregistre le nouveau statut d'une transaction du segment.
+     * 
+     * @param position Position de la transaction dans l'historique
+     * @param status Le nouveau statut
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    void updateStatus(int position, Transaction.TransactionStatus status) throws IOException {
+        statusLock.lock();
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(statusPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                out.writeInt(position - firstPosition);
+                out.writeByte(status.ordinal());
+            }
+            statusBlocks.set(blockOf(position));
+        } finally {
+            statusLock.unlock();
+        }
+    }
+    
+    /**
+     * Applique aux transactions relues d'un bloc les statuts modifiés depuis l'écriture du segment.
+     */
+    private void applyStatuses(int block, List<Transaction> transactions) throws IOException {
+        byte[] updates;
+        statusLock.lock();
+        try {
+            if (!statusBlocks.get(block)) {
+                return;
+            }
+            updates = Files.readAllBytes(statusPath);
+        } finally {
+            statusLock.unlock();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(updates);
+        int start = block * blockSize;
+        while (buffer.remaining() >= STATUS_ENTRY_BYTES) {
+            int rank = buffer.getInt();
+            int status = buffer.get();
+            if (rank >= start && rank < start + transactions.size()) {
+                transactions.get(rank - start).setStatus(Transaction.TransactionStatus.values()[status]);
+            }
+        }
+    }
+    
+    /**
+     * Supprime les fichiers du segment.
+     * 
+     * @throws IOException En cas d'erreur de suppression
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(statusPath);
+        Files.deleteIfExists(path);
+    }
+    
+    private static void writeTransaction(DataOutputStream out, Transaction transaction, LocalDateTime previous,
+                                         Map<String, Integer> dictionary) throws IOException {
+        UUID uuid = asUuid(transaction.getId());
+        long cents = Math.round(transaction.getAmount() * 100);
+        boolean inCents = cents / 100.0 == transaction.getAmount();
+        LocalDateTime timestamp = transaction.getTimestamp();
+        boolean delta = timestamp != null && previous != null
+            && Math.abs(seconds(timestamp) - seconds(previous)) < MAX_DELTA_SECONDS;
+        
+        int flags = (transaction.getFromAccount() != null ? HAS_FROM : 0)
+            | (transaction.getToAccount() != null ? HAS_TO : 0)
+            | (transaction.getDescription() != null ? HAS_DESCRIPTION : 0)
+            | (transaction.getReversalOf() != null ? HAS_REVERSAL : 0)
+            | (timestamp != null ? HAS_TIMESTAMP : 0)
+            | (delta ? TIMESTAMP_DELTA : 0)
+            | (uuid != null ? UUID_ID : 0)
+            | (inCents ? AMOUNT_CENTS : 0);
+        out.writeByte(flags);
+        out.writeByte(transaction.getType().ordinal() << 4 | transaction.getStatus().ordinal());
+        
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeUTF(transaction.getId());
+        }
+        if (inCents) {
+            writeVarLong(out, zigzag(cents));
+        } else {
+            out.writeDouble(transaction.getAmount());
+        }
+        if (delta) {
+            long nanos = (seconds(timestamp) - seconds(previous)) * NANOS_PER_SECOND
+                + timestamp.getNano() - previous.getNano();
+            writeVarLong(out, zigzag(nanos));
+        } else if (timestamp != null) {
+            writeVarLong(out, zigzag(seconds(timestamp)));
+            writeVarLong(out, timestamp.getNano());
+        }
+        if (transaction.getFromAccount() != null) {
+            writeVarLong(out, dictionary.get(transaction.getFromAccount().getAccountNumber()));
+        }
+        if (transaction.getToAccount() != null) {
+            writeVarLong(out, dictionary.get(transaction.getToAccount().getAccountNumber()));
+        }
+        if (transaction.getDescription() != null) {
+            out.writeUTF(transaction.getDescription());
+        }
+        if (transaction.getReversalOf() != null) {
+            out.writeUTF(transaction.getReversalOf());
+        }
+    }
+    
+    private Transaction readTransaction(DataInputStream in, LocalDateTime previous,
+                                        Function<String, Account> accounts) throws IOException {
+        int flags = in.readUnsignedByte();
+        int kind = in.readUnsignedByte();
+        Transaction.TransactionType type = Transaction.TransactionType.values()[kind >>> 4];
+        Transaction.TransactionStatus status = Transaction.TransactionStatus.values()[kind & 0x0F];
+        
+        String id = (flags & UUID_ID) != 0 ? new UUID(in.readLong(), in.readLong()).toString() : in.readUTF();
+        double amount = (flags & AMOUNT_CENTS) != 0 ? unzigzag(readVarLong(in)) / 100.0 : in.readDouble();
+        LocalDateTime timestamp = null;
+        if ((flags & TIMESTAMP_DELTA) != 0) {
+            if (previous == null) {
+                throw new IOException("Horodatage relatif sans référence dans " + path);
+            }
+            timestamp = previous.plusNanos(unzigzag(readVarLong(in)));
+        } else if ((flags & HAS_TIMESTAMP) != 0) {
+            timestamp = LocalDateTime.ofEpochSecond(unzigzag(readVarLong(in)), (int) readVarLong(in), ZoneOffset.UTC);
+        }
+        Account from = (flags & HAS_FROM) != 0 ? accounts.apply(accountNumber(readVarLong(in))) : null;
+        Account to = (flags & HAS_TO) != 0 ? accounts.apply(accountNumber(readVarLong(in))) : null;
+        String description = (flags & HAS_DESCRIPTION) != 0 ? in.readUTF() : null;
+        String reversalOf = (flags & HAS_REVERSAL) != 0 ? in.readUTF() : null;
+        
+        Transaction transaction = new Transaction(id, type, amount, from, to, description);
+        transaction.setTimestamp(timestamp);
+        transaction.setStatus(status);
+        transaction.setReversalOf(reversalOf);
+        return transaction;
+    }
+    
+    private String accountNumber(long index) throws IOException {
+        if (index < 0 || index >= accountNumbers.length) {
+            throw new IOException("Compte absent du dictionnaire de " + path);
+        }
+        return accountNumbers[(int) index];
+    }
+    
+    private static void addToDictionary(Map<String, Integer> dictionary, Account account) {
+        if (account != null) {
+            dictionary.putIfAbsent(account.getAccountNumber(), dictionary.size());
+        }
+    }
+    
+    /**
+     * Retourne l'UUID représenté par un ID, ou null si l'ID n'est pas un UUID canonique.
+     */
+    private static UUID asUuid(String id) {
+        if (id.length() != 36 || id.charAt(8) != '-' || id.charAt(13) != '-') {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static long seconds(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC);
+    }
+    
+    // Entiers de longueur variable : 7 bits par octet, bit de poids fort = suite
+    
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+    
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Entier de longueur variable invalide");
+    }
+    
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private static void indexAccount(Map<String, BitSet> accountBlocks, Account account, int block) {
+        if (account != null) {
+            accountBlocks.computeIfAbsent(account.getAccountNumber(), n -> new BitSet()).set(block);
+        }
+    }
+    
+    // Filtre de Bloom des IDs : pas de faux négatif, quelques faux positifs
+    
+    private static void addToBloom(long[] bloom, String id) {
+        long bits = bloom.length * 64L;
+        int h1 = id.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+    
+    /**
+     * Indique si le segment peut contenir une transaction.
+     * 
+     * @param id L'ID de la transaction
+     * @return false si la transaction n'est certainement pas dans ce segment
+     */
+    boolean mightContain(String id) {
+        long bits = bloom.length * 64L;
+        int h1 = id.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return (h ^ (h >>> 16)) | 1;
+    }
+    
+    /**
+     * Indique si un compte apparaît dans un bloc.
+     * 
+     * @param block Numéro du bloc
+     * @param accountNumber Numéro de compte
+     * @return true si le compte est source ou destination d'une transaction du bloc
+     */
+    boolean blockInvolves(int block, String accountNumber) {
+        BitSet blocks = accountBlocks.get(accountNumber);
+        return blocks != null && blocks.get(block);
+    }
+    
+    /**
+     * Indique si la plage horaire d'un bloc recoupe une période.
+     * 
+     * @param block Numéro du bloc
+     * @param from Début de la période (inclus)
+     * @param to Fin de la période (exclue)
+     * @return true si le bloc peut contenir une transaction de la période
+     */
+    boolean blockOverlaps(int block, LocalDateTime from, LocalDateTime to) {
+        return blockMinTimes[block] != null
+            && blockMinTimes[block].isBefore(to) && !blockMaxTimes[block].isBefore(from);
+    }
+    
+    /**
+     * Numéro du bloc contenant une position de l'historique.
+     */
+    int blockOf(int position) {
+        return (position - firstPosition) / blockSize;
+    }
+    
+    /**
+     * Emplacement dans le fichier des données compressées d'un bloc.
+     */
+    long blockOffset(int block) {
+        return blockOffsets[block];
+    }
+    
+    /**
+     * Position (dans l'historique) de la première transaction d'un bloc.
+     */
+    int blockStart(int block) {
+        return firstPosition + block * blockSize;
+    }
+    
+    int getBlockCount() {
+        return blockOffsets.length;
+    }
+    
+    int getFirstPosition() {
+        return firstPosition;
+    }
+    
+    /**
+     * Position suivant la dernière transaction du segment.
+     */
+    int getEndPosition() {
+        return firstPosition + count;
+    }
+    
+    int getCount() {
+        return count;
+    }
+    
+    Path getPath() {
+        return path;
+    }
+}
@@ -1,15 +1,44 @@
 package com.university.finance.service;
 
+import com.university.finance.analytics.AccountAggregates;
+import com.university.finance.analytics.AccountAggregator;
+import com.university.finance.analytics.HeavyHitters;
+import com.university.finance.analytics.TransactionSketches;
+import com.university.finance.event.TransactionEvent;
+import com.university.finance.event.TransactionEventLog;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.pattern.observer.TransactionObserver;
+import com.university.finance.pattern.observer.TransactionObserverRegistry;
 import com.university.finance.pattern.strategy.DepositStrategy;
 import com.university.finance.pattern.strategy.TransactionStrategy;
 import com.university.finance.pattern.strategy.TransferStrategy;
 import com.university.finance.pattern.strategy.WithdrawStrategy;
 import com.university.finance.exception.BusinessException;
+import com.university.finance.exception.InsufficientFundsException;
+import com.university.finance.exception.TransactionNotFoundException;
+import com.university.finance.exception.ValidationException;
+import com.university.finance.limit.VelocityChecker;
+import com.university.finance.metrics.TransactionMetrics;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service pour gérer les transactions bancaires.
@@ -17,20 +46,85 @@ import java.util.List;
  * Ce service orchestre l'exécution des transactions en utilisant le pattern Strategy
  * et notifie les observateurs (pattern Observer) des événements de transaction.
  * 
+ * Les écritures (exécution d'une stratégie, ajout à l'historique, annulation)
+ * sont sérialisées par un verrou afin que les soldes et l'historique restent
+ * cohérents ; les observateurs sont notifiés en dehors de ce verrou, via un
+ * registre copié à l'écriture qui tolère les abonnements concurrents. Seul le
+ * journal des événements ({@link #setEventLog}) est alimenté sous ce verrou, afin
+ * que ses offsets suivent l'ordre de validation des transactions.
+ * Les lectures de l'historique ne prennent ce verrou que le temps d'en capturer
+ * un instantané ; la lecture des segments sur disque et la copie des transactions
+ * se font ensuite hors du verrou, sans bloquer les écritures. De même, les segments
+ * et les statuts de l'historique sont écrits sur disque après avoir relâché le
+ * verrou, qui n'est repris que brièvement pour publier un nouveau segment.
+ * Les agrégats par compte sont mis à jour au même moment, sans verrou ; le
+ * palmarès des comptes les plus actifs, tenu en mémoire fixe, l'est sous un verrou court.
+ * 
  * @author Membre 2 - Refactoring Java + Tests
  * @version 1.0
  */
 public class TransactionService {
     
-    private List<TransactionObserver> observers;
-    private List<Transaction> transactionHistory;
+    private final TransactionObserverRegistry observers = new TransactionObserverRegistry();
+    private TransactionHistory transactionHistory; // indexé par ID, par compte et par heure
+    private Map<String, Transaction> reversals; // ID d'origine -> écriture compensatoire
+    private final ReentrantLock postingLock = new ReentrantLock();
+    private volatile TransactionEventLog eventLog; // alimenté sous postingLock
+    private final IdempotencyCache idempotencyCache;
+    private final VelocityChecker velocityChecker;
+    private final AccountAggregator aggregator = new AccountAggregator();
+    private final HeavyHitters mostActiveAccounts = new HeavyHitters();  // nombre de transactions
+    private final HeavyHitters highestVolumeAccounts = new HeavyHitters(); // volume en centimes
+    private final TransactionSketches sketches = new TransactionSketches();
+    private final TransactionMetrics metrics = new TransactionMetrics();
     
     /**
      * Constructeur par défaut.
      */
     public TransactionService() {
-        this.observers = new ArrayList<>();
-        this.transactionHistory = new ArrayList<>();
+        this(new IdempotencyCache());
+    }
+    
+    /**
+     * Constructeur avec un cache d'idempotence spécifique, sans limite de vélocité
+     * (elles ne s'appliquent que si un VelocityChecker est fourni).
+     * 
+     * @param idempotencyCache Le cache des clés d'idempotence
+     */
+    public TransactionService(IdempotencyCache idempotencyCache) {
+        this(idempotencyCache, VelocityChecker.disabled());
+    }
+    
+    /**
+     * Constructeur avec cache d'idempotence et contrôleur de vélocité spécifiques.
+     * Les limites de vélocité s'appliquent aux débits : retraits et transferts sortants.
+     * 
+     * @param idempotencyCache Le cache des clés d'idempotence
+     * @param velocityChecker Le contrôleur de vélocité par compte
+     */
+    public TransactionService(IdempotencyCache idempotencyCache, VelocityChecker velocityChecker) {
+        this(idempotencyCache, velocityChecker, null, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Constructeur avec historique réparti entre mémoire et disque.
+     * 
+     * Au-delà de hotHistoryCapacity transactions en mémoire, les plus anciennes sont
+     * compactées dans des segments compressés du répertoire indiqué ; les consultations
+     * de l'historique fusionnent les deux niveaux.
+     * 
+     * @param idempotencyCache Le cache des clés d'idempotence
+     * @param velocityChecker Le contrôleur de vélocité par compte
+     * @param historyDir Répertoire des segments d'historique (null pour tout garder en mémoire)
+     * @param hotHistoryCapacity Nombre maximal de transactions gardées en mémoire
+     */
+    public TransactionService(IdempotencyCache idempotencyCache, VelocityChecker velocityChecker,
+                              Path historyDir, int hotHistoryCapacity) {
+        this.idempotencyCache = idempotencyCache;
+        this.velocityChecker = velocityChecker;
+        this.transactionHistory = new TransactionHistory(ChronoUnit.HOURS, historyDir, hotHistoryCapacity,
+            TransactionSegment.DEFAULT_BLOCK_SIZE);
+        this.reversals = new HashMap<>();
     }
     
     /**
@@ -39,9 +133,28 @@ public class TransactionService {
      * @param observer L'observateur à ajouter
      */
     public void addObserver(TransactionObserver observer) {
-        if (observer != null && !observers.contains(observer)) {
-            observers.add(observer);
-        }
+        observers.add(observer);
+    }
+    
+    /**
+     * Ajoute un observateur notifié uniquement pour certains types de transactions.
+     * 
+     * @param observer L'observateur à ajouter
+     * @param types Les types de transactions observés
+     */
+    public void addObserver(TransactionObserver observer, Set<Transaction.TransactionType> types) {
+        observers.add(observer, types);
+    }
+    
+    /**
+     * Branche un journal des événements alimenté sous le verrou d'écriture : chaque
+     * transaction validée (annulations comprises) y reçoit son offset dans l'ordre
+     * de l'historique, ce qu'un observateur, notifié hors du verrou, ne garantit pas.
+     * 
+     * @param eventLog Le journal (null pour le débrancher)
+     */
+    public void setEventLog(TransactionEventLog eventLog) {
+        this.eventLog = eventLog;
     }
     
     /**
@@ -54,13 +167,30 @@ public class TransactionService {
     }
     
     /**
-     * Notifie tous les observateurs qu'une transaction a réussi.
+     * Met à jour les agrégats, les statistiques approchées et le palmarès des comptes,
+     * puis notifie les observateurs qu'une transaction a réussi.
      * 
      * @param transaction La transaction complétée
      */
     private void notifyObserversCompleted(Transaction transaction) {
-        for (TransactionObserver observer : observers) {
-            observer.onTransactionCompleted(transaction);
+        aggregator.record(transaction);
+        sketches.record(transaction);
+        trackHeavyHitters(transaction.getFromAccount(), transaction);
+        if (transaction.getToAccount() != null && !transaction.getToAccount().equals(transaction.getFromAccount())) {
+            trackHeavyHitters(transaction.getToAccount(), transaction);
+        }
+        long start = System.nanoTime();
+        observers.notifyCompleted(transaction);
+        metrics.recordDispatch(System.nanoTime() - start);
+    }
+    
+    /**
+     * Compte une transaction dans le palmarès d'un compte (nombre et volume).
+     */
+    private void trackHeavyHitters(Account account, Transaction transaction) {
+        if (account != null) {
+            mostActiveAccounts.offer(account.getAccountNumber());
+            highestVolumeAccounts.offer(account.getAccountNumber(), Math.round(Math.abs(transaction.getAmount()) * 100));
         }
     }
     
@@ -73,18 +203,26 @@ public class TransactionService {
      * @throws BusinessException Si le dépôt ne peut pas être effectué
      */
     public Transaction deposit(Account account, double amount) throws BusinessException {
-        TransactionStrategy strategy = new DepositStrategy();
-        
-        try {
-            Transaction transaction = strategy.execute(account, amount, null);
-            transactionHistory.add(transaction);
-            notifyObserversCompleted(transaction);
-            return transaction;
-        } catch (BusinessException e) {
-            // Si la transaction a été créée mais a échoué, elle est déjà gérée dans la stratégie
-            // On propage simplement l'exception
-            throw e;
-        }
+        return post(Transaction.TransactionType.DEPOSIT, new DepositStrategy(), account, amount,
+            null);
+    }
+    
+    /**
+     * Effectue un dépôt protégé par une clé d'idempotence.
+     * 
+     * Un nouvel appel avec la même clé retourne la transaction d'origine
+     * sans déposer une seconde fois.
+     * 
+     * @param account Le compte sur lequel effectuer le dépôt
+     * @param amount Le montant à déposer
+     * @param idempotencyKey La clé d'idempotence du client (peut être null)
+     * @return La transaction créée, ou la transaction d'origine pour une clé déjà utilisée
+     * @throws BusinessException Si le dépôt ne peut pas être effectué
+     */
+    public Transaction deposit(Account account, double amount, String idempotencyKey) throws BusinessException {
+        return idempotencyCache.execute(idempotencyKey,
+            fingerprint(Transaction.TransactionType.DEPOSIT, account, null, amount),
+            commit -> post(Transaction.TransactionType.DEPOSIT, new DepositStrategy(), account, amount, null, commit));
     }
     
     /**
@@ -96,18 +234,24 @@ public class TransactionService {
      * @throws BusinessException Si le retrait ne peut pas être effectué
      */
     public Transaction withdraw(Account account, double amount) throws BusinessException {
-        TransactionStrategy strategy = new WithdrawStrategy();
-        
-        try {
-            Transaction transaction = strategy.execute(account, amount, null);
-            transactionHistory.add(transaction);
-            notifyObserversCompleted(transaction);
-            return transaction;
-        } catch (BusinessException e) {
-            // Si la transaction a été créée mais a échoué, elle est déjà gérée dans la stratégie
-            // On propage simplement l'exception
-            throw e;
-        }
+        return post(Transaction.TransactionType.WITHDRAW, new WithdrawStrategy(velocityChecker), account, amount,
+            null);
+    }
+    
+    /**
+     * Effectue un retrait protégé par une clé d'idempotence.
+     * 
+     * @param account Le compte depuis lequel effectuer le retrait
+     * @param amount Le montant à retirer
+     * @param idempotencyKey La clé d'idempotence du client (peut être null)
+     * @return La transaction créée, ou la transaction d'origine pour une clé déjà utilisée
+     * @throws BusinessException Si le retrait ne peut pas être effectué
+     */
+    public Transaction withdraw(Account account, double amount, String idempotencyKey) throws BusinessException {
+        return idempotencyCache.execute(idempotencyKey,
+            fingerprint(Transaction.TransactionType.WITHDRAW, account, null, amount),
+            commit -> post(Transaction.TransactionType.WITHDRAW, new WithdrawStrategy(velocityChecker), account, amount,
+                null, commit));
     }
     
     /**
@@ -123,6 +267,25 @@ public class TransactionService {
         return transfer(fromAccount, toAccount, amount, Transaction.TransactionType.TRANSFER);
     }
     
+    /**
+     * Effectue un transfert protégé par une clé d'idempotence.
+     * 
+     * @param fromAccount Le compte source
+     * @param toAccount Le compte destination
+     * @param amount Le montant à transférer
+     * @param idempotencyKey La clé d'idempotence du client (peut être null)
+     * @return La transaction créée, ou la transaction d'origine pour une clé déjà utilisée
+     * @throws BusinessException Si le transfert ne peut pas être effectué
+     */
+    public Transaction transfer(Account fromAccount, Account toAccount, double amount, String idempotencyKey)
+            throws BusinessException {
+        return idempotencyCache.execute(idempotencyKey,
+            fingerprint(Transaction.TransactionType.TRANSFER, fromAccount, toAccount, amount),
+            commit -> post(Transaction.TransactionType.TRANSFER,
+                new TransferStrategy(Transaction.TransactionType.TRANSFER, velocityChecker), fromAccount, amount,
+                toAccount, commit));
+    }
+    
     /**
      * Effectue un virement interne (VIRIN).
      * 
@@ -161,20 +324,402 @@ public class TransactionService {
      */
     private Transaction transfer(Account fromAccount, Account toAccount, double amount, 
                                 Transaction.TransactionType transferType) throws BusinessException {
-        TransactionStrategy strategy = new TransferStrategy(transferType);
-        
+        return post(transferType, new TransferStrategy(transferType, velocityChecker), fromAccount, amount, toAccount);
+    }
+    
+    /**
+     * Exécute une stratégie sous le verrou d'écriture, enregistre la transaction
+     * puis notifie les observateurs. La durée totale est mesurée selon le type
+     * d'opération et son issue.
+     * 
+     * @param type Le type d'opération (pour les mesures)
+     * @param strategy La stratégie à exécuter
+     * @param account Le compte concerné ou compte source
+     * @param amount Le montant
+     * @param targetAccount Le compte destination (peut être null)
+     * @return La transaction créée
+     * @throws BusinessException Si la stratégie refuse la transaction
+     */
+    private Transaction post(Transaction.TransactionType type, TransactionStrategy strategy, Account account,
+                             double amount, Account targetAccount) throws BusinessException {
+        return post(type, strategy, account, amount, targetAccount, null);
+    }
+    
+    /**
+     * Exécute une stratégie comme la méthode précédente, en signalant la validation
+     * au cache d'idempotence dès que la transaction est enregistrée, avant la
+     * notification des observateurs : un observateur qui échoue ne libère pas la clé.
+     * 
+     * @param type Le type d'opération (pour les mesures)
+     * @param strategy La stratégie à exécuter
+     * @param account Le compte concerné ou compte source
+     * @param amount Le montant
+     * @param targetAccount Le compte destination (peut être null)
+     * @param commit Signal de validation de la clé d'idempotence (peut être null)
+     * @return La transaction créée
+     * @throws BusinessException Si la stratégie refuse la transaction
+     */
+    private Transaction post(Transaction.TransactionType type, TransactionStrategy strategy, Account account,
+                             double amount, Account targetAccount, IdempotencyCache.Commit commit)
+            throws BusinessException {
+        long start = System.nanoTime();
+        TransactionMetrics.Outcome outcome = TransactionMetrics.Outcome.ERROR;
         try {
-            Transaction transaction = strategy.execute(fromAccount, amount, toAccount);
-            transactionHistory.add(transaction);
+            Transaction transaction;
+            TransactionHistory.PendingWrites historyWrites;
+            postingLock.lock();
+            try {
+                // En cas d'échec, la stratégie n'a modifié aucun solde : on propage l'exception
+                transaction = strategy.execute(account, amount, targetAccount);
+                recordTransaction(transaction);
+                publish(transaction);
+                historyWrites = transactionHistory.takePendingWrites();
+            } finally {
+                postingLock.unlock();
+            }
+            if (commit != null) {
+                commit.committed(transaction);
+            }
+            writeHistory(historyWrites);
             notifyObserversCompleted(transaction);
+            outcome = TransactionMetrics.Outcome.SUCCESS;
             return transaction;
         } catch (BusinessException e) {
-            // Si la transaction a été créée mais a échoué, elle est déjà gérée dans la stratégie
-            // On propage simplement l'exception
+            outcome = TransactionMetrics.Outcome.of(e);
             throw e;
+        } finally {
+            metrics.record(type, outcome, System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Construit l'empreinte des paramètres d'une opération, afin de détecter
+     * une clé d'idempotence réutilisée pour une opération différente.
+     * 
+     * @param type Le type d'opération
+     * @param account Le compte concerné ou compte source
+     * @param targetAccount Le compte destination (peut être null)
+     * @param amount Le montant
+     * @return L'empreinte de l'opération
+     */
+    private static String fingerprint(Transaction.TransactionType type, Account account,
+                                      Account targetAccount, double amount) {
+        return type + "|" + (account != null ? account.getId() : null) + "|"
+            + (targetAccount != null ? targetAccount.getId() : null) + "|" + amount;
+    }
+    
+    /**
+     * Ajoute une transaction à l'historique (index par ID, par compte et par heure).
+     * Doit être appelée sous le verrou d'écriture.
+     * 
+     * @param transaction La transaction à enregistrer
+     */
+    private void recordTransaction(Transaction transaction) {
+        transactionHistory.add(transaction);
+    }
+    
+    /**
+     * Effectue hors du verrou d'écriture les écritures de l'historique sur disque
+     * (segment des transactions les plus anciennes, statuts de transactions froides).
+     * 
+     * @param writes Les écritures préparées sous le verrou (peut être null)
+     */
+    private void writeHistory(TransactionHistory.PendingWrites writes) {
+        if (writes != null) {
+            writes.run(postingLock);
         }
     }
     
+    /**
+     * Publie une transaction validée dans le journal des événements (sous postingLock).
+     */
+    private void publish(Transaction transaction) {
+        TransactionEventLog log = eventLog;
+        if (log != null) {
+            log.append(transaction, TransactionEvent.Status.COMPLETED, null);
+        }
+    }
+    
+    // ========== Annulation des transactions ==========
+    
+    /**
+     * Annule une transaction en postant une écriture compensatoire.
+     * 
+     * L'opération est idempotente : annuler une transaction déjà annulée
+     * retourne l'écriture compensatoire existante sans rien modifier.
+     * 
+     * @param transactionId L'ID de la transaction à annuler
+     * @return L'écriture compensatoire
+     * @throws TransactionNotFoundException Si la transaction n'existe pas
+     * @throws ValidationException Si la transaction ne peut pas être annulée
+     * @throws InsufficientFundsException Si un compte ne peut pas supporter l'annulation
+     */
+    public Transaction reverseTransaction(String transactionId) throws BusinessException {
+        return reverseTransactions(Collections.singletonList(transactionId)).get(0);
+    }
+    
+    /**
+     * Annule un lot de transactions (par exemple une paie erronée) en une seule passe.
+     * 
+     * Les écritures compensatoires ne sont pas soumises aux limites de vélocité.
+     * Les transactions d'origine sont retrouvées par leur ID avant de prendre le
+     * verrou d'écriture (une relecture sur disque ne bloque donc pas les autres
+     * opérations) ; celles annulées entre-temps sont ignorées. Les soldes nets
+     * de tous les comptes touchés sont vérifiés avant toute modification : soit tout
+     * le lot est annulé, soit rien ne l'est. Les transactions déjà annulées sont
+     * ignorées et leur écriture compensatoire existante est retournée.
+     * 
+     * @param transactionIds Les IDs des transactions à annuler
+     * @return Les écritures compensatoires, dans l'ordre des IDs fournis
+     * @throws TransactionNotFoundException Si une transaction n'existe pas
+     * @throws ValidationException Si une transaction ne peut pas être annulée
+     * @throws InsufficientFundsException Si un compte ne peut pas supporter l'annulation
+     */
+    public List<Transaction> reverseTransactions(List<String> transactionIds) throws BusinessException {
+        List<Transaction> posted = new ArrayList<>();
+        List<Transaction> results = new ArrayList<>(transactionIds.size());
+        TransactionHistory.PendingWrites historyWrites;
+        
+        // Résolution des transactions d'origine hors du verrou
+        TransactionHistory.Snapshot snapshot = snapshot(null, null, null);
+        Map<String, Transaction> found = new HashMap<>();
+        Map<String, Integer> positions = new HashMap<>();
+        for (String transactionId : transactionIds) {
+            if (!positions.containsKey(transactionId)) {
+                Transaction[] original = new Transaction[1];
+                positions.put(transactionId, snapshot.find(transactionId, original));
+                found.put(transactionId, original[0]);
+            }
+        }
+        
+        postingLock.lock();
+        try {
+            // Les doublons et les transactions déjà annulées sont ignorés
+            Map<String, Transaction> toReverse = new LinkedHashMap<>();
+            for (String transactionId : transactionIds) {
+                if (reversals.containsKey(transactionId) || toReverse.containsKey(transactionId)) {
+                    continue;
+                }
+                Transaction original = found.get(transactionId);
+                if (original == null) {
+                    throw new TransactionNotFoundException(transactionId);
+                }
+                checkReversible(original);
+                toReverse.put(transactionId, original);
+            }
+            
+            checkNetBalances(toReverse.values());
+            
+            for (Map.Entry<String, Transaction> entry : toReverse.entrySet()) {
+                Transaction compensating = applyReversal(entry.getValue(), positions.get(entry.getKey()));
+                publish(compensating);
+                posted.add(compensating);
+            }
+            for (String transactionId : transactionIds) {
+                results.add(reversals.get(transactionId));
+            }
+            historyWrites = transactionHistory.takePendingWrites();
+        } finally {
+            postingLock.unlock();
+        }
+        
+        writeHistory(historyWrites);
+        for (Transaction compensating : posted) {
+            notifyObserversCompleted(compensating);
+        }
+        return results;
+    }
+    
+    /**
+     * Récupère l'écriture compensatoire d'une transaction annulée.
+     * 
+     * @param transactionId L'ID de la transaction d'origine
+     * @return L'écriture compensatoire, ou null si la transaction n'a pas été annulée
+     */
+    public Transaction getReversal(String transactionId) {
+        postingLock.lock();
+        try {
+            return reversals.get(transactionId);
+        } finally {
+            postingLock.unlock();
+        }
+    }
+    
+    /**
+     * Vérifie qu'une transaction peut être annulée.
+     * 
+     * @param original La transaction d'origine
+     * @throws ValidationException Si la transaction n'est pas complétée ou est elle-même une annulation
+     */
+    private void checkReversible(Transaction original) throws ValidationException {
+        if (original.getStatus() != Transaction.TransactionStatus.COMPLETED || original.isReversal()) {
+            throw new ValidationException(
+                String.format("La transaction %s ne peut pas être annulée (statut: %s)",
+                    original.getId(), original.getStatus()),
+                "transactionId"
+            );
+        }
+    }
+    
+    /**
+     * Vérifie que chaque compte touché garde un solde positif une fois
+     * toutes les écritures compensatoires appliquées.
+     * 
+     * @param originals Les transactions à annuler
+     * @throws InsufficientFundsException Si un compte ne peut pas supporter l'annulation
+     */
+    private void checkNetBalances(Iterable<Transaction> originals) throws InsufficientFundsException {
+        Map<Account, Double> deltas = new LinkedHashMap<>();
+        for (Transaction original : originals) {
+            // L'annulation débite le compte crédité et crédite le compte débité
+            if (original.getToAccount() != null) {
+                deltas.merge(original.getToAccount(), -original.getAmount(), Double::sum);
+            }
+            if (original.getFromAccount() != null) {
+                deltas.merge(original.getFromAccount(), original.getAmount(), Double::sum);
+            }
+        }
+        for (Map.Entry<Account, Double> entry : deltas.entrySet()) {
+            Account account = entry.getKey();
+            double required = -entry.getValue();
+            if (required > 0 && account.getBalance() < required) {
+                throw new InsufficientFundsException(account.getId(), account.getBalance(), required);
+            }
+        }
+    }
+    
+    /**
+     * Poste l'écriture compensatoire d'une transaction et marque celle-ci annulée.
+     * Doit être appelée sous le verrou d'écriture, après vérification des soldes.
+     * 
+     * @param original La transaction d'origine
+     * @param position Sa position dans l'historique
+     * @return L'écriture compensatoire
+     */
+    private Transaction applyReversal(Transaction original, int position) {
+        Transaction compensating = createCompensatingTransaction(original);
+        double amount = original.getAmount();
+        
+        if (original.getToAccount() != null) {
+            original.getToAccount().setBalance(original.getToAccount().getBalance() - amount);
+        }
+        if (original.getFromAccount() != null) {
+            original.getFromAccount().setBalance(original.getFromAccount().getBalance() + amount);
+        }
+        
+        compensating.setReversalOf(original.getId());
+        compensating.setStatus(Transaction.TransactionStatus.COMPLETED);
+        original.setStatus(Transaction.TransactionStatus.CANCELLED);
+        transactionHistory.updateStatus(position, original.getStatus());
+        
+        recordTransaction(compensating);
+        reversals.put(original.getId(), compensating);
+        return compensating;
+    }
+    
+    /**
+     * Crée l'écriture inverse d'une transaction : un retrait pour un dépôt,
+     * un dépôt pour un retrait, et un virement de même type en sens inverse
+     * pour les transferts.
+     * 
+     * @param original La transaction d'origine
+     * @return L'écriture compensatoire (statut PENDING)
+     */
+    private Transaction createCompensatingTransaction(Transaction original) {
+        String transactionId = UUID.randomUUID().toString();
+        String description = "Annulation de la transaction " + original.getId();
+        
+        switch (original.getType()) {
+            case DEPOSIT:
+                return new Transaction(transactionId, Transaction.TransactionType.WITHDRAW,
+                    original.getAmount(), original.getToAccount(), description);
+            case WITHDRAW:
+                return new Transaction(transactionId, Transaction.TransactionType.DEPOSIT,
+                    original.getAmount(), original.getFromAccount(), description);
+            default:
+                return new Transaction(transactionId, original.getType(), original.getAmount(),
+                    original.getToAccount(), original.getFromAccount(), description);
+        }
+    }
+    
+    /**
+     * Récupère les agrégats d'un compte (crédits et débits, journaliers et cumulés,
+     * nombre de mouvements, montants minimal, maximal et moyen), en temps constant.
+     * 
+     * @param account Le compte
+     * @return Les agrégats du compte
+     */
+    public AccountAggregates getAccountAggregates(Account account) {
+        return aggregator.getAggregates(account);
+    }
+    
+    /**
+     * Récupère les comptes ayant le plus de transactions (source ou destination),
+     * estimés en mémoire fixe sans parcourir l'historique.
+     * 
+     * @param k Nombre de comptes souhaités
+     * @return Les numéros de compte et leur nombre estimé de transactions, par ordre décroissant
+     */
+    public List<HeavyHitters.Entry> getMostActiveAccounts(int k) {
+        return mostActiveAccounts.top(k);
+    }
+    
+    /**
+     * Récupère les comptes ayant le plus fort volume de transactions,
+     * estimés en mémoire fixe sans parcourir l'historique.
+     * 
+     * @param k Nombre de comptes souhaités
+     * @return Les numéros de compte et leur volume estimé en centimes, par ordre décroissant
+     */
+    public List<HeavyHitters.Entry> getHighestVolumeAccounts(int k) {
+        return highestVolumeAccounts.top(k);
+    }
+    
+    /**
+     * Estime un quantile des montants d'un type de transaction (p50, p99...), à 1 % près.
+     * 
+     * @param type Le type de transaction
+     * @param quantile Le quantile, entre 0 et 1
+     * @return Le montant estimé, ou NaN si aucune transaction de ce type n'a été postée
+     */
+    public double getAmountQuantile(Transaction.TransactionType type, double quantile) {
+        return sketches.getAmountQuantile(type, quantile);
+    }
+    
+    /**
+     * Estime le nombre de comptes distincts ayant eu au moins un mouvement un jour donné.
+     * 
+     * @param day Le jour
+     * @return Le nombre estimé de comptes actifs
+     */
+    public long getDistinctActiveAccounts(LocalDate day) {
+        return sketches.getDistinctActiveAccounts(day);
+    }
+    
+    /**
+     * Retourne le nombre de transactions de l'historique.
+     * 
+     * @return La taille de l'historique (mémoire et disque)
+     */
+    public int getHistorySize() {
+        postingLock.lock();
+        try {
+            return transactionHistory.size();
+        } finally {
+            postingLock.unlock();
+        }
+    }
+    
+    /**
+     * Retourne un instantané des mesures : latences par opération et par issue,
+     * nombre d'opérations et durée des notifications.
+     * 
+     * @return L'instantané des mesures
+     */
+    public TransactionMetrics.Snapshot getMetrics() {
+        return metrics.snapshot();
+    }
+    
     /**
      * Récupère l'historique des transactions pour un compte.
      * 
@@ -182,14 +727,35 @@ public class TransactionService {
      * @return Liste des transactions pour ce compte
      */
     public List<Transaction> getTransactionHistory(Account account) {
-        List<Transaction> accountTransactions = new ArrayList<>();
-        for (Transaction transaction : transactionHistory) {
-            if ((transaction.getFromAccount() != null && transaction.getFromAccount().equals(account)) ||
-                (transaction.getToAccount() != null && transaction.getToAccount().equals(account))) {
-                accountTransactions.add(transaction);
-            }
+        return snapshot(account, null, null).collect(0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Récupère les transactions d'un compte sur une période.
+     * 
+     * Seules les tranches horaires de l'historique qui recouvrent la période sont parcourues.
+     * 
+     * @param account Le compte
+     * @param from Début de la période (inclus)
+     * @param to Fin de la période (exclue)
+     * @return Les transactions du compte sur la période, dans leur ordre d'enregistrement
+     */
+    public List<Transaction> getTransactions(Account account, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return new ArrayList<>();
         }
-        return accountTransactions;
+        return snapshot(account, from, to).collect(0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Récupère toutes les transactions d'une période.
+     * 
+     * @param from Début de la période (inclus)
+     * @param to Fin de la période (exclue)
+     * @return Les transactions de la période, dans leur ordre d'enregistrement
+     */
+    public List<Transaction> getTransactions(LocalDateTime from, LocalDateTime to) {
+        return getTransactions(null, from, to);
     }
     
     /**
@@ -198,7 +764,151 @@ public class TransactionService {
      * @return Liste de toutes les transactions
      */
     public List<Transaction> getAllTransactions() {
-        return new ArrayList<>(transactionHistory);
+        return snapshot(null, null, null).collect(0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Récupère une page de l'historique d'un compte, à partir d'un curseur.
+     * 
+     * Le curseur est l'ID de la dernière transaction de la page précédente ; la page
+     * suivante est retrouvée directement, sans parcourir ni copier ce qui précède.
+     * 
+     * @param account Le compte
+     * @param afterTransactionId ID de la dernière transaction déjà lue (null pour la première page)
+     * @param limit Nombre maximal de transactions
+     * @return Les transactions suivantes, dans leur ordre d'enregistrement
+     * @throws TransactionNotFoundException Si le curseur ne désigne aucune transaction
+     * @throws ValidationException Si la limite n'est pas positive
+     */
+    public List<Transaction> getTransactionHistory(Account account, String afterTransactionId, int limit)
+            throws BusinessException {
+        checkLimit(limit);
+        TransactionHistory.Snapshot snapshot = snapshot(account, null, null);
+        return snapshot.collect(cursorPosition(snapshot, afterTransactionId) + 1, limit);
+    }
+    
+    /**
+     * Récupère une page de l'historique global, à partir d'un curseur.
+     * 
+     * @param afterTransactionId ID de la dernière transaction déjà lue (null pour la première page)
+     * @param limit Nombre maximal de transactions
+     * @return Les transactions suivantes, dans leur ordre d'enregistrement
+     * @throws TransactionNotFoundException Si le curseur ne désigne aucune transaction
+     * @throws ValidationException Si la limite n'est pas positive
+     */
+    public List<Transaction> getAllTransactions(String afterTransactionId, int limit) throws BusinessException {
+        checkLimit(limit);
+        TransactionHistory.Snapshot snapshot = snapshot(null, null, null);
+        return snapshot.collect(cursorPosition(snapshot, afterTransactionId) + 1, limit);
+    }
+    
+    /**
+     * Parcourt l'historique d'un compte à la demande.
+     * 
+     * Le flux lit l'historique par pages au fur et à mesure de sa consommation :
+     * il ne copie jamais l'historique entier et voit les transactions postées
+     * pendant le parcours.
+     * 
+     * @param account Le compte
+     * @return Le flux des transactions du compte, dans leur ordre d'enregistrement
+     */
+    public Stream<Transaction> streamTransactionHistory(Account account) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+            new HistoryIterator(account), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    /**
+     * Parcourt l'historique global à la demande (voir {@link #streamTransactionHistory(Account)}).
+     * 
+     * @return Le flux de toutes les transactions, dans leur ordre d'enregistrement
+     */
+    public Stream<Transaction> streamAllTransactions() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+            new HistoryIterator(null), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    /**
+     * Parcourt l'historique complet (mémoire et disque) pour un traitement parallèle,
+     * par exemple avec {@link com.university.finance.analytics.TransactionAnalytics}.
+     * 
+     * Le parcours porte sur un instantané : il ne copie pas l'historique, ne garde pas
+     * le verrou d'écriture et ignore les transactions postées après son ouverture. Il
+     * se découpe aux frontières des blocs compressés, que chaque tranche relit elle-même.
+     * 
+     * @return Le parcours, dans l'ordre d'enregistrement
+     */
+    public Spliterator<Transaction> historySpliterator() {
+        return snapshot(null, null, null).spliterator();
+    }
+    
+    /**
+     * Capture, sous le verrou d'écriture, un instantané de l'historique (éventuellement
+     * restreint à un compte et à une période) à lire ensuite hors du verrou.
+     */
+    private TransactionHistory.Snapshot snapshot(Account account, LocalDateTime from, LocalDateTime to) {
+        postingLock.lock();
+        try {
+            return transactionHistory.snapshot(account, from, to);
+        } finally {
+            postingLock.unlock();
+        }
+    }
+    
+    /**
+     * Retourne la position du curseur dans l'historique.
+     */
+    private static int cursorPosition(TransactionHistory.Snapshot snapshot, String afterTransactionId)
+            throws TransactionNotFoundException {
+        if (afterTransactionId == null) {
+            return -1;
+        }
+        int position = snapshot.positionOf(afterTransactionId);
+        if (position < 0) {
+            throw new TransactionNotFoundException(afterTransactionId);
+        }
+        return position;
+    }
+    
+    private static void checkLimit(int limit) throws ValidationException {
+        if (limit <= 0) {
+            throw new ValidationException("La taille de page doit être positive", "limit");
+        }
+    }
+    
+    /**
+     * Itérateur qui charge l'historique par pages à la demande, chacune depuis un
+     * nouvel instantané, en reprenant à la position où la page précédente s'est arrêtée.
+     */
+    private final class HistoryIterator implements Iterator<Transaction> {
+        private static final int PAGE_SIZE = 256;
+        
+        private final Account account; // null : historique global
+        private int nextPosition;
+        private List<Transaction> page = new ArrayList<>();
+        private int index;
+        
+        private HistoryIterator(Account account) {
+            this.account = account;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (index < page.size()) {
+                return true;
+            }
+            page = new ArrayList<>(PAGE_SIZE);
+            nextPosition = snapshot(account, null, null).collect(nextPosition, PAGE_SIZE, page);
+            index = 0;
+            return !page.isEmpty();
+        }
+        
+        @Override
+        public Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.get(index++);
+        }
     }
     
     /**
@@ -208,11 +918,6 @@ public class TransactionService {
      * @return La transaction trouvée, ou null si non trouvée
      */
     public Transaction getTransactionById(String transactionId) {
-        for (Transaction transaction : transactionHistory) {
-            if (transaction.getId().equals(transactionId)) {
-                return transaction;
-            }
-        }
-        return null;
+        return snapshot(null, null, null).get(transactionId);
     }
 }
@@ -0,0 +1,101 @@
+package com.university.finance.analytics;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AccountAggregatorTest {
+    
+    private final User user = new User("U001", "john", "pwd", "john@example.com");
+    private final Account checking = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+    private final Account savings = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 500.0);
+    
+    private Transaction at(Transaction transaction, LocalDateTime timestamp) {
+        transaction.setTimestamp(timestamp);
+        return transaction;
+    }
+    
+    // Teste les totaux, le nombre de mouvements, le minimum, le maximum et la moyenne
+    @Test
+    public void testTotalsAndStatistics() {
+        AccountAggregator aggregator = new AccountAggregator();
+        aggregator.record(new Transaction("T001", Transaction.TransactionType.DEPOSIT, 100.0, checking, "Dépôt"));
+        aggregator.record(new Transaction("T002", Transaction.TransactionType.DEPOSIT, 300.0, checking, "Dépôt"));
+        aggregator.record(new Transaction("T003", Transaction.TransactionType.WITHDRAW, 50.25, checking, "Retrait"));
+        
+        AccountAggregates aggregates = aggregator.getAggregates(checking);
+        assertEquals(400.0, aggregates.getTotalCredits(), 0.001);
+        assertEquals(50.25, aggregates.getTotalDebits(), 0.001);
+        assertEquals(349.75, aggregates.getNetFlow(), 0.001);
+        assertEquals(2, aggregates.getCreditCount());
+        assertEquals(1, aggregates.getDebitCount());
+        assertEquals(50.25, aggregates.getMinAmount(), 0.001);
+        assertEquals(300.0, aggregates.getMaxAmount(), 0.001);
+        assertEquals(150.083, aggregates.getAverageAmount(), 0.001);
+    }
+    
+    // Teste qu'un transfert débite la source et crédite la destination
+    @Test
+    public void testTransferUpdatesBothAccounts() {
+        AccountAggregator aggregator = new AccountAggregator();
+        aggregator.record(new Transaction("T001", Transaction.TransactionType.TRANSFER, 200.0, checking, savings, "Virement"));
+        
+        assertEquals(200.0, aggregator.getAggregates(checking).getTotalDebits(), 0.001);
+        assertEquals(200.0, aggregator.getAggregates(savings).getTotalCredits(), 0.001);
+        assertEquals(2, aggregator.getAccountCount());
+    }
+    
+    // Teste les totaux journaliers et l'oubli des journées trop anciennes
+    @Test
+    public void testDailyTotalsAreRetainedForLimitedPeriod() {
+        AccountAggregator aggregator = new AccountAggregator(2);
+        LocalDateTime day1 = LocalDateTime.of(2024, 1, 1, 9, 0);
+        aggregator.record(at(new Transaction("T001", Transaction.TransactionType.DEPOSIT, 100.0, checking, "Dépôt"), day1));
+        aggregator.record(at(new Transaction("T002", Transaction.TransactionType.WITHDRAW, 40.0, checking, "Retrait"), day1));
+        aggregator.record(at(new Transaction("T003", Transaction.TransactionType.DEPOSIT, 10.0, checking, "Dépôt"), day1.plusDays(1)));
+        
+        AccountAggregates aggregates = aggregator.getAggregates(checking);
+        assertEquals(100.0, aggregates.getDailyCredits(LocalDate.of(2024, 1, 1)), 0.001);
+        assertEquals(40.0, aggregates.getDailyDebits(LocalDate.of(2024, 1, 1)), 0.001);
+        assertEquals(2, aggregates.getDailyCount(LocalDate.of(2024, 1, 1)));
+        
+        aggregator.record(at(new Transaction("T004", Transaction.TransactionType.DEPOSIT, 10.0, checking, "Dépôt"), day1.plusDays(2)));
+        assertEquals(0, aggregates.getDailyCount(LocalDate.of(2024, 1, 1)));
+        assertEquals(2, aggregates.getRetainedDayCount());
+        assertEquals(4, aggregates.getTransactionCount());
+    }
+    
+    // Teste les mises à jour concurrentes d'un même compte
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        AccountAggregator aggregator = new AccountAggregator();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    aggregator.record(new Transaction("T", Transaction.TransactionType.DEPOSIT, 1.0, checking, "Dépôt"));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(4_000, aggregator.getAggregates(checking).getCreditCount());
+        assertEquals(4_000.0, aggregator.getAggregates(checking).getTotalCredits(), 0.001);
+    }
+    
+    // Teste un compte sans mouvement
+    @Test
+    public void testUnknownAccount() {
+        AccountAggregates aggregates = new AccountAggregator().getAggregates("INCONNU");
+        assertEquals(0, aggregates.getTransactionCount());
+        assertEquals(0.0, aggregates.getMinAmount(), 0.001);
+        assertEquals(0.0, aggregates.getAverageAmount(), 0.001);
+    }
+}
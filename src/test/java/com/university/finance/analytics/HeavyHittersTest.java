@@ -0,0 +1,67 @@
+package com.university.finance.analytics;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class HeavyHittersTest {
+    
+    // Teste un comptage exact tant que la capacité suffit
+    @Test
+    public void testExactCountsWithinCapacity() {
+        HeavyHitters hitters = new HeavyHitters(10);
+        hitters.offer("ACC-1");
+        hitters.offer("ACC-2", 5);
+        hitters.offer("ACC-1");
+        hitters.offer("ACC-3", 0); // ignoré
+        
+        List<HeavyHitters.Entry> top = hitters.top(10);
+        assertEquals(2, top.size());
+        assertEquals("ACC-2", top.get(0).getKey());
+        assertEquals(5, top.get(0).getCount());
+        assertEquals(2, hitters.get("ACC-1").getCount());
+        assertEquals(0, hitters.get("ACC-1").getError());
+        assertNull(hitters.get("ACC-3"));
+        assertEquals(7, hitters.getTotal());
+    }
+    
+    // Teste que les clés fréquentes restent suivies malgré un flux de clés rares
+    @Test
+    public void testHeavyHittersSurviveNoise() {
+        HeavyHitters hitters = new HeavyHitters(50);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 10 == 0) {
+                hitters.offer("HOT-" + (i / 10) % 3);
+            } else {
+                hitters.offer("COLD-" + random.nextInt(50_000));
+            }
+        }
+        
+        List<HeavyHitters.Entry> top = hitters.top(3);
+        assertEquals(3, top.size());
+        for (HeavyHitters.Entry entry : top) {
+            assertTrue(entry.getKey().startsWith("HOT-"));
+            // Le poids réel (environ 3 333) est encadré par l'estimation
+            assertTrue(entry.getGuaranteedCount() <= 3334);
+            assertTrue(entry.getCount() >= 3333);
+        }
+        assertEquals(50, hitters.top(100).size());
+    }
+    
+    // Teste la remise à zéro
+    @Test
+    public void testClear() {
+        HeavyHitters hitters = new HeavyHitters(2);
+        hitters.offer("A");
+        hitters.offer("B");
+        hitters.offer("C");
+        assertEquals(2, hitters.top(5).size());
+        assertEquals(1, hitters.get("C").getError());
+        
+        hitters.clear();
+        assertTrue(hitters.top(5).isEmpty());
+        assertEquals(0, hitters.getTotal());
+    }
+}
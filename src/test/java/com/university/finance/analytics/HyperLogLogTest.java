@@ -0,0 +1,51 @@
+package com.university.finance.analytics;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class HyperLogLogTest {
+    
+    // Teste l'estimation sur de petites et grandes cardinalités
+    @Test
+    public void testEstimateIsWithinFewPercent() {
+        HyperLogLog small = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            small.add("ACC-" + i);
+            small.add("ACC-" + i); // doublon
+        }
+        assertEquals(100, small.estimate(), 2);
+        
+        HyperLogLog large = new HyperLogLog();
+        for (int i = 0; i < 200_000; i++) {
+            large.add("ACC-" + i);
+        }
+        assertEquals(200_000, large.estimate(), 200_000 * 0.05);
+    }
+    
+    // Teste la fusion de deux estimateurs qui se recouvrent
+    @Test
+    public void testMerge() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 30_000; i++) {
+            first.add("ACC-" + i);
+            second.add("ACC-" + (i + 20_000));
+        }
+        first.merge(second);
+        assertEquals(50_000, first.estimate(), 50_000 * 0.05);
+    }
+    
+    // Teste le refus de fusionner des précisions différentes
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeRejectsDifferentPrecision() {
+        new HyperLogLog(10).merge(new HyperLogLog(12));
+    }
+    
+    // Teste un estimateur vide
+    @Test
+    public void testEmpty() {
+        HyperLogLog hll = new HyperLogLog();
+        hll.add(null);
+        assertEquals(0, hll.estimate());
+    }
+}
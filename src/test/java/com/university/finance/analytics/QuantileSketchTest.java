@@ -0,0 +1,60 @@
+package com.university.finance.analytics;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class QuantileSketchTest {
+    
+    // Teste que les quantiles respectent l'erreur relative annoncée
+    @Test
+    public void testQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        Random random = new Random(7);
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.round(Math.exp(random.nextGaussian() * 2 + 4) * 100) / 100.0 + 0.01;
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+        
+        for (double q : new double[] {0.0, 0.5, 0.9, 0.99, 1.0}) {
+            double exact = values[(int) (q * (values.length - 1))];
+            assertEquals(exact, sketch.getQuantile(q), exact * 0.01 + 1e-9);
+        }
+        assertEquals(values.length, sketch.getCount());
+        assertEquals(values[0], sketch.getMin(), 0.0);
+        assertEquals(values[values.length - 1], sketch.getMax(), 0.0);
+    }
+    
+    // Teste la fusion : même résultat que l'ajout dans un seul estimateur
+    @Test
+    public void testMergeMatchesSingleSketch() {
+        QuantileSketch single = new QuantileSketch();
+        QuantileSketch low = new QuantileSketch();
+        QuantileSketch high = new QuantileSketch();
+        for (int i = 1; i <= 1000; i++) {
+            single.add(i);
+            (i <= 500 ? low : high).add(i);
+        }
+        high.merge(low);
+        
+        assertEquals(single.getCount(), high.getCount());
+        assertEquals(single.getQuantile(0.5), high.getQuantile(0.5), 0.0);
+        assertEquals(single.getQuantile(0.99), high.getQuantile(0.99), 0.0);
+        assertEquals(1.0, high.getMin(), 0.0);
+    }
+    
+    // Teste les valeurs nulles et l'estimateur vide
+    @Test
+    public void testZeroAndEmpty() {
+        QuantileSketch sketch = new QuantileSketch();
+        assertTrue(Double.isNaN(sketch.getQuantile(0.5)));
+        sketch.add(0.0);
+        sketch.add(0.0);
+        sketch.add(10.0);
+        assertEquals(0.0, sketch.getQuantile(0.5), 0.0);
+        assertEquals(10.0, sketch.getQuantile(1.0), 0.1);
+    }
+}
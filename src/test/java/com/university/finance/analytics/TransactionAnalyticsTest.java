@@ -0,0 +1,118 @@
+package com.university.finance.analytics;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TransactionAnalyticsTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 10, 0);
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    
+    private final User user = new User("U001", "john", "pwd", "john@example.com");
+    private final List<Account> accounts = new ArrayList<>();
+    
+    @AfterClass
+    public static void shutdownPool() {
+        POOL.shutdown();
+    }
+    
+    private List<Transaction> history(int count) {
+        for (int i = 0; i < 20; i++) {
+            accounts.add(new Account("A" + i, "ACC-" + i, user, Account.AccountType.CHECKING, 0.0));
+        }
+        Transaction.TransactionType[] types = Transaction.TransactionType.values();
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account from = accounts.get(i % 20);
+            Account to = accounts.get((i * 7 + 3) % 20);
+            Transaction transaction = new Transaction("T" + i, types[i % types.length], 0.01 * (i % 1000),
+                from, to, "Test");
+            transaction.setTimestamp(BASE.plusMinutes(i));
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+    
+    // Teste que le parcours parallèle donne le même résultat qu'un parcours séquentiel
+    @Test
+    public void testSumByMatchesSequentialScan() {
+        List<Transaction> transactions = history(50_000);
+        TransactionAnalytics analytics = new TransactionAnalytics(POOL, 500);
+        
+        Map<LocalDate, Double> perDay = analytics.sumBy(transactions,
+            TransactionAnalytics.ofType(Transaction.TransactionType.VIREST), TransactionAnalytics.byDay());
+        
+        Map<LocalDate, Long> expected = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getType() == Transaction.TransactionType.VIREST) {
+                expected.merge(transaction.getTimestamp().toLocalDate(),
+                    Math.round(transaction.getAmount() * 100), Long::sum);
+            }
+        }
+        assertEquals(expected.size(), perDay.size());
+        for (Map.Entry<LocalDate, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue() / 100.0, perDay.get(entry.getKey()), 0.0);
+        }
+    }
+    
+    // Teste le comptage par clé, clés nulles ignorées
+    @Test
+    public void testCountByIgnoresNullKeys() {
+        List<Transaction> transactions = history(6_000);
+        transactions.get(0).setFromAccount(null);
+        TransactionAnalytics analytics = new TransactionAnalytics(POOL, 100);
+        
+        Map<String, Long> counts = analytics.countBy(transactions, t -> true, TransactionAnalytics.bySourceAccount());
+        
+        assertEquals(20, counts.size());
+        assertEquals(299L, (long) counts.get("ACC-0"));
+        assertEquals(300L, (long) counts.get("ACC-1"));
+        assertEquals(6_000L, (long) analytics.countBy(transactions, t -> true, TransactionAnalytics.byType())
+            .values().stream().mapToLong(Long::longValue).sum());
+    }
+    
+    // Teste le top-K par total décroissant
+    @Test
+    public void testTopK() {
+        Account a = new Account("A1", "ACC-1", user, Account.AccountType.CHECKING, 0.0);
+        Account b = new Account("A2", "ACC-2", user, Account.AccountType.CHECKING, 0.0);
+        Account c = new Account("A3", "ACC-3", user, Account.AccountType.CHECKING, 0.0);
+        List<Transaction> transactions = new LinkedList<>(); // collection sans accès direct
+        transactions.add(new Transaction("T1", Transaction.TransactionType.WITHDRAW, 50.0, a, "Retrait"));
+        transactions.add(new Transaction("T2", Transaction.TransactionType.WITHDRAW, 80.0, b, "Retrait"));
+        transactions.add(new Transaction("T3", Transaction.TransactionType.WITHDRAW, 40.0, a, "Retrait"));
+        transactions.add(new Transaction("T4", Transaction.TransactionType.WITHDRAW, 10.0, c, "Retrait"));
+        
+        Map<String, TransactionAnalytics.Group> top = new TransactionAnalytics(POOL)
+            .topK(transactions, t -> true, TransactionAnalytics.bySourceAccount(), 2);
+        
+        assertEquals(2, top.size());
+        Iterator<Map.Entry<String, TransactionAnalytics.Group>> it = top.entrySet().iterator();
+        Map.Entry<String, TransactionAnalytics.Group> first = it.next();
+        assertEquals("ACC-1", first.getKey());
+        assertEquals(90.0, first.getValue().getTotal(), 0.0);
+        assertEquals(2, first.getValue().getCount());
+        assertEquals(45.0, first.getValue().getAverage(), 0.0);
+        assertEquals("ACC-2", it.next().getKey());
+    }
+    
+    // Teste un historique vide
+    @Test
+    public void testEmptyHistory() {
+        assertTrue(new TransactionAnalytics(POOL).groupBy(new ArrayList<>(), t -> true,
+            TransactionAnalytics.byType()).isEmpty());
+    }
+}
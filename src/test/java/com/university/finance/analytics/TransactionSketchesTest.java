@@ -0,0 +1,68 @@
+package com.university.finance.analytics;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TransactionSketchesTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 10, 0);
+    
+    private final User user = new User("U001", "john", "pwd", "john@example.com");
+    
+    private Transaction deposit(int accountIndex, double amount, LocalDateTime timestamp) {
+        Account account = new Account("A" + accountIndex, "ACC-" + accountIndex, user,
+            Account.AccountType.CHECKING, 0.0);
+        Transaction transaction = new Transaction("T" + accountIndex, Transaction.TransactionType.DEPOSIT, amount,
+            account, "Dépôt");
+        transaction.setTimestamp(timestamp);
+        return transaction;
+    }
+    
+    // Teste les enregistrements concurrents, fusionnés à la lecture
+    @Test
+    public void testConcurrentRecordsAreMergedOnRead() throws InterruptedException {
+        TransactionSketches sketches = new TransactionSketches(4, 31);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int first = t * 2_500;
+            Thread thread = new Thread(() -> {
+                for (int i = first; i < first + 2_500; i++) {
+                    sketches.record(deposit(i, 1 + i % 100, BASE));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(10_000, sketches.getAmountSketch(Transaction.TransactionType.DEPOSIT).getCount());
+        assertEquals(50.0, sketches.getAmountQuantile(Transaction.TransactionType.DEPOSIT, 0.5), 1.0);
+        assertEquals(99.0, sketches.getAmountQuantile(Transaction.TransactionType.DEPOSIT, 0.99), 1.0);
+        assertTrue(Double.isNaN(sketches.getAmountQuantile(Transaction.TransactionType.WITHDRAW, 0.5)));
+        assertEquals(10_000, sketches.getDistinctActiveAccounts(BASE.toLocalDate()), 500);
+    }
+    
+    // Teste le comptage des comptes actifs par jour et l'oubli des jours anciens
+    @Test
+    public void testDistinctAccountsPerDay() {
+        TransactionSketches sketches = new TransactionSketches(1, 2);
+        sketches.record(deposit(1, 10.0, BASE));
+        sketches.record(deposit(1, 10.0, BASE));
+        sketches.record(deposit(2, 10.0, BASE));
+        sketches.record(deposit(3, 10.0, BASE.plusDays(1)));
+        
+        assertEquals(2, sketches.getDistinctActiveAccounts(BASE.toLocalDate()));
+        assertEquals(1, sketches.getDistinctActiveAccounts(BASE.plusDays(1).toLocalDate()));
+        
+        sketches.record(deposit(4, 10.0, BASE.plusDays(2)));
+        assertEquals(0, sketches.getDistinctActiveAccounts(BASE.toLocalDate()));
+    }
+}
@@ -0,0 +1,289 @@
+package com.university.finance.api;
+
+import com.university.finance.exception.BusinessException;
+import com.university.finance.limit.VelocityChecker;
+import com.university.finance.limit.VelocityLimits;
+import com.university.finance.model.Account;
+import com.university.finance.model.User;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.IdempotencyCache;
+import com.university.finance.service.TransactionService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BankingHttpApiTest {
+    
+    private BankingService bankingService;
+    private TransactionService transactionService;
+    private BankingHttpApi api;
+    private Account checking;
+    private Account savings;
+    
+    @Before
+    public void setUp() throws BusinessException, IOException {
+        bankingService = new BankingService();
+        transactionService = new TransactionService(new IdempotencyCache(),
+            new VelocityChecker(type -> new VelocityLimits(10_000, 1_000_000.0)));
+        User user = bankingService.registerUser("john", "pwd", "john@example.com");
+        checking = bankingService.createAccount(user.getId(), Account.AccountType.CHECKING, 1000.0);
+        savings = bankingService.createAccount(user.getId(), Account.AccountType.SAVINGS, 500.0);
+        api = new BankingHttpApi(bankingService, transactionService, 0);
+    }
+    
+    @After
+    public void tearDown() {
+        api.close();
+    }
+    
+    /** Code HTTP et corps d'une réponse. */
+    private static final class Reply {
+        private final int status;
+        private final String body;
+        private final HttpURLConnection connection;
+        
+        private Reply(int status, String body, HttpURLConnection connection) {
+            this.status = status;
+            this.body = body;
+            this.connection = connection;
+        }
+    }
+    
+    private Reply request(String method, String path, String form, String idempotencyKey) throws IOException {
+        return request(method, path, form, idempotencyKey, "john:pwd");
+    }
+    
+    private Reply request(String method, String path, String form, String idempotencyKey, String credentials)
+            throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+            new URL("http://127.0.0.1:" + api.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        if (credentials != null) {
+            connection.setRequestProperty("Authorization",
+                "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+        if (idempotencyKey != null) {
+            connection.setRequestProperty("Idempotency-Key", idempotencyKey);
+        }
+        if (form != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(form.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while (in != null && (n = in.read(buffer)) > 0) {
+            body.write(buffer, 0, n);
+        }
+        return new Reply(status, body.toString(StandardCharsets.UTF_8.name()), connection);
+    }
+    
+    private static String field(String json, String name) {
+        Matcher matcher = Pattern.compile("\"" + name + "\":(\"([^\"]*)\"|[^,}]+)").matcher(json);
+        assertTrue(name + " absent de " + json, matcher.find());
+        return matcher.group(2) != null ? matcher.group(2) : matcher.group(1);
+    }
+    
+    // Teste la consultation d'un compte par ID et par numéro
+    @Test
+    public void testGetAccount() throws IOException {
+        Reply byId = request("GET", "/api/accounts/" + checking.getId(), null, null);
+        assertEquals(200, byId.status);
+        assertEquals("application/json; charset=utf-8", byId.connection.getContentType());
+        assertEquals(checking.getAccountNumber(), field(byId.body, "accountNumber"));
+        assertEquals("1000.0", field(byId.body, "balance"));
+        
+        Reply byNumber = request("GET", "/api/accounts/" + savings.getAccountNumber(), null, null);
+        assertEquals(200, byNumber.status);
+        assertEquals(savings.getId(), field(byNumber.body, "id"));
+        
+        assertEquals(404, request("GET", "/api/accounts/INCONNU", null, null).status);
+    }
+    
+    // Teste un dépôt, un retrait et un retrait refusé
+    @Test
+    public void testDepositAndWithdraw() throws IOException {
+        Reply deposit = request("POST", "/api/accounts/" + checking.getId() + "/deposit", "amount=250", null);
+        assertEquals(201, deposit.status);
+        assertEquals("DEPOSIT", field(deposit.body, "type"));
+        assertEquals("COMPLETED", field(deposit.body, "status"));
+        
+        Reply withdraw = request("POST", "/api/accounts/" + checking.getId() + "/withdraw?amount=50", "", null);
+        assertEquals(201, withdraw.status);
+        assertEquals(1200.0, checking.getBalance(), 0.001);
+        
+        Reply refused = request("POST", "/api/accounts/" + checking.getId() + "/withdraw", "amount=5000", null);
+        assertEquals(409, refused.status);
+        assertEquals(1200.0, checking.getBalance(), 0.001);
+    }
+    
+    // Teste les erreurs de validation et de routage
+    @Test
+    public void testErrors() throws IOException {
+        Reply invalid = request("POST", "/api/accounts/" + checking.getId() + "/deposit", "amount=abc", null);
+        assertEquals(400, invalid.status);
+        assertEquals("amount", field(invalid.body, "field"));
+        
+        Reply missing = request("POST", "/api/transfers", "from=" + checking.getId() + "&amount=10", null);
+        assertEquals(400, missing.status);
+        assertEquals("to", field(missing.body, "field"));
+        
+        Reply wrongMethod = request("GET", "/api/accounts/" + checking.getId() + "/deposit", null, null);
+        assertEquals(405, wrongMethod.status);
+        assertEquals("POST", wrongMethod.connection.getHeaderField("Allow"));
+        
+        assertEquals(404, request("GET", "/api/inconnu", null, null).status);
+    }
+    
+    // Teste un transfert par numéros de compte
+    @Test
+    public void testTransfer() throws IOException {
+        Reply transfer = request("POST", "/api/transfers",
+            "from=" + checking.getAccountNumber() + "&to=" + savings.getAccountNumber() + "&amount=300", null);
+        assertEquals(201, transfer.status);
+        assertEquals(checking.getId(), field(transfer.body, "from"));
+        assertEquals(savings.getId(), field(transfer.body, "to"));
+        assertEquals(700.0, checking.getBalance(), 0.001);
+        assertEquals(800.0, savings.getBalance(), 0.001);
+    }
+    
+    // Teste le rejeu d'une requête avec la même clé d'idempotence
+    @Test
+    public void testIdempotencyKey() throws IOException {
+        String path = "/api/accounts/" + checking.getId() + "/withdraw";
+        Reply first = request("POST", path, "amount=100", "retrait-1");
+        Reply replay = request("POST", path, "amount=100", "retrait-1");
+        
+        assertEquals(201, replay.status);
+        assertEquals(field(first.body, "id"), field(replay.body, "id"));
+        assertEquals(900.0, checking.getBalance(), 0.001);
+    }
+    
+    // Teste la pagination de l'historique par curseur
+    @Test
+    public void testHistoryPaging() throws IOException {
+        for (int i = 1; i <= 3; i++) {
+            request("POST", "/api/accounts/" + checking.getId() + "/deposit", "amount=" + i, null);
+        }
+        String path = "/api/accounts/" + checking.getId() + "/transactions";
+        
+        Reply first = request("GET", path + "?limit=2", null, null);
+        assertEquals(200, first.status);
+        String next = field(first.body, "next");
+        assertNotEquals("null", next);
+        
+        Reply second = request("GET", path + "?limit=2&after=" + next, null, null);
+        assertTrue(second.body.contains("\"amount\":3.0"));
+        assertFalse(second.body.contains("\"amount\":1.0"));
+        assertEquals("null", field(second.body, "next"));
+        
+        assertEquals(400, request("GET", path + "?limit=100000", null, null).status);
+        assertEquals(404, request("GET", path + "?after=inconnu", null, null).status);
+    }
+    
+    // Teste des dépôts concurrents : aucun n'est perdu
+    @Test
+    public void testConcurrentDeposits() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                statuses.add(clients.submit(() ->
+                    request("POST", "/api/accounts/" + checking.getId() + "/deposit", "amount=1", null).status));
+            }
+            for (Future<Integer> status : statuses) {
+                assertEquals(Integer.valueOf(201), status.get());
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        assertEquals(1200.0, checking.getBalance(), 0.001);
+        assertEquals(200, transactionService.getHistorySize());
+    }
+    
+    // Teste le refus des requêtes sans identifiants ou avec un mot de passe erroné
+    @Test
+    public void testAuthenticationRequired() throws IOException {
+        Reply anonymous = request("GET", "/api/accounts/" + checking.getId(), null, null, null);
+        assertEquals(401, anonymous.status);
+        assertTrue(anonymous.connection.getHeaderField("WWW-Authenticate").startsWith("Basic"));
+        
+        Reply wrongPassword = request("POST", "/api/accounts/" + checking.getId() + "/withdraw", "amount=50", null,
+            "john:mauvais");
+        assertEquals(401, wrongPassword.status);
+        assertEquals(1000.0, checking.getBalance(), 0.001);
+        
+        // Le hash enregistré ne sert pas de mot de passe
+        String storedHash = checking.getOwner().getPasswordHash();
+        assertEquals(401, request("GET", "/api/accounts/" + checking.getId(), null, null, "john:" + storedHash).status);
+    }
+    
+    // Teste qu'un utilisateur ne peut pas débiter le compte d'un autre
+    @Test
+    public void testOwnershipRequired() throws Exception {
+        User other = bankingService.registerUser("jane", "secret", "jane@example.com");
+        Account foreign = bankingService.createAccount(other.getId(), Account.AccountType.CHECKING, 1000.0);
+        
+        assertEquals(403, request("POST", "/api/accounts/" + foreign.getId() + "/withdraw", "amount=50", null).status);
+        assertEquals(403, request("POST", "/api/transfers",
+            "from=" + foreign.getId() + "&to=" + checking.getId() + "&amount=50", null).status);
+        assertEquals(403, request("GET", "/api/accounts/" + foreign.getId(), null, null).status);
+        assertEquals(1000.0, foreign.getBalance(), 0.001);
+        
+        // Un transfert vers le compte d'un autre reste possible depuis son propre compte
+        assertEquals(201, request("POST", "/api/transfers",
+            "from=" + checking.getId() + "&to=" + foreign.getId() + "&amount=50", null).status);
+        assertEquals(201, request("POST", "/api/accounts/" + foreign.getId() + "/withdraw", "amount=50", null,
+            "jane:secret").status);
+    }
+    
+    // Teste l'écoute sur la seule interface locale par défaut
+    @Test
+    public void testBindsToLoopbackByDefault() {
+        assertTrue(api.getServer().getAddress().getAddress().isLoopbackAddress());
+    }
+    
+    // Teste le mode un thread virtuel par requête (JDK 21 et plus)
+    @Test
+    public void testVirtualThreadMode() throws Exception {
+        Assume.assumeTrue(BankingHttpApi.isVirtualThreadSupported());
+        api.close();
+        api = new BankingHttpApi(bankingService, transactionService, 0, BankingHttpApi.ExecutionMode.VIRTUAL);
+        
+        testConcurrentDeposits();
+    }
+    
+    // Teste le refus du mode virtuel sur un JDK qui ne le fournit pas
+    @Test
+    public void testVirtualThreadModeUnsupported() {
+        Assume.assumeFalse(BankingHttpApi.isVirtualThreadSupported());
+        try {
+            BankingHttpApi.virtualThreadExecutor();
+            fail("UnsupportedOperationException attendue");
+        } catch (UnsupportedOperationException e) {
+            assertTrue(e.getMessage().contains(System.getProperty("java.version")));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Transaction;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class AuditChainVerifierTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private static AuditRecord record(int i) {
+        return new AuditRecord(1700000000000L + i, "T" + i, Transaction.TransactionType.WITHDRAW, 20.0 + i,
+            "ACC-" + (i % 7), null, AuditRecord.Status.COMPLETED, "Retrait", null);
+    }
+    
+    private RollingAuditFileWriter writer(Path dir) throws Exception {
+        return new RollingAuditFileWriter(dir, "audit", AuditFormat.CHAINED, Long.MAX_VALUE, Long.MAX_VALUE,
+            1024, 64, 100, System::currentTimeMillis);
+    }
+    
+    // Teste la vérification d'un fichier intègre découpé en segments
+    @Test
+    public void testVerifyValidChain() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        RollingAuditFileWriter writer = writer(dir);
+        for (int i = 0; i < 1050; i++) {
+            writer.append(record(i));
+        }
+        writer.flush();
+        byte[] head = writer.getHeadHash();
+        writer.close();
+        
+        AuditChainVerifier.Result result = AuditChainVerifier.verify(writer.getFiles().get(0));
+        
+        assertTrue(result.isValid());
+        assertEquals(1050, result.getRecordCount());
+        assertEquals(12, result.getSegmentCount()); // 11 segments scellés + segment final vide
+        assertArrayEquals(head, result.getHeadHash());
+    }
+    
+    // Teste la détection d'un enregistrement modifié
+    @Test
+    public void testDetectTampering() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        RollingAuditFileWriter writer = writer(dir);
+        for (int i = 0; i < 500; i++) {
+            writer.append(record(i));
+        }
+        writer.close();
+        Path file = writer.getFiles().get(0);
+        
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            // En-tête (40 octets) puis longueur (4 octets) et horodatage du premier enregistrement
+            raf.seek(40 + 4 + 7);
+            int b = raf.read();
+            raf.seek(40 + 4 + 7);
+            raf.write(b ^ 0x01);
+        }
+        
+        AuditChainVerifier.Result result = AuditChainVerifier.verify(file);
+        assertFalse(result.isValid());
+        assertEquals(0, result.getFirstInvalidSegment());
+    }
+    
+    // Teste le rattachement de la chaîne d'un fichier à l'autre, y compris après redémarrage
+    @Test
+    public void testChainAcrossFiles() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        RollingAuditFileWriter first = writer(dir);
+        for (int i = 0; i < 10; i++) {
+            first.append(record(i));
+        }
+        first.close();
+        
+        RollingAuditFileWriter second = writer(dir);
+        second.append(record(10));
+        second.close();
+        
+        List<Path> files = second.getFiles();
+        assertEquals(2, files.size());
+        assertTrue(AuditChainVerifier.verifyAll(files));
+        assertArrayEquals(AuditChainVerifier.verify(files.get(0)).getHeadHash(),
+            AuditChainVerifier.verify(files.get(1)).getPreviousHash());
+    }
+}
@@ -0,0 +1,76 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Transaction;
+import org.junit.Test;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class AuditIndexTest {
+    
+    private static AuditRecord transfer(String id, long timestamp, String from, String to) {
+        return new AuditRecord(timestamp, id, Transaction.TransactionType.TRANSFER, 100.0,
+            from, to, AuditRecord.Status.COMPLETED, null, null);
+    }
+    
+    // Teste la recherche exacte par compte (pas de faux positif sur un préfixe)
+    @Test
+    public void testFindByAccountExactMatch() {
+        AuditIndex index = new AuditIndex(100);
+        index.add(transfer("T1", 1000, "ACC-1", "ACC-2"));
+        index.add(transfer("T2", 2000, "ACC-12", "ACC-3"));
+        index.add(transfer("T3", 3000, "ACC-3", "ACC-1"));
+        
+        List<AuditRecord> records = index.findByAccount("ACC-1");
+        
+        assertEquals(2, records.size());
+        assertEquals("T1", records.get(0).getTransactionId());
+        assertEquals("T3", records.get(1).getTransactionId());
+        assertTrue(index.findByAccount("ACC-9").isEmpty());
+    }
+    
+    // Teste la recherche par période, bornes incluses
+    @Test
+    public void testFindByTimeRange() {
+        AuditIndex index = new AuditIndex(100, 1000);
+        for (int i = 0; i < 10; i++) {
+            index.add(transfer("T" + i, i * 500L, "ACC-1", "ACC-2"));
+        }
+        
+        List<AuditRecord> records = index.findByTimeRange(1000, 2500);
+        
+        assertEquals(4, records.size());
+        assertEquals("T2", records.get(0).getTransactionId());
+        assertEquals("T5", records.get(3).getTransactionId());
+    }
+    
+    // Teste la recherche combinée compte + période, avec des horodatages arrivés dans le désordre
+    @Test
+    public void testFindByAccountAndTimeRange() {
+        AuditIndex index = new AuditIndex(100, 1000);
+        index.add(transfer("T1", 5000, "ACC-1", "ACC-2"));
+        index.add(transfer("T2", 1000, "ACC-1", "ACC-3"));
+        index.add(transfer("T3", 2000, "ACC-2", "ACC-3"));
+        index.add(transfer("T4", 3000, "ACC-3", "ACC-1"));
+        
+        List<AuditRecord> records = index.findByAccountAndTimeRange("ACC-1", 0, 4000);
+        
+        assertEquals(2, records.size());
+        assertEquals("T2", records.get(0).getTransactionId());
+        assertEquals("T4", records.get(1).getTransactionId());
+    }
+    
+    // Teste l'éviction des plus anciens enregistrements et de leurs entrées d'index
+    @Test
+    public void testEviction() {
+        AuditIndex index = new AuditIndex(3, 1000);
+        for (int i = 0; i < 10; i++) {
+            index.add(transfer("T" + i, i * 1000L, "ACC-" + i, "ACC-X"));
+        }
+        
+        assertEquals(3, index.size());
+        assertEquals("T7", index.getAll().get(0).getTransactionId());
+        assertTrue(index.findByAccount("ACC-0").isEmpty());
+        assertEquals(3, index.findByAccount("ACC-X").size());
+        assertEquals(1, index.findByTimeRange(0, 7000).size());
+    }
+}
@@ -0,0 +1,45 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import static org.junit.Assert.*;
+
+public class AuditRecordTest {
+    
+    // Teste la création d'un enregistrement à partir d'une transaction
+    @Test
+    public void testOf() {
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        Transaction transaction = new Transaction("T001", Transaction.TransactionType.WITHDRAW, 500.0, account, "Retrait");
+        
+        AuditRecord record = AuditRecord.of(transaction, AuditRecord.Status.FAILED, new Exception("Solde insuffisant"));
+        
+        assertEquals("T001", record.getTransactionId());
+        assertEquals("ACC-12345", record.getFromAccountNumber());
+        assertTrue(record.involves("ACC-12345"));
+        assertFalse(record.involves("ACC-1234"));
+        assertTrue(record.format().contains("Status: FAILED"));
+        assertTrue(record.format().endsWith(" - Error: Solde insuffisant"));
+    }
+    
+    // Teste l'aller-retour au format binaire
+    @Test
+    public void testBinaryRoundTrip() throws Exception {
+        AuditRecord record = new AuditRecord(1700000000000L, "T042", Transaction.TransactionType.TRANSFER, 250.5,
+            "ACC-1", "ACC-2", AuditRecord.Status.COMPLETED, null, null);
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        record.writeTo(new DataOutputStream(bytes));
+        AuditRecord read = AuditRecord.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        
+        assertEquals(record, read);
+        assertNull(read.getDescription());
+    }
+}
@@ -0,0 +1,117 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Transaction;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.Assert.*;
+
+public class RollingAuditFileWriterTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private static AuditRecord record(int i) {
+        return new AuditRecord(1700000000000L + i, "T" + i, Transaction.TransactionType.DEPOSIT, 100.0 + i,
+            null, "ACC-" + i, AuditRecord.Status.COMPLETED, "Dépôt", null);
+    }
+    
+    // Teste l'écriture puis la relecture d'un journal binaire
+    @Test
+    public void testBinaryWriteAndRead() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        RollingAuditFileWriter writer = new RollingAuditFileWriter(dir, "audit", AuditFormat.BINARY);
+        for (int i = 0; i < 500; i++) {
+            writer.append(record(i));
+        }
+        writer.flush();
+        writer.close();
+        
+        List<AuditRecord> records = AuditFileReader.readAll(writer.getFiles());
+        assertEquals(500, records.size());
+        assertEquals(record(0), records.get(0));
+        assertEquals(record(499), records.get(499));
+    }
+    
+    // Teste la rotation par taille de fichier
+    @Test
+    public void testSizeRotation() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        RollingAuditFileWriter writer = new RollingAuditFileWriter(dir, "audit", AuditFormat.TEXT, 1024, 60_000);
+        for (int i = 0; i < 100; i++) {
+            writer.append(record(i));
+        }
+        writer.close();
+        
+        List<Path> files = writer.getFiles();
+        assertTrue(files.size() > 1);
+        int lines = 0;
+        for (Path file : files) {
+            lines += Files.readAllLines(file, StandardCharsets.UTF_8).size();
+        }
+        assertEquals(100, lines);
+    }
+    
+    // Teste la rotation par âge de fichier
+    @Test
+    public void testTimeRotation() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        AtomicLong clock = new AtomicLong(0);
+        RollingAuditFileWriter writer = new RollingAuditFileWriter(dir, "audit", AuditFormat.BINARY,
+            Long.MAX_VALUE, 1000, 16, 8, 100, clock::get);
+        writer.append(record(1));
+        writer.flush();
+        clock.set(5000); // Le fichier courant a dépassé son âge maximal
+        writer.append(record(2));
+        writer.close();
+        
+        List<Path> files = writer.getFiles();
+        assertEquals(2, files.size());
+        assertEquals(record(2), AuditFileReader.read(files.get(1)).get(0));
+    }
+    
+    // Teste que la numérotation reprend après les fichiers existants
+    @Test
+    public void testNumberingContinues() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        RollingAuditFileWriter first = new RollingAuditFileWriter(dir, "audit", AuditFormat.TEXT);
+        first.append(record(1));
+        first.close();
+        
+        RollingAuditFileWriter second = new RollingAuditFileWriter(dir, "audit", AuditFormat.TEXT);
+        second.append(record(2));
+        second.close();
+        
+        List<Path> files = second.getFiles();
+        assertEquals(2, files.size());
+        assertTrue(files.get(1).getFileName().toString().endsWith("-000002.log"));
+    }
+    
+    // Teste la recherche dans l'archive : les index des fichiers fermés écartent les fichiers inutiles
+    @Test
+    public void testArchiveSearch() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        RollingAuditFileWriter writer = new RollingAuditFileWriter(dir, "audit", AuditFormat.CHAINED, 1024, 60_000);
+        for (int i = 0; i < 100; i++) {
+            writer.append(record(i));
+        }
+        writer.flush();
+        
+        List<Path> files = writer.getFiles();
+        assertTrue(files.size() > 1);
+        assertTrue(Files.exists(AuditFileIndex.pathOf(files.get(0))));
+        assertFalse(AuditFileIndex.read(files.get(0)).mayContain("ACC-99", Long.MIN_VALUE, Long.MAX_VALUE));
+        assertTrue(writer.isSearchable());
+        assertEquals(Collections.singletonList(record(7)), writer.find("ACC-7", Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(Collections.singletonList(record(99)), writer.find("ACC-99", Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(10, writer.find(null, 1700000000010L, 1700000000019L).size());
+        assertEquals(100, AuditFileReader.readAll(files).size());
+        writer.close();
+    }
+}
@@ -0,0 +1,156 @@
+package com.university.finance.event;
+
+import com.university.finance.exception.BusinessException;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.service.TransactionService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TransactionEventLogTest {
+    
+    private Transaction deposit(String id, double amount) {
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        return new Transaction(id, Transaction.TransactionType.DEPOSIT, amount, account, "Dépôt");
+    }
+    
+    // Teste l'attribution d'offsets croissants et la lecture à partir d'un offset
+    @Test
+    public void testAppendAndRead() {
+        TransactionEventLog log = new TransactionEventLog(10);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, log.append(deposit("T00" + i, 100.0), TransactionEvent.Status.COMPLETED, null).getOffset());
+        }
+        
+        List<TransactionEvent> events = log.read(2, 10);
+        assertEquals(3, events.size());
+        assertEquals("T002", events.get(0).getTransactionId());
+        assertEquals(4, events.get(2).getOffset());
+        assertTrue(log.read(5, 10).isEmpty());
+        assertEquals(5, log.getEndOffset());
+    }
+    
+    // Teste que les événements les plus anciens sont écrasés quand le journal est plein
+    @Test
+    public void testOldestEventsAreOverwritten() {
+        TransactionEventLog log = new TransactionEventLog(3);
+        EventConsumer consumer = log.subscribe("lent");
+        for (int i = 0; i < 5; i++) {
+            log.onTransactionCompleted(deposit("T00" + i, 100.0));
+        }
+        
+        assertEquals(2, log.getStartOffset());
+        assertEquals(3, log.size());
+        assertEquals(3, consumer.getLag());
+        
+        List<TransactionEvent> events = consumer.poll(10);
+        assertEquals("T002", events.get(0).getTransactionId());
+        assertEquals(2, consumer.getSkippedCount());
+        assertEquals(5, consumer.getPosition());
+    }
+    
+    // Teste la reprise d'un groupe à son offset validé et la relecture
+    @Test
+    public void testCommitAndReplay() {
+        TransactionEventLog log = new TransactionEventLog(10);
+        for (int i = 0; i < 4; i++) {
+            log.onTransactionCompleted(deposit("T00" + i, 100.0));
+        }
+        
+        EventConsumer consumer = log.subscribe("analyses");
+        assertEquals(2, consumer.poll(2).size());
+        consumer.commit();
+        assertEquals(2, log.getCommittedOffset("analyses"));
+        assertEquals(-1, log.getCommittedOffset("inconnu"));
+        
+        EventConsumer resumed = log.subscribe("analyses");
+        assertEquals("T002", resumed.poll(10).get(0).getTransactionId());
+        
+        resumed.seek(0);
+        assertEquals(4, resumed.poll(10).size());
+    }
+    
+    // Teste l'attente d'un événement publié par un autre thread
+    @Test
+    public void testPollWaitsForNewEvents() throws InterruptedException {
+        TransactionEventLog log = new TransactionEventLog(10);
+        EventConsumer consumer = log.subscribe("notifications");
+        
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            log.onTransactionFailed(deposit("T001", 100.0), new Exception("Refusé"));
+        });
+        producer.start();
+        
+        List<TransactionEvent> events = consumer.poll(10, 5_000);
+        producer.join();
+        assertEquals(1, events.size());
+        assertEquals(TransactionEvent.Status.FAILED, events.get(0).getStatus());
+        assertEquals("Refusé", events.get(0).getError());
+        assertTrue(consumer.poll(10, 10).isEmpty());
+    }
+    
+    // Teste la publication des transactions postées par le TransactionService
+    @Test
+    public void testPublishedByTransactionService() throws BusinessException {
+        TransactionService service = new TransactionService();
+        TransactionEventLog log = new TransactionEventLog();
+        service.addObserver(log);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account from = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        Account to = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        
+        service.deposit(from, 100.0);
+        Transaction transfer = service.transfer(from, to, 50.0);
+        
+        List<TransactionEvent> events = log.read(0, 10);
+        assertEquals(2, events.size());
+        assertEquals(transfer.getId(), events.get(1).getTransactionId());
+        assertTrue(events.get(1).involves("ACC-67890"));
+    }
+    
+    // Teste que les offsets suivent l'ordre de validation quand plusieurs threads postent
+    @Test
+    public void testOffsetsFollowCommitOrder() throws Exception {
+        TransactionService service = new TransactionService();
+        TransactionEventLog log = new TransactionEventLog();
+        service.setEventLog(log);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account from = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 100_000.0);
+        Account to = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Transaction>> posted = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                posted.add(threads.submit(() -> service.transfer(from, to, 1.0)));
+            }
+            for (Future<Transaction> transaction : posted) {
+                transaction.get();
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+        Transaction reversed = service.reverseTransaction(service.getAllTransactions().get(0).getId());
+        
+        List<Transaction> history = service.getAllTransactions();
+        List<TransactionEvent> events = log.read(0, 1000);
+        assertEquals(history.size(), events.size());
+        for (int i = 0; i < history.size(); i++) {
+            assertEquals(i, events.get(i).getOffset());
+            assertEquals(history.get(i).getId(), events.get(i).getTransactionId());
+        }
+        assertEquals(reversed.getId(), events.get(events.size() - 1).getTransactionId());
+    }
+}
@@ -0,0 +1,17 @@
+package com.university.finance.exception;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TransactionNotFoundExceptionTest {
+    
+    // Teste TransactionNotFoundException avec un ID de transaction
+    @Test
+    public void testTransactionNotFoundException() {
+        TransactionNotFoundException exception = new TransactionNotFoundException("T001");
+        
+        assertEquals("T001", exception.getTransactionId());
+        assertEquals("TRANSACTION_NOT_FOUND", exception.getErrorCode());
+        assertTrue(exception.getMessage().contains("T001"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.university.finance.limit;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.User;
+import com.university.finance.exception.ValidationException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class VelocityCheckerTest {
+    
+    private Account newAccount() {
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        return new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+    }
+    
+    // Teste la limitation du nombre de transactions par minute et le remplissage du seau
+    @Test
+    public void testTransactionsPerMinute() {
+        AtomicLong now = new AtomicLong(1_000_000L);
+        VelocityChecker checker = new VelocityChecker(type -> new VelocityLimits(2, 1000.0), now::get);
+        Account account = newAccount();
+        
+        checker.record(account, 10.0);
+        checker.record(account, 10.0);
+        assertFalse(checker.isAllowed(account, 10.0));
+        
+        now.addAndGet(30_000L); // 30 secondes : un jeton de plus
+        assertTrue(checker.isAllowed(account, 10.0));
+    }
+    
+    // Teste le plafond journalier et sa remise à zéro le lendemain
+    @Test
+    public void testDailyAmount() {
+        AtomicLong now = new AtomicLong(1_000_000L);
+        VelocityChecker checker = new VelocityChecker(type -> new VelocityLimits(100, 500.0), now::get);
+        Account account = newAccount();
+        
+        checker.record(account, 400.0);
+        assertEquals(400.0, checker.getDailyAmount(account), 0.01);
+        assertTrue(checker.isAllowed(account, 100.0));
+        assertFalse(checker.isAllowed(account, 100.01));
+        
+        now.addAndGet(86_400_000L);
+        assertTrue(checker.isAllowed(account, 500.0));
+    }
+    
+    // Teste que check lève une ValidationException quand la limite est dépassée
+    @Test(expected = ValidationException.class)
+    public void testCheckThrows() throws ValidationException {
+        VelocityChecker checker = new VelocityChecker(type -> new VelocityLimits(1, 100.0));
+        checker.check(newAccount(), 150.0);
+    }
+    
+    // Teste que le contrôleur désactivé autorise tout
+    @Test
+    public void testDisabled() {
+        VelocityChecker checker = VelocityChecker.disabled();
+        Account account = newAccount();
+        checker.record(account, 1_000_000.0);
+        
+        assertTrue(checker.isAllowed(account, 1_000_000.0));
+    }
+    
+    // Teste des enregistrements concurrents sur un même compte : aucun n'est perdu
+    @Test
+    public void testConcurrentRecords() throws InterruptedException {
+        AtomicLong now = new AtomicLong(1_000_000L);
+        VelocityChecker checker = new VelocityChecker(type -> new VelocityLimits(100_000, 1_000_000.0), now::get);
+        Account account = newAccount();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    checker.record(account, 1.0);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(8000.0, checker.getDailyAmount(account), 0.01);
+    }
+}
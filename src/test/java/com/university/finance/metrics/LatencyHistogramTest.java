@@ -0,0 +1,73 @@
+package com.university.finance.metrics;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+    
+    // Teste les centiles à la précision des casiers
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000); // de 1 µs à 10 ms
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(10_000_000, snapshot.getMaxNanos());
+        assertEquals(5_000_500.0, snapshot.getMeanNanos(), 1.0);
+        assertEquals(5_000_000, snapshot.getValueAtPercentile(50), 5_000_000 / 64.0);
+        assertEquals(9_900_000, snapshot.getValueAtPercentile(99), 9_900_000 / 64.0);
+        assertEquals(10_000_000, snapshot.getValueAtPercentile(100));
+    }
+    
+    // Teste les petites valeurs (exactes) et les bornes
+    @Test
+    public void testSmallAndOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(3);
+        histogram.record(100);
+        histogram.record(Long.MAX_VALUE);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        
+        assertEquals(4, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtPercentile(25));
+        assertEquals(3, snapshot.getValueAtPercentile(50));
+        assertEquals(100, snapshot.getValueAtPercentile(75));
+        assertEquals(LatencyHistogram.MAX_VALUE, snapshot.getMaxNanos());
+        assertEquals(2, snapshot.getCountAtOrBelow(3));
+        assertEquals(3, snapshot.getCountAtOrBelow(1_000));
+        assertEquals(0, snapshot.getCountAtOrBelow(-1));
+    }
+    
+    // Teste un histogramme vide
+    @Test
+    public void testEmpty() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+        assertEquals(0.0, snapshot.getMeanNanos(), 0.0);
+    }
+    
+    // Teste les enregistrements concurrents
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100_000, histogram.snapshot().getCount());
+        assertEquals(24_999, histogram.snapshot().getMaxNanos());
+    }
+}
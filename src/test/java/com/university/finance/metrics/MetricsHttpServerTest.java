@@ -0,0 +1,105 @@
+package com.university.finance.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MetricsHttpServerTest {
+    
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toString(StandardCharsets.UTF_8.name());
+    }
+    
+    // Teste la lecture de /metrics par HTTP
+    @Test
+    public void testScrapeOverHttp() throws IOException {
+        try (MetricsHttpServer server = new MetricsHttpServer(0)) {
+            server.addCollector(writer -> {
+                writer.family("finance_users", "gauge", "Nombre d'utilisateurs");
+                writer.sample("finance_users", 2);
+            });
+            
+            HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getPort() + "/metrics").openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertEquals(PrometheusWriter.CONTENT_TYPE, connection.getContentType());
+            String body = read(connection.getInputStream());
+            assertTrue(body.contains("finance_users 2\n"));
+            assertTrue(body.contains("jvm_threads_current "));
+        }
+    }
+    
+    // Teste que le serveur n'écoute que sur l'interface locale par défaut, ou sur l'adresse fournie
+    @Test
+    public void testBindAddress() throws IOException {
+        try (MetricsHttpServer server = new MetricsHttpServer(0)) {
+            assertTrue(server.getAddress().getAddress().isLoopbackAddress());
+        }
+        InetAddress loopback = InetAddress.getByName("127.0.0.1");
+        try (MetricsHttpServer server = new MetricsHttpServer(new InetSocketAddress(loopback, 0))) {
+            assertEquals(loopback, server.getAddress().getAddress());
+            HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getPort() + "/metrics").openConnection();
+            assertEquals(200, connection.getResponseCode());
+        }
+    }
+    
+    // Teste le refus des méthodes autres que GET
+    @Test
+    public void testPostIsRejected() throws IOException {
+        try (MetricsHttpServer server = new MetricsHttpServer(0)) {
+            HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getPort() + "/metrics").openConnection();
+            connection.setRequestMethod("POST");
+            assertEquals(405, connection.getResponseCode());
+        }
+    }
+    
+    // Teste une erreur de collecte
+    @Test
+    public void testCollectorFailureReturns500() throws IOException {
+        try (MetricsHttpServer server = new MetricsHttpServer(0)) {
+            server.addCollector(writer -> {
+                throw new IllegalStateException("panne");
+            });
+            HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getPort() + "/metrics").openConnection();
+            assertEquals(500, connection.getResponseCode());
+        }
+    }
+    
+    // Teste le montage de /metrics sur un serveur partagé
+    @Test
+    public void testMountOnSharedServer() throws IOException {
+        HttpServer shared = HttpServer.create(new InetSocketAddress(0), 0);
+        shared.start();
+        try {
+            MetricsHttpServer metrics = new MetricsHttpServer(shared);
+            assertEquals(shared.getAddress().getPort(), metrics.getPort());
+            HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + metrics.getPort() + "/metrics").openConnection();
+            assertEquals(200, connection.getResponseCode());
+            
+            metrics.close();
+            connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + metrics.getPort() + "/metrics").openConnection();
+            assertEquals(404, connection.getResponseCode());
+        } finally {
+            shared.stop(0);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.university.finance.metrics;
+
+import com.university.finance.model.Transaction;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PrometheusWriterTest {
+    
+    // Teste le format d'une famille et l'échappement des étiquettes
+    @Test
+    public void testFamilyAndSamples() {
+        StringBuilder text = new StringBuilder();
+        PrometheusWriter writer = new PrometheusWriter(text);
+        writer.family("finance_accounts", "gauge", "Nombre de comptes");
+        writer.sample("finance_accounts", 3);
+        writer.sample("finance_queue", 1.5, "queue", "a\"b\\c");
+        
+        assertEquals("# HELP finance_accounts Nombre de comptes\n"
+            + "# TYPE finance_accounts gauge\n"
+            + "finance_accounts 3\n"
+            + "finance_queue{queue=\"a\\\"b\\\\c\"} 1.5\n", text.toString());
+    }
+    
+    // Teste un histogramme : casiers cumulés, somme et nombre
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(50_000);      // 50 µs
+        histogram.record(2_000_000);   // 2 ms
+        histogram.record(20_000_000);  // 20 ms
+        StringBuilder text = new StringBuilder();
+        new PrometheusWriter(text).histogram("latency_seconds", histogram.snapshot(), "type", "DEPOSIT");
+        String output = text.toString();
+        
+        assertTrue(output.contains("latency_seconds_bucket{type=\"DEPOSIT\",le=\"1.0E-4\"} 1\n"));
+        assertTrue(output.contains("latency_seconds_bucket{type=\"DEPOSIT\",le=\"0.0025\"} 2\n"));
+        assertTrue(output.contains("latency_seconds_bucket{type=\"DEPOSIT\",le=\"+Inf\"} 3\n"));
+        assertTrue(output.contains("latency_seconds_count{type=\"DEPOSIT\"} 3\n"));
+        assertTrue(output.contains("latency_seconds_sum{type=\"DEPOSIT\"} 0.02205\n"));
+    }
+    
+    // Teste l'export des mesures du service et de la JVM
+    @Test
+    public void testTransactionsAndJvm() {
+        TransactionMetrics metrics = new TransactionMetrics();
+        metrics.record(Transaction.TransactionType.VIRIN, TransactionMetrics.Outcome.SUCCESS, 1_000);
+        StringBuilder text = new StringBuilder();
+        PrometheusWriter writer = new PrometheusWriter(text);
+        writer.transactions(metrics.snapshot());
+        writer.jvm();
+        String output = text.toString();
+        
+        assertTrue(output.contains("finance_transactions_total{type=\"VIRIN\",outcome=\"SUCCESS\"} 1\n"));
+        assertFalse(output.contains("type=\"DEPOSIT\""));
+        assertTrue(output.contains("# TYPE finance_transaction_duration_seconds histogram\n"));
+        assertTrue(output.contains("jvm_memory_bytes_used{area=\"heap\"} "));
+        assertTrue(output.contains("jvm_gc_collection_seconds_count{gc=\""));
+    }
+}
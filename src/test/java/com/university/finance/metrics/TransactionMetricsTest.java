@@ -0,0 +1,45 @@
+package com.university.finance.metrics;
+
+import com.university.finance.exception.BusinessException;
+import com.university.finance.exception.InsufficientFundsException;
+import com.university.finance.exception.ValidationException;
+import com.university.finance.model.Transaction;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TransactionMetricsTest {
+    
+    // Teste la classification des issues selon l'exception
+    @Test
+    public void testOutcomeOf() {
+        assertEquals(TransactionMetrics.Outcome.SUCCESS, TransactionMetrics.Outcome.of(null));
+        assertEquals(TransactionMetrics.Outcome.VALIDATION_FAILURE,
+            TransactionMetrics.Outcome.of(new ValidationException("Montant invalide", "amount")));
+        assertEquals(TransactionMetrics.Outcome.INSUFFICIENT_FUNDS,
+            TransactionMetrics.Outcome.of(new InsufficientFundsException("A001", 10.0, 20.0)));
+        assertEquals(TransactionMetrics.Outcome.ERROR,
+            TransactionMetrics.Outcome.of(new BusinessException("Erreur")));
+    }
+    
+    // Teste l'instantané par type et par issue
+    @Test
+    public void testSnapshot() {
+        TransactionMetrics metrics = new TransactionMetrics();
+        metrics.record(Transaction.TransactionType.DEPOSIT, TransactionMetrics.Outcome.SUCCESS, 1_000);
+        metrics.record(Transaction.TransactionType.DEPOSIT, TransactionMetrics.Outcome.SUCCESS, 3_000);
+        metrics.record(Transaction.TransactionType.VIREST, TransactionMetrics.Outcome.SUCCESS, 2_000);
+        metrics.record(Transaction.TransactionType.WITHDRAW, TransactionMetrics.Outcome.INSUFFICIENT_FUNDS, 500);
+        metrics.recordDispatch(700);
+        
+        TransactionMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getCount(Transaction.TransactionType.DEPOSIT, TransactionMetrics.Outcome.SUCCESS));
+        assertEquals(3_000, snapshot.getLatency(Transaction.TransactionType.DEPOSIT,
+            TransactionMetrics.Outcome.SUCCESS).getMaxNanos());
+        assertEquals(3, snapshot.getCount(TransactionMetrics.Outcome.SUCCESS));
+        assertEquals(1, snapshot.getCount(TransactionMetrics.Outcome.INSUFFICIENT_FUNDS));
+        assertEquals(0, snapshot.getCount(TransactionMetrics.Outcome.VALIDATION_FAILURE));
+        assertEquals(1, snapshot.getDispatch().getCount());
+        assertTrue(snapshot.getUptimeNanos() > 0);
+        assertTrue(snapshot.getThroughputPerSecond() > 0);
+    }
+}
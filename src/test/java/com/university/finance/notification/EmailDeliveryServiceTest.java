@@ -0,0 +1,156 @@
+package com.university.finance.notification;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class EmailDeliveryServiceTest {
+    
+    // Teste le regroupement des notifications d'un même destinataire en un seul email
+    @Test
+    public void testCoalescing() {
+        List<EmailMessage> sent = Collections.synchronizedList(new ArrayList<>());
+        EmailDeliveryService delivery = new EmailDeliveryService(sent::addAll, 60_000, 10, 100, 1, 0);
+        
+        delivery.submit("john@example.com", "Dépôt de 100");
+        delivery.submit("jane@example.com", "Retrait de 50");
+        delivery.submit("john@example.com", "Retrait de 20");
+        delivery.flush();
+        delivery.close();
+        
+        assertEquals(2, sent.size());
+        assertEquals("john@example.com", sent.get(0).getRecipient());
+        assertEquals("Dépôt de 100\nRetrait de 20", sent.get(0).getBody());
+        assertEquals(2, delivery.getSentCount());
+    }
+    
+    // Teste l'envoi automatique à la fin de la fenêtre de regroupement
+    @Test
+    public void testWindowExpiry() throws Exception {
+        CountDownLatch delivered = new CountDownLatch(1);
+        EmailDeliveryService delivery = new EmailDeliveryService(messages -> delivered.countDown(), 50, 10, 100, 1, 0);
+        
+        delivery.submit("john@example.com", "Dépôt de 100");
+        
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        delivery.close();
+    }
+    
+    // Teste les nouvelles tentatives après un échec du transport SMTP
+    @Test
+    public void testRetryWithBackoff() throws Exception {
+        try (SmtpStubServer server = new SmtpStubServer()) {
+            server.rejectNextConnections(2);
+            SmtpEmailTransport transport = new SmtpEmailTransport("127.0.0.1", server.getPort(), "noreply@finance.local", 5000);
+            EmailDeliveryService delivery = new EmailDeliveryService(transport, 0, 10, 100, 5, 10);
+            
+            delivery.submit("john@example.com", "Dépôt de 100");
+            delivery.flush();
+            delivery.close();
+            
+            assertEquals(1, delivery.getSentCount());
+            assertEquals(0, delivery.getFailedCount());
+            assertEquals(1, server.getMessages().size());
+        }
+    }
+    
+    // Teste que le dépôt ne bloque jamais, même si le transport est bloqué
+    @Test
+    public void testSubmitNeverBlocks() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        EmailDeliveryService delivery = new EmailDeliveryService(messages -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 0, 1, 2, 1, 0);
+        
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (delivery.submit("user" + i + "@example.com", "Notification")) {
+                accepted++;
+            }
+        }
+        
+        assertTrue(accepted < 100);
+        assertEquals(100 - accepted, delivery.getDroppedCount());
+        release.countDown();
+        delivery.close();
+    }
+    
+    // Teste qu'un refus définitif (5xx) n'est pas réessayé et n'empêche pas l'envoi des autres emails du lot
+    @Test
+    public void testPermanentFailureIsNotRetried() throws Exception {
+        try (SmtpStubServer server = new SmtpStubServer()) {
+            server.rejectRecipient("bad@example.com", "550 Boîte inconnue");
+            SmtpEmailTransport transport = new SmtpEmailTransport("127.0.0.1", server.getPort(), "noreply@finance.local", 5000);
+            EmailDeliveryService delivery = new EmailDeliveryService(transport, 0, 10, 100, 5, 10);
+            
+            delivery.submit("bad@example.com", "Dépôt de 100");
+            delivery.submit("john@example.com", "Dépôt de 100");
+            delivery.flush();
+            delivery.close();
+            
+            assertEquals(1, delivery.getSentCount());
+            assertEquals(1, delivery.getFailedCount());
+            assertEquals(Collections.singletonList("john@example.com"), server.getRecipients());
+            assertEquals(1, Collections.frequency(server.getAttempts(), "bad@example.com"));
+        }
+    }
+    
+    // Teste que seuls les messages en échec temporaire sont présentés à nouveau
+    @Test
+    public void testOnlyFailedMessagesAreRetried() {
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        EmailTransport transport = new EmailTransport() {
+            @Override
+            public void send(List<EmailMessage> messages) {
+                throw new UnsupportedOperationException();
+            }
+            
+            @Override
+            public List<Outcome> deliver(List<EmailMessage> messages) {
+                List<String> recipients = new ArrayList<>();
+                List<Outcome> outcomes = new ArrayList<>();
+                for (EmailMessage message : messages) {
+                    recipients.add(message.getRecipient());
+                    boolean busy = message.getRecipient().startsWith("busy") && batches.isEmpty();
+                    outcomes.add(busy ? Outcome.TRANSIENT_FAILURE : Outcome.ACCEPTED);
+                }
+                batches.add(recipients);
+                return outcomes;
+            }
+        };
+        EmailDeliveryService delivery = new EmailDeliveryService(transport, 60_000, 10, 100, 5, 10);
+        
+        delivery.submit("john@example.com", "Dépôt de 100");
+        delivery.submit("busy@example.com", "Dépôt de 100");
+        delivery.flush();
+        delivery.close();
+        
+        assertEquals(Arrays.asList(Arrays.asList("john@example.com", "busy@example.com"),
+            Collections.singletonList("busy@example.com")), batches);
+        assertEquals(2, delivery.getSentCount());
+        assertEquals(0, delivery.getFailedCount());
+    }
+    
+    // Teste le refus au dépôt d'une adresse permettant une injection SMTP
+    @Test
+    public void testInvalidRecipientRejected() {
+        List<EmailMessage> sent = Collections.synchronizedList(new ArrayList<>());
+        EmailDeliveryService delivery = new EmailDeliveryService(sent::addAll, 0, 10, 100, 1, 0);
+        
+        assertFalse(delivery.submit("john@example.com\r\nRCPT TO:<victim@example.com>", "Dépôt de 100"));
+        delivery.flush();
+        delivery.close();
+        
+        assertEquals(1, delivery.getRejectedCount());
+        assertTrue(sent.isEmpty());
+    }
+}
@@ -0,0 +1,47 @@
+package com.university.finance.notification;
+
+import org.junit.Test;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class NotificationInboxTest {
+    
+    // Teste l'éviction des plus anciennes notifications
+    @Test
+    public void testEviction() {
+        NotificationInbox<String> inbox = new NotificationInbox<>(3);
+        for (int i = 1; i <= 5; i++) {
+            inbox.add("ACC-1", "N" + i);
+        }
+        
+        List<String> all = inbox.getAll("ACC-1");
+        assertEquals(3, all.size());
+        assertEquals("N3", all.get(0));
+        assertEquals("N5", all.get(2));
+        assertEquals(5, inbox.getReceivedCount("ACC-1"));
+    }
+    
+    // Teste la lecture par pages
+    @Test
+    public void testPaging() {
+        NotificationInbox<String> inbox = new NotificationInbox<>(10);
+        for (int i = 0; i < 7; i++) {
+            inbox.add("ACC-1", "N" + i);
+        }
+        
+        assertEquals(3, inbox.getPage("ACC-1", 0, 3).size());
+        assertEquals("N3", inbox.getPage("ACC-1", 3, 3).get(0));
+        assertEquals(1, inbox.getPage("ACC-1", 6, 3).size());
+        assertTrue(inbox.getPage("ACC-1", 10, 3).isEmpty());
+    }
+    
+    // Teste qu'un compte inconnu ne crée pas de boîte
+    @Test
+    public void testMissDoesNotCreateMailbox() {
+        NotificationInbox<String> inbox = new NotificationInbox<>();
+        
+        assertTrue(inbox.getAll("ACC-9").isEmpty());
+        assertEquals(0, inbox.size("ACC-9"));
+        assertEquals(0, inbox.getAccountCount());
+    }
+}
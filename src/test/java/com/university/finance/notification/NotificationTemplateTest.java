@@ -0,0 +1,83 @@
+package com.university.finance.notification;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NotificationTemplateTest {
+    
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30);
+    
+    private Transaction transfer() {
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account from = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        Account to = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 500.0);
+        Transaction transaction = new Transaction("T001", Transaction.TransactionType.TRANSFER, 250.5, from, to, "Virement");
+        transaction.setTimestamp(TIMESTAMP);
+        return transaction;
+    }
+    
+    // Teste le rendu français d'une transaction réussie avec son trajet
+    @Test
+    public void testCompletedFrench() {
+        Notification notification = Notification.completed(transfer(), NotificationTemplates.getDefault());
+        
+        assertEquals("✓ Transaction réussie: TRANSFER de 250.5 de ACC-12345 vers ACC-67890 - 2024-01-15T10:30",
+            notification.render());
+    }
+    
+    // Teste le rendu d'un échec et d'un trajet limité au compte source
+    @Test
+    public void testFailedWithSourceOnly() {
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        Transaction transaction = new Transaction("T001", Transaction.TransactionType.WITHDRAW, 500.0, account, "Retrait");
+        transaction.setTimestamp(TIMESTAMP);
+        
+        Notification notification = Notification.failed(transaction, new Exception("Solde insuffisant"),
+            NotificationTemplates.getDefault());
+        
+        assertEquals("✗ Transaction échouée: WITHDRAW de 500.0 depuis ACC-12345 - 2024-01-15T10:30"
+            + " - Erreur: Solde insuffisant", notification.render());
+    }
+    
+    // Teste le montant décimal selon la langue
+    @Test
+    public void testDepositReceivedUsesLocaleDecimalSeparator() {
+        Transaction transaction = transfer();
+        
+        assertEquals("✓ Dépôt reçu: 250,50 sur le compte ACC-67890 - 2024-01-15T10:30",
+            Notification.depositReceived(transaction, NotificationTemplates.getDefault()).render());
+        assertEquals("✓ Deposit received: 250.50 on account ACC-67890 - 2024-01-15T10:30",
+            Notification.depositReceived(transaction, NotificationTemplates.forLocale(Locale.ENGLISH)).render());
+    }
+    
+    // Teste qu'une langue sans traduction retombe sur le français
+    @Test
+    public void testUnknownLocaleFallsBackToFrench() {
+        Notification notification = Notification.completed(transfer(), NotificationTemplates.forLocale(Locale.GERMAN));
+        
+        assertTrue(notification.render().startsWith("✓ Transaction réussie: "));
+        assertSame(NotificationTemplates.forLocale(Locale.GERMAN), NotificationTemplates.forLocale(Locale.GERMAN));
+    }
+    
+    // Teste que le rendu reflète les valeurs au moment de la création
+    @Test
+    public void testNotificationCapturesTransactionValues() {
+        Transaction transaction = transfer();
+        Notification notification = Notification.completed(transaction, NotificationTemplates.getDefault());
+        transaction.setAmount(1.0);
+        
+        assertTrue(notification.render().contains("de 250.5 de"));
+    }
+    
+    // Teste le rejet d'un champ inconnu
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompileRejectsUnknownField() {
+        NotificationTemplate.compile("Montant: {montant}");
+    }
+}
@@ -0,0 +1,82 @@
+package com.university.finance.notification;
+
+import org.junit.Test;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class SmtpEmailTransportTest {
+    
+    // Teste l'envoi d'un lot de messages sur une seule connexion SMTP
+    @Test
+    public void testSendBatch() throws Exception {
+        try (SmtpStubServer server = new SmtpStubServer()) {
+            SmtpEmailTransport transport = new SmtpEmailTransport("127.0.0.1", server.getPort(), "noreply@finance.local", 5000);
+            
+            transport.send(Arrays.asList(
+                new EmailMessage("john@example.com", "Sujet", "Ligne 1\n.Ligne avec point"),
+                new EmailMessage("jane@example.com", "Sujet", "Bonjour")
+            ));
+            
+            assertEquals(Arrays.asList("john@example.com", "jane@example.com"), server.getRecipients());
+            assertTrue(server.getMessages().get(0).contains("\n.Ligne avec point\n"));
+            assertTrue(server.getMessages().get(0).contains("Subject: Sujet"));
+        }
+    }
+    
+    // Teste qu'une réponse d'erreur du serveur lève une IOException
+    @Test(expected = IOException.class)
+    public void testServerUnavailable() throws Exception {
+        try (SmtpStubServer server = new SmtpStubServer()) {
+            server.rejectNextConnections(1);
+            SmtpEmailTransport transport = new SmtpEmailTransport("127.0.0.1", server.getPort(), "noreply@finance.local", 5000);
+            
+            transport.send(Collections.singletonList(new EmailMessage("john@example.com", "Sujet", "Bonjour")));
+        }
+    }
+    
+    // Teste le résultat par message : un refus n'empêche pas l'envoi des autres messages du lot
+    @Test
+    public void testPerMessageOutcomes() throws Exception {
+        try (SmtpStubServer server = new SmtpStubServer()) {
+            server.rejectRecipient("bad@example.com", "550 Boîte inconnue");
+            server.rejectRecipient("busy@example.com", "450 Boîte occupée");
+            SmtpEmailTransport transport = new SmtpEmailTransport("127.0.0.1", server.getPort(), "noreply@finance.local", 5000);
+            
+            List<EmailTransport.Outcome> outcomes = transport.deliver(Arrays.asList(
+                new EmailMessage("bad@example.com", "Sujet", "Bonjour"),
+                new EmailMessage("john@example.com", "Sujet", "Bonjour"),
+                new EmailMessage("busy@example.com", "Sujet", "Bonjour")
+            ));
+            
+            assertEquals(Arrays.asList(EmailTransport.Outcome.PERMANENT_FAILURE, EmailTransport.Outcome.ACCEPTED,
+                EmailTransport.Outcome.TRANSIENT_FAILURE), outcomes);
+            assertEquals(Collections.singletonList("john@example.com"), server.getRecipients());
+        }
+    }
+    
+    // Teste que les CR et LF isolés du corps deviennent CRLF avant le doublement des points (SMTP smuggling)
+    @Test
+    public void testBareLineEndingsNormalized() throws IOException {
+        SmtpEmailTransport transport = new SmtpEmailTransport("127.0.0.1", 25, "noreply@finance.local", 5000);
+        StringWriter out = new StringWriter();
+        
+        transport.writeData(out, new EmailMessage("john@example.com", "Sujet",
+            "Ligne 1\r.\r\nMAIL FROM:<x@example.com>\n.\nfin\r\n"));
+        
+        String data = out.toString();
+        String body = data.substring(data.indexOf("\r\n\r\n") + 4);
+        assertEquals("Ligne 1\r\n..\r\nMAIL FROM:<x@example.com>\r\n..\r\nfin\r\n\r\n", body);
+        assertEquals(-1, data.replace("\r\n", "").indexOf('\r'));
+        assertEquals(-1, data.replace("\r\n", "").indexOf('\n'));
+    }
+    
+    // Teste le refus d'une adresse contenant un retour à la ligne (injection SMTP)
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecipientInjectionRejected() {
+        new EmailMessage("john@example.com>\r\nRCPT TO:<victim@example.com", "Sujet", "Bonjour");
+    }
+}
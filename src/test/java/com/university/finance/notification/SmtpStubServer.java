@@ -0,0 +1,132 @@
+package com.university.finance.notification;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serveur SMTP local minimal pour les tests : accepte les messages et les conserve en mémoire.
+ */
+public class SmtpStubServer implements AutoCloseable {
+    
+    private final ServerSocket serverSocket;
+    private final Thread thread;
+    private final List<String> recipients = new ArrayList<>();
+    private final List<String> messages = new ArrayList<>();
+    private final List<String> attempts = new ArrayList<>();
+    private final AtomicInteger connectionsToReject = new AtomicInteger();
+    private final Map<String, String> rejectedRecipients = new ConcurrentHashMap<>();
+    
+    public SmtpStubServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.thread = new Thread(this::acceptLoop, "smtp-stub");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+    
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+    
+    /**
+     * Les n prochaines connexions reçoivent une erreur 421 (service indisponible).
+     */
+    public void rejectNextConnections(int n) {
+        connectionsToReject.set(n);
+    }
+    
+    /**
+     * Refuse le destinataire indiqué à l'étape RCPT TO avec la réponse donnée (ex. "550 ...").
+     */
+    public void rejectRecipient(String recipient, String reply) {
+        rejectedRecipients.put(recipient, reply);
+    }
+    
+    /**
+     * Destinataires présentés (RCPT TO), acceptés ou non.
+     */
+    public synchronized List<String> getAttempts() {
+        return new ArrayList<>(attempts);
+    }
+    
+    public synchronized List<String> getRecipients() {
+        return new ArrayList<>(recipients);
+    }
+    
+    public synchronized List<String> getMessages() {
+        return new ArrayList<>(messages);
+    }
+    
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                handle(socket);
+            } catch (IOException e) {
+                // Connexion interrompue ou serveur fermé
+            }
+        }
+    }
+    
+    private void handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        if (connectionsToReject.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            reply(out, "421 Service indisponible");
+            return;
+        }
+        reply(out, "220 smtp-stub");
+        String recipient = null;
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.startsWith("HELO") || line.startsWith("MAIL FROM")) {
+                reply(out, "250 OK");
+            } else if (line.startsWith("RCPT TO:<")) {
+                recipient = line.substring(9, line.length() - 1);
+                synchronized (this) {
+                    attempts.add(recipient);
+                }
+                reply(out, rejectedRecipients.getOrDefault(recipient, "250 OK"));
+            } else if (line.equals("RSET")) {
+                recipient = null;
+                reply(out, "250 OK");
+            } else if (line.equals("DATA")) {
+                reply(out, "354 Fin avec <CRLF>.<CRLF>");
+                StringBuilder data = new StringBuilder();
+                while (!(line = in.readLine()).equals(".")) {
+                    data.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+                }
+                synchronized (this) {
+                    recipients.add(recipient);
+                    messages.add(data.toString());
+                }
+                reply(out, "250 Message accepté");
+            } else if (line.equals("QUIT")) {
+                reply(out, "221 Au revoir");
+                return;
+            } else {
+                reply(out, "500 Commande inconnue");
+            }
+        }
+    }
+    
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line + "\r\n");
+        out.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
@@ -86,4 +86,22 @@ public class UserFactoryTest {
     public void testCreateUserWithIdEmptyId() throws ValidationException {
         UserFactory.createUserWithId("   ", "john", "pwd", "john@example.com");
     }
+    
+    // Teste le hashage salé des mots de passe et leur vérification
+    @Test
+    public void testHashAndVerifyPassword() throws ValidationException {
+        String first = UserFactory.hashPassword("secret");
+        String second = UserFactory.hashPassword("secret");
+        
+        assertTrue(first.startsWith("pbkdf2-sha256$" + UserFactory.PASSWORD_ITERATIONS + "$"));
+        assertNotEquals(first, second);
+        assertTrue(UserFactory.verifyPassword("secret", first));
+        assertTrue(UserFactory.verifyPassword("secret", second));
+        assertFalse(UserFactory.verifyPassword("Secret", first));
+        assertFalse(UserFactory.verifyPassword(first, first));
+        assertFalse(UserFactory.verifyPassword("secret", "secret"));
+        
+        User user = UserFactory.createUserWithPassword("john", "secret", "john@example.com");
+        assertTrue(UserFactory.verifyPassword("secret", user.getPasswordHash()));
+    }
 }
@@ -1,13 +1,27 @@
 package com.university.finance.pattern.observer;
 
+import com.university.finance.audit.AuditFormat;
+import com.university.finance.audit.AuditRecord;
+import com.university.finance.audit.AuditSink;
+import com.university.finance.audit.RollingAuditFileWriter;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import static org.junit.Assert.*;
 
 public class AuditLoggerTest {
     
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
     // Teste l'enregistrement d'une transaction complétée dans l'audit
     @Test
     public void testOnTransactionCompleted() {
@@ -34,5 +48,106 @@ public class AuditLoggerTest {
         
         assertEquals(1, logger.getLogCount());
     }
+    
+    // Teste que le journal par défaut n'écrit rien sur la console
+    @Test
+    public void testNoConsoleEchoByDefault() {
+        AuditLogger logger = new AuditLogger();
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(console));
+        try {
+            logger.onTransactionCompleted(new Transaction("T001", Transaction.TransactionType.DEPOSIT, 500.0, account, "Dépôt"));
+        } finally {
+            System.setOut(out);
+        }
+        
+        assertEquals(0, console.size());
+        assertEquals(1, logger.getLogCount());
+    }
+    
+    // Teste que le journal en mémoire est borné
+    @Test
+    public void testBoundedLog() {
+        AuditLogger logger = new AuditLogger(null, 3, false);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        for (int i = 1; i <= 5; i++) {
+            logger.onTransactionCompleted(new Transaction("T00" + i, Transaction.TransactionType.DEPOSIT, 10.0, account, "Dépôt"));
+        }
+        
+        assertEquals(3, logger.getLogCount());
+        assertEquals("T003", logger.getRecords().get(0).getTransactionId()); // Les plus anciennes sont écrasées
+        assertEquals("T005", logger.getRecords().get(2).getTransactionId());
+    }
+    
+    // Teste la transmission des enregistrements à la destination durable
+    @Test
+    public void testSink() {
+        List<AuditRecord> written = new ArrayList<>();
+        AuditSink sink = new AuditSink() {
+            @Override
+            public void append(AuditRecord record) {
+                written.add(record);
+            }
+            
+            @Override
+            public void flush() {
+            }
+            
+            @Override
+            public void close() {
+            }
+        };
+        AuditLogger logger = new AuditLogger(sink);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        
+        logger.onTransactionCompleted(new Transaction("T001", Transaction.TransactionType.DEPOSIT, 500.0, account, "Dépôt"));
+        
+        assertEquals(1, written.size());
+        assertEquals("T001", written.get(0).getTransactionId());
+    }
+    
+    // Teste que la recherche par compte ne renvoie pas les comptes dont le numéro contient celui demandé
+    @Test
+    public void testGetAuditLogForAccountExactMatch() {
+        AuditLogger logger = new AuditLogger(null, 100, false);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-1", user, Account.AccountType.CHECKING, 1000.0);
+        Account other = new Account("A002", "ACC-12", user, Account.AccountType.CHECKING, 1000.0);
+        
+        logger.onTransactionCompleted(new Transaction("T001", Transaction.TransactionType.DEPOSIT, 10.0, account, "Dépôt"));
+        logger.onTransactionCompleted(new Transaction("T002", Transaction.TransactionType.DEPOSIT, 10.0, other, "Dépôt"));
+        
+        assertEquals(1, logger.getAuditLogForAccount("ACC-1").size());
+        assertEquals(1, logger.getRecordsForAccount("ACC-12").size());
+    }
+    
+    // Teste qu'une recherche sur un journal tronqué est signalée, ou servie par l'archive sur fichier
+    @Test
+    public void testTruncatedLogFallsThroughToArchive() throws Exception {
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        AuditLogger memoryOnly = new AuditLogger(null, 3, false);
+        RollingAuditFileWriter writer = new RollingAuditFileWriter(folder.getRoot().toPath(), "audit",
+            AuditFormat.BINARY);
+        AuditLogger archived = new AuditLogger(writer, 3, false);
+        for (int i = 1; i <= 5; i++) {
+            Transaction transaction = new Transaction("T00" + i, Transaction.TransactionType.DEPOSIT, 10.0, account, "Dépôt");
+            memoryOnly.onTransactionCompleted(transaction);
+            archived.onTransactionCompleted(transaction);
+        }
+        
+        assertTrue(memoryOnly.isTruncated());
+        assertEquals(3, memoryOnly.getRecordsForAccount("ACC-12345").size());
+        assertTrue(archived.isTruncated());
+        assertEquals(5, archived.getAuditLogForAccount("ACC-12345").size());
+        assertEquals("T001", archived.getRecordsForAccount("ACC-12345").get(0).getTransactionId());
+        assertEquals(5, archived.getRecordsBetween(LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)).size());
+        assertEquals(3, archived.getLogCount());
+        writer.close();
+    }
 }
-
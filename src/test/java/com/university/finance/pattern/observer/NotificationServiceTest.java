@@ -3,6 +3,7 @@ package com.university.finance.pattern.observer;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
+import java.util.Locale;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -43,5 +44,31 @@ public class NotificationServiceTest {
         service.setEmailNotificationsEnabled(false);
         assertFalse(service.isEmailNotificationsEnabled());
     }
+    
+    // Teste que les notifications d'un compte sont bornées
+    @Test
+    public void testNotificationsAreBounded() {
+        NotificationService service = new NotificationService(false, 2);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        for (int i = 0; i < 5; i++) {
+            service.onTransactionCompleted(new Transaction("T00" + i, Transaction.TransactionType.DEPOSIT, 100.0, account, "Dépôt"));
+        }
+        
+        assertEquals(2, service.getNotificationCount(account.getAccountNumber()));
+        assertEquals(1, service.getNotifications(account.getAccountNumber(), 1, 5).size());
+    }
+    
+    // Teste la langue des notifications
+    @Test
+    public void testNotificationsInEnglish() {
+        NotificationService service = new NotificationService(false, 10, null, Locale.ENGLISH);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        service.onTransactionCompleted(new Transaction("T001", Transaction.TransactionType.DEPOSIT, 500.0, account, "Dépôt"));
+        
+        assertEquals(Locale.ENGLISH, service.getLocale());
+        assertTrue(service.getNotifications(account.getAccountNumber()).get(0).startsWith("✓ Deposit received: 500.00"));
+        assertTrue(new NotificationService().getLocale().getLanguage().equals("fr"));
+    }
 }
-
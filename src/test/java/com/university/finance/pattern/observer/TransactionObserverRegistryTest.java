@@ -0,0 +1,109 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TransactionObserverRegistryTest {
+    
+    /**
+     * Observateur de test qui compte les notifications reçues.
+     */
+    private static class CountingObserver implements TransactionObserver {
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        
+        @Override
+        public void onTransactionCompleted(Transaction transaction) {
+            completed.incrementAndGet();
+        }
+        
+        @Override
+        public void onTransactionFailed(Transaction transaction, Exception error) {
+            failed.incrementAndGet();
+        }
+    }
+    
+    private Transaction transaction(Transaction.TransactionType type) {
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        return new Transaction("T001", type, 100.0, account, "Test");
+    }
+    
+    // Teste l'ajout, le doublon et le retrait d'un observateur
+    @Test
+    public void testAddAndRemove() {
+        TransactionObserverRegistry registry = new TransactionObserverRegistry();
+        CountingObserver observer = new CountingObserver();
+        
+        assertTrue(registry.add(observer));
+        assertFalse(registry.add(observer));
+        assertFalse(registry.add(null));
+        assertEquals(1, registry.size());
+        assertTrue(registry.contains(observer));
+        
+        assertTrue(registry.remove(observer));
+        assertFalse(registry.remove(observer));
+        assertEquals(0, registry.size());
+    }
+    
+    // Teste que seuls les types demandés sont notifiés
+    @Test
+    public void testTypeFilter() {
+        TransactionObserverRegistry registry = new TransactionObserverRegistry();
+        CountingObserver all = new CountingObserver();
+        CountingObserver depositsOnly = new CountingObserver();
+        registry.add(all);
+        registry.add(depositsOnly, EnumSet.of(Transaction.TransactionType.DEPOSIT));
+        
+        registry.notifyCompleted(transaction(Transaction.TransactionType.DEPOSIT));
+        registry.notifyCompleted(transaction(Transaction.TransactionType.WITHDRAW));
+        registry.notifyFailed(transaction(Transaction.TransactionType.WITHDRAW), new Exception("Erreur"));
+        
+        assertEquals(2, all.completed.get());
+        assertEquals(1, all.failed.get());
+        assertEquals(1, depositsOnly.completed.get());
+        assertEquals(0, depositsOnly.failed.get());
+    }
+    
+    // Teste les abonnements modifiés pendant des notifications concurrentes
+    @Test
+    public void testConcurrentRegistrationDuringDispatch() throws InterruptedException {
+        TransactionObserverRegistry registry = new TransactionObserverRegistry();
+        CountingObserver stable = new CountingObserver();
+        registry.add(stable);
+        Transaction deposit = transaction(Transaction.TransactionType.DEPOSIT);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        
+        Thread[] dispatchers = new Thread[4];
+        for (int t = 0; t < dispatchers.length; t++) {
+            dispatchers[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 5_000; i++) {
+                        registry.notifyCompleted(deposit);
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            });
+            dispatchers[t].start();
+        }
+        for (int i = 0; i < 2_000; i++) {
+            CountingObserver temporary = new CountingObserver();
+            registry.add(temporary);
+            registry.remove(temporary);
+        }
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.join();
+        }
+        
+        assertNull(error.get());
+        assertEquals(20_000, stable.completed.get());
+        assertEquals(1, registry.size());
+    }
+}
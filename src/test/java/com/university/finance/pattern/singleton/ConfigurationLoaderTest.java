@@ -0,0 +1,92 @@
+package com.university.finance.pattern.singleton;
+
+import com.university.finance.exception.ValidationException;
+import com.university.finance.model.Account;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+
+public class ConfigurationLoaderTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    // Teste le chargement d'un fichier .properties
+    @Test
+    public void testLoadProperties() throws Exception {
+        Path file = folder.newFile("finance.properties").toPath();
+        Files.write(file, Arrays.asList(
+            "audit.enabled=false",
+            "limits.maxTransactionAmount=2500",
+            "velocity.SAVINGS.maxTransactionsPerMinute=5"
+        ), StandardCharsets.UTF_8);
+        
+        ConfigurationSnapshot snapshot = ConfigurationLoader.load(file, ConfigurationSnapshot.defaults());
+        
+        assertFalse(snapshot.isAuditEnabled());
+        assertEquals(2500.0, snapshot.getMaxTransactionAmount(), 0.01);
+        assertEquals(5, snapshot.getVelocityLimits(Account.AccountType.SAVINGS).getMaxTransactionsPerMinute());
+        assertEquals(0.0, snapshot.getMinAccountBalance(), 0.01); // Valeur par défaut conservée
+    }
+    
+    // Teste le chargement d'un fichier YAML imbriqué
+    @Test
+    public void testLoadYaml() throws Exception {
+        Path file = folder.newFile("finance.yml").toPath();
+        Files.write(file, Arrays.asList(
+            "# Configuration de test",
+            "notifications:",
+            "  email:",
+            "    enabled: true",
+            "limits:",
+            "  maxAccountBalance: 50000",
+            "dateFormat: \"dd/MM/yyyy\""
+        ), StandardCharsets.UTF_8);
+        
+        ConfigurationSnapshot snapshot = ConfigurationLoader.load(file, ConfigurationSnapshot.defaults());
+        
+        assertTrue(snapshot.isEmailNotificationsEnabled());
+        assertEquals(50000.0, snapshot.getMaxAccountBalance(), 0.01);
+        assertEquals("dd/MM/yyyy", snapshot.getDateFormat());
+    }
+    
+    // Teste qu'une valeur invalide est rejetée
+    @Test(expected = ValidationException.class)
+    public void testInvalidValue() throws Exception {
+        Path file = folder.newFile("invalid.properties").toPath();
+        Files.write(file, Arrays.asList("limits.maxTransactionAmount=abc"), StandardCharsets.UTF_8);
+        
+        ConfigurationLoader.load(file, ConfigurationSnapshot.defaults());
+    }
+    
+    // Teste qu'un fichier vide est rejeté
+    @Test(expected = ValidationException.class)
+    public void testEmptyFileRejected() throws Exception {
+        Path file = folder.newFile("empty.properties").toPath();
+        
+        ConfigurationLoader.load(file, ConfigurationSnapshot.defaults());
+    }
+    
+    // Teste qu'un fichier tronqué au milieu d'une clé est rejeté
+    @Test(expected = ValidationException.class)
+    public void testTruncatedKeyRejected() throws Exception {
+        Path file = folder.newFile("truncated.properties").toPath();
+        Files.write(file, Arrays.asList("audit.enabled=false", "limits.maxTrans"), StandardCharsets.UTF_8);
+        
+        ConfigurationLoader.load(file, ConfigurationSnapshot.defaults());
+    }
+    
+    // Teste qu'un YAML tronqué après une section est rejeté
+    @Test(expected = ValidationException.class)
+    public void testTruncatedYamlRejected() throws Exception {
+        Path file = folder.newFile("truncated.yml").toPath();
+        Files.write(file, Arrays.asList("audit:", "  enabled: false", "limits:"), StandardCharsets.UTF_8);
+        
+        ConfigurationLoader.load(file, ConfigurationSnapshot.defaults());
+    }
+}
@@ -1,6 +1,7 @@
 package com.university.finance.pattern.singleton;
 
 import org.junit.Test;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.Assert.*;
 
 public class ConfigurationManagerTest {
@@ -38,5 +39,57 @@ public class ConfigurationManagerTest {
         config.setMaxTransactionAmount(5000.0);
         assertEquals(5000.0, config.getMaxTransactionAmount(), 0.01);
     }
+    
+    // Teste que l'instantané de configuration est immuable et remplacé à chaque modification
+    @Test
+    public void testSnapshotIsReplacedOnUpdate() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.resetToDefaults();
+        
+        ConfigurationSnapshot before = config.getSnapshot();
+        config.setMaxAccountBalance(50000.0);
+        ConfigurationSnapshot after = config.getSnapshot();
+        
+        assertNotSame(before, after);
+        assertEquals(1000000.0, before.getMaxAccountBalance(), 0.01);
+        assertEquals(50000.0, after.getMaxAccountBalance(), 0.01);
+        config.resetToDefaults();
+    }
+    
+    // Teste la mise à jour atomique de plusieurs valeurs
+    @Test
+    public void testAtomicUpdate() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.resetToDefaults();
+        
+        ConfigurationSnapshot updated = config.update(s -> s.withMaxTransactionAmount(2000.0).withAuditEnabled(false));
+        
+        assertSame(updated, config.getSnapshot());
+        assertEquals(2000.0, config.getMaxTransactionAmount(), 0.01);
+        assertFalse(config.isAuditEnabled());
+        config.resetToDefaults();
+    }
+    
+    // Teste la notification des écouteurs lors d'un changement effectif
+    @Test
+    public void testChangeListenerNotified() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.resetToDefaults();
+        AtomicInteger notifications = new AtomicInteger();
+        ConfigurationChangeListener listener = (previous, current) -> {
+            assertTrue(previous.isAuditEnabled());
+            assertFalse(current.isAuditEnabled());
+            notifications.incrementAndGet();
+        };
+        config.addChangeListener(listener);
+        try {
+            config.setAuditEnabled(false);
+            config.setAuditEnabled(false); // Aucun changement : pas de notification
+            
+            assertEquals(1, notifications.get());
+        } finally {
+            config.removeChangeListener(listener);
+            config.resetToDefaults();
+        }
+    }
 }
-
@@ -0,0 +1,90 @@
+package com.university.finance.pattern.singleton;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class ConfigurationWatcherTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    // Teste le rechargement automatique après modification du fichier
+    @Test
+    public void testReloadOnChange() throws Exception {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.resetToDefaults();
+        Path file = folder.newFile("finance.properties").toPath();
+        Files.write(file, Arrays.asList("limits.maxTransactionAmount=3000"), StandardCharsets.UTF_8);
+        
+        CountDownLatch reloaded = new CountDownLatch(1);
+        ConfigurationChangeListener listener = (previous, current) -> {
+            if (current.getMaxTransactionAmount() == 4000.0) {
+                reloaded.countDown();
+            }
+        };
+        
+        ConfigurationWatcher watcher = new ConfigurationWatcher(config, file);
+        try {
+            watcher.start();
+            assertTrue(watcher.isRunning());
+            assertEquals(3000.0, config.getMaxTransactionAmount(), 0.01);
+            
+            config.addChangeListener(listener);
+            Files.write(file, Arrays.asList("limits.maxTransactionAmount=4000"), StandardCharsets.UTF_8);
+            
+            assertTrue(reloaded.await(15, TimeUnit.SECONDS));
+            assertEquals(4000.0, config.getMaxTransactionAmount(), 0.01);
+        } finally {
+            watcher.close();
+            config.removeChangeListener(listener);
+            config.resetToDefaults();
+        }
+        assertFalse(watcher.isRunning());
+    }
+    
+    // Teste qu'un fichier vidé (tronqué par un éditeur) ne ramène pas la configuration aux valeurs par défaut
+    @Test
+    public void testEmptyFileKeepsCurrentConfiguration() throws Exception {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.resetToDefaults();
+        Path file = folder.newFile("finance.properties").toPath();
+        Files.write(file, Arrays.asList("limits.maxTransactionAmount=3000"), StandardCharsets.UTF_8);
+        
+        List<Double> seen = new CopyOnWriteArrayList<>();
+        CountDownLatch reloaded = new CountDownLatch(1);
+        ConfigurationChangeListener listener = (previous, current) -> {
+            seen.add(current.getMaxTransactionAmount());
+            if (current.getMaxTransactionAmount() == 4000.0) {
+                reloaded.countDown();
+            }
+        };
+        
+        ConfigurationWatcher watcher = new ConfigurationWatcher(config, file);
+        try {
+            watcher.start();
+            config.addChangeListener(listener);
+            
+            Files.write(file, new byte[0]);
+            Thread.sleep(4 * ConfigurationWatcher.DEBOUNCE_MILLIS);
+            assertEquals(3000.0, config.getMaxTransactionAmount(), 0.01);
+            
+            Files.write(file, Arrays.asList("limits.maxTransactionAmount=4000"), StandardCharsets.UTF_8);
+            assertTrue(reloaded.await(15, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList(4000.0), seen);
+        } finally {
+            watcher.close();
+            config.removeChangeListener(listener);
+            config.resetToDefaults();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
 import com.university.finance.exception.BusinessException;
+import com.university.finance.pattern.singleton.ConfigurationManager;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -42,5 +43,27 @@ public class DepositStrategyTest {
         DepositStrategy strategy = new DepositStrategy();
         strategy.execute(null, 500.0, null);
     }
+    
+    // Teste que le solde maximal de la configuration est respecté
+    @Test
+    public void testDepositAboveMaxAccountBalance() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.resetToDefaults();
+        config.setMaxAccountBalance(1200.0);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        
+        DepositStrategy strategy = new DepositStrategy();
+        try {
+            assertTrue(strategy.validate(account, 200.0, null));
+            assertFalse(strategy.validate(account, 300.0, null));
+            strategy.execute(account, 300.0, null);
+            fail("BusinessException attendue");
+        } catch (BusinessException e) {
+            assertEquals(1000.0, account.getBalance(), 0.01);
+        } finally {
+            config.resetToDefaults();
+        }
+    }
 }
 
@@ -4,6 +4,9 @@ import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
 import com.university.finance.exception.BusinessException;
+import com.university.finance.exception.InsufficientFundsException;
+import com.university.finance.exception.ValidationException;
+import com.university.finance.pattern.singleton.ConfigurationManager;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -32,5 +35,46 @@ public class WithdrawStrategyTest {
         WithdrawStrategy strategy = new WithdrawStrategy();
         strategy.execute(account, 500.0, null);
     }
+    
+    // Teste que le montant maximal par transaction de la configuration est appliqué
+    @Test
+    public void testWithdrawAboveMaxTransactionAmount() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.resetToDefaults();
+        config.setMaxTransactionAmount(100.0);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        
+        WithdrawStrategy strategy = new WithdrawStrategy();
+        try {
+            assertFalse(strategy.validate(account, 150.0, null));
+            strategy.execute(account, 150.0, null);
+            fail("ValidationException attendue");
+        } catch (BusinessException e) {
+            assertTrue(e instanceof ValidationException);
+            assertEquals(1000.0, account.getBalance(), 0.01);
+        } finally {
+            config.resetToDefaults();
+        }
+    }
+    
+    // Teste que le solde minimal de la configuration est respecté
+    @Test
+    public void testWithdrawBelowMinAccountBalance() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.resetToDefaults();
+        config.setMinAccountBalance(100.0);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        
+        try {
+            new WithdrawStrategy().execute(account, 950.0, null);
+            fail("InsufficientFundsException attendue");
+        } catch (BusinessException e) {
+            assertTrue(e instanceof InsufficientFundsException);
+        } finally {
+            config.resetToDefaults();
+        }
+    }
 }
 
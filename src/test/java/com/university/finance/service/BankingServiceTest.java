@@ -5,6 +5,11 @@ import com.university.finance.model.User;
 import com.university.finance.exception.BusinessException;
 import com.university.finance.exception.AccountNotFoundException;
 import com.university.finance.exception.UserNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -20,6 +25,28 @@ public class BankingServiceTest {
         assertEquals("john", user.getUsername());
     }
     
+    // Teste la connexion avec le mot de passe en clair d'un utilisateur créé normalement
+    @Test
+    public void testRegisterAndAuthenticate() throws BusinessException {
+        BankingService service = new BankingService();
+        User user = service.registerUser("john", "motDePasse", "john@example.com");
+        
+        assertNotEquals("motDePasse", user.getPasswordHash());
+        assertSame(user, service.authenticate("john", "motDePasse"));
+        assertNull(service.authenticate("john", "mauvais"));
+        assertNull(service.authenticate("john", user.getPasswordHash()));
+        assertNull(service.authenticate("inconnu", "motDePasse"));
+    }
+    
+    // Teste qu'une valeur enregistrée qui n'est pas un hash PBKDF2 ne permet pas de se connecter
+    @Test
+    public void testAuthenticateRejectsUnhashedCredential() throws BusinessException {
+        BankingService service = new BankingService();
+        service.createUser("john", "pwd", "john@example.com");
+        
+        assertNull(service.authenticate("john", "pwd"));
+    }
+    
     // Teste la récupération d'un utilisateur par son ID
     @Test
     public void testGetUserById() throws BusinessException {
@@ -129,5 +156,36 @@ public class BankingServiceTest {
         
         assertEquals(2, service.getAllAccounts().size());
     }
+    
+    // Teste les compteurs d'utilisateurs et de comptes
+    @Test
+    public void testCounts() throws BusinessException {
+        BankingService service = new BankingService();
+        assertEquals(0, service.getUserCount());
+        User user = service.createUser("john", "pwd", "john@example.com");
+        service.createAccount(user.getId(), Account.AccountType.CHECKING, 1000.0);
+        
+        assertEquals(1, service.getUserCount());
+        assertEquals(1, service.getAccountCount());
+    }
+    
+    // Teste des créations de comptes concurrentes
+    @Test
+    public void testConcurrentAccountCreation() throws Exception {
+        BankingService service = new BankingService();
+        User user = service.createUser("john", "pwd", "john@example.com");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Account>> created = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                created.add(executor.submit(() -> service.createAccount(user.getId(), Account.AccountType.CHECKING)));
+            }
+            for (Future<Account> account : created) {
+                assertSame(account.get(), service.getAccountByNumber(account.get().getAccountNumber()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(100, service.getAccountCount());
+    }
 }
-
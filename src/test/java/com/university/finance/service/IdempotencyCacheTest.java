@@ -0,0 +1,126 @@
+package com.university.finance.service;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.exception.BusinessException;
+import com.university.finance.exception.ValidationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IdempotencyCacheTest {
+    
+    private Transaction newTransaction(String id) {
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        return new Transaction(id, Transaction.TransactionType.DEPOSIT, 100.0, account, "Dépôt");
+    }
+    
+    // Teste qu'une clé déjà utilisée retourne la transaction d'origine sans réexécuter l'opération
+    @Test
+    public void testRepeatedKeyReturnsOriginal() throws BusinessException {
+        IdempotencyCache cache = new IdempotencyCache();
+        AtomicInteger executions = new AtomicInteger();
+        
+        Transaction first = cache.execute("K1", "DEPOSIT|A001", () -> {
+            executions.incrementAndGet();
+            return newTransaction("T001");
+        });
+        Transaction second = cache.execute("K1", "DEPOSIT|A001", () -> {
+            executions.incrementAndGet();
+            return newTransaction("T002");
+        });
+        
+        assertSame(first, second);
+        assertEquals(1, executions.get());
+    }
+    
+    // Teste qu'une clé réutilisée pour une autre opération est refusée
+    @Test(expected = ValidationException.class)
+    public void testKeyReusedForDifferentOperation() throws BusinessException {
+        IdempotencyCache cache = new IdempotencyCache();
+        cache.execute("K1", "DEPOSIT|A001", () -> newTransaction("T001"));
+        cache.execute("K1", "WITHDRAW|A001", () -> newTransaction("T002"));
+    }
+    
+    // Teste qu'une opération échouée libère la clé pour une nouvelle tentative
+    @Test
+    public void testFailedOperationReleasesKey() throws BusinessException {
+        IdempotencyCache cache = new IdempotencyCache();
+        try {
+            cache.execute("K1", "DEPOSIT|A001", () -> {
+                throw new BusinessException("Échec");
+            });
+            fail("BusinessException attendue");
+        } catch (BusinessException e) {
+            assertEquals(0, cache.size());
+        }
+        
+        Transaction retried = cache.execute("K1", "DEPOSIT|A001", () -> newTransaction("T001"));
+        assertEquals("T001", retried.getId());
+    }
+    
+    // Teste l'expiration des clés et la taille maximale du cache
+    @Test
+    public void testExpirationAndBound() throws BusinessException {
+        AtomicLong now = new AtomicLong();
+        IdempotencyCache cache = new IdempotencyCache(2, 1000, now::get);
+        
+        cache.execute("K1", "F", () -> newTransaction("T001"));
+        cache.execute("K2", "F", () -> newTransaction("T002"));
+        cache.execute("K3", "F", () -> newTransaction("T003"));
+        assertEquals(2, cache.size());
+        
+        now.addAndGet(2_000_000_000L);
+        Transaction fresh = cache.execute("K3", "F", () -> newTransaction("T004"));
+        assertEquals("T004", fresh.getId());
+    }
+    
+    // Teste qu'une erreur survenue après la validation ne libère pas la clé
+    @Test
+    public void testCommittedKeyKeptAfterLaterFailure() throws BusinessException {
+        IdempotencyCache cache = new IdempotencyCache();
+        Transaction committed = newTransaction("T001");
+        try {
+            cache.execute("K1", "DEPOSIT|A001", commit -> {
+                commit.committed(committed);
+                throw new IllegalStateException("Observateur en échec");
+            });
+            fail("IllegalStateException attendue");
+        } catch (IllegalStateException e) {
+            assertEquals(1, cache.size());
+        }
+        
+        AtomicInteger executions = new AtomicInteger();
+        Transaction retried = cache.execute("K1", "DEPOSIT|A001", () -> {
+            executions.incrementAndGet();
+            return newTransaction("T002");
+        });
+        assertSame(committed, retried);
+        assertEquals(0, executions.get());
+    }
+    
+    // Teste que les clés libérées après un échec n'évincent pas les clés valides
+    @Test
+    public void testFailuresDoNotEvictLiveKeys() throws BusinessException {
+        IdempotencyCache cache = new IdempotencyCache(3, 60_000);
+        Transaction first = cache.execute("K1", "F", () -> newTransaction("T001"));
+        Transaction second = cache.execute("K2", "F", () -> newTransaction("T002"));
+        for (int i = 0; i < 10; i++) {
+            try {
+                cache.execute("E" + i, "F", () -> {
+                    throw new BusinessException("Solde insuffisant");
+                });
+                fail("BusinessException attendue");
+            } catch (BusinessException e) {
+                // clé libérée
+            }
+        }
+        
+        assertEquals(2, cache.size());
+        assertSame(first, cache.execute("K1", "F", () -> newTransaction("T003")));
+        assertSame(second, cache.execute("K2", "F", () -> newTransaction("T004")));
+    }
+}
@@ -0,0 +1,248 @@
+package com.university.finance.service;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.locks.ReentrantLock;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class TransactionHistoryTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 10, 0);
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private final User user = new User("U001", "john", "pwd", "john@example.com");
+    private final Account checking = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+    private final Account savings = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 500.0);
+    
+    private Transaction deposit(String id, Account account, LocalDateTime timestamp) {
+        Transaction transaction = new Transaction(id, Transaction.TransactionType.DEPOSIT, 100.0, account, "Dépôt");
+        transaction.setTimestamp(timestamp);
+        return transaction;
+    }
+    
+    // Teste le rangement des transactions par heure
+    @Test
+    public void testTransactionsArePartitionedByHour() {
+        TransactionHistory history = new TransactionHistory();
+        history.add(deposit("T001", checking, BASE.plusMinutes(5)));
+        history.add(deposit("T002", checking, BASE.plusMinutes(55)));
+        history.add(deposit("T003", savings, BASE.plusHours(2)));
+        
+        assertEquals(3, history.size());
+        assertEquals(2, history.getBucketCount());
+        assertEquals(3, history.getAll().size());
+    }
+    
+    // Teste une période qui coupe des tranches horaires
+    @Test
+    public void testRangeQueryFiltersBoundaryBuckets() {
+        TransactionHistory history = new TransactionHistory();
+        history.add(deposit("T001", checking, BASE.plusMinutes(5)));
+        history.add(deposit("T002", checking, BASE.plusMinutes(55)));
+        history.add(deposit("T003", checking, BASE.plusHours(1).plusMinutes(10)));
+        history.add(deposit("T004", checking, BASE.plusHours(3)));
+        
+        List<Transaction> result = history.getBetween(BASE.plusMinutes(30), BASE.plusHours(2));
+        assertEquals(2, result.size());
+        assertEquals("T002", result.get(0).getId());
+        assertEquals("T003", result.get(1).getId());
+        
+        // Fin exclue, période vide ou inversée
+        assertEquals(1, history.getBetween(BASE, BASE.plusMinutes(55)).size());
+        assertTrue(history.getBetween(BASE.plusHours(2), BASE.plusHours(2)).isEmpty());
+        assertTrue(history.getBetween(BASE.plusHours(2), BASE).isEmpty());
+    }
+    
+    // Teste l'historique par compte, transferts compris
+    @Test
+    public void testAccountRangeQuery() {
+        TransactionHistory history = new TransactionHistory(ChronoUnit.DAYS);
+        history.add(deposit("T001", checking, BASE));
+        Transaction transfer = new Transaction("T002", Transaction.TransactionType.TRANSFER, 50.0, checking, savings, "Virement");
+        transfer.setTimestamp(BASE.plusHours(1));
+        history.add(transfer);
+        history.add(deposit("T003", savings, BASE.plusDays(1)));
+        
+        assertEquals(2, history.getForAccount(checking).size());
+        assertEquals(2, history.getForAccount(savings).size());
+        assertEquals(1, history.getForAccountBetween(savings, BASE, BASE.plusDays(1)).size());
+        assertTrue(history.getForAccount(new Account("A003", "ACC-00000", user, Account.AccountType.CHECKING, 0.0)).isEmpty());
+    }
+    
+    // Teste les pages globales et par compte à partir d'une position
+    @Test
+    public void testPages() {
+        TransactionHistory history = new TransactionHistory();
+        for (int i = 0; i < 6; i++) {
+            history.add(deposit("T00" + i, i % 2 == 0 ? checking : savings, BASE.plusMinutes(i)));
+        }
+        
+        assertEquals(2, history.getPage(-1, 2).size());
+        assertEquals("T004", history.getPage(history.positionOf("T003"), 10).get(0).getId());
+        assertTrue(history.getPage(5, 10).isEmpty());
+        
+        // Le curseur peut désigner une transaction d'un autre compte
+        List<Transaction> page = history.getPage(checking, history.positionOf("T001"), 10);
+        assertEquals(2, page.size());
+        assertEquals("T002", page.get(0).getId());
+        assertEquals("T004", page.get(1).getId());
+        assertEquals(-1, history.positionOf("INCONNU"));
+        assertSame(page.get(0), history.get("T002"));
+    }
+    
+    // Teste qu'une transaction horodatée dans le passé reste dans la tranche courante
+    @Test
+    public void testOutOfOrderTimestampKeepsBucketsOrdered() {
+        TransactionHistory history = new TransactionHistory();
+        history.add(deposit("T001", checking, BASE.plusHours(2)));
+        history.add(deposit("T002", checking, BASE));
+        
+        assertEquals(1, history.getBucketCount());
+        assertEquals(2, history.getForAccount(checking).size());
+    }
+    
+    private TransactionHistory tieredHistory(int hotCapacity) throws Exception {
+        TransactionHistory history = new TransactionHistory(ChronoUnit.HOURS, folder.getRoot().toPath(), hotCapacity, 4);
+        for (int i = 0; i < 30; i++) {
+            history.add(deposit("T" + i, i % 3 == 0 ? savings : checking, BASE.plusMinutes(10L * i)));
+            history.flush();
+        }
+        return history;
+    }
+    
+    // Teste le déplacement des transactions anciennes vers le disque
+    @Test
+    public void testOldTransactionsAreMovedToSegments() throws Exception {
+        TransactionHistory history = tieredHistory(10);
+        
+        assertEquals(30, history.size());
+        assertTrue(history.getHotSize() <= 10);
+        assertTrue(history.getSegmentCount() > 0);
+        File[] files = folder.getRoot().listFiles();
+        assertEquals(history.getSegmentCount(), files.length);
+    }
+    
+    // Teste les lectures qui fusionnent mémoire et disque
+    @Test
+    public void testReadsMergeHotAndColdTiers() throws Exception {
+        TransactionHistory history = tieredHistory(10);
+        
+        Transaction cold = history.get("T1");
+        assertNotNull(cold);
+        assertSame(checking, cold.getToAccount());
+        assertEquals(BASE.plusMinutes(10), cold.getTimestamp());
+        assertEquals(1, history.positionOf("T1"));
+        assertEquals(29, history.positionOf("T29"));
+        assertNull(history.get("inconnue"));
+        assertEquals(-1, history.positionOf("inconnue"));
+        
+        List<Transaction> all = history.getAll();
+        assertEquals(30, all.size());
+        for (int i = 0; i < 30; i++) {
+            assertEquals("T" + i, all.get(i).getId());
+        }
+        assertEquals(10, history.getForAccount(savings).size());
+        assertEquals(20, history.getForAccount(checking).size());
+        // De 0h50 à 4h10 : T5 à T24
+        assertEquals(20, history.getBetween(BASE.plusMinutes(50), BASE.plusMinutes(250)).size());
+        assertEquals(7, history.getForAccountBetween(savings, BASE.plusMinutes(50), BASE.plusMinutes(250)).size());
+    }
+    
+    // Teste une pagination qui traverse la frontière entre les niveaux
+    @Test
+    public void testPagesAcrossTiers() throws Exception {
+        TransactionHistory history = tieredHistory(10);
+        
+        List<Transaction> page = history.getPage(history.positionOf("T15"), 10);
+        assertEquals(10, page.size());
+        assertEquals("T16", page.get(0).getId());
+        assertEquals("T25", page.get(9).getId());
+        
+        List<Transaction> accountPage = history.getPage(savings, history.positionOf("T3"), 4);
+        assertEquals(4, accountPage.size());
+        assertEquals("T6", accountPage.get(0).getId());
+        assertEquals("T15", accountPage.get(3).getId());
+    }
+    
+    // Teste qu'une annulation d'une transaction froide est conservée à la relecture
+    @Test
+    public void testStatusUpdateOfColdTransaction() throws Exception {
+        TransactionHistory history = tieredHistory(10);
+        
+        Transaction cold = history.get("T2");
+        cold.setStatus(Transaction.TransactionStatus.CANCELLED);
+        history.updateStatus(cold);
+        
+        assertEquals(Transaction.TransactionStatus.CANCELLED, history.get("T2").getStatus());
+        assertEquals(Transaction.TransactionStatus.CANCELLED, history.getAll().get(2).getStatus());
+    }
+    
+    // Teste le parcours découpable d'un instantané qui couvre les deux niveaux
+    @Test
+    public void testSnapshotSpliteratorAcrossTiers() throws Exception {
+        TransactionHistory history = tieredHistory(10);
+        TransactionHistory.Snapshot snapshot = history.snapshot();
+        history.add(deposit("T30", checking, BASE.plusMinutes(300)));
+        
+        Spliterator<Transaction> spliterator = snapshot.spliterator();
+        assertEquals(30, spliterator.estimateSize());
+        List<Transaction> all = new ArrayList<>();
+        split(spliterator, all);
+        assertEquals(30, all.size());
+        for (int i = 0; i < 30; i++) {
+            assertEquals("T" + i, all.get(i).getId());
+        }
+    }
+    
+    private static void split(Spliterator<Transaction> spliterator, List<Transaction> result) {
+        Spliterator<Transaction> prefix = spliterator.trySplit();
+        if (prefix == null) {
+            spliterator.forEachRemaining(result::add);
+            return;
+        }
+        assertTrue(prefix.estimateSize() > 0);
+        split(prefix, result);
+        split(spliterator, result);
+    }
+    
+    // Teste que le segment est écrit hors du verrou et publié ensuite, sans perdre une annulation faite entre-temps
+    @Test
+    public void testEvictionWrittenOutsideWriteLock() throws Exception {
+        TransactionHistory history = new TransactionHistory(ChronoUnit.HOURS, folder.getRoot().toPath(), 10, 4);
+        for (int i = 0; i < 11; i++) {
+            history.add(deposit("T" + i, checking, BASE.plusMinutes(i)));
+        }
+        TransactionHistory.PendingWrites writes = history.takePendingWrites();
+        assertNotNull(writes);
+        
+        // Pendant l'écriture, l'historique reste utilisable et un seul déplacement est en cours
+        history.add(deposit("T11", checking, BASE.plusMinutes(11)));
+        assertNull(history.takePendingWrites());
+        assertEquals(12, history.getHotSize());
+        Transaction evicted = history.get("T2");
+        evicted.setStatus(Transaction.TransactionStatus.CANCELLED);
+        history.updateStatus(history.positionOf("T2"), evicted.getStatus());
+        
+        ReentrantLock lock = new ReentrantLock();
+        writes.run(lock);
+        
+        assertFalse(lock.isLocked());
+        assertEquals(1, history.getSegmentCount());
+        assertEquals(6, history.getHotSize());
+        assertEquals(12, history.getAll().size());
+        assertNotSame(evicted, history.get("T2"));
+        assertEquals(Transaction.TransactionStatus.CANCELLED, history.get("T2").getStatus());
+    }
+}
@@ -0,0 +1,181 @@
+package com.university.finance.service;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class TransactionSegmentTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 10, 0);
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private final User user = new User("U001", "john", "pwd", "john@example.com");
+    private final Account checking = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+    private final Account savings = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 500.0);
+    private final Map<String, Account> accounts = new HashMap<>();
+    
+    private List<Transaction> sample(int count) {
+        accounts.put(checking.getAccountNumber(), checking);
+        accounts.put(savings.getAccountNumber(), savings);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = i % 2 == 0
+                ? new Transaction("T" + i, Transaction.TransactionType.DEPOSIT, 10.0 + i, checking, "Dépôt " + i)
+                : new Transaction("T" + i, Transaction.TransactionType.TRANSFER, 1.5, checking, savings, "Virement");
+            transaction.setTimestamp(BASE.plusMinutes(i));
+            transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+    
+    // Teste la relecture fidèle d'un bloc
+    @Test
+    public void testWriteAndReadBlock() throws IOException {
+        List<Transaction> transactions = sample(10);
+        transactions.get(3).setReversalOf("T1");
+        TransactionSegment segment = TransactionSegment.write(folder.newFile().toPath(), 100, transactions, 4);
+        
+        assertEquals(3, segment.getBlockCount());
+        assertEquals(100, segment.getFirstPosition());
+        assertEquals(110, segment.getEndPosition());
+        assertEquals(2, segment.blockOf(109));
+        assertEquals(108, segment.blockStart(2));
+        
+        List<Transaction> block = segment.readBlock(0, accounts::get);
+        assertEquals(4, block.size());
+        Transaction deposit = block.get(0);
+        assertEquals("T0", deposit.getId());
+        assertEquals(Transaction.TransactionType.DEPOSIT, deposit.getType());
+        assertEquals(10.0, deposit.getAmount(), 0.001);
+        assertSame(checking, deposit.getToAccount());
+        assertNull(deposit.getFromAccount());
+        assertEquals(BASE, deposit.getTimestamp());
+        assertEquals("Dépôt 0", deposit.getDescription());
+        
+        Transaction transfer = block.get(3);
+        assertSame(checking, transfer.getFromAccount());
+        assertSame(savings, transfer.getToAccount());
+        assertEquals("T1", transfer.getReversalOf());
+        assertEquals(Transaction.TransactionStatus.COMPLETED, transfer.getStatus());
+        assertEquals(2, segment.readBlock(2, accounts::get).size());
+    }
+    
+    // Teste l'index creux : comptes, périodes et filtre de Bloom
+    @Test
+    public void testSparseIndex() throws IOException {
+        List<Transaction> transactions = sample(8);
+        transactions.set(5, transactions.get(4)); // le deuxième bloc ne contient plus que des dépôts
+        transactions.set(7, transactions.get(6));
+        TransactionSegment segment = TransactionSegment.write(folder.newFile().toPath(), 0, transactions, 4);
+        
+        assertTrue(segment.blockInvolves(0, "ACC-67890"));
+        assertFalse(segment.blockInvolves(1, "ACC-67890"));
+        assertFalse(segment.blockInvolves(0, "ACC-00000"));
+        assertTrue(segment.blockOverlaps(0, BASE, BASE.plusMinutes(1)));
+        assertFalse(segment.blockOverlaps(0, BASE.plusMinutes(4), BASE.plusHours(1)));
+        assertTrue(segment.mightContain("T0"));
+        assertFalse(segment.mightContain("inconnue"));
+    }
+    
+    // Teste la détection d'un bloc corrompu
+    @Test(expected = IOException.class)
+    public void testCorruptBlockIsDetected() throws IOException {
+        Path path = folder.newFile().toPath();
+        TransactionSegment segment = TransactionSegment.write(path, 0, sample(4), 4);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(segment.blockOffset(0) + 2);
+            file.write(0xFF);
+            file.write(0xFF);
+        }
+        segment.readBlock(0, accounts::get);
+    }
+    
+    // Teste la recherche par ID : la table désigne le seul bloc contenant la transaction
+    @Test
+    public void testIdTableLocatesBlock() throws IOException {
+        List<Transaction> transactions = sample(1000);
+        TransactionSegment segment = TransactionSegment.write(folder.newFile().toPath(), 5000, transactions, 64);
+        
+        for (int i = 0; i < transactions.size(); i++) {
+            int[] blocks = segment.candidateBlocks(transactions.get(i).getId());
+            assertEquals(1, blocks.length);
+            assertEquals(i / 64, blocks[0]);
+        }
+        assertEquals(0, segment.candidateBlocks("T1000").length);
+    }
+    
+    // Teste la persistance des changements de statut dans le fichier annexe
+    @Test
+    public void testStatusUpdateIsPersisted() throws IOException {
+        TransactionSegment segment = TransactionSegment.write(folder.newFile().toPath(), 100, sample(10), 4);
+        segment.updateStatus(105, Transaction.TransactionStatus.FAILED);
+        
+        assertEquals(Transaction.TransactionStatus.FAILED, segment.readBlock(1, accounts::get).get(1).getStatus());
+        assertEquals(Transaction.TransactionStatus.COMPLETED, segment.readBlock(1, accounts::get).get(0).getStatus());
+        assertEquals(Transaction.TransactionStatus.COMPLETED, segment.readBlock(0, accounts::get).get(1).getStatus());
+        
+        segment.delete();
+        assertFalse(Files.exists(segment.getPath()));
+    }
+    
+    // Teste l'encodage compact : UUID, centimes, horodatages non monotones ou absents
+    @Test
+    public void testCompactEncodingRoundTrip() throws IOException {
+        List<Transaction> transactions = sample(6);
+        String uuid = UUID.randomUUID().toString();
+        transactions.get(0).setId(uuid);
+        transactions.get(1).setAmount(-12.34);
+        transactions.get(2).setAmount(0.125); // pas un nombre entier de centimes
+        transactions.get(3).setTimestamp(BASE.minusDays(3).withNano(123_456_789));
+        transactions.get(4).setTimestamp(null);
+        transactions.get(5).setTimestamp(BASE.plusYears(500));
+        TransactionSegment segment = TransactionSegment.write(folder.newFile().toPath(), 0, transactions, 8);
+        
+        List<Transaction> block = segment.readBlock(0, accounts::get);
+        assertEquals(uuid, block.get(0).getId());
+        assertEquals(-12.34, block.get(1).getAmount(), 0.0);
+        assertEquals(0.125, block.get(2).getAmount(), 0.0);
+        assertEquals(BASE.minusDays(3).withNano(123_456_789), block.get(3).getTimestamp());
+        assertNull(block.get(4).getTimestamp());
+        assertEquals(BASE.plusYears(500), block.get(5).getTimestamp());
+        assertTrue(segment.mightContain(uuid));
+    }
+    
+    // Teste la taille d'un segment par rapport à l'encodage naïf (environ 90 octets par transaction)
+    @Test
+    public void testSegmentIsCompact() throws IOException {
+        accounts.put(checking.getAccountNumber(), checking);
+        accounts.put(savings.getAccountNumber(), savings);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Transaction transaction = new Transaction(UUID.randomUUID().toString(),
+                Transaction.TransactionType.TRANSFER, 25.0 + i % 7, checking, savings, "Virement");
+            transaction.setTimestamp(BASE.plusNanos(1_250_000L * i));
+            transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+            transactions.add(transaction);
+        }
+        Path path = folder.newFile().toPath();
+        TransactionSegment segment = TransactionSegment.write(path, 0, transactions, TransactionSegment.DEFAULT_BLOCK_SIZE);
+        
+        assertTrue(Files.size(path) < 1000 * 25);
+        assertEquals(transactions.get(999).getTimestamp(),
+            segment.readBlock(segment.getBlockCount() - 1, accounts::get).get(999 % 64).getTimestamp());
+    }
+}
@@ -7,6 +7,7 @@ import com.university.finance.pattern.observer.AuditLogger;
 import com.university.finance.pattern.observer.NotificationService;
 import com.university.finance.pattern.observer.TransactionObserver;
 import com.university.finance.exception.BusinessException;
+import java.util.EnumSet;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -67,5 +68,20 @@ public class TransactionServiceObserverTest {
             fail("Transaction should succeed");
         }
     }
+    
+    // Teste un observateur limité à certains types de transactions
+    @Test
+    public void testObserverFilteredByType() throws BusinessException {
+        TransactionService service = new TransactionService();
+        NotificationService notificationService = new NotificationService();
+        service.addObserver(notificationService, EnumSet.of(Transaction.TransactionType.WITHDRAW));
+        
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        service.deposit(account, 100.0);
+        assertEquals(0, notificationService.getNotificationCount(account.getAccountNumber()));
+        
+        service.withdraw(account, 50.0);
+        assertEquals(1, notificationService.getNotificationCount(account.getAccountNumber()));
+    }
 }
-
@@ -1,14 +1,33 @@
 package com.university.finance.service;
 
+import com.university.finance.analytics.AccountAggregates;
+import com.university.finance.analytics.TransactionAnalytics;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
 import com.university.finance.exception.BusinessException;
+import com.university.finance.exception.InsufficientFundsException;
+import com.university.finance.exception.TransactionNotFoundException;
+import com.university.finance.exception.ValidationException;
+import com.university.finance.limit.VelocityChecker;
+import com.university.finance.limit.VelocityLimits;
+import com.university.finance.metrics.TransactionMetrics;
+import com.university.finance.pattern.observer.TransactionObserver;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import static org.junit.Assert.*;
 
 public class TransactionServiceTest {
     
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
     // Teste l'exécution d'un dépôt
     @Test
     public void testDeposit() throws BusinessException {
@@ -139,5 +158,433 @@ public class TransactionServiceTest {
         
         assertEquals(3, service.getAllTransactions().size());
     }
+    
+    // Teste l'annulation d'un dépôt par une écriture compensatoire
+    @Test
+    public void testReverseDeposit() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        
+        Transaction deposit = service.deposit(account, 500.0);
+        Transaction reversal = service.reverseTransaction(deposit.getId());
+        
+        assertEquals(Transaction.TransactionType.WITHDRAW, reversal.getType());
+        assertEquals(deposit.getId(), reversal.getReversalOf());
+        assertEquals(Transaction.TransactionStatus.CANCELLED, deposit.getStatus());
+        assertEquals(1000.0, account.getBalance(), 0.01);
+        assertSame(reversal, service.getReversal(deposit.getId()));
+    }
+    
+    // Teste que l'annulation d'un transfert est idempotente
+    @Test
+    public void testReverseTransferIsIdempotent() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user1 = new User("U001", "john", "pwd", "john@example.com");
+        User user2 = new User("U002", "jane", "pwd", "jane@example.com");
+        Account fromAccount = new Account("A001", "ACC-12345", user1, Account.AccountType.CHECKING, 1000.0);
+        Account toAccount = new Account("A002", "ACC-67890", user2, Account.AccountType.CHECKING, 500.0);
+        
+        Transaction transfer = service.transfer(fromAccount, toAccount, 300.0);
+        Transaction first = service.reverseTransaction(transfer.getId());
+        Transaction second = service.reverseTransaction(transfer.getId());
+        
+        assertSame(first, second);
+        assertEquals(1000.0, fromAccount.getBalance(), 0.01);
+        assertEquals(500.0, toAccount.getBalance(), 0.01);
+        assertEquals(2, service.getAllTransactions().size());
+    }
+    
+    // Teste l'annulation d'un lot de transactions en une seule passe
+    @Test
+    public void testReverseTransactionsBatch() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user1 = new User("U001", "john", "pwd", "john@example.com");
+        User user2 = new User("U002", "jane", "pwd", "jane@example.com");
+        Account employer = new Account("A001", "ACC-12345", user1, Account.AccountType.BUSINESS, 5000.0);
+        Account employee = new Account("A002", "ACC-67890", user2, Account.AccountType.CHECKING, 0.0);
+        
+        Transaction pay1 = service.virementInterne(employer, employee, 1000.0);
+        Transaction pay2 = service.virementInterne(employer, employee, 1000.0);
+        
+        List<Transaction> reversals = service.reverseTransactions(Arrays.asList(pay1.getId(), pay2.getId()));
+        
+        assertEquals(2, reversals.size());
+        assertEquals(pay2.getId(), reversals.get(1).getReversalOf());
+        assertEquals(5000.0, employer.getBalance(), 0.01);
+        assertEquals(0.0, employee.getBalance(), 0.01);
+    }
+    
+    // Teste qu'un lot d'annulations est refusé en entier si un compte deviendrait négatif
+    @Test
+    public void testReverseTransactionsBatchIsAtomic() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user1 = new User("U001", "john", "pwd", "john@example.com");
+        User user2 = new User("U002", "jane", "pwd", "jane@example.com");
+        Account employer = new Account("A001", "ACC-12345", user1, Account.AccountType.BUSINESS, 5000.0);
+        Account employee = new Account("A002", "ACC-67890", user2, Account.AccountType.CHECKING, 0.0);
+        
+        Transaction pay1 = service.virementInterne(employer, employee, 1000.0);
+        Transaction pay2 = service.virementInterne(employer, employee, 1000.0);
+        service.withdraw(employee, 1500.0);
+        
+        try {
+            service.reverseTransactions(Arrays.asList(pay1.getId(), pay2.getId()));
+            fail("InsufficientFundsException attendue");
+        } catch (InsufficientFundsException e) {
+            assertEquals(500.0, employee.getBalance(), 0.01);
+            assertEquals(3000.0, employer.getBalance(), 0.01);
+            assertEquals(Transaction.TransactionStatus.COMPLETED, pay1.getStatus());
+            assertNull(service.getReversal(pay1.getId()));
+        }
+    }
+    
+    // Teste l'annulation d'une transaction inexistante
+    @Test(expected = TransactionNotFoundException.class)
+    public void testReverseUnknownTransaction() throws BusinessException {
+        TransactionService service = new TransactionService();
+        service.reverseTransaction("NONEXISTENT");
+    }
+    
+    // Teste qu'un dépôt rejoué avec la même clé d'idempotence n'est effectué qu'une fois
+    @Test
+    public void testDepositWithIdempotencyKey() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        
+        Transaction first = service.deposit(account, 500.0, "retry-key");
+        Transaction retry = service.deposit(account, 500.0, "retry-key");
+        
+        assertSame(first, retry);
+        assertEquals(1500.0, account.getBalance(), 0.01);
+        assertEquals(1, service.getAllTransactions().size());
+    }
+    
+    // Teste que les limites de vélocité du compte sont appliquées par le service
+    @Test
+    public void testVelocityLimitEnforced() throws BusinessException {
+        VelocityChecker checker = new VelocityChecker(type -> new VelocityLimits(100, 300.0));
+        TransactionService service = new TransactionService(new IdempotencyCache(), checker);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        
+        service.withdraw(account, 200.0);
+        try {
+            service.withdraw(account, 200.0);
+            fail("ValidationException attendue");
+        } catch (ValidationException e) {
+            assertEquals("velocity", e.getFieldName());
+            assertEquals(800.0, account.getBalance(), 0.01);
+        }
+    }
+    
+    // Teste que les dépôts ne sont pas soumis aux limites de vélocité, qui portent sur les débits
+    @Test
+    public void testDepositNotVelocityLimited() throws BusinessException {
+        VelocityChecker checker = new VelocityChecker(type -> new VelocityLimits(2, 300.0));
+        TransactionService service = new TransactionService(new IdempotencyCache(), checker);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        
+        for (int i = 0; i < 5; i++) {
+            service.deposit(account, 200.0);
+        }
+        service.withdraw(account, 200.0);
+        
+        assertEquals(1800.0, account.getBalance(), 0.01);
+        try {
+            service.withdraw(account, 200.0);
+            fail("ValidationException attendue");
+        } catch (ValidationException e) {
+            assertEquals("velocity", e.getFieldName());
+        }
+    }
+    
+    // Teste que le service par défaut n'applique aucune limite de vélocité
+    @Test
+    public void testDefaultServiceHasNoVelocityLimits() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.SAVINGS, 50_000.0);
+        
+        for (int i = 0; i < 20; i++) {
+            service.withdraw(account, 1_000.0);
+        }
+        
+        assertEquals(30_000.0, account.getBalance(), 0.01);
+    }
+    
+    // Teste qu'un observateur en échec après la validation ne permet pas un second débit avec la même clé
+    @Test
+    public void testObserverFailureKeepsIdempotencyKey() throws BusinessException {
+        TransactionService service = new TransactionService();
+        service.addObserver(new TransactionObserver() {
+            @Override
+            public void onTransactionCompleted(Transaction transaction) {
+                throw new IllegalStateException("Destination d'audit fermée");
+            }
+            
+            @Override
+            public void onTransactionFailed(Transaction transaction, Exception error) {
+            }
+        });
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        
+        try {
+            service.withdraw(account, 100.0, "retrait-1");
+            fail("IllegalStateException attendue");
+        } catch (IllegalStateException e) {
+            assertEquals(900.0, account.getBalance(), 0.01);
+        }
+        Transaction retried = service.withdraw(account, 100.0, "retrait-1");
+        
+        assertEquals(900.0, account.getBalance(), 0.01);
+        assertEquals(1, service.getHistorySize());
+        assertEquals(service.getAllTransactions().get(0).getId(), retried.getId());
+    }
+    
+    // Teste la mise à jour des agrégats par compte, annulations comprises
+    @Test
+    public void testAccountAggregatesUpdated() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account from = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        Account to = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        
+        service.deposit(from, 500.0);
+        Transaction transfer = service.transfer(from, to, 200.0);
+        service.reverseTransaction(transfer.getId());
+        
+        AccountAggregates aggregates = service.getAccountAggregates(from);
+        assertEquals(700.0, aggregates.getTotalCredits(), 0.001);
+        assertEquals(200.0, aggregates.getTotalDebits(), 0.001);
+        assertEquals(3, aggregates.getTransactionCount());
+        assertEquals(500.0, aggregates.getNetFlow(), 0.001);
+        assertEquals(0.0, service.getAccountAggregates(to).getNetFlow(), 0.001);
+    }
+    
+    // Teste la recherche des transactions par période
+    @Test
+    public void testGetTransactionsByTimeRange() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account from = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        Account to = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+        
+        service.deposit(from, 100.0);
+        service.transfer(from, to, 50.0);
+        LocalDateTime end = LocalDateTime.now().plusSeconds(1);
+        
+        assertEquals(2, service.getTransactions(start, end).size());
+        assertEquals(1, service.getTransactions(to, start, end).size());
+        assertTrue(service.getTransactions(end, end.plusHours(1)).isEmpty());
+    }
+    
+    // Teste la pagination par curseur de l'historique
+    @Test
+    public void testCursorPagination() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account account = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        for (int i = 0; i < 5; i++) {
+            service.deposit(account, 10.0 + i);
+        }
+        
+        List<Transaction> first = service.getTransactionHistory(account, null, 2);
+        List<Transaction> second = service.getTransactionHistory(account, first.get(1).getId(), 2);
+        List<Transaction> last = service.getAllTransactions(second.get(1).getId(), 10);
+        
+        assertEquals(10.0, first.get(0).getAmount(), 0.001);
+        assertEquals(12.0, second.get(0).getAmount(), 0.001);
+        assertEquals(1, last.size());
+        assertEquals(14.0, last.get(0).getAmount(), 0.001);
+        
+        try {
+            service.getAllTransactions("INCONNU", 10);
+            fail("TransactionNotFoundException attendue");
+        } catch (TransactionNotFoundException e) {
+            assertEquals("INCONNU", e.getTransactionId());
+        }
+        try {
+            service.getAllTransactions(null, 0);
+            fail("ValidationException attendue");
+        } catch (ValidationException e) {
+            assertEquals("limit", e.getFieldName());
+        }
+    }
+    
+    // Teste le parcours paresseux de l'historique
+    @Test
+    public void testStreamHistory() throws BusinessException {
+        VelocityChecker checker = new VelocityChecker(type -> new VelocityLimits(10_000, 1_000_000.0));
+        TransactionService service = new TransactionService(new IdempotencyCache(), checker);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account from = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 100_000.0);
+        Account to = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        for (int i = 0; i < 600; i++) {
+            service.transfer(from, to, 1.0);
+        }
+        service.deposit(from, 5.0);
+        
+        assertEquals(601, service.streamTransactionHistory(from).count());
+        assertEquals(600, service.streamTransactionHistory(to).count());
+        List<Transaction> firstTwo = service.streamAllTransactions().limit(2).collect(Collectors.toList());
+        assertEquals(service.getAllTransactions().subList(0, 2), firstTwo);
+    }
+    
+    // Teste l'historique réparti entre mémoire et disque, annulation comprise
+    @Test
+    public void testTieredHistory() throws BusinessException {
+        VelocityChecker checker = new VelocityChecker(type -> new VelocityLimits(10_000, 1_000_000.0));
+        TransactionService service = new TransactionService(new IdempotencyCache(), checker,
+            folder.getRoot().toPath(), 50);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account from = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        Account to = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        Transaction first = service.transfer(from, to, 1.0);
+        for (int i = 0; i < 199; i++) {
+            service.transfer(from, to, 1.0);
+        }
+        
+        assertEquals(200, service.getAllTransactions().size());
+        assertEquals(first.getId(), service.getTransactionById(first.getId()).getId());
+        assertEquals(10, service.getTransactionHistory(to, first.getId(), 10).size());
+        
+        Transaction compensating = service.reverseTransaction(first.getId());
+        assertEquals(801.0, from.getBalance(), 0.01);
+        assertEquals(Transaction.TransactionStatus.CANCELLED,
+            service.getTransactionById(first.getId()).getStatus());
+        // Une seconde annulation retourne l'écriture existante
+        assertSame(compensating, service.reverseTransaction(first.getId()));
+        assertEquals(801.0, from.getBalance(), 0.01);
+    }
+    
+    // Teste la lecture de l'historique réparti pendant que d'autres transactions sont postées
+    @Test
+    public void testTieredHistoryReadDuringPosting() throws Exception {
+        VelocityChecker checker = new VelocityChecker(type -> new VelocityLimits(10_000, 1_000_000.0));
+        TransactionService service = new TransactionService(new IdempotencyCache(), checker,
+            folder.getRoot().toPath(), 64);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account from = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 100_000.0);
+        Account to = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        for (int i = 0; i < 500; i++) {
+            service.transfer(from, to, 1.0);
+        }
+        
+        Thread poster = new Thread(() -> {
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    service.transfer(from, to, 1.0);
+                }
+            } catch (BusinessException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        poster.start();
+        List<String> streamed = service.streamTransactionHistory(to).map(Transaction::getId)
+            .collect(Collectors.toList());
+        poster.join();
+        
+        // Le flux voit au moins l'historique initial, dans l'ordre, sans doublon ni trou
+        List<String> all = service.getAllTransactions().stream().map(Transaction::getId)
+            .collect(Collectors.toList());
+        assertTrue(streamed.size() >= 500);
+        assertEquals(all.subList(0, streamed.size()), streamed);
+        assertEquals(2500, all.size());
+    }
+    
+    // Teste une requête analytique parallèle sur l'historique réparti, sans copie préalable
+    @Test
+    public void testAnalyticsOverTieredHistory() throws BusinessException {
+        VelocityChecker checker = new VelocityChecker(type -> new VelocityLimits(10_000, 1_000_000.0));
+        TransactionService service = new TransactionService(new IdempotencyCache(), checker,
+            folder.getRoot().toPath(), 100);
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account from = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 100_000.0);
+        Account to = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        for (int i = 0; i < 1000; i++) {
+            service.transfer(from, to, 2.0);
+        }
+        service.deposit(to, 5.0);
+        
+        TransactionAnalytics analytics = new TransactionAnalytics();
+        Map<Transaction.TransactionType, Double> sums = analytics.sumBy(service.historySpliterator(),
+            t -> true, TransactionAnalytics.byType());
+        assertEquals(2000.0, sums.get(Transaction.TransactionType.TRANSFER), 0.001);
+        assertEquals(5.0, sums.get(Transaction.TransactionType.DEPOSIT), 0.001);
+        assertEquals(analytics.countBy(service.getAllTransactions(), t -> true, TransactionAnalytics.byDay()),
+            analytics.countBy(service.historySpliterator(), t -> true, TransactionAnalytics.byDay()));
+    }
+    
+    // Teste le palmarès des comptes les plus actifs
+    @Test
+    public void testMostActiveAccounts() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account checking = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        Account savings = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        service.deposit(checking, 10.0);
+        service.deposit(checking, 20.0);
+        service.transfer(checking, savings, 500.0);
+        
+        assertEquals("ACC-12345", service.getMostActiveAccounts(1).get(0).getKey());
+        assertEquals(3, service.getMostActiveAccounts(1).get(0).getCount());
+        assertEquals(2, service.getMostActiveAccounts(5).size());
+        assertEquals(53_000, service.getHighestVolumeAccounts(1).get(0).getCount());
+    }
+    
+    // Teste les quantiles de montants et le nombre de comptes actifs du jour
+    @Test
+    public void testApproximateStatistics() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account checking = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 1000.0);
+        Account savings = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        service.deposit(checking, 10.0);
+        service.deposit(checking, 20.0);
+        service.deposit(checking, 30.0);
+        Transaction transfer = service.transfer(checking, savings, 500.0);
+        
+        assertEquals(20.0, service.getAmountQuantile(Transaction.TransactionType.DEPOSIT, 0.5), 0.2);
+        assertEquals(500.0, service.getAmountQuantile(Transaction.TransactionType.TRANSFER, 0.99), 5.0);
+        assertEquals(2, service.getDistinctActiveAccounts(transfer.getTimestamp().toLocalDate()));
+    }
+    
+    // Teste les mesures de latence par opération et par issue
+    @Test
+    public void testMetrics() throws BusinessException {
+        TransactionService service = new TransactionService();
+        User user = new User("U001", "john", "pwd", "john@example.com");
+        Account checking = new Account("A001", "ACC-12345", user, Account.AccountType.CHECKING, 100.0);
+        Account savings = new Account("A002", "ACC-67890", user, Account.AccountType.SAVINGS, 0.0);
+        service.deposit(checking, 10.0);
+        service.virementExterne(checking, savings, 20.0);
+        try {
+            service.withdraw(checking, 10_000.0);
+            fail("Le retrait doit être refusé");
+        } catch (InsufficientFundsException e) {
+            // attendu
+        }
+        try {
+            service.deposit(checking, -5.0);
+            fail("Le dépôt doit être refusé");
+        } catch (ValidationException e) {
+            // attendu
+        }
+        
+        TransactionMetrics.Snapshot metrics = service.getMetrics();
+        assertEquals(1, metrics.getCount(Transaction.TransactionType.DEPOSIT, TransactionMetrics.Outcome.SUCCESS));
+        assertEquals(1, metrics.getCount(Transaction.TransactionType.VIREST, TransactionMetrics.Outcome.SUCCESS));
+        assertEquals(1, metrics.getCount(Transaction.TransactionType.WITHDRAW,
+            TransactionMetrics.Outcome.INSUFFICIENT_FUNDS));
+        assertEquals(1, metrics.getCount(Transaction.TransactionType.DEPOSIT,
+            TransactionMetrics.Outcome.VALIDATION_FAILURE));
+        assertEquals(2, metrics.getDispatch().getCount());
+        assertTrue(metrics.getLatency(Transaction.TransactionType.DEPOSIT, TransactionMetrics.Outcome.SUCCESS)
+            .getMaxNanos() > 0);
+    }
 }
-